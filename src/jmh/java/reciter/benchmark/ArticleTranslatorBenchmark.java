@@ -0,0 +1,31 @@
+package reciter.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import reciter.model.article.ReCiterArticle;
+
+/**
+ * Translation of the PubMed and Scopus candidate set into ReCiterArticles including author name sanitization
+ * and article feature population.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ArticleTranslatorBenchmark {
+
+	@Benchmark
+	public List<ReCiterArticle> translate(CandidateArticles candidateArticles) {
+		return candidateArticles.translate();
+	}
+}
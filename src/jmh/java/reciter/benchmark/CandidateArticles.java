@@ -0,0 +1,110 @@
+package reciter.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import reciter.algorithm.evidence.targetauthor.TargetAuthorSelection;
+import reciter.algorithm.util.ArticleTranslator;
+import reciter.benchmark.generator.ReferenceData;
+import reciter.benchmark.generator.SyntheticDataGenerator;
+import reciter.engine.ReCiterEngine;
+import reciter.engine.StrategyParameters;
+import reciter.engine.erroranalysis.Analysis;
+import reciter.model.article.ReCiterArticle;
+import reciter.model.identity.Identity;
+import reciter.model.pubmed.PubMedArticle;
+import reciter.model.scopus.ScopusArticle;
+import reciter.utils.AuthorNameSanitizationUtils;
+import reciter.utils.GenderProbability;
+import reciter.utils.InstitutionSanitizationUtil;
+
+/**
+ * Synthetic candidate set shared by all benchmarks of a trial. It is prepared the way
+ * ReCiterController.initializeEngineParameters prepares a real one, only from generated data.
+ */
+@State(Scope.Benchmark)
+public class CandidateArticles {
+
+	public static final long SEED = 20210204L;
+
+	@Param({"100", "1000", "5000"})
+	public int articleCount;
+
+	private ReferenceData referenceData;
+	private Identity identity;
+	private List<PubMedArticle> pubMedArticles;
+	private Map<Long, ScopusArticle> scopusArticles;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		referenceData = ReferenceData.load();
+		StrategyParameters strategyParameters = referenceData.getStrategyParameters();
+		ReCiterEngine.clusterSimilarityThresholdScore = strategyParameters.getClusterSimilarityThresholdScore();
+		ReCiterEngine.clutseringGrantsThreshold = strategyParameters.getClusteringGrantsThreshold();
+
+		SyntheticDataGenerator generator = new SyntheticDataGenerator(SEED, referenceData.getMeshTerms(), referenceData.getScienceMetrixJournals());
+		identity = generator.generateIdentity();
+		identity.setSanitizedNames(new AuthorNameSanitizationUtils(strategyParameters).sanitizeIdentityAuthorNames(identity));
+		new InstitutionSanitizationUtil(strategyParameters).populateSanitizedIdentityInstitutions(identity);
+		GenderProbability.getGenderIdentityProbability(identity);
+
+		pubMedArticles = generator.generatePubMedArticles(articleCount);
+		scopusArticles = new HashMap<>();
+		for(ScopusArticle scopusArticle: generator.generateScopusArticles(pubMedArticles)) {
+			scopusArticles.put(scopusArticle.getPubmedId(), scopusArticle);
+		}
+	}
+
+	/**
+	 * Fresh ReCiterArticles for the candidate set. The engine stages modify the articles so every measured
+	 * invocation needs its own copy.
+	 */
+	public List<ReCiterArticle> translate() {
+		List<ReCiterArticle> reCiterArticles = new ArrayList<>(pubMedArticles.size());
+		for(PubMedArticle pubMedArticle: pubMedArticles) {
+			long pmid = pubMedArticle.getMedlinecitation().getMedlinecitationpmid().getPmid();
+			reCiterArticles.add(ArticleTranslator.translate(pubMedArticle, scopusArticles.get(pmid), referenceData.getNameIgnoredCoAuthors(), getStrategyParameters()));
+		}
+		Analysis.assignGoldStandard(reCiterArticles, Collections.emptyList(), Collections.emptyList());
+		return reCiterArticles;
+	}
+
+	/**
+	 * Translated articles with the target author already selected, i.e. the input of ReCiterEngine.run.
+	 */
+	public List<ReCiterArticle> translateAndSelectTargetAuthor() {
+		List<ReCiterArticle> reCiterArticles = translate();
+		new TargetAuthorSelection().identifyTargetAuthor(reCiterArticles, identity);
+		return reCiterArticles;
+	}
+
+	public Identity getIdentity() {
+		return identity;
+	}
+
+	public List<PubMedArticle> getPubMedArticles() {
+		return pubMedArticles;
+	}
+
+	public Map<Long, ScopusArticle> getScopusArticles() {
+		return scopusArticles;
+	}
+
+	public StrategyParameters getStrategyParameters() {
+		return referenceData.getStrategyParameters();
+	}
+
+	public String getNameIgnoredCoAuthors() {
+		return referenceData.getNameIgnoredCoAuthors();
+	}
+}
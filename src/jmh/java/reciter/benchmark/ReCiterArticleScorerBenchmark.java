@@ -0,0 +1,55 @@
+package reciter.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import reciter.algorithm.cluster.ReCiterClusterer;
+import reciter.algorithm.cluster.article.scorer.ReCiterArticleScorer;
+import reciter.algorithm.cluster.model.ReCiterCluster;
+import reciter.database.dynamodb.model.QueryType;
+import reciter.engine.RetrievalArticleCount;
+
+/**
+ * All evidence strategies of ReCiterArticleScorer over an already clustered candidate set.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ReCiterArticleScorerBenchmark {
+
+	@State(Scope.Thread)
+	public static class ClusteredArticles {
+
+		Map<Long, ReCiterCluster> clusters;
+
+		@Setup(Level.Invocation)
+		public void setUp(CandidateArticles candidateArticles) {
+			ReCiterClusterer clusterer = new ReCiterClusterer(candidateArticles.getIdentity(), candidateArticles.translateAndSelectTargetAuthor());
+			clusterer.cluster();
+			clusters = clusterer.getClusters();
+		}
+	}
+
+	@Benchmark
+	public Map<Long, ReCiterCluster> score(CandidateArticles candidateArticles, ClusteredArticles clusteredArticles) {
+		RetrievalArticleCount retrievalArticleCount = new RetrievalArticleCount(QueryType.LENIENT_LOOKUP, true, candidateArticles.articleCount);
+		ReCiterArticleScorer articleScorer = new ReCiterArticleScorer(clusteredArticles.clusters, candidateArticles.getIdentity(),
+				candidateArticles.getStrategyParameters(), retrievalArticleCount);
+		articleScorer.runArticleScorer(clusteredArticles.clusters, candidateArticles.getIdentity());
+		return clusteredArticles.clusters;
+	}
+}
@@ -0,0 +1,50 @@
+package reciter.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import reciter.algorithm.cluster.ReCiterClusterer;
+import reciter.algorithm.cluster.model.ReCiterCluster;
+import reciter.model.article.ReCiterArticle;
+
+/**
+ * All clustering passes of ReCiterClusterer (baseline, tepid, email, grant, cites and MeSH major).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ReCiterClustererBenchmark {
+
+	@State(Scope.Thread)
+	public static class TargetAuthorArticles {
+
+		List<ReCiterArticle> reCiterArticles;
+
+		@Setup(Level.Invocation)
+		public void setUp(CandidateArticles candidateArticles) {
+			reCiterArticles = candidateArticles.translateAndSelectTargetAuthor();
+		}
+	}
+
+	@Benchmark
+	public Map<Long, ReCiterCluster> cluster(CandidateArticles candidateArticles, TargetAuthorArticles targetAuthorArticles) {
+		ReCiterClusterer clusterer = new ReCiterClusterer(candidateArticles.getIdentity(), targetAuthorArticles.reCiterArticles);
+		clusterer.cluster();
+		return clusterer.getClusters();
+	}
+}
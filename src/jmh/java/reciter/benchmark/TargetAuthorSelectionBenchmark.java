@@ -0,0 +1,47 @@
+package reciter.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import reciter.algorithm.evidence.targetauthor.TargetAuthorSelection;
+import reciter.model.article.ReCiterArticle;
+
+/**
+ * Target author selection over freshly translated articles.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TargetAuthorSelectionBenchmark {
+
+	@State(Scope.Thread)
+	public static class TranslatedArticles {
+
+		List<ReCiterArticle> reCiterArticles;
+
+		@Setup(Level.Invocation)
+		public void setUp(CandidateArticles candidateArticles) {
+			reCiterArticles = candidateArticles.translate();
+		}
+	}
+
+	@Benchmark
+	public List<ReCiterArticle> identifyTargetAuthor(CandidateArticles candidateArticles, TranslatedArticles translatedArticles) {
+		new TargetAuthorSelection().identifyTargetAuthor(translatedArticles.reCiterArticles, candidateArticles.getIdentity());
+		return translatedArticles.reCiterArticles;
+	}
+}
@@ -0,0 +1,96 @@
+package reciter.benchmark.generator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.Environment;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reciter.database.dynamodb.model.MeshTerm;
+import reciter.database.dynamodb.model.ScienceMetrix;
+import reciter.engine.EngineParameters;
+import reciter.engine.MeshTermCounts;
+import reciter.engine.StrategyParameters;
+import reciter.utils.AffiliationStrategyUtils;
+import reciter.utils.DegreeYearStrategyUtils;
+
+/**
+ * In memory reference data for the benchmarks. Mesh counts and ScienceMetrix journals are read from the same files
+ * under /files the file import loads into DynamoDb and the strategy parameters come from application.properties,
+ * so the engine sees what Application.populateStaticEngineParameters would give it without any AWS access.
+ */
+public final class ReferenceData {
+
+	private static ReferenceData instance;
+
+	private final StrategyParameters strategyParameters;
+	private final String nameIgnoredCoAuthors;
+	private final List<String> meshTerms;
+	private final List<ScienceMetrix> scienceMetrixJournals;
+
+	private ReferenceData() throws IOException {
+		ObjectMapper mapper = new ObjectMapper();
+		try(AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(StrategyParameters.class)) {
+			strategyParameters = context.getBean(StrategyParameters.class);
+			Environment environment = context.getEnvironment();
+			nameIgnoredCoAuthors = environment.getProperty("namesIgnoredCoauthors");
+
+			List<MeshTerm> meshTermList = Arrays.asList(read(mapper, "/files/MeshTerm.json", MeshTerm[].class));
+			meshTerms = new ArrayList<>(meshTermList.size());
+			for(MeshTerm meshTerm: meshTermList) {
+				meshTerms.add(meshTerm.getMesh());
+			}
+			scienceMetrixJournals = Arrays.asList(read(mapper, "/files/ScienceMetrix.json", ScienceMetrix[].class));
+
+			EngineParameters.setMeshTermCounts(MeshTermCounts.of(meshTermList));
+			EngineParameters.setScienceMetrixJournals(scienceMetrixJournals);
+			EngineParameters.setScienceMetrixDepartmentCategories(Collections.emptyList());
+			EngineParameters.setGenders(Collections.emptyList());
+			EngineParameters.setDegreeYearDiscrepancyScoreMap(new DegreeYearStrategyUtils()
+					.getDegreeYearDiscrepancyScoreMap(environment.getProperty("strategy.discrepancyDegreeYear.degreeYearDiscrepancyScore")));
+			EngineParameters.setRegexForStopWords(new AffiliationStrategyUtils()
+					.constructRegexForStopWords(environment.getProperty("strategy.authorAffiliationScoringStrategy.institutionStopwords")));
+		}
+	}
+
+	/**
+	 * Loads the reference data once per JVM and publishes it to EngineParameters.
+	 */
+	public static synchronized ReferenceData load() throws IOException {
+		if(instance == null) {
+			instance = new ReferenceData();
+		}
+		return instance;
+	}
+
+	private static <T> T read(ObjectMapper mapper, String resource, Class<T> type) throws IOException {
+		try(InputStream inputStream = ReferenceData.class.getResourceAsStream(resource)) {
+			if(inputStream == null) {
+				throw new IOException("Reference data file " + resource + " is not on the classpath");
+			}
+			return mapper.readValue(inputStream, type);
+		}
+	}
+
+	public StrategyParameters getStrategyParameters() {
+		return strategyParameters;
+	}
+
+	public String getNameIgnoredCoAuthors() {
+		return nameIgnoredCoAuthors;
+	}
+
+	public List<String> getMeshTerms() {
+		return meshTerms;
+	}
+
+	public List<ScienceMetrix> getScienceMetrixJournals() {
+		return scienceMetrixJournals;
+	}
+}
@@ -0,0 +1,277 @@
+package reciter.benchmark.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import reciter.database.dynamodb.model.ScienceMetrix;
+import reciter.model.identity.Identity;
+import reciter.model.pubmed.PubMedArticle;
+import reciter.model.scopus.ScopusArticle;
+
+/**
+ * Generates a deterministic identity and a candidate article set for it. The same seed and article count always
+ * produce the same data so benchmark runs can be compared with each other.
+ * The models are built as json trees and converted with jackson the same way the file imports read them, so
+ * no DynamoDb or PubMed/Scopus service is needed.
+ * About a third of the articles are written by the identity (name variants, known grants, email, institution and
+ * coauthors) and the rest by namesakes with the same last name and unrelated affiliations.
+ */
+public class SyntheticDataGenerator {
+
+	private static final String[] FIRST_NAMES = {"Paul", "Maria", "Wei", "James", "Anna", "Rahul", "Sofia", "Michael", "Yuki", "Olga",
+			"David", "Fatima", "John", "Elena", "Ahmed", "Laura", "Chen", "Robert", "Ines", "Thomas"};
+
+	private static final String[] LAST_NAMES = {"Albert", "Garcia", "Wang", "Smith", "Kowalski", "Patel", "Rossi", "Brown", "Tanaka", "Ivanova",
+			"Miller", "Hassan", "Lee", "Novak", "Khan", "Martin", "Zhang", "Jones", "Silva", "Muller", "Nguyen", "Cohen", "Schmidt", "Lopez"};
+
+	private static final String[] INSTITUTIONS = {"Weill Cornell Medical College, Cornell University", "Columbia University", "Memorial Sloan Kettering Cancer Center",
+			"Rockefeller University", "Hospital for Special Surgery", "New York University School of Medicine", "University of Toronto",
+			"Stanford University School of Medicine", "Karolinska Institutet", "University of Tokyo"};
+
+	private static final String[] DEPARTMENTS = {"Medicine", "Pathology and Laboratory Medicine", "Radiology", "Pediatrics", "Surgery",
+			"Neurology", "Healthcare Policy and Research", "Library", "Genetic Medicine", "Anesthesiology"};
+
+	private static final String[] CITIES = {"New York, NY, USA", "Toronto, ON, Canada", "Stanford, CA, USA", "Stockholm, Sweden", "Tokyo, Japan"};
+
+	private static final String[] TITLE_WORDS = {"clinical", "outcomes", "patients", "cohort", "randomized", "trial", "analysis", "genomic",
+			"expression", "imaging", "risk", "mortality", "therapy", "association", "surveillance", "biomarkers", "retrospective",
+			"children", "cancer", "cardiovascular", "infection", "metabolic", "machine", "learning", "library", "informatics"};
+
+	private static final String[] PUBLICATION_TYPES = {"Journal Article", "Review", "Letter", "Comment", "Editorial"};
+
+	private static final String[] GRANT_AGENCIES = {"NCI NIH HHS", "NHLBI NIH HHS", "NCATS NIH HHS", "NIA NIH HHS"};
+
+	private static final int START_PMID = 10000000;
+
+	private final ObjectMapper objectMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+	private final long seed;
+	private final List<String> meshTerms;
+	private final List<ScienceMetrix> journals;
+	private final List<String> identityGrants = new ArrayList<>();
+
+	/**
+	 * @param seed random seed, the same seed yields the same data
+	 * @param meshTerms MeSH descriptors to draw article headings from, usually the ones in the reference mesh counts
+	 * @param journals journals to draw from so that the journal category evidence finds a match
+	 */
+	public SyntheticDataGenerator(long seed, List<String> meshTerms, List<ScienceMetrix> journals) {
+		this.seed = seed;
+		this.meshTerms = meshTerms;
+		this.journals = journals;
+		Random random = new Random(seed);
+		for(int i = 0; i < 4; i++) {
+			identityGrants.add(grantId(random, i));
+		}
+	}
+
+	public Identity generateIdentity() {
+		ObjectNode identity = objectMapper.createObjectNode();
+		identity.put("uid", "bench0001");
+		identity.put("title", "Associate Professor");
+		identity.set("primaryName", authorName("Paul", "J", "Albert"));
+		ArrayNode alternateNames = identity.putArray("alternateNames");
+		alternateNames.add(authorName("Paul", "J", "Albert"));
+		alternateNames.add(authorName("Paul", null, "Albert"));
+		alternateNames.add(authorName("P", "J", "Albert-Smith"));
+		ObjectNode degreeYear = identity.putObject("degreeYear");
+		degreeYear.put("bachelorYear", 1994);
+		degreeYear.put("doctoralYear", 2000);
+		identity.putArray("emails").add("bench0001@med.cornell.edu").add("palbert@example.org");
+		ArrayNode grants = identity.putArray("grants");
+		identityGrants.forEach(grants::add);
+		identity.putArray("institutions").add(INSTITUTIONS[0]).add(INSTITUTIONS[1]).add("Colgate University");
+		ArrayNode organizationalUnits = identity.putArray("organizationalUnits");
+		organizationalUnits.add(organizationalUnit(DEPARTMENTS[0], "DEPARTMENT"));
+		organizationalUnits.add(organizationalUnit(DEPARTMENTS[6], "DIVISION"));
+		ArrayNode knownRelationships = identity.putArray("knownRelationships");
+		for(int i = 0; i < 12; i++) {
+			ObjectNode knownRelationship = knownRelationships.addObject();
+			knownRelationship.set("name", authorName(FIRST_NAMES[i % FIRST_NAMES.length], null, LAST_NAMES[(i + 3) % LAST_NAMES.length]));
+			knownRelationship.put("type", i % 4 == 0 ? "MENTOR" : "CO_INVESTIGATOR");
+			knownRelationship.put("uid", "rel" + i);
+		}
+		identity.putArray("personTypes").add("academic").add("academic-faculty").add("academic-faculty-weillfulltime");
+		return objectMapper.convertValue(identity, Identity.class);
+	}
+
+	public List<PubMedArticle> generatePubMedArticles(int count) {
+		Random random = new Random(seed + count);
+		List<PubMedArticle> pubMedArticles = new ArrayList<>(count);
+		for(int i = 0; i < count; i++) {
+			pubMedArticles.add(objectMapper.convertValue(pubMedArticle(random, START_PMID + i), PubMedArticle.class));
+		}
+		return pubMedArticles;
+	}
+
+	/**
+	 * Scopus articles for roughly two thirds of the generated PubMed articles, matching them by pmid.
+	 */
+	public List<ScopusArticle> generateScopusArticles(List<PubMedArticle> pubMedArticles) {
+		Random random = new Random(seed + pubMedArticles.size() + 1);
+		List<ScopusArticle> scopusArticles = new ArrayList<>();
+		for(PubMedArticle pubMedArticle: pubMedArticles) {
+			if(random.nextInt(3) == 0) {
+				continue;
+			}
+			long pmid = pubMedArticle.getMedlinecitation().getMedlinecitationpmid().getPmid();
+			ObjectNode scopusArticle = objectMapper.createObjectNode();
+			scopusArticle.put("pubmedId", pmid);
+			scopusArticle.put("scopusDocId", "850" + pmid);
+			scopusArticle.put("citedByCount", random.nextInt(200));
+			scopusArticle.put("subType", "ar");
+			scopusArticle.put("subTypeDescription", "Article");
+			ArrayNode authors = scopusArticle.putArray("authors");
+			pubMedArticle.getMedlinecitation().getArticle().getAuthorlist().forEach(author -> {
+				ObjectNode scopusAuthor = authors.addObject();
+				scopusAuthor.put("givenName", author.getForename());
+				scopusAuthor.put("surname", author.getLastname());
+			});
+			scopusArticles.add(objectMapper.convertValue(scopusArticle, ScopusArticle.class));
+		}
+		return scopusArticles;
+	}
+
+	private ObjectNode pubMedArticle(Random random, long pmid) {
+		boolean targetAuthorArticle = random.nextInt(3) == 0;
+		int year = 1990 + random.nextInt(31);
+
+		ObjectNode article = objectMapper.createObjectNode();
+		article.put("articletitle", title(random));
+		ObjectNode journal = article.putObject("journal");
+		ScienceMetrix scienceMetrix = journals.get(random.nextInt(journals.size()));
+		journal.put("title", scienceMetrix.getPublicationName());
+		journal.put("isoAbbreviation", scienceMetrix.getPublicationName());
+		if(scienceMetrix.getIssn() != null) {
+			ObjectNode issn = journal.putArray("issn").addObject();
+			issn.put("issn", scienceMetrix.getIssn());
+			issn.put("issntype", "Print");
+		}
+		ObjectNode journalIssue = journal.putObject("journalissue");
+		journalIssue.put("volume", String.valueOf(1 + random.nextInt(80)));
+		journalIssue.put("issue", String.valueOf(1 + random.nextInt(12)));
+		journalIssue.set("pubdate", date(year, random));
+		article.set("articledate", date(year, random));
+		article.putObject("elocationid").put("elocationid", "10.1000/bench." + pmid);
+		article.putObject("pagination").putArray("medlinepgns").add(random.nextInt(900) + "-" + (900 + random.nextInt(99)));
+		article.putArray("publicationtypelist").addObject().put("publicationtype", PUBLICATION_TYPES[random.nextInt(PUBLICATION_TYPES.length)]);
+		ObjectNode abstractText = article.putObject("publicationAbstract").putArray("abstractTexts").addObject();
+		abstractText.put("abstractText", title(random) + ". " + title(random) + ". " + title(random) + ".");
+
+		ArrayNode authorList = article.putArray("authorlist");
+		int authorCount = 2 + random.nextInt(12);
+		int targetPosition = random.nextInt(authorCount);
+		for(int position = 0; position < authorCount; position++) {
+			ObjectNode author = authorList.addObject();
+			if(position == targetPosition) {
+				if(targetAuthorArticle) {
+					String[] foreNames = {"Paul", "Paul J", "P J", "Paul James"};
+					author.put("lastname", random.nextInt(8) == 0 ? "Albert-Smith" : "Albert");
+					author.put("forename", foreNames[random.nextInt(foreNames.length)]);
+					author.put("affiliation", DEPARTMENTS[random.nextInt(2) == 0 ? 0 : 6] + ", " + INSTITUTIONS[random.nextInt(2)] + ", " + CITIES[0]
+							+ (random.nextInt(4) == 0 ? ". bench0001@med.cornell.edu" : ""));
+				} else {
+					//Namesake with the same last name
+					author.put("lastname", "Albert");
+					author.put("forename", FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+					author.put("affiliation", affiliation(random, 2));
+				}
+			} else if(targetAuthorArticle && random.nextInt(4) == 0) {
+				//Known relationship as coauthor
+				int i = random.nextInt(12);
+				author.put("lastname", LAST_NAMES[(i + 3) % LAST_NAMES.length]);
+				author.put("forename", FIRST_NAMES[i % FIRST_NAMES.length]);
+				author.put("affiliation", affiliation(random, 0));
+			} else {
+				author.put("lastname", LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+				author.put("forename", FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+				author.put("affiliation", affiliation(random, 0));
+			}
+			String foreName = author.get("forename").asText();
+			author.put("initials", foreName.substring(0, 1));
+		}
+
+		ArrayNode grantList = article.putArray("grantlist");
+		int grantCount = random.nextInt(4);
+		for(int i = 0; i < grantCount; i++) {
+			ObjectNode grant = grantList.addObject();
+			grant.put("grantid", targetAuthorArticle && random.nextBoolean() ? identityGrants.get(random.nextInt(identityGrants.size())) : grantId(random, 10 + i));
+			grant.put("agency", GRANT_AGENCIES[random.nextInt(GRANT_AGENCIES.length)]);
+			grant.put("country", "United States");
+		}
+
+		ObjectNode medlineCitation = objectMapper.createObjectNode();
+		medlineCitation.putObject("medlinecitationpmid").put("pmid", pmid);
+		medlineCitation.set("article", article);
+		ArrayNode keywords = medlineCitation.putObject("keywordlist").putArray("keywordlist");
+		for(int i = random.nextInt(5); i > 0; i--) {
+			keywords.addObject().put("keyword", TITLE_WORDS[random.nextInt(TITLE_WORDS.length)]);
+		}
+		ArrayNode meshHeadings = medlineCitation.putArray("meshheadinglist");
+		//Authors of the identity reuse a narrower part of the vocabulary so that their articles share MeSH major topics
+		int meshPool = targetAuthorArticle ? Math.min(60, meshTerms.size()) : meshTerms.size();
+		for(int i = 3 + random.nextInt(10); i > 0; i--) {
+			ObjectNode descriptorName = meshHeadings.addObject().putObject("descriptorname");
+			descriptorName.put("descriptorname", meshTerms.get(random.nextInt(meshPool)));
+			descriptorName.put("majortopicyn", random.nextInt(3) == 0 ? "Y" : "N");
+		}
+
+		ObjectNode pubMedArticle = objectMapper.createObjectNode();
+		pubMedArticle.set("medlinecitation", medlineCitation);
+		return pubMedArticle;
+	}
+
+	private ObjectNode authorName(String firstName, String middleName, String lastName) {
+		ObjectNode authorName = objectMapper.createObjectNode();
+		authorName.put("firstName", firstName);
+		authorName.put("firstInitial", firstName.substring(0, 1));
+		if(middleName != null) {
+			authorName.put("middleName", middleName);
+			authorName.put("middleInitial", middleName.substring(0, 1));
+		}
+		authorName.put("lastName", lastName);
+		return authorName;
+	}
+
+	private ObjectNode organizationalUnit(String label, String type) {
+		ObjectNode organizationalUnit = objectMapper.createObjectNode();
+		organizationalUnit.put("organizationalUnitLabel", label);
+		organizationalUnit.put("organizationalUnitType", type);
+		return organizationalUnit;
+	}
+
+	private ObjectNode date(int year, Random random) {
+		ObjectNode date = objectMapper.createObjectNode();
+		date.put("year", String.valueOf(year));
+		date.put("month", String.format("%02d", 1 + random.nextInt(12)));
+		date.put("day", String.format("%02d", 1 + random.nextInt(28)));
+		return date;
+	}
+
+	private static String title(Random random) {
+		StringBuilder title = new StringBuilder();
+		for(int i = 6 + random.nextInt(8); i > 0; i--) {
+			if(title.length() > 0) {
+				title.append(' ');
+			}
+			title.append(TITLE_WORDS[random.nextInt(TITLE_WORDS.length)]);
+		}
+		return Character.toUpperCase(title.charAt(0)) + title.substring(1);
+	}
+
+	private static String affiliation(Random random, int firstInstitution) {
+		int institution = firstInstitution + random.nextInt(INSTITUTIONS.length - firstInstitution);
+		return "Department of " + DEPARTMENTS[random.nextInt(DEPARTMENTS.length)] + ", " + INSTITUTIONS[institution] + ", " + CITIES[random.nextInt(CITIES.length)];
+	}
+
+	private static String grantId(Random random, int index) {
+		String[] prefixes = {"R01", "K23", "UL1", "P30"};
+		return prefixes[index % prefixes.length] + " CA" + String.format("%06d", 100000 + random.nextInt(900000));
+	}
+}
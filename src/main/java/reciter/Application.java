@@ -20,10 +20,6 @@ package reciter;
 
 import java.net.HttpURLConnection;
 import java.net.URL;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 import javax.servlet.http.HttpServletRequest;
 
@@ -44,6 +40,7 @@ import org.springframework.context.event.EventListener;
 import org.springframework.core.env.Environment;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.bohnman.squiggly.Squiggly;
@@ -58,26 +55,16 @@ import reciter.database.dyanmodb.files.InstitutionAfidFileImport;
 import reciter.database.dyanmodb.files.MeshTermFileImport;
 import reciter.database.dyanmodb.files.ScienceMetrixDepartmentCategoryFileImport;
 import reciter.database.dyanmodb.files.ScienceMetrixFileImport;
-import reciter.database.dynamodb.model.Gender;
-import reciter.database.dynamodb.model.InstitutionAfid;
-import reciter.database.dynamodb.model.MeshTerm;
-import reciter.database.dynamodb.model.ScienceMetrix;
-import reciter.database.dynamodb.model.ScienceMetrixDepartmentCategory;
-import reciter.engine.EngineParameters;
 import reciter.security.APIKey;
-import reciter.service.GenderService;
-import reciter.service.ScienceMetrixDepartmentCategoryService;
-import reciter.service.ScienceMetrixService;
-import reciter.service.dynamo.DynamoDbInstitutionAfidService;
-import reciter.service.dynamo.DynamoDbMeshTermService;
-import reciter.utils.AffiliationStrategyUtils;
-import reciter.utils.DegreeYearStrategyUtils;
+import reciter.service.ReferenceDataService;
+import reciter.utils.RetrievalServiceEndpoints;
 
 @Slf4j
 @SpringBootApplication
 @Configuration
 @EnableAutoConfiguration
 @EnableAsync
+@EnableScheduling
 @EnableDynamoDBRepositories("reciter.database.dynamodb")
 @ComponentScan("reciter")
 public class Application {
@@ -92,19 +79,7 @@ public class Application {
 //	}
 	
     @Autowired
-    private DynamoDbMeshTermService dynamoDbMeshTermService;
-	
-    @Autowired
-    private ScienceMetrixService scienceMetrixService;
-    
-    @Autowired
-    private ScienceMetrixDepartmentCategoryService scienceMetrixDepartmentCategoryService;
-    
-    @Autowired
-    private DynamoDbInstitutionAfidService dynamoDbInstitutionAfidService;
-    
-    @Autowired
-    private GenderService genderService;
+    private ReferenceDataService referenceDataService;
     
     @Value("${use.scopus.articles}")
     private boolean useScopusArticles;
@@ -118,15 +93,9 @@ public class Application {
     @Value("${strategy.gender}")
 	private boolean useGenderStrategy;
 	
-	@Value("${strategy.discrepancyDegreeYear.degreeYearDiscrepancyScore}")
-	private String degreeYearDiscrepancyScore;
-	
-	@Value("${strategy.authorAffiliationScoringStrategy.institutionStopwords}")
-    private String instAfflInstitutionStopwords;
+    private String scopusService = RetrievalServiceEndpoints.getScopusService();
     
-    private String scopusService = System.getenv("SCOPUS_SERVICE");
-    
-    private String pubmedService = System.getenv("PUBMED_SERVICE");
+    private String pubmedService = RetrievalServiceEndpoints.getPubMedService();
     
 	@Autowired 
 	private Environment env;
@@ -267,48 +236,8 @@ public class Application {
 	@EventListener(ApplicationReadyEvent.class)
 	public void populateStaticEngineParameters() {
 		
-		log.info("Loading ScienceMetrixJournals to Engine Parameters");
-		List<ScienceMetrix> scienceMetrixJournals = scienceMetrixService.findAll();
-        if(scienceMetrixJournals != null) {
-        		EngineParameters.setScienceMetrixJournals(scienceMetrixJournals);
-        }
-        
-        log.info("Loading ScienceMetrixDepartmentCategories to Engine Parameters");
-		List<ScienceMetrixDepartmentCategory> scienceMetrixDeptCategories = scienceMetrixDepartmentCategoryService.findAll();
-        if(scienceMetrixDeptCategories != null) {
-        		EngineParameters.setScienceMetrixDepartmentCategories(scienceMetrixDeptCategories);
-        }
-        
-        log.info("Loading MeshTermCounts to Engine Parameters");
-        if (EngineParameters.getMeshCountMap() == null) {
-            List<MeshTerm> meshTerms = dynamoDbMeshTermService.findAll();
-            Map<String, Long> meshCountMap = new HashMap<>();
-            for (MeshTerm meshTerm : meshTerms) {
-                meshCountMap.put(meshTerm.getMesh(), meshTerm.getCount());
-            }
-            EngineParameters.setMeshCountMap(meshCountMap);
-        }
-        if(useGenderStrategy) {
-	        log.info("Loading GenderProbability to Engine Parameters");
-	        List<Gender> genders = genderService.findAll();
-	        if(genders != null && !genders.isEmpty()) {
-	        	EngineParameters.setGenders(genders);
-	        }
-        }
-        
-        if(useScopusArticles) {
-	        log.info("Loading ScopusInstitutionalAfids to Engine Parameters");
-	        List<InstitutionAfid> instAfids = dynamoDbInstitutionAfidService.findAll();
-	        if(instAfids != null && instAfids.size() > 0) {
-		        	Map<String, List<String>> institutionAfids = instAfids.stream().collect(Collectors.toMap(InstitutionAfid::getInstitution, InstitutionAfid::getAfids));
-		        	EngineParameters.setAfiliationNameToAfidMap(institutionAfids);
-	        }
-		}
-		DegreeYearStrategyUtils degreeYearStrategyUtils = new DegreeYearStrategyUtils();
-		EngineParameters.setDegreeYearDiscrepancyScoreMap(degreeYearStrategyUtils.getDegreeYearDiscrepancyScoreMap(this.degreeYearDiscrepancyScore));
-
-		AffiliationStrategyUtils affiliationStrategyUtils = new AffiliationStrategyUtils();
-		EngineParameters.setRegexForStopWords(affiliationStrategyUtils.constructRegexForStopWords(this.instAfflInstitutionStopwords));
+		log.info("Loading ScienceMetrixJournals, ScienceMetrixDepartmentCategories, MeshTermCounts, GenderProbability and ScopusInstitutionalAfids to Engine Parameters");
+		referenceDataService.initialize();
 		
         log.info("ReCiter is up and ready to use. Please make sure its other components such as Pubmed-Retrieval-Tool is also setup if you wish to do retrieval.");
 	}
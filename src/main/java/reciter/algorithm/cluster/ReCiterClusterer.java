@@ -36,8 +36,12 @@ import reciter.algorithm.cluster.similarity.clusteringstrategy.article.MeshMajor
 import reciter.algorithm.cluster.similarity.clusteringstrategy.article.TepidClusteringStrategy;
 import reciter.algorithm.cluster.similarity.clusteringstrategy.article.BaselineClusteringStrategy;
 import reciter.algorithm.cluster.similarity.clusteringstrategy.article.CitesFeatureClusteringStrategy;
+import reciter.algorithm.cluster.similarity.clusteringstrategy.article.ContentSimilarityClusteringStrategy;
+import reciter.algorithm.tfidf.ArticleTfIdf;
+import reciter.engine.ReCiterEngine;
 import reciter.model.article.ReCiterArticle;
 import reciter.model.identity.Identity;
+import reciter.utils.ReCiterMetrics;
 
 @Slf4j
 @Getter
@@ -66,62 +70,72 @@ public class ReCiterClusterer extends AbstractClusterer {
 	 */
 	@Override
 	public void cluster() {
-		log.info("Running ReCiter for: [" + identity.getUid() + "] "
-				+ "Number of articles to be clustered:" + reCiterArticles.size());
+		log.info("Running ReCiter for: [{}] Number of articles to be clustered:{}", identity.getUid(), reCiterArticles.size());
 		//Baseline Clustering Strategy
-		clusters = clusteringStrategy.cluster(reCiterArticles);
-		log.info("Number of clusters after Baseline clustering: " + clusters.size());
-		log.info("Baseline Clustering Strategy results: " + toString());
+		clusters = ReCiterMetrics.recordClusteringPass("baseline", () -> clusteringStrategy.cluster(reCiterArticles));
+		logClusteringPass("baseline");
 		
 		baselineClusterSize = clusters.size();
 		
 		//Tepid Clustering Strategy
 		clusteringStrategy = new TepidClusteringStrategy();
-		clusters = clusteringStrategy.cluster(clusters);
-		log.info("Number of clusters after tepid strategy clustering: " + clusters.size());
-		log.info("tepid strategy Clustering Strategy results: " + toString());
+		clusters = ReCiterMetrics.recordClusteringPass("tepid", () -> clusteringStrategy.cluster(clusters));
+		logClusteringPass("tepid");
 		
 		//Email Clustering Strategy
 		clusteringStrategy = new EmailFeatureClusteringStrategy();
-		clusters = clusteringStrategy.cluster(clusters);
-		log.info("Number of clusters after email strategy clustering: " + clusters.size());
-		log.info("email strategy Clustering Strategy results: " + toString());
+		clusters = ReCiterMetrics.recordClusteringPass("email", () -> clusteringStrategy.cluster(clusters));
+		logClusteringPass("email");
 		
 		//Grant Clustering Strategy
 		clusteringStrategy = new GrantFeatureClusteringStrategy();
-		clusters = clusteringStrategy.cluster(clusters);
-		log.info("Number of clusters after grant strategy clustering: " + clusters.size());
-		log.info("grant strategy Clustering Strategy results: " + toString());
+		clusters = ReCiterMetrics.recordClusteringPass("grant", () -> clusteringStrategy.cluster(clusters));
+		logClusteringPass("grant");
 		
 		//Cites or Cited by Clustering Strategy
 		clusteringStrategy = new CitesFeatureClusteringStrategy();
-		clusters = clusteringStrategy.cluster(clusters);
-		log.info("Number of clusters after cites strategy clustering: " + clusters.size());
-		log.info("cites strategy Clustering Strategy results: " + toString());
+		clusters = ReCiterMetrics.recordClusteringPass("cites", () -> clusteringStrategy.cluster(clusters));
+		logClusteringPass("cites");
 		
 		//Mesh Major Clustering Strategy
 		clusteringStrategy = new MeshMajorClusteringStrategy();
-		clusters = clusteringStrategy.cluster(clusters);
-		log.info("Number of clusters after mesh major strategy clustering: " + clusters.size());
-		log.info("Mesh Major strategy Clustering Strategy results: " + toString());
+		clusters = ReCiterMetrics.recordClusteringPass("mesh-major", () -> clusteringStrategy.cluster(clusters));
+		logClusteringPass("mesh-major");
+		
+		//Content Similarity Clustering Strategy
+		if(ReCiterEngine.contentSimilarityClustering) {
+			ArticleTfIdf articleTfIdf = ArticleTfIdf.of(reCiterArticles);
+			clusteringStrategy = new ContentSimilarityClusteringStrategy(articleTfIdf, ReCiterEngine.contentSimilarityThresholdScore);
+			clusters = ReCiterMetrics.recordClusteringPass("content", () -> clusteringStrategy.cluster(clusters));
+			logClusteringPass("content");
+		}
 	}
 	
 
 	@Override
 	public void cluster(Set<Long> seedPmids) {
-		log.info("Running ReCiter for: [" + identity.getUid() + "] "
-				+ "Number of articles to be clustered:" + reCiterArticles.size() + " initial seeds=" + seedPmids);
+		log.info("Running ReCiter for: [{}] Number of articles to be clustered:{} initial seeds={}", identity.getUid(), reCiterArticles.size(), seedPmids);
 		clusters = clusteringStrategy.cluster(reCiterArticles, seedPmids);
 	}
 	
+	/**
+	 * Records the number of clusters left after a pass. The cluster membership is only rendered at debug level since
+	 * it lists every article of every cluster.
+	 */
+	private void logClusteringPass(String pass) {
+		ReCiterMetrics.recordClusterCount(pass, clusters.size());
+		log.info("Number of clusters after {} clustering for [{}]: {}", pass, identity.getUid(), clusters.size());
+		log.debug("{} Clustering Strategy results: {}", pass, this);
+	}
+	
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
 
 		for (Entry<Long, ReCiterCluster> cluster : clusters.entrySet()) {
-			sb.append("\nCluster id: " + cluster.getKey() + "= ," + cluster.getValue().getClusterInfo());
+			sb.append("\nCluster id: ").append(cluster.getKey()).append("= ,").append(cluster.getValue().getClusterInfo());
 			for (ReCiterArticle reCiterArticle : cluster.getValue().getArticleCluster()) {
-				sb.append(reCiterArticle.getArticleId() + ", ");
+				sb.append(reCiterArticle.getArticleId()).append(", ");
 			}
 		}
 		return sb.toString();
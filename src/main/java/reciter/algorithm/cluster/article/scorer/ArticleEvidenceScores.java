@@ -0,0 +1,100 @@
+package reciter.algorithm.cluster.article.scorer;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+import reciter.model.article.ReCiterArticle;
+
+/**
+ * Score contribution of each evidence type to the articles of one scoring run. {@link ReCiterArticleScorer} publishes
+ * the contribution of a strategy right after it ran, so totals are summed from a vector instead of being collected
+ * from the evidence objects of the article again. A type that was not published, e.g. because its strategy is
+ * disabled, is read from the article when asked for.
+ */
+public class ArticleEvidenceScores {
+
+	public enum EvidenceType {
+		NAME(article -> article.getAuthorNameEvidence() != null ? article.getAuthorNameEvidence().getNameScoreTotal() : 0),
+		EMAIL(article -> article.getEmailEvidence() != null ? article.getEmailEvidence().getEmailMatchScore() : 0),
+		GENDER(article -> article.getGenderEvidence() != null && article.getGenderEvidence().getGenderScoreIdentityArticleDiscrepancy() != null ? article.getGenderEvidence().getGenderScoreIdentityArticleDiscrepancy() : 0),
+		GRANT(ReCiterArticle::getGrantEvidenceTotalScore),
+		RELATIONSHIP(article -> article.getRelationshipEvidence() != null ? article.getRelationshipEvidence().getRelationshipEvidenceTotalScore() : 0),
+		BACHELORS_YEAR(article -> article.getEducationYearEvidence() != null ? article.getEducationYearEvidence().getDiscrepancyDegreeYearBachelorScore() : 0),
+		DOCTORAL_YEAR(article -> article.getEducationYearEvidence() != null ? article.getEducationYearEvidence().getDiscrepancyDegreeYearDoctoralScore() : 0),
+		ORGANIZATIONAL_UNIT(ReCiterArticle::getOrganizationalEvidencesTotalScore),
+		AFFILIATION(ReCiterArticle::getAffiliationScore),
+		ARTICLE_COUNT(article -> article.getArticleCountEvidence() != null ? article.getArticleCountEvidence().getArticleCountScore() : 0),
+		PERSON_TYPE(article -> article.getPersonTypeEvidence() != null ? article.getPersonTypeEvidence().getPersonTypeScore() : 0),
+		JOURNAL_CATEGORY(article -> article.getJournalCategoryEvidence() != null ? article.getJournalCategoryEvidence().getJournalSubfieldScore() : 0),
+		FEEDBACK_ACCEPTED(article -> article.getAcceptedRejectedEvidence() != null && article.getAcceptedRejectedEvidence().getFeedbackScoreAccepted() != null ? article.getAcceptedRejectedEvidence().getFeedbackScoreAccepted() : 0),
+		FEEDBACK_REJECTED(article -> article.getAcceptedRejectedEvidence() != null && article.getAcceptedRejectedEvidence().getFeedbackScoreRejected() != null ? article.getAcceptedRejectedEvidence().getFeedbackScoreRejected() : 0),
+		FEEDBACK_NULL(article -> article.getAcceptedRejectedEvidence() != null && article.getAcceptedRejectedEvidence().getFeedbackScoreNull() != null ? article.getAcceptedRejectedEvidence().getFeedbackScoreNull() : 0);
+
+		private final ToDoubleFunction<ReCiterArticle> score;
+
+		EvidenceType(ToDoubleFunction<ReCiterArticle> score) {
+			this.score = score;
+		}
+
+		public double score(ReCiterArticle article) {
+			return score.applyAsDouble(article);
+		}
+
+		public boolean isFeedback() {
+			return this == FEEDBACK_ACCEPTED || this == FEEDBACK_REJECTED || this == FEEDBACK_NULL;
+		}
+	}
+
+	private static final EvidenceType[] TYPES = EvidenceType.values();
+
+	/**
+	 * Summation order of the totals. Both keep the order of the former inline sums, which added the journal category
+	 * before the person type when feedback was left out, so the floating point totals do not change.
+	 */
+	private static final EvidenceType[] TYPES_WITH_FEEDBACK = TYPES;
+	private static final EvidenceType[] TYPES_WITHOUT_FEEDBACK = {
+			EvidenceType.NAME, EvidenceType.EMAIL, EvidenceType.GENDER, EvidenceType.GRANT, EvidenceType.RELATIONSHIP,
+			EvidenceType.BACHELORS_YEAR, EvidenceType.DOCTORAL_YEAR, EvidenceType.ORGANIZATIONAL_UNIT, EvidenceType.AFFILIATION,
+			EvidenceType.ARTICLE_COUNT, EvidenceType.JOURNAL_CATEGORY, EvidenceType.PERSON_TYPE };
+
+	/** Vectors indexed by EvidenceType ordinal, NaN where the type was not published */
+	private final Map<ReCiterArticle, double[]> scores = new IdentityHashMap<>();
+
+	public void publish(List<ReCiterArticle> articles, EvidenceType... types) {
+		for (ReCiterArticle article : articles) {
+			double[] vector = vector(article);
+			for (EvidenceType type : types) {
+				vector[type.ordinal()] = type.score(article);
+			}
+		}
+	}
+
+	public double get(ReCiterArticle article, EvidenceType type) {
+		double score = vector(article)[type.ordinal()];
+		return Double.isNaN(score) ? type.score(article) : score;
+	}
+
+	/**
+	 * Sum of all evidence types of an article, feedback scores included only if includeFeedback.
+	 */
+	public double total(ReCiterArticle article, boolean includeFeedback) {
+		double[] vector = vector(article);
+		double total = 0;
+		for (EvidenceType type : includeFeedback ? TYPES_WITH_FEEDBACK : TYPES_WITHOUT_FEEDBACK) {
+			double score = vector[type.ordinal()];
+			total += Double.isNaN(score) ? type.score(article) : score;
+		}
+		return total;
+	}
+
+	private double[] vector(ReCiterArticle article) {
+		return scores.computeIfAbsent(article, key -> {
+			double[] vector = new double[TYPES.length];
+			Arrays.fill(vector, Double.NaN);
+			return vector;
+		});
+	}
+}
@@ -12,6 +12,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import reciter.algorithm.cluster.article.scorer.ArticleEvidenceScores.EvidenceType;
 import reciter.algorithm.cluster.model.ReCiterCluster;
 import reciter.algorithm.evidence.StrategyContext;
 import reciter.algorithm.evidence.article.ReCiterArticleStrategyContext;
@@ -47,9 +48,11 @@ import reciter.algorithm.evidence.targetauthor.name.ScoreByNameStrategyContext;
 import reciter.algorithm.evidence.targetauthor.name.strategy.ScoreByNameStrategy;
 import reciter.algorithm.evidence.targetauthor.persontype.PersonTypeStrategyContext;
 import reciter.algorithm.evidence.targetauthor.persontype.strategy.PersonTypeStrategy;
+import reciter.engine.RetrievalArticleCount;
 import reciter.engine.StrategyParameters;
 import reciter.model.article.ReCiterArticle;
 import reciter.model.identity.Identity;
+import reciter.utils.ReCiterMetrics;
 
 /**
  * @author szd2013
@@ -177,12 +180,17 @@ public class ReCiterArticleScorer extends AbstractArticleScorer {
 	private StrategyContext coCitationStrategyContext;
 	
 	private List<StrategyContext> strategyContexts;
+	
+	/**
+	 * Contributions of the strategies to each article, summed by the average clustering strategy.
+	 */
+	private final ArticleEvidenceScores evidenceScores = new ArticleEvidenceScores();
 
 	private Set<Long> selectedClusterIds; // List of currently selected cluster ids.
 	
 	public static StrategyParameters strategyParameters;
 	
-	public ReCiterArticleScorer(Map<Long, ReCiterCluster> clusters, Identity identity, StrategyParameters strategyParameters) {
+	public ReCiterArticleScorer(Map<Long, ReCiterCluster> clusters, Identity identity, StrategyParameters strategyParameters, RetrievalArticleCount retrievalArticleCount) {
 		
 		ReCiterArticleScorer.strategyParameters = strategyParameters;
 		
@@ -199,14 +207,14 @@ public class ReCiterArticleScorer extends AbstractArticleScorer {
 		// to selected clusters.
 		this.grantStrategyContext = new GrantStrategyContext(new GrantStrategy());
 		this.acceptedRejectedStrategyContext = new AcceptedRejectedStrategyContext(new AcceptedRejectedStrategy());
-		this.averageClusteringStrategyContext = new AverageClusteringStrategyContext(new AverageClusteringStrategy());
+		this.averageClusteringStrategyContext = new AverageClusteringStrategyContext(new AverageClusteringStrategy(evidenceScores));
 		this.standardScoreStrategyContext = new StandardScoreStrategyContext(new StandardScoreStrategy());
 		
 		int numArticles = 0;
 		for (ReCiterCluster reCiterCluster : clusters.values()) {
 			numArticles += reCiterCluster.getArticleCluster().size();
 		}
-		this.articleSizeStrategyContext = new ArticleSizeStrategyContext(new ArticleSizeStrategy(numArticles));
+		this.articleSizeStrategyContext = new ArticleSizeStrategyContext(new ArticleSizeStrategy(numArticles, retrievalArticleCount));
 		this.personTypeStrategyContext = new PersonTypeStrategyContext(new PersonTypeStrategy());
 
 
@@ -255,69 +263,84 @@ public class ReCiterArticleScorer extends AbstractArticleScorer {
 
 	@Override
 	public void runArticleScorer(Map<Long, ReCiterCluster> clusters, Identity identity) {
+		int articleCount = 0;
 		for (Entry<Long, ReCiterCluster> entry : clusters.entrySet()) {
 			long clusterId = entry.getKey();
-			slf4jLogger.info("******************** Cluster " + clusterId + " scoring starts **********************");
+			slf4jLogger.debug("******************** Cluster {} scoring starts **********************", clusterId);
 			List<ReCiterArticle> reCiterArticles = entry.getValue().getArticleCluster();
-			((TargetAuthorStrategyContext) nameStrategyContext).executeStrategy(reCiterArticles, identity);
+			articleCount += reCiterArticles.size();
+			ReCiterMetrics.recordStrategy("name", () -> ((TargetAuthorStrategyContext) nameStrategyContext).executeStrategy(reCiterArticles, identity));
+			evidenceScores.publish(reCiterArticles, EvidenceType.NAME);
 
 			if (strategyParameters.isEmail()) {
-				((TargetAuthorStrategyContext) emailStrategyContext).executeStrategy(reCiterArticles, identity);
+				ReCiterMetrics.recordStrategy("email", () -> ((TargetAuthorStrategyContext) emailStrategyContext).executeStrategy(reCiterArticles, identity));
+				evidenceScores.publish(reCiterArticles, EvidenceType.EMAIL);
 			}
 			
 			if (strategyParameters.isGrant()) {
-				((TargetAuthorStrategyContext) grantStrategyContext).executeStrategy(reCiterArticles, identity);
+				ReCiterMetrics.recordStrategy("grant", () -> ((TargetAuthorStrategyContext) grantStrategyContext).executeStrategy(reCiterArticles, identity));
+				evidenceScores.publish(reCiterArticles, EvidenceType.GRANT);
 			}
 			
 			if (strategyParameters.isKnownRelationship()) {
-				((TargetAuthorStrategyContext) knownRelationshipsStrategyContext).executeStrategy(reCiterArticles, identity);
+				ReCiterMetrics.recordStrategy("knownRelationship", () -> ((TargetAuthorStrategyContext) knownRelationshipsStrategyContext).executeStrategy(reCiterArticles, identity));
+				evidenceScores.publish(reCiterArticles, EvidenceType.RELATIONSHIP);
 			}
 			
 			if (strategyParameters.isBachelorsYearDiscrepancy()) {
-				((RemoveReCiterArticleStrategyContext) bachelorsYearDiscrepancyStrategyContext).executeStrategy(reCiterArticles, identity);
+				ReCiterMetrics.recordStrategy("bachelorsYearDiscrepancy", () -> ((RemoveReCiterArticleStrategyContext) bachelorsYearDiscrepancyStrategyContext).executeStrategy(reCiterArticles, identity));
+				evidenceScores.publish(reCiterArticles, EvidenceType.BACHELORS_YEAR);
 			}
 			
 			if (strategyParameters.isDoctoralYearDiscrepancy()) {
-				((RemoveReCiterArticleStrategyContext) doctoralYearDiscrepancyStrategyContext).executeStrategy(reCiterArticles, identity);
+				ReCiterMetrics.recordStrategy("doctoralYearDiscrepancy", () -> ((RemoveReCiterArticleStrategyContext) doctoralYearDiscrepancyStrategyContext).executeStrategy(reCiterArticles, identity));
+				evidenceScores.publish(reCiterArticles, EvidenceType.DOCTORAL_YEAR);
 			}
 
 			if (strategyParameters.isDepartment()) {
-				((TargetAuthorStrategyContext) departmentStringMatchStrategyContext).executeStrategy(reCiterArticles, identity);
+				ReCiterMetrics.recordStrategy("department", () -> ((TargetAuthorStrategyContext) departmentStringMatchStrategyContext).executeStrategy(reCiterArticles, identity));
+				evidenceScores.publish(reCiterArticles, EvidenceType.ORGANIZATIONAL_UNIT);
 			}
 			
 			if(strategyParameters.isJournalCategory()) {
-				((TargetAuthorStrategyContext) journalCategoryStrategyContext).executeStrategy(reCiterArticles, identity);
+				ReCiterMetrics.recordStrategy("journalCategory", () -> ((TargetAuthorStrategyContext) journalCategoryStrategyContext).executeStrategy(reCiterArticles, identity));
+				evidenceScores.publish(reCiterArticles, EvidenceType.JOURNAL_CATEGORY);
 			}
 			
 			if (strategyParameters.isAffiliation()) {
-				((TargetAuthorStrategyContext)affiliationStrategyContext).executeStrategy(reCiterArticles, identity);
+				ReCiterMetrics.recordStrategy("affiliation", () -> ((TargetAuthorStrategyContext)affiliationStrategyContext).executeStrategy(reCiterArticles, identity));
+				evidenceScores.publish(reCiterArticles, EvidenceType.AFFILIATION);
 			}
 			
 			if (strategyParameters.isArticleSize()) {
-				((TargetAuthorStrategyContext) articleSizeStrategyContext).executeStrategy(reCiterArticles, identity);
+				ReCiterMetrics.recordStrategy("articleSize", () -> ((TargetAuthorStrategyContext) articleSizeStrategyContext).executeStrategy(reCiterArticles, identity));
+				evidenceScores.publish(reCiterArticles, EvidenceType.ARTICLE_COUNT);
 			}
 			
 			if (strategyParameters.isPersonType()) {
-				((TargetAuthorStrategyContext) personTypeStrategyContext).executeStrategy(reCiterArticles, identity);
+				ReCiterMetrics.recordStrategy("personType", () -> ((TargetAuthorStrategyContext) personTypeStrategyContext).executeStrategy(reCiterArticles, identity));
+				evidenceScores.publish(reCiterArticles, EvidenceType.PERSON_TYPE);
 			}
 			
 			if (strategyParameters.isUseGoldStandardEvidence()) {
-				((ReCiterArticleStrategyContext) acceptedRejectedStrategyContext).executeStrategy(reCiterArticles);
+				ReCiterMetrics.recordStrategy("acceptedRejected", () -> ((ReCiterArticleStrategyContext) acceptedRejectedStrategyContext).executeStrategy(reCiterArticles));
+				evidenceScores.publish(reCiterArticles, EvidenceType.FEEDBACK_ACCEPTED, EvidenceType.FEEDBACK_REJECTED, EvidenceType.FEEDBACK_NULL);
 			}
 			
 			if(strategyParameters.isGender()) {
-				((TargetAuthorStrategyContext) genderStrategyContext).executeStrategy(reCiterArticles, identity);
+				ReCiterMetrics.recordStrategy("gender", () -> ((TargetAuthorStrategyContext) genderStrategyContext).executeStrategy(reCiterArticles, identity));
+				evidenceScores.publish(reCiterArticles, EvidenceType.GENDER);
 			}
 			
 			if (strategyParameters.isAverageClustering()) {
-				((ClusterStrategyContext) averageClusteringStrategyContext).executeStrategy(entry.getValue());
+				ReCiterMetrics.recordStrategy("averageClustering", () -> ((ClusterStrategyContext) averageClusteringStrategyContext).executeStrategy(entry.getValue()));
 			}
 			
-			((ReCiterArticleStrategyContext) standardScoreStrategyContext).executeStrategy(reCiterArticles);
+			ReCiterMetrics.recordStrategy("standardScore", () -> ((ReCiterArticleStrategyContext) standardScoreStrategyContext).executeStrategy(reCiterArticles));
 			
 			
-			slf4jLogger.info("******************** Cluster " + clusterId + " scoring ends **********************");
+			slf4jLogger.debug("******************** Cluster {} scoring ends **********************", clusterId);
 		}
-		
+		slf4jLogger.info("Scored {} articles in {} clusters for [{}]", articleCount, clusters.size(), identity.getUid());
 	}
 }
@@ -0,0 +1,173 @@
+package reciter.algorithm.cluster.model;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import reciter.model.article.ReCiterArticle;
+import reciter.model.article.ReCiterArticleFeatures;
+
+/**
+ * Tepid clustering features (journal, MeSH major, co-authors and Scopus affiliation ids) of the articles of one
+ * clustering run interned to integer ids. Each article keeps its features as sorted int arrays so the overlap of two
+ * articles is a merge of arrays instead of list copies and string comparisons.
+ */
+public class ArticleFeatureIndex {
+
+	private static final int[] NONE = new int[0];
+
+	private final Map<String, Integer> journalIds = new HashMap<>();
+	private final Map<String, Integer> meshMajorIds = new HashMap<>();
+	private final Map<String, Integer> coAuthorIds = new HashMap<>();
+	private final Map<ReCiterArticle, Features> features = new IdentityHashMap<>();
+
+	public ArticleFeatureIndex(Collection<ReCiterArticle> reCiterArticles) {
+		for(ReCiterArticle reCiterArticle: reCiterArticles) {
+			add(reCiterArticle);
+		}
+	}
+
+	/**
+	 * Interns the features of an article not seen yet
+	 */
+	public Features add(ReCiterArticle reCiterArticle) {
+		Features articleFeatures = features.get(reCiterArticle);
+		if(articleFeatures == null) {
+			articleFeatures = intern(reCiterArticle.getReCiterArticleFeatures());
+			features.put(reCiterArticle, articleFeatures);
+		}
+		return articleFeatures;
+	}
+
+	public Features get(ReCiterArticle reCiterArticle) {
+		return add(reCiterArticle);
+	}
+
+	private Features intern(ReCiterArticleFeatures reCiterArticleFeatures) {
+		if(reCiterArticleFeatures == null) {
+			return new Features(-1, NONE, NONE, NONE, 0);
+		}
+		int journalId = -1;
+		if(reCiterArticleFeatures.getJournalName() != null && !reCiterArticleFeatures.getJournalName().isEmpty()) {
+			//Journal names are compared ignoring case
+			journalId = internId(fold(reCiterArticleFeatures.getJournalName()), journalIds);
+		}
+		int[] affiliationIds = NONE;
+		if(reCiterArticleFeatures.getAffiliationIds() != null && !reCiterArticleFeatures.getAffiliationIds().isEmpty()) {
+			affiliationIds = reCiterArticleFeatures.getAffiliationIds().stream()
+					.filter(affiliationId -> affiliationId != null)
+					.mapToInt(Integer::intValue)
+					.sorted()
+					.distinct()
+					.toArray();
+		}
+		return new Features(journalId,
+				internAll(reCiterArticleFeatures.getMeshMajor(), meshMajorIds),
+				internAll(reCiterArticleFeatures.getCoAuthors(), coAuthorIds),
+				affiliationIds,
+				reCiterArticleFeatures.getFeatureCount());
+	}
+
+	/**
+	 * @return sorted ids of the values, duplicates are kept since the overlap counts them
+	 */
+	private static int[] internAll(List<String> values, Map<String, Integer> ids) {
+		if(values == null || values.isEmpty()) {
+			return NONE;
+		}
+		int[] interned = new int[values.size()];
+		int size = 0;
+		for(String value: values) {
+			if(value != null) {
+				interned[size++] = internId(value, ids);
+			}
+		}
+		interned = size == interned.length ? interned : Arrays.copyOf(interned, size);
+		Arrays.sort(interned);
+		return interned;
+	}
+
+	private static int internId(String value, Map<String, Integer> ids) {
+		Integer id = ids.get(value);
+		if(id == null) {
+			id = ids.size();
+			ids.put(value, id);
+		}
+		return id;
+	}
+
+	/**
+	 * Case folding that matches String.equalsIgnoreCase
+	 */
+	private static String fold(String value) {
+		char[] chars = value.toCharArray();
+		for(int i = 0; i < chars.length; i++) {
+			chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+		}
+		return new String(chars);
+	}
+
+	/**
+	 * Number of shared features of two articles: 1 for the same journal, one for each MeSH major term and co-author
+	 * of the first article the second also has and 1 if they share any affiliation id.
+	 */
+	public static int overlapCount(Features features1, Features features2) {
+		int matchCount = 0;
+		//Journal Feature match
+		if(features1.journalId != -1 && features1.journalId == features2.journalId) {
+			matchCount++;
+		}
+		//MeshMajor Feature match
+		matchCount = matchCount + countContained(features1.meshMajorIds, features2.meshMajorIds);
+		//Co-Author Feature match
+		matchCount = matchCount + countContained(features1.coAuthorIds, features2.coAuthorIds);
+		//Affiliation Feature match
+		if(countContained(features1.affiliationIds, features2.affiliationIds) > 0) {
+			matchCount = matchCount + 1;
+		}
+		return matchCount;
+	}
+
+	/**
+	 * @return number of entries of ids1, counting duplicates, that are also in ids2. Both arrays are sorted.
+	 */
+	static int countContained(int[] ids1, int[] ids2) {
+		int count = 0;
+		int i = 0;
+		int j = 0;
+		while(i < ids1.length && j < ids2.length) {
+			if(ids1[i] == ids2[j]) {
+				count++;
+				i++;
+			} else if(ids1[i] < ids2[j]) {
+				i++;
+			} else {
+				j++;
+			}
+		}
+		return count;
+	}
+
+	public static final class Features {
+		private final int journalId;
+		private final int[] meshMajorIds;
+		private final int[] coAuthorIds;
+		private final int[] affiliationIds;
+		private final int featureCount;
+
+		Features(int journalId, int[] meshMajorIds, int[] coAuthorIds, int[] affiliationIds, int featureCount) {
+			this.journalId = journalId;
+			this.meshMajorIds = meshMajorIds;
+			this.coAuthorIds = coAuthorIds;
+			this.affiliationIds = affiliationIds;
+			this.featureCount = featureCount;
+		}
+
+		public int getFeatureCount() {
+			return featureCount;
+		}
+	}
+}
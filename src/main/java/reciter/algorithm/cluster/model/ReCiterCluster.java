@@ -19,6 +19,7 @@
 package reciter.algorithm.cluster.model;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -26,12 +27,13 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.lang3.StringUtils;
 import reciter.algorithm.cluster.similarity.clusteringstrategy.article.MeshMajorClusteringStrategy;
+import reciter.algorithm.tfidf.ArticleTfIdf;
+import reciter.algorithm.tfidf.SparseVector;
 import reciter.engine.EngineParameters;
+import reciter.engine.MeshTermCounts;
 import reciter.engine.ReCiterEngine;
 import reciter.model.article.ReCiterArticle;
-import reciter.model.article.ReCiterArticleFeatures;
 import reciter.model.article.ReCiterArticleGrant;
-import reciter.model.article.ReCiterArticleMeshHeading;
 import reciter.model.article.ReCiterAuthor;
 import reciter.model.identity.Identity;
 
@@ -85,6 +87,13 @@ public class ReCiterCluster implements Comparable<ReCiterCluster>{
 	
 	private List<MeshTermCount> meshTermCounts;
 	
+	/**
+	 * Clustering MeSH major ids of the articles, built on the first meshMajor comparison and dropped when articles
+	 * are added.
+	 */
+	private BitSet meshMajorIds;
+	private MeshTermCounts meshMajorIdsCounts;
+	
 	/**
 	 * Returns a list of pmids of articles in this cluster.
 	 */
@@ -99,12 +108,13 @@ public class ReCiterCluster implements Comparable<ReCiterCluster>{
 	/**
 	 * Calculates the similarity of this cluster with another cluster.
 	 * @param c
-	 * @return
+	 * @param articleTfIdf TF-IDF vectors of the articles being clustered
+	 * @return the highest content similarity of an article of c with this cluster
 	 */
-	public double similar(ReCiterCluster c) {
+	public double similar(ReCiterCluster c, ArticleTfIdf articleTfIdf) {
 		double maxSim = -1;
 		for (ReCiterArticle article : c.getArticleCluster()) {
-			double sim = contentSimilarity(article);
+			double sim = contentSimilarity(article, articleTfIdf);
 			if (sim > maxSim) {
 				maxSim = sim;
 			}
@@ -113,15 +123,17 @@ public class ReCiterCluster implements Comparable<ReCiterCluster>{
 	}
 
 	/**
-	 * Calculates the similarity between an ReCiterArticle and a ReCiterCluster.
+	 * Calculates the similarity between an ReCiterArticle and a ReCiterCluster as the highest cosine similarity
+	 * of the TF-IDF vectors of currentArticle and an article of this cluster.
 	 * @param currentArticle
+	 * @param articleTfIdf TF-IDF vectors of the articles being clustered
 	 * @return
 	 */
-	public double contentSimilarity(ReCiterArticle currentArticle) {
+	public double contentSimilarity(ReCiterArticle currentArticle, ArticleTfIdf articleTfIdf) {
 		double similarityScore = -1;
+		SparseVector currentVector = articleTfIdf.getVector(currentArticle);
 		for (ReCiterArticle article : articleCluster) {
-//			double sim = article.getDocumentSimmilarity().documentSimilarity(article, currentArticle);
-			double sim = 0;
+			double sim = articleTfIdf.getVector(article).dot(currentVector);
 			if (sim > similarityScore) {
 				similarityScore = sim;
 			}
@@ -186,10 +198,12 @@ public class ReCiterCluster implements Comparable<ReCiterCluster>{
 
 	public void add(ReCiterArticle article) {
 		this.articleCluster.add(article);
+		meshMajorIds = null;
 	}
 
 	public void addAll(List<ReCiterArticle> reCiterArticles) {
 		articleCluster.addAll(reCiterArticles);
+		meshMajorIds = null;
 	}
 
 	public List<ReCiterArticle> getArticleCluster() {
@@ -198,6 +212,19 @@ public class ReCiterCluster implements Comparable<ReCiterCluster>{
 
 	public void setArticleCluster(List<ReCiterArticle> articleCluster) {
 		this.articleCluster = articleCluster;
+		meshMajorIds = null;
+	}
+	
+	/**
+	 * @return ids of the MeSH majors of this cluster below the clustering threshold, cached until the articles or
+	 * the MeSH term counts change
+	 */
+	BitSet getMeshMajorIds(MeshTermCounts meshTermCounts) {
+		if(meshMajorIds == null || meshMajorIdsCounts != meshTermCounts) {
+			meshMajorIds = MeshMajorClusteringStrategy.getClusteringMeshMajorIds(articleCluster, meshTermCounts);
+			meshMajorIdsCounts = meshTermCounts;
+		}
+		return meshMajorIds;
 	}
 
 	public double getClusterReliabilityScore() {
@@ -312,75 +339,48 @@ public class ReCiterCluster implements Comparable<ReCiterCluster>{
 					}
 			}
 		} else if(comparisonType.equalsIgnoreCase("meshMajor")) {
-			for(ReCiterArticle reCiterArticle: o.getArticleCluster()) {
-				for(ReCiterArticleMeshHeading meshHeading: reCiterArticle.getMeshHeadings()) {
-					if(meshHeading != null && MeshMajorClusteringStrategy.isMeshMajor(meshHeading)) {
-						match = this.articleCluster.stream().anyMatch(articleList -> articleList.getMeshHeadings() != null && 
-								articleList.getMeshHeadings().stream().anyMatch(mesh -> MeshMajorClusteringStrategy.isMeshMajor(mesh) && 
-								StringUtils.equalsIgnoreCase(mesh.getDescriptorName().getDescriptorName(), meshHeading.getDescriptorName().getDescriptorName()) && 
-								EngineParameters.getMeshCountMap() != null && EngineParameters.getMeshCountMap().containsKey(meshHeading.getDescriptorName().getDescriptorName()) &&
-								EngineParameters.getMeshCountMap().get(meshHeading.getDescriptorName().getDescriptorName()) < 4000L
-								));
-					}
-					if(match) {
-						return 1;
-					}
+			MeshTermCounts meshTermCounts = EngineParameters.getMeshTermCounts();
+			if(meshTermCounts != null) {
+				BitSet otherMeshMajorIds = o.getMeshMajorIds(meshTermCounts);
+				if(!otherMeshMajorIds.isEmpty() && otherMeshMajorIds.intersects(getMeshMajorIds(meshTermCounts))) {
+					return 1;
 				}
 			}
 		} else if(comparisonType.equalsIgnoreCase("tepid")) {
-			int matchCount = 0;
-			double clusterSimilarityScore = 0;
-			for(ReCiterArticle reCiterArticleo: o.getArticleCluster()) {
-				for(ReCiterArticle reCiterArticle: this.articleCluster) {
-					matchCount = reCiterOverlapCount(reCiterArticle.getReCiterArticleFeatures(), reCiterArticleo.getReCiterArticleFeatures());
-					if(matchCount > 0 && reCiterArticle.getReCiterArticleFeatures().getFeatureCount() >= 3 && reCiterArticleo.getReCiterArticleFeatures().getFeatureCount() >= 3) {
-						clusterSimilarityScore = computeClusterSimilarityScore(reCiterArticle.getReCiterArticleFeatures().getFeatureCount(), reCiterArticleo.getReCiterArticleFeatures().getFeatureCount(), matchCount);
-						if(clusterSimilarityScore > ReCiterEngine.clusterSimilarityThresholdScore) {
-							return 1;
-						}
-					}
-				}
-			}
+			List<ReCiterArticle> reCiterArticles = new ArrayList<ReCiterArticle>(this.articleCluster);
+			reCiterArticles.addAll(o.getArticleCluster());
+			return compareTo(o, new ArticleFeatureIndex(reCiterArticles));
 		}
 		return 0;
 	}
 	
-	private int reCiterOverlapCount(ReCiterArticleFeatures reCiterArticleFeature1, ReCiterArticleFeatures reCiterArticleFeature2) {
-		int matchCount = 0;
-		//Journal Feature match
-		if(reCiterArticleFeature1.getJournalName() != null && !reCiterArticleFeature1.getJournalName().isEmpty() && 
-				reCiterArticleFeature2.getJournalName() != null && !reCiterArticleFeature2.getJournalName().isEmpty() &&
-				StringUtils.equalsIgnoreCase(reCiterArticleFeature1.getJournalName(), reCiterArticleFeature2.getJournalName())) {
-			matchCount++;
-		}
-		//MeshMajor Feature match
-		if(reCiterArticleFeature1.getMeshMajor() != null && reCiterArticleFeature1.getMeshMajor().size() > 0 &&
-				reCiterArticleFeature2.getMeshMajor() != null && reCiterArticleFeature2.getMeshMajor().size() > 0) {
-			List<String> matchingMeshMajor = new ArrayList<String>(reCiterArticleFeature1.getMeshMajor());
-			matchingMeshMajor.retainAll(reCiterArticleFeature2.getMeshMajor());
-			if(matchingMeshMajor.size() > 0) {
-				matchCount = matchCount + matchingMeshMajor.size();
-			}
-		}
-		//Co-Author Feature match
-		if(reCiterArticleFeature1.getCoAuthors() != null && reCiterArticleFeature1.getCoAuthors().size() > 0 &&
-				reCiterArticleFeature2.getCoAuthors() != null && reCiterArticleFeature2.getCoAuthors().size() > 0) {
-			List<String> matchingCoAuthor = new ArrayList<String>(reCiterArticleFeature1.getCoAuthors());
-			matchingCoAuthor.retainAll(reCiterArticleFeature2.getCoAuthors());
-			if(matchingCoAuthor.size() > 0) {
-				matchCount = matchCount + matchingCoAuthor.size();
+	/**
+	 * Tepid comparison of this cluster with another cluster using the interned features of the clustering run.
+	 * @param o The ReCiterCluster to compare to
+	 * @param articleFeatureIndex features of the articles of both clusters
+	 * @return 1 if an article pair shares enough features or 0 if not
+	 */
+	public int compareTo(ReCiterCluster o, ArticleFeatureIndex articleFeatureIndex) {
+		for(ReCiterArticle reCiterArticleo: o.getArticleCluster()) {
+			ArticleFeatureIndex.Features featureso = articleFeatureIndex.get(reCiterArticleo);
+			if(featureso.getFeatureCount() < 3) {
+				continue;
 			}
-		}
-		
-		if(reCiterArticleFeature1.getAffiliationIds() != null && reCiterArticleFeature1.getAffiliationIds().size() > 0 &&
-				reCiterArticleFeature2.getAffiliationIds() != null && reCiterArticleFeature2.getAffiliationIds().size() > 0) {
-			List<Integer> matchingAffiliationId = new ArrayList<Integer>(reCiterArticleFeature1.getAffiliationIds());
-			matchingAffiliationId.retainAll(reCiterArticleFeature2.getAffiliationIds());
-			if(matchingAffiliationId.size() > 0) {
-				matchCount = matchCount + 1;
+			for(ReCiterArticle reCiterArticle: this.articleCluster) {
+				ArticleFeatureIndex.Features features = articleFeatureIndex.get(reCiterArticle);
+				if(features.getFeatureCount() < 3) {
+					continue;
+				}
+				int matchCount = ArticleFeatureIndex.overlapCount(features, featureso);
+				if(matchCount > 0) {
+					double clusterSimilarityScore = computeClusterSimilarityScore(features.getFeatureCount(), featureso.getFeatureCount(), matchCount);
+					if(clusterSimilarityScore > ReCiterEngine.clusterSimilarityThresholdScore) {
+						return 1;
+					}
+				}
 			}
 		}
-		return matchCount;
+		return 0;
 	}
 	
 	private double computeClusterSimilarityScore(int clusterScore1, int clusterScore2, int overlapScore) {
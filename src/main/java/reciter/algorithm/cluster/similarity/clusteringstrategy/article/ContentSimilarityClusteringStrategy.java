@@ -0,0 +1,56 @@
+package reciter.algorithm.cluster.similarity.clusteringstrategy.article;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import reciter.algorithm.cluster.ReCiterClusterer;
+import reciter.algorithm.cluster.clusteringstrategy.article.AbstractClusteringStrategy;
+import reciter.algorithm.cluster.model.ReCiterCluster;
+import reciter.algorithm.tfidf.ArticleTfIdf;
+import reciter.model.article.ReCiterArticle;
+
+/**
+ * This strategy combines clusters whose articles are about the same topic. Two clusters are combined when an article
+ * of one and an article of the other have a cosine similarity of their TF-IDF vectors (title, abstract, keywords and
+ * MeSH) of at least the threshold.
+ */
+public class ContentSimilarityClusteringStrategy extends AbstractClusteringStrategy {
+
+	private final ArticleTfIdf articleTfIdf;
+	private final double thresholdScore;
+
+	public ContentSimilarityClusteringStrategy(ArticleTfIdf articleTfIdf, double thresholdScore) {
+		this.articleTfIdf = articleTfIdf;
+		this.thresholdScore = thresholdScore;
+	}
+
+	@Override
+	public Map<Long, ReCiterCluster> cluster(List<ReCiterArticle> reCiterArticles) {
+		throw new UnsupportedOperationException("Only combines existing clusters, use cluster(Map) on the baseline clusters.");
+	}
+
+	@Override
+	public Map<Long, ReCiterCluster> cluster(List<ReCiterArticle> reCiterArticles, Set<Long> seedPmids) {
+		throw new UnsupportedOperationException("Only combines existing clusters, use cluster(Map) on the baseline clusters.");
+	}
+
+	@Override
+	public Map<Long, ReCiterCluster> cluster(Map<Long, ReCiterCluster> clusters) {
+		//Compare each clusters with all other for similar content
+		long mapSize = ReCiterClusterer.baselineClusterSize;
+		for(long i=(long) 1 ; i <= mapSize ; i++) {
+			for(long j = (long) 1; j <= mapSize; j++) {
+				if(i==j) {
+					continue;
+				}
+				if(clusters.get(i) != null && clusters.get(j) != null
+						&& clusters.get(i).similar(clusters.get(j), articleTfIdf) >= thresholdScore) {
+					clusters.get(i).addAll(clusters.get(j).getArticleCluster());
+					clusters.remove(j);
+				}
+			}
+		}
+		return clusters;
+	}
+}
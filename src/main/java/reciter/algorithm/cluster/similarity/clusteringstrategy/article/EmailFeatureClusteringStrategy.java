@@ -82,7 +82,7 @@ public class EmailFeatureClusteringStrategy extends AbstractClusteringStrategy {
 			if(affiliation != null) {
 				String validEmail = sanitizeAffiliation(affiliation);
 				if(validEmail != null) {
-					slf4jLogger.info("Valid Email found in article: " + reCiterArticle.getArticleId() + " with email: " + validEmail);
+					slf4jLogger.debug("Valid Email found in article: {} with email: {}", reCiterArticle.getArticleId(), validEmail);
 					author.setValidEmail(validEmail);
 				}
 			}
@@ -1,5 +1,7 @@
 package reciter.algorithm.cluster.similarity.clusteringstrategy.article;
 
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -10,6 +12,7 @@ import org.slf4j.LoggerFactory;
 import reciter.algorithm.cluster.ReCiterClusterer;
 import reciter.algorithm.cluster.clusteringstrategy.article.AbstractClusteringStrategy;
 import reciter.algorithm.cluster.model.ReCiterCluster;
+import reciter.engine.MeshTermCounts;
 import reciter.model.article.ReCiterArticle;
 import reciter.model.article.ReCiterArticleMeshHeading;
 import reciter.model.article.ReCiterCitationYNEnum;
@@ -65,6 +68,31 @@ public class MeshMajorClusteringStrategy extends AbstractClusteringStrategy {
 			return clusters;
 		}
 		
+		/**
+		 * Ids of the MeSH majors of the articles having a global count below {@link MeshTermCounts#CLUSTERING_THRESHOLD}.
+		 * Two clusters share such a MeSH major when their id sets intersect.
+		 * @param reCiterArticles articles of a cluster
+		 * @param meshTermCounts
+		 * @return
+		 */
+		public static BitSet getClusteringMeshMajorIds(Collection<ReCiterArticle> reCiterArticles, MeshTermCounts meshTermCounts) {
+			BitSet meshMajorIds = new BitSet();
+			for(ReCiterArticle reCiterArticle: reCiterArticles) {
+				if(reCiterArticle.getMeshHeadings() == null) {
+					continue;
+				}
+				for(ReCiterArticleMeshHeading meshHeading: reCiterArticle.getMeshHeadings()) {
+					if(meshHeading != null && isMeshMajor(meshHeading)) {
+						int id = meshTermCounts.getId(meshHeading.getDescriptorName().getDescriptorName());
+						if(meshTermCounts.isBelowClusteringThreshold(id)) {
+							meshMajorIds.set(id);
+						}
+					}
+				}
+			}
+			return meshMajorIds;
+		}
+		
 		/**
 		 * <p>
 		 * MeSH major parsing
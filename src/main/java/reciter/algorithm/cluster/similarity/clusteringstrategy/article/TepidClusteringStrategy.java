@@ -1,5 +1,6 @@
 package reciter.algorithm.cluster.similarity.clusteringstrategy.article;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -9,6 +10,7 @@ import org.slf4j.LoggerFactory;
 
 import reciter.algorithm.cluster.ReCiterClusterer;
 import reciter.algorithm.cluster.clusteringstrategy.article.AbstractClusteringStrategy;
+import reciter.algorithm.cluster.model.ArticleFeatureIndex;
 import reciter.algorithm.cluster.model.ReCiterCluster;
 import reciter.model.article.ReCiterArticle;
 
@@ -38,6 +40,11 @@ public class TepidClusteringStrategy extends AbstractClusteringStrategy {
 	@Override
 	public Map<Long, ReCiterCluster> cluster(Map<Long, ReCiterCluster> clusters) {
 		//Compare each clusters with all other for matching grant ID
+		List<ReCiterArticle> reCiterArticles = new ArrayList<ReCiterArticle>();
+		for(ReCiterCluster reCiterCluster: clusters.values()) {
+			reCiterArticles.addAll(reCiterCluster.getArticleCluster());
+		}
+		ArticleFeatureIndex articleFeatureIndex = new ArticleFeatureIndex(reCiterArticles);
 		long mapSize = ReCiterClusterer.baselineClusterSize;
 		for(long i=(long) 1 ; i <= mapSize ; i++) {
 			for(long j = (long) 1; j <= mapSize; j++) {
@@ -46,7 +53,7 @@ public class TepidClusteringStrategy extends AbstractClusteringStrategy {
 				}
 				else {
 					if(clusters.get(i) != null && clusters.get(j) != null) {
-						if(clusters.get(i).compareTo(clusters.get(j), "tepid") == 1) {
+						if(clusters.get(i).compareTo(clusters.get(j), articleFeatureIndex) == 1) {
 							//slf4jLogger.info("Cluster " + i + " match with Cluster " + j);
 							clusters.get(i).addAll(clusters.get(j).getArticleCluster());
 							clusters.remove(j);
@@ -43,7 +43,7 @@ public class AcceptedRejectedStrategy extends AbstractReCiterArticleStrategy {
 				}
 				
 				if(acceptedRejectedEvidence != null) {
-					slf4jLogger.info("Pmid: " + reCiterArticle.getArticleId() + " " + acceptedRejectedEvidence);
+					slf4jLogger.debug("Pmid: {} {}", reCiterArticle.getArticleId(), acceptedRejectedEvidence);
 					reCiterArticle.setAcceptedRejectedEvidence(acceptedRejectedEvidence);
 				}
 			});
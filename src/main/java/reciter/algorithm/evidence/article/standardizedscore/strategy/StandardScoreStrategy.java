@@ -14,12 +14,70 @@ import reciter.model.article.ReCiterArticle;
 public class StandardScoreStrategy extends AbstractReCiterArticleStrategy {
 	
 	private static final Logger slf4jLogger = LoggerFactory.getLogger(AcceptedRejectedStrategy.class);
-	
-	private final String[] standardizedScoreMapping = ReCiterArticleScorer.strategyParameters.getStandardizedScoreMapping().trim().split(",");
-	private List<String> standardizedScores;
+
+	/**
+	 * Lower bounds of the standardized scores parsed from the last standardizedScoreMapping seen. The mapping is the
+	 * same for every run unless the strategy parameters are reloaded, so it is only parsed again when it changes.
+	 */
+	private static volatile ParsedMapping parsedMapping;
+
+	private static final class ParsedMapping {
+		private final String mapping;
+		private final double[] lowerBounds;
+
+		private ParsedMapping(String mapping, double[] lowerBounds) {
+			this.mapping = mapping;
+			this.lowerBounds = lowerBounds;
+		}
+	}
+
+	private final double[] lowerBounds;
 	
 	public StandardScoreStrategy() {
-		this.standardizedScores = Arrays.asList(standardizedScoreMapping);
+		this.lowerBounds = parseMapping(ReCiterArticleScorer.strategyParameters.getStandardizedScoreMapping());
+	}
+
+	static double[] parseMapping(String standardizedScoreMapping) {
+		ParsedMapping parsed = parsedMapping;
+		if(parsed == null || !parsed.mapping.equals(standardizedScoreMapping)) {
+			double[] lowerBounds = Arrays.stream(standardizedScoreMapping.trim().split(","))
+					.mapToDouble(Double::parseDouble)
+					.sorted()
+					.toArray();
+			parsed = new ParsedMapping(standardizedScoreMapping, lowerBounds);
+			parsedMapping = parsed;
+		}
+		return parsed.lowerBounds;
+	}
+
+	/**
+	 * Standardized score of a raw score: n if it is at least the nth lower bound but below the next one.
+	 * @return 0 if the raw score is below the first lower bound or NaN
+	 */
+	static int standardize(double[] lowerBounds, double nonStandardizedScore) {
+		//Number of lower bounds <= score
+		int low = 0;
+		int high = lowerBounds.length;
+		while(low < high) {
+			int mid = (low + high) >>> 1;
+			if(lowerBounds[mid] <= nonStandardizedScore) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Standardizes all raw scores of a run in one pass.
+	 */
+	static int[] standardize(double[] lowerBounds, double[] nonStandardizedScores) {
+		int[] standardizedScores = new int[nonStandardizedScores.length];
+		for(int i = 0; i < nonStandardizedScores.length; i++) {
+			standardizedScores[i] = standardize(lowerBounds, nonStandardizedScores[i]);
+		}
+		return standardizedScores;
 	}
 
 	@Override
@@ -36,22 +94,20 @@ public class StandardScoreStrategy extends AbstractReCiterArticleStrategy {
 
 	@Override
 	public double executeStrategy(List<ReCiterArticle> reCiterArticles) {
-		reCiterArticles.stream().forEach(reCiterArticle -> {
-			double standardizedScore = 1;
-			for(int i = 0; i < this.standardizedScores.size(); i++) {
-					if(i == this.standardizedScores.size() - 1) {
-						if(reCiterArticle.getTotalArticleScoreNonStandardized() >= Double.parseDouble(this.standardizedScores.get(i))) {
-							reCiterArticle.setTotalArticleScoreStandardized(standardizedScore);
-						}
-					} else if(reCiterArticle.getTotalArticleScoreNonStandardized() >= Double.parseDouble(this.standardizedScores.get(i)) 
-							&&
-							reCiterArticle.getTotalArticleScoreNonStandardized() < Double.parseDouble(this.standardizedScores.get(i + 1))) {
-						reCiterArticle.setTotalArticleScoreStandardized(standardizedScore);
-					}
-					standardizedScore++;
+		double[] nonStandardizedScores = new double[reCiterArticles.size()];
+		int i = 0;
+		for(ReCiterArticle reCiterArticle: reCiterArticles) {
+			nonStandardizedScores[i++] = reCiterArticle.getTotalArticleScoreNonStandardized();
+		}
+		int[] standardizedScores = standardize(this.lowerBounds, nonStandardizedScores);
+		i = 0;
+		for(ReCiterArticle reCiterArticle: reCiterArticles) {
+			//Scores below the first lower bound keep their standardized score as before
+			if(standardizedScores[i] > 0) {
+				reCiterArticle.setTotalArticleScoreStandardized((double) standardizedScores[i]);
 			}
-			
-		});
+			i++;
+		}
 		return 0;
 	}
 
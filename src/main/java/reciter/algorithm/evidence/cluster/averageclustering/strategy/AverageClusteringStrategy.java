@@ -1,15 +1,15 @@
 package reciter.algorithm.evidence.cluster.averageclustering.strategy;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import reciter.algorithm.cluster.article.scorer.ArticleEvidenceScores;
+import reciter.algorithm.cluster.article.scorer.ArticleEvidenceScores.EvidenceType;
 import reciter.algorithm.cluster.article.scorer.ReCiterArticleScorer;
 import reciter.algorithm.cluster.model.ReCiterCluster;
 import reciter.algorithm.evidence.cluster.AbstractClusterStrategy;
@@ -24,80 +24,65 @@ import reciter.model.article.ReCiterAuthor;
 public class AverageClusteringStrategy extends AbstractClusterStrategy {
 	
 	private static final Logger slf4jLogger = LoggerFactory.getLogger(AverageClusteringStrategy.class);
+	
+	private final ArticleEvidenceScores evidenceScores;
+	
+	public AverageClusteringStrategy() {
+		this(new ArticleEvidenceScores());
+	}
+	
+	/**
+	 * @param evidenceScores contributions published by the strategies that ran before this one
+	 */
+	public AverageClusteringStrategy(ArticleEvidenceScores evidenceScores) {
+		this.evidenceScores = evidenceScores;
+	}
 
 	@Override
 	public double executeStrategy(ReCiterCluster reCiterCluster) {
-			
-			List<String> articleAuthorFirstNames = new ArrayList<String>();
-			reCiterCluster.getArticleCluster().stream().forEach(reCiterArticle -> {
-				if(reCiterCluster.getArticleCluster().size() > 1) {
-					populateArticeAuthorFirstName(reCiterArticle, articleAuthorFirstNames);
-				}
-				if(ReCiterArticleScorer.strategyParameters.isUseGoldStandardEvidence()) {
-					double totalArticleScoreWithoutClustering =  ((reCiterArticle.getAuthorNameEvidence() != null)?(reCiterArticle.getAuthorNameEvidence().getNameScoreTotal()):0) +
-							((reCiterArticle.getEmailEvidence() != null)?reCiterArticle.getEmailEvidence().getEmailMatchScore():0) +
-							((reCiterArticle.getGenderEvidence() != null && reCiterArticle.getGenderEvidence().getGenderScoreIdentityArticleDiscrepancy() != null)?reCiterArticle.getGenderEvidence().getGenderScoreIdentityArticleDiscrepancy():0) +
-							reCiterArticle.getGrantEvidenceTotalScore() +
-							((reCiterArticle.getRelationshipEvidence() != null)?reCiterArticle.getRelationshipEvidence().getRelationshipEvidenceTotalScore():0) +
-							((reCiterArticle.getEducationYearEvidence() != null)?reCiterArticle.getEducationYearEvidence().getDiscrepancyDegreeYearBachelorScore():0) +
-							((reCiterArticle.getEducationYearEvidence() != null)?reCiterArticle.getEducationYearEvidence().getDiscrepancyDegreeYearDoctoralScore():0) +
-							reCiterArticle.getOrganizationalEvidencesTotalScore() +
-							reCiterArticle.getAffiliationScore() + 
-							reCiterArticle.getArticleCountEvidence().getArticleCountScore() +
-							((reCiterArticle.getPersonTypeEvidence() != null)?reCiterArticle.getPersonTypeEvidence().getPersonTypeScore():0) +
-							((reCiterArticle.getJournalCategoryEvidence() != null)?reCiterArticle.getJournalCategoryEvidence().getJournalSubfieldScore():0) +
-							((reCiterArticle.getAcceptedRejectedEvidence().getFeedbackScoreAccepted() !=null)?reCiterArticle.getAcceptedRejectedEvidence().getFeedbackScoreAccepted():0) + 
-							((reCiterArticle.getAcceptedRejectedEvidence().getFeedbackScoreRejected() !=null)?reCiterArticle.getAcceptedRejectedEvidence().getFeedbackScoreRejected():0) +
-							((reCiterArticle.getAcceptedRejectedEvidence().getFeedbackScoreNull() !=null)?reCiterArticle.getAcceptedRejectedEvidence().getFeedbackScoreNull():0);
-					
-					reCiterArticle.setTotalArticleScoreWithoutClustering(totalArticleScoreWithoutClustering);
-				} else {
-					double totalArticleScoreWithoutClustering = ((reCiterArticle.getAuthorNameEvidence() != null)?(reCiterArticle.getAuthorNameEvidence().getNameScoreTotal()):0) + 
-							((reCiterArticle.getEmailEvidence() != null)?reCiterArticle.getEmailEvidence().getEmailMatchScore():0) + 
-							((reCiterArticle.getGenderEvidence() != null && reCiterArticle.getGenderEvidence().getGenderScoreIdentityArticleDiscrepancy() != null)?reCiterArticle.getGenderEvidence().getGenderScoreIdentityArticleDiscrepancy():0) +
-							reCiterArticle.getGrantEvidenceTotalScore() +
-							((reCiterArticle.getRelationshipEvidence() != null)?reCiterArticle.getRelationshipEvidence().getRelationshipEvidenceTotalScore():0) +
-							((reCiterArticle.getEducationYearEvidence() != null)?reCiterArticle.getEducationYearEvidence().getDiscrepancyDegreeYearBachelorScore():0) +
-							((reCiterArticle.getEducationYearEvidence() != null)?reCiterArticle.getEducationYearEvidence().getDiscrepancyDegreeYearDoctoralScore():0) +
-							reCiterArticle.getOrganizationalEvidencesTotalScore() +
-							reCiterArticle.getAffiliationScore() +
-							reCiterArticle.getArticleCountEvidence().getArticleCountScore() +
-							((reCiterArticle.getJournalCategoryEvidence() != null)?reCiterArticle.getJournalCategoryEvidence().getJournalSubfieldScore():0) +
-							((reCiterArticle.getPersonTypeEvidence() != null)?reCiterArticle.getPersonTypeEvidence().getPersonTypeScore():0);
-					
-					reCiterArticle.setTotalArticleScoreWithoutClustering(totalArticleScoreWithoutClustering);
-				}
-						
-			});
-			
-			if(articleAuthorFirstNames.size() > 0) {
-				Map<String, Long> firstNameFrequencyCounts = articleAuthorFirstNames.stream().collect(Collectors.groupingBy(e -> e , Collectors.counting()));
-				if(firstNameFrequencyCounts.size() > 0) {
-					Long maxFrequencyCount = Collections.max(firstNameFrequencyCounts.entrySet(), Comparator.comparingLong(Map.Entry::getValue)).getValue();
-					if(articleAuthorFirstNames.size() > 0) {
-						double mostCommonNameRatio = (double) maxFrequencyCount.longValue()/articleAuthorFirstNames.size();
-						reCiterCluster.setClusterReliabilityScore(Math.pow(mostCommonNameRatio, ReCiterArticleScorer.strategyParameters.getClusterReliabilityScoreFactor()));
-					}
+		List<ReCiterArticle> reCiterArticles = reCiterCluster.getArticleCluster();
+		boolean includeFeedback = ReCiterArticleScorer.strategyParameters.isUseGoldStandardEvidence();
+		Map<String, Integer> firstNameFrequencyCounts = new HashMap<>();
+		int articleAuthorFirstNames = 0;
+		int maxFrequencyCount = 0;
+		double[] articleScores = new double[reCiterArticles.size()];
+		int index = 0;
+		for (ReCiterArticle reCiterArticle : reCiterArticles) {
+			if(reCiterArticles.size() > 1) {
+				String firstName = getTargetAuthorFirstName(reCiterArticle);
+				if(firstName != null) {
+					articleAuthorFirstNames++;
+					maxFrequencyCount = Math.max(maxFrequencyCount, firstNameFrequencyCounts.merge(firstName, 1, Integer::sum));
 				}
 			}
+			double totalArticleScoreWithoutClustering = evidenceScores.total(reCiterArticle, includeFeedback);
+			reCiterArticle.setTotalArticleScoreWithoutClustering(totalArticleScoreWithoutClustering);
+			articleScores[index++] = totalArticleScoreWithoutClustering;
+		}
 		
-		double averageClusterScore = getAverageClusterScore(reCiterCluster);
+		if(articleAuthorFirstNames > 0) {
+			double mostCommonNameRatio = (double) maxFrequencyCount/articleAuthorFirstNames;
+			reCiterCluster.setClusterReliabilityScore(Math.pow(mostCommonNameRatio, ReCiterArticleScorer.strategyParameters.getClusterReliabilityScoreFactor()));
+		}
+		
+		double averageClusterScore = getAverageClusterScore(articleScores);
 		populateAverageClusterEvidence(reCiterCluster, averageClusterScore);
 		
 		
 		return 0;
 	}
 	
-	private double getAverageClusterScore(ReCiterCluster reCiterCluster) {
-		double totalClusterScore = reCiterCluster.getArticleCluster().stream().mapToDouble(reCiterArticle -> reCiterArticle.getTotalArticleScoreWithoutClustering()).sum();
-		return totalClusterScore/reCiterCluster.getArticleCluster().size();
+	/**
+	 * Summed with DoubleStream.sum like before, whose compensated summation can differ from adding in a loop.
+	 */
+	static double getAverageClusterScore(double[] articleScores) {
+		return Arrays.stream(articleScores).sum()/articleScores.length;
 	}
 	
 	private void populateAverageClusterEvidence(ReCiterCluster reCiterCluster, double averageClusterScore) {
 		reCiterCluster.getArticleCluster().stream().forEach(reCiterArticle -> {
 			reCiterArticle.setTotalArticleScoreWithoutClustering(reCiterArticle.getTotalArticleScoreWithoutClustering()
-					- (((reCiterArticle.getAcceptedRejectedEvidence() != null && reCiterArticle.getAcceptedRejectedEvidence().getFeedbackScoreAccepted() !=null)?reCiterArticle.getAcceptedRejectedEvidence().getFeedbackScoreAccepted():0) +
-							((reCiterArticle.getAcceptedRejectedEvidence() != null && reCiterArticle.getAcceptedRejectedEvidence().getFeedbackScoreRejected() !=null)?reCiterArticle.getAcceptedRejectedEvidence().getFeedbackScoreRejected():0)));
+					- (evidenceScores.get(reCiterArticle, EvidenceType.FEEDBACK_ACCEPTED) + evidenceScores.get(reCiterArticle, EvidenceType.FEEDBACK_REJECTED)));
 			double clusterScoreDiscrepancy = (reCiterArticle.getTotalArticleScoreWithoutClustering() - averageClusterScore) * ReCiterArticleScorer.strategyParameters.getClusterScoreFactor()
 					* ((reCiterCluster.getClusterReliabilityScore()>0)?reCiterCluster.getClusterReliabilityScore():1);
 			AverageClusteringEvidence averageClusteringEvidence = new AverageClusteringEvidence();
@@ -110,22 +95,39 @@ public class AverageClusteringStrategy extends AbstractClusterStrategy {
 			double totalArticleScoreNonStandardized = reCiterArticle.getTotalArticleScoreWithoutClustering() - clusterScoreDiscrepancy;
 			reCiterArticle.setTotalArticleScoreNonStandardized(roundAvoid(totalArticleScoreNonStandardized, 2));
 			reCiterArticle.setAverageClusteringEvidence(averageClusteringEvidence);
-			slf4jLogger.info("Pmid: " + reCiterArticle.getArticleId() + " " + averageClusteringEvidence);
+			slf4jLogger.debug("Pmid: {} {}", reCiterArticle.getArticleId(), averageClusteringEvidence);
 		});
 	}
 	
-	private void populateArticeAuthorFirstName(ReCiterArticle reCiterArticle, List<String> articleAuthorFirstNames) {
+	/**
+	 * First name of the target author without upper case letters, hyphens, periods, quotes, parentheses and spaces,
+	 * null if there is no target author or nothing is left.
+	 */
+	private static String getTargetAuthorFirstName(ReCiterArticle reCiterArticle) {
 		
 		ReCiterAuthor reCiterAuthor = reCiterArticle.getArticleCoAuthors().getAuthors().stream().filter(author -> author.isTargetAuthor() == true).findAny().orElse(null);
 		
 		if(reCiterAuthor != null) {
-			String firstName = reCiterAuthor.getAuthorName().getFirstName().replaceAll("[A-Z-.\"() ]", "").trim();
+			String firstName = stripFirstName(reCiterAuthor.getAuthorName().getFirstName());
 			if(!firstName.isEmpty()) {
-				articleAuthorFirstNames.add(firstName);
+				return firstName;
 			}
-			
 		}
-		
+		return null;
+	}
+	
+	/**
+	 * Same as firstName.replaceAll("[A-Z-.\"() ]", "").trim() without a regex.
+	 */
+	static String stripFirstName(String firstName) {
+		StringBuilder stripped = new StringBuilder(firstName.length());
+		for(int i = 0; i < firstName.length(); i++) {
+			char c = firstName.charAt(i);
+			if((c < 'A' || c > 'Z') && c != '-' && c != '.' && c != '"' && c != '(' && c != ')' && c != ' ') {
+				stripped.append(c);
+			}
+		}
+		return stripped.toString().trim();
 	}
 	
 	public static double roundAvoid(double value, int places) {
@@ -22,11 +22,11 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import reciter.algorithm.util.ReCiterStringUtil;
 import reciter.model.article.ReCiterArticle;
 import reciter.model.article.ReCiterArticleAuthors;
 import reciter.model.article.ReCiterAuthor;
 import reciter.model.identity.Identity;
+import reciter.utils.StringDistance;
 
 public abstract class AbstractTargetAuthorStrategy implements TargetAuthorStrategy {
 
@@ -66,12 +66,14 @@ public abstract class AbstractTargetAuthorStrategy implements TargetAuthorStrate
 								return true;
 							}
 						} else {
-							int levenshteinDist = ReCiterStringUtil.levenshteinDistance(firstName, targetAuthorFirstName);
-							boolean isAcceptableDistance = Double.valueOf(levenshteinDist) / firstName.length() <= 0.25;
+							//Distance / firstName.length() <= 0.25
+							int maxDistance = firstName.length() / 4;
+							int levenshteinDist = StringDistance.levenshteinDistance(firstName, targetAuthorFirstName, maxDistance);
+							boolean isAcceptableDistance = levenshteinDist <= maxDistance;
 							
 							if (isAcceptableDistance) {
-								slf4jLogger.info("PMID=[" + reCiterArticle.getArticleId() + "], levenshtein distance of firstName=[" + 
-										firstName + "] targetAuthorFirstName=[" + targetAuthorFirstName + "] is [" + levenshteinDist + "] is accepted");
+								slf4jLogger.debug("PMID=[{}], levenshtein distance of firstName=[{}] targetAuthorFirstName=[{}] is [{}] is accepted",
+										reCiterArticle.getArticleId(), firstName, targetAuthorFirstName, levenshteinDist);
 							}
 
 							// Case: PMID = 12069979, first name = "Juan", in db name = "Juan Miguel".
@@ -89,12 +91,14 @@ public abstract class AbstractTargetAuthorStrategy implements TargetAuthorStrate
 								return true;
 							}
 						} else {
-							int levenshteinDist = ReCiterStringUtil.levenshteinDistance(firstName, targetAuthorFirstName);
-							boolean isAcceptableDistance = Double.valueOf(levenshteinDist) / firstName.length() <= 0.25;
+							//Distance / firstName.length() <= 0.25
+							int maxDistance = firstName.length() / 4;
+							int levenshteinDist = StringDistance.levenshteinDistance(firstName, targetAuthorFirstName, maxDistance);
+							boolean isAcceptableDistance = levenshteinDist <= maxDistance;
 							
 							if (isAcceptableDistance) {
-								slf4jLogger.info("PMID=[" + reCiterArticle.getArticleId() + "], levenshtein distance of firstName=[" + 
-										firstName + "] targetAuthorFirstName=[" + targetAuthorFirstName + "] is [" + levenshteinDist + "] is accepted");
+								slf4jLogger.debug("PMID=[{}], levenshtein distance of firstName=[{}] targetAuthorFirstName=[{}] is [{}] is accepted",
+										reCiterArticle.getArticleId(), firstName, targetAuthorFirstName, levenshteinDist);
 							}
 							
 							// Case: PMID = 12069979, first name = "Juan", in db name = "Juan Miguel".
@@ -0,0 +1,190 @@
+package reciter.algorithm.evidence.targetauthor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import reciter.model.identity.AuthorName;
+
+/**
+ * Name keys of all sanitized name variants of an identity, built once per identity. Each match level of the
+ * target author selection cascade is answered for an article author with a hash probe (plus a scan over the few
+ * variants sharing the same last name or first initial for the substring levels) instead of streaming over every
+ * identity name in every pass.
+ * Keys are case folded the same way String.equalsIgnoreCase compares characters so every level matches exactly
+ * what the original comparison matched.
+ * @see TargetAuthorSelection
+ */
+public class IdentityNameIndex {
+
+	/**
+	 * Match levels of the target author selection cascade in the order they are tried
+	 */
+	public enum MatchLevel {
+		/** Step 1: strict last, middle and first name */
+		LAST_MIDDLE_FIRST,
+		/** Step 2: strict last name, middle initial and first name */
+		LAST_MIDDLE_INITIAL_FIRST,
+		/** Step 3: strict last and first name */
+		LAST_FIRST,
+		/** Step 4: strict last name and article first name is a substring of identity first name */
+		LAST_FIRST_PART_OF_IDENTITY_FIRST,
+		/** Step 5: strict last name and identity first name is a substring of article first name */
+		LAST_IDENTITY_FIRST_PART_OF_FIRST,
+		/** Step 6: strict last name and first initial */
+		LAST_FIRST_INITIAL,
+		/** Step 8: first initial to middle initial and middle initial to first initial with strict last name */
+		SWAPPED_INITIALS_LAST,
+		/** Step 9: identity last name is a substring of article last name and strict first initial */
+		PARTIAL_LAST_FIRST_INITIAL,
+		/** Step 10: strict last name */
+		LAST,
+		/** Step 11: strict first name */
+		FIRST,
+		/** Step 12: article last name is a substring of identity last name */
+		LAST_PART_OF_IDENTITY_LAST
+	}
+
+	private static final char SEPARATOR = '\u0000';
+
+	private final Set<String> lastMiddleFirst = new HashSet<>();
+	private final Set<String> lastMiddleInitialFirst = new HashSet<>();
+	private final Set<String> lastFirst = new HashSet<>();
+	private final Map<String, List<String>> firstNamesByLastName = new HashMap<>();
+	private final Set<String> lastFirstInitial = new HashSet<>();
+	private final Set<String> swappedInitialsLast = new HashSet<>();
+	private final Map<String, List<String>> lastNamesByFirstInitial = new HashMap<>();
+	private final Set<String> trimmedLastNames = new HashSet<>();
+	private final Set<String> trimmedFirstNames = new HashSet<>();
+
+	public IdentityNameIndex(Collection<AuthorName> sanitizedIdentityNames) {
+		for(AuthorName name: sanitizedIdentityNames) {
+			String lastName = name.getLastName();
+			String firstName = name.getFirstName();
+			String middleName = name.getMiddleName();
+			String middleInitial = name.getMiddleInitial();
+			String firstInitial = name.getFirstInitial();
+			if(lastName != null) {
+				trimmedLastNames.add(fold(lastName.trim()));
+				if(firstName != null) {
+					lastFirst.add(key(lastName, firstName));
+					firstNamesByLastName.computeIfAbsent(fold(lastName), key -> new ArrayList<>()).add(fold(firstName));
+					if(middleName != null) {
+						lastMiddleFirst.add(key(lastName, middleName, firstName));
+					}
+					if(middleInitial != null) {
+						lastMiddleInitialFirst.add(key(lastName, middleInitial, firstName));
+					}
+				}
+				if(firstInitial != null) {
+					lastFirstInitial.add(key(lastName, firstInitial));
+					lastNamesByFirstInitial.computeIfAbsent(fold(firstInitial), key -> new ArrayList<>()).add(fold(lastName));
+					if(firstInitial.length() > 0 && middleInitial != null && middleInitial.length() > 0) {
+						swappedInitialsLast.add(key(lastName.trim(), middleInitial.trim(), firstInitial.trim()));
+					}
+				}
+			}
+			if(firstName != null) {
+				trimmedFirstNames.add(fold(firstName.trim()));
+			}
+		}
+	}
+
+	/**
+	 * Probes all match levels for an article author name at once.
+	 */
+	public AuthorNameMatch match(AuthorName authorName) {
+		AuthorNameMatch authorNameMatch = new AuthorNameMatch();
+		String lastName = authorName.getLastName();
+		String firstName = authorName.getFirstName();
+		String middleName = authorName.getMiddleName();
+		String middleInitial = authorName.getMiddleInitial();
+		String firstInitial = authorName.getFirstInitial();
+		if(lastName == null) {
+			if(firstName != null) {
+				authorNameMatch.set(MatchLevel.FIRST, trimmedFirstNames.contains(fold(firstName.trim())));
+			}
+			return authorNameMatch;
+		}
+		String foldedLastName = fold(lastName);
+		if(firstName != null) {
+			String foldedFirstName = fold(firstName);
+			if(middleName != null) {
+				authorNameMatch.set(MatchLevel.LAST_MIDDLE_FIRST, lastMiddleFirst.contains(key(lastName, middleName, firstName)));
+			}
+			if(middleInitial != null) {
+				authorNameMatch.set(MatchLevel.LAST_MIDDLE_INITIAL_FIRST, lastMiddleInitialFirst.contains(key(lastName, middleInitial, firstName)));
+			}
+			authorNameMatch.set(MatchLevel.LAST_FIRST, lastFirst.contains(key(lastName, firstName)));
+			List<String> identityFirstNames = firstNamesByLastName.getOrDefault(foldedLastName, Collections.emptyList());
+			authorNameMatch.set(MatchLevel.LAST_FIRST_PART_OF_IDENTITY_FIRST, identityFirstNames.stream().anyMatch(identityFirstName -> identityFirstName.contains(foldedFirstName)));
+			authorNameMatch.set(MatchLevel.LAST_IDENTITY_FIRST_PART_OF_FIRST, identityFirstNames.stream().anyMatch(identityFirstName -> foldedFirstName.contains(identityFirstName)));
+			authorNameMatch.set(MatchLevel.FIRST, trimmedFirstNames.contains(fold(firstName.trim())));
+		}
+		if(firstInitial != null) {
+			authorNameMatch.set(MatchLevel.LAST_FIRST_INITIAL, lastFirstInitial.contains(key(lastName, firstInitial)));
+			authorNameMatch.set(MatchLevel.PARTIAL_LAST_FIRST_INITIAL, lastNamesByFirstInitial.getOrDefault(fold(firstInitial), Collections.emptyList())
+					.stream().anyMatch(foldedLastName::contains));
+			if(middleInitial != null) {
+				authorNameMatch.set(MatchLevel.SWAPPED_INITIALS_LAST, firstInitial.length() > 0 && middleInitial.length() > 0
+						&& swappedInitialsLast.contains(key(lastName.trim(), firstInitial.trim(), middleInitial.trim())));
+			}
+		}
+		String trimmedLastName = fold(lastName.trim());
+		authorNameMatch.set(MatchLevel.LAST, trimmedLastNames.contains(trimmedLastName));
+		authorNameMatch.set(MatchLevel.LAST_PART_OF_IDENTITY_LAST, trimmedLastNames.stream().anyMatch(identityLastName -> identityLastName.contains(trimmedLastName)));
+		return authorNameMatch;
+	}
+
+	private static String key(String... parts) {
+		StringBuilder key = new StringBuilder();
+		for(String part: parts) {
+			if(key.length() > 0) {
+				key.append(SEPARATOR);
+			}
+			key.append(fold(part));
+		}
+		return key.toString();
+	}
+
+	/**
+	 * Case folds a name so that two names are equal exactly when String.equalsIgnoreCase would consider them equal.
+	 */
+	static String fold(String name) {
+		char[] chars = name.toCharArray();
+		for(int i = 0; i < chars.length; i++) {
+			chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+		}
+		return new String(chars);
+	}
+
+	/**
+	 * Result of probing every match level for one article author. A level is applicable when the article author has
+	 * the name parts the level compares, authors that a level is not applicable to are left untouched by that level.
+	 */
+	public static class AuthorNameMatch {
+
+		private int applicable;
+		private int matched;
+
+		private void set(MatchLevel matchLevel, boolean match) {
+			applicable |= 1 << matchLevel.ordinal();
+			if(match) {
+				matched |= 1 << matchLevel.ordinal();
+			}
+		}
+
+		public boolean isApplicable(MatchLevel matchLevel) {
+			return (applicable & (1 << matchLevel.ordinal())) != 0;
+		}
+
+		public boolean isMatch(MatchLevel matchLevel) {
+			return (matched & (1 << matchLevel.ordinal())) != 0;
+		}
+	}
+}
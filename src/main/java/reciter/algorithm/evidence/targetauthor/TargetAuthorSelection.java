@@ -1,8 +1,9 @@
 package reciter.algorithm.evidence.targetauthor;
 
-import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
@@ -10,6 +11,8 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import reciter.algorithm.evidence.targetauthor.IdentityNameIndex.AuthorNameMatch;
+import reciter.algorithm.evidence.targetauthor.IdentityNameIndex.MatchLevel;
 import reciter.algorithm.util.ReCiterStringUtil;
 import reciter.model.article.ReCiterArticle;
 import reciter.model.article.ReCiterArticleAuthors;
@@ -34,18 +37,15 @@ public class TargetAuthorSelection {
 	 */
 	public void identifyTargetAuthor(List<ReCiterArticle> reciterArticles, Identity identity) {
 		
+		IdentityNameIndex identityNameIndex = new IdentityNameIndex(identity.getSanitizedNames().values());
 		for(ReCiterArticle reciterArticle: reciterArticles) {
-			//Setting this for debug purposes
-			if(reciterArticle.getArticleId() == 15590364) {
-				slf4jLogger.info("here");
-			}
 			ReCiterArticleAuthors authors = reciterArticle.getArticleCoAuthors();
 			Set<Entry<ReCiterAuthor, ReCiterAuthor>> sanitizedAritcleAuthors = authors.getSanitizedAuthorMap().entrySet();
-			List<AuthorName> sanitizedIdentityAuthors = new ArrayList<AuthorName>(identity.getSanitizedNames().values());
 			
 			Set<Entry<ReCiterAuthor, ReCiterAuthor>> multipleMarkedTargetAuthor = new HashSet<Entry<ReCiterAuthor, ReCiterAuthor>>();
 			if (authors != null && !sanitizedAritcleAuthors.isEmpty()) {
 				
+				Map<ReCiterAuthor, AuthorNameMatch> authorNameMatches = matchAuthorNames(sanitizedAritcleAuthors, identityNameIndex);
 				int lastMiddleFirstMatchCount = 0;
 				int lastNameMiddleInitialFirstMatchCount = 0;
 				int lastNameFirstNameMatchCount = 0;
@@ -59,93 +59,93 @@ public class TargetAuthorSelection {
 				int firstNameMatchCount = 0;
 				int fullLastNameToIdentityPartialMatchCount = 0;
 	            
-	            lastMiddleFirstMatchCount = checkExactLastMiddleFirstNameMatch(sanitizedAritcleAuthors, sanitizedIdentityAuthors, emailMatchcount, multipleMarkedTargetAuthor);
+	            lastMiddleFirstMatchCount = checkNameMatch(sanitizedAritcleAuthors, identityNameIndex, authorNameMatches, MatchLevel.LAST_MIDDLE_FIRST, emailMatchcount, multipleMarkedTargetAuthor);
 	            if(lastMiddleFirstMatchCount == 0 || lastMiddleFirstMatchCount > 1)
-	            	lastNameMiddleInitialFirstMatchCount = checkExactLastMiddleInitialFirstNameMatch(sanitizedAritcleAuthors, sanitizedIdentityAuthors, lastMiddleFirstMatchCount, multipleMarkedTargetAuthor);
+	            	lastNameMiddleInitialFirstMatchCount = checkNameMatch(sanitizedAritcleAuthors, identityNameIndex, authorNameMatches, MatchLevel.LAST_MIDDLE_INITIAL_FIRST, lastMiddleFirstMatchCount, multipleMarkedTargetAuthor);
 	            if(lastMiddleFirstMatchCount ==1) {
-	            	slf4jLogger.info("Exact Last Name, Middle Name and First Name Match found for article: " + reciterArticle.getArticleId());
+	            	slf4jLogger.debug("Exact Last Name, Middle Name and First Name Match found for article: {}", reciterArticle.getArticleId());
 	            	continue;
 	            }
 	            
 	            if(lastNameMiddleInitialFirstMatchCount == 0 || lastNameMiddleInitialFirstMatchCount > 1)
-	            	lastNameFirstNameMatchCount = checkExactLastFirstNameMatch(sanitizedAritcleAuthors, sanitizedIdentityAuthors, lastNameMiddleInitialFirstMatchCount, multipleMarkedTargetAuthor);
+	            	lastNameFirstNameMatchCount = checkNameMatch(sanitizedAritcleAuthors, identityNameIndex, authorNameMatches, MatchLevel.LAST_FIRST, lastNameMiddleInitialFirstMatchCount, multipleMarkedTargetAuthor);
 	            if(lastNameMiddleInitialFirstMatchCount == 1) {
-	            	slf4jLogger.info("Last Name Middle Initial and First Name Match found for article: " + reciterArticle.getArticleId());
+	            	slf4jLogger.debug("Last Name Middle Initial and First Name Match found for article: {}", reciterArticle.getArticleId());
 	            	continue;
 	            }
 	            
 	            if(lastNameFirstNameMatchCount == 0 || lastNameFirstNameMatchCount > 1)
-	            	lastNameFirstNameSubstringIdentityMatchCount = checkExactLastFirstNamePartialSubstringIdentityMatch(sanitizedAritcleAuthors, sanitizedIdentityAuthors, lastNameFirstNameMatchCount, multipleMarkedTargetAuthor);
+	            	lastNameFirstNameSubstringIdentityMatchCount = checkNameMatch(sanitizedAritcleAuthors, identityNameIndex, authorNameMatches, MatchLevel.LAST_FIRST_PART_OF_IDENTITY_FIRST, lastNameFirstNameMatchCount, multipleMarkedTargetAuthor);
 	            if(lastNameFirstNameMatchCount == 1) {
-	            	slf4jLogger.info("Last Name First Name exact Match found for article: " + reciterArticle.getArticleId());
+	            	slf4jLogger.debug("Last Name First Name exact Match found for article: {}", reciterArticle.getArticleId());
 	            	continue;
 	            }
 	            
 	            if(lastNameFirstNameSubstringIdentityMatchCount == 0 || lastNameFirstNameSubstringIdentityMatchCount > 1)
-	            	lastNameFirstNameIdentitySubstringMatchCount = checkExactLastFirstNamePartialIdentityPartialSubstringMatch(authors.getSanitizedAuthorMap().entrySet(), sanitizedIdentityAuthors, lastNameMiddleInitialFirstMatchCount, multipleMarkedTargetAuthor);
+	            	lastNameFirstNameIdentitySubstringMatchCount = checkNameMatch(sanitizedAritcleAuthors, identityNameIndex, authorNameMatches, MatchLevel.LAST_IDENTITY_FIRST_PART_OF_FIRST, lastNameMiddleInitialFirstMatchCount, multipleMarkedTargetAuthor);
 	            if(lastNameFirstNameSubstringIdentityMatchCount == 1) {
-	            	slf4jLogger.info("Last Name First Name partial match of Identity Match found for article: " + reciterArticle.getArticleId());
+	            	slf4jLogger.debug("Last Name First Name partial match of Identity Match found for article: {}", reciterArticle.getArticleId());
 	            	continue;
 	            }
 	            
 	            if(lastNameFirstNameIdentitySubstringMatchCount == 0 || lastNameFirstNameIdentitySubstringMatchCount > 1)
-	            	lastNameFirstInitialMatchCount = checkExactLastFirstInitialNameMatch(sanitizedAritcleAuthors, sanitizedIdentityAuthors, lastNameMiddleInitialFirstMatchCount, multipleMarkedTargetAuthor);
+	            	lastNameFirstInitialMatchCount = checkNameMatch(sanitizedAritcleAuthors, identityNameIndex, authorNameMatches, MatchLevel.LAST_FIRST_INITIAL, lastNameMiddleInitialFirstMatchCount, multipleMarkedTargetAuthor);
 	            if(lastNameFirstNameIdentitySubstringMatchCount == 1) {
-	            	slf4jLogger.info("Last Name Identity First name partial of Article Match found for article: " + reciterArticle.getArticleId());
+	            	slf4jLogger.debug("Last Name Identity First name partial of Article Match found for article: {}", reciterArticle.getArticleId());
 	            	continue;
 	            }
 	            
 	            if(lastNameFirstInitialMatchCount == 0 || lastNameFirstInitialMatchCount > 1)
 	            	emailMatchcount = checkEmailMatch(sanitizedAritcleAuthors, identity, emailMatchcount, multipleMarkedTargetAuthor);
 	            if(lastNameFirstInitialMatchCount == 1) {	
-	            	slf4jLogger.info("Last Name First Initial exact Match found for article: " + reciterArticle.getArticleId());
+	            	slf4jLogger.debug("Last Name First Initial exact Match found for article: {}", reciterArticle.getArticleId());
 	            	continue;
 	            }
 	            
 	            if(emailMatchcount == 0 || emailMatchcount > 1)
-	            	middleToFirstInitialAndFirstInitialToMiddleMatchCount = checkFirstInitialTomiddleInitialAndmiddleInitialToFirstInitialMatch(sanitizedAritcleAuthors, sanitizedIdentityAuthors, lastNameFirstInitialMatchCount, multipleMarkedTargetAuthor);
+	            	middleToFirstInitialAndFirstInitialToMiddleMatchCount = checkNameMatch(sanitizedAritcleAuthors, identityNameIndex, authorNameMatches, MatchLevel.SWAPPED_INITIALS_LAST, lastNameFirstInitialMatchCount, multipleMarkedTargetAuthor);
 	            if(emailMatchcount == 1) {
-	            	slf4jLogger.info("Email Match found for article: " + reciterArticle.getArticleId());
+	            	slf4jLogger.debug("Email Match found for article: {}", reciterArticle.getArticleId());
 	            	continue;
 	            }
 	            
 	            if(middleToFirstInitialAndFirstInitialToMiddleMatchCount == 0 || middleToFirstInitialAndFirstInitialToMiddleMatchCount > 1)
-	            	lastNamePartialFirstInitialMatchCount = checkPartialLastNameFirstInitialMatch(sanitizedAritcleAuthors, sanitizedIdentityAuthors, middleToFirstInitialAndFirstInitialToMiddleMatchCount, multipleMarkedTargetAuthor);
+	            	lastNamePartialFirstInitialMatchCount = checkNameMatch(sanitizedAritcleAuthors, identityNameIndex, authorNameMatches, MatchLevel.PARTIAL_LAST_FIRST_INITIAL, middleToFirstInitialAndFirstInitialToMiddleMatchCount, multipleMarkedTargetAuthor);
 	            if(middleToFirstInitialAndFirstInitialToMiddleMatchCount == 1) {
-	            	slf4jLogger.info("Middle intial to first initial and first intial to middle initial Match found for article: " + reciterArticle.getArticleId());
+	            	slf4jLogger.debug("Middle intial to first initial and first intial to middle initial Match found for article: {}", reciterArticle.getArticleId());
 	            	continue;
 	            }
 	            
 	            if(lastNamePartialFirstInitialMatchCount == 0 || lastNamePartialFirstInitialMatchCount > 1)
-	            	lastNameMatchCount = checkLastNameExactMatch(sanitizedAritcleAuthors, sanitizedIdentityAuthors, lastNamePartialFirstInitialMatchCount, multipleMarkedTargetAuthor);
+	            	lastNameMatchCount = checkNameMatch(sanitizedAritcleAuthors, identityNameIndex, authorNameMatches, MatchLevel.LAST, lastNamePartialFirstInitialMatchCount, multipleMarkedTargetAuthor);
 	            if(lastNamePartialFirstInitialMatchCount == 1) {
-	            	slf4jLogger.info("Last Name Partial First Initial Match found for article: " + reciterArticle.getArticleId());
+	            	slf4jLogger.debug("Last Name Partial First Initial Match found for article: {}", reciterArticle.getArticleId());
 	            	continue;
 	            }
 	            
 	            if(lastNameMatchCount == 0 || lastNameMatchCount > 1)
-	            	firstNameMatchCount = checkFirstNameExactMatch(sanitizedAritcleAuthors, sanitizedIdentityAuthors, lastNameMatchCount, multipleMarkedTargetAuthor);
+	            	firstNameMatchCount = checkNameMatch(sanitizedAritcleAuthors, identityNameIndex, authorNameMatches, MatchLevel.FIRST, lastNameMatchCount, multipleMarkedTargetAuthor);
 	            if(lastNameMatchCount == 1) {
-	            	slf4jLogger.info("Exact First name match found for article: " + reciterArticle.getArticleId());
+	            	slf4jLogger.debug("Exact First name match found for article: {}", reciterArticle.getArticleId());
 	            	continue;
 	            }
 	            
 	            if(firstNameMatchCount == 0 || firstNameMatchCount > 1)
-	            	fullLastNameToIdentityPartialMatchCount = checkLastNameFullArticleToIdentityPartialMatch(sanitizedAritcleAuthors, sanitizedIdentityAuthors, firstNameMatchCount, multipleMarkedTargetAuthor);
+	            	fullLastNameToIdentityPartialMatchCount = checkNameMatch(sanitizedAritcleAuthors, identityNameIndex, authorNameMatches, MatchLevel.LAST_PART_OF_IDENTITY_LAST, firstNameMatchCount, multipleMarkedTargetAuthor);
 	            if(firstNameMatchCount == 1) {
-	            	slf4jLogger.info("Exact First name match found for article: " + reciterArticle.getArticleId());
+	            	slf4jLogger.debug("Exact First name match found for article: {}", reciterArticle.getArticleId());
 	            	continue;
 	            }
 	            
 	            if(fullLastNameToIdentityPartialMatchCount == 0) {
-	            	slf4jLogger.info("There was no target author found for " + reciterArticle.getArticleId());
+	            	slf4jLogger.debug("There was no target author found for {}", reciterArticle.getArticleId());
 	            	assignTargetAuthorFalse(authors.getAuthors());
 	            }
 	            else if(fullLastNameToIdentityPartialMatchCount > 1) {
-	            	slf4jLogger.info(fullLastNameToIdentityPartialMatchCount + " authors were marked as target author for article " + reciterArticle.getArticleId());
+	            	slf4jLogger.debug("{} authors were marked as target author for article {}", fullLastNameToIdentityPartialMatchCount, reciterArticle.getArticleId());
 	            }
 	            if(fullLastNameToIdentityPartialMatchCount == 1) {
-	            	slf4jLogger.info("Full Last Name match to partial Identity Last Name: " + reciterArticle.getArticleId());
+	            	slf4jLogger.debug("Full Last Name match to partial Identity Last Name: {}", reciterArticle.getArticleId());
 	            	continue;
 	            }
             	
@@ -155,6 +155,59 @@ public class TargetAuthorSelection {
 		
 	}
 	
+	/**
+	 * Probes every match level of the identity name index once for each author of an article
+	 * @param authors
+	 * @param identityNameIndex
+	 * @return match levels of each sanitized article author
+	 */
+	private Map<ReCiterAuthor, AuthorNameMatch> matchAuthorNames(Set<Entry<ReCiterAuthor, ReCiterAuthor>> authors, IdentityNameIndex identityNameIndex) {
+		Map<ReCiterAuthor, AuthorNameMatch> authorNameMatches = new IdentityHashMap<ReCiterAuthor, AuthorNameMatch>(authors.size());
+		for (Entry<ReCiterAuthor, ReCiterAuthor> entry : authors) {
+			authorNameMatches.put(entry.getValue(), identityNameIndex.match(entry.getValue().getAuthorName()));
+		}
+		return authorNameMatches;
+	}
+	
+	/**
+	 * Marks the authors matching the identity on a match level as target author. When more than one author was marked by
+	 * the previous level only those authors are considered again, otherwise all authors are.
+	 * @param authors
+	 * @param identityNameIndex
+	 * @param authorNameMatches already probed match levels of the authors
+	 * @param matchLevel
+	 * @param matchCount
+	 * @param multipleMarkedTargetAuthor
+	 * @return
+	 */
+	private int checkNameMatch(Set<Entry<ReCiterAuthor, ReCiterAuthor>> authors, IdentityNameIndex identityNameIndex, Map<ReCiterAuthor, AuthorNameMatch> authorNameMatches, MatchLevel matchLevel, int matchCount, Set<Entry<ReCiterAuthor, ReCiterAuthor>> multipleMarkedTargetAuthor) {
+		int count = 0;
+		if(matchCount > 1) {
+			authors = new HashSet<Entry<ReCiterAuthor, ReCiterAuthor>>(multipleMarkedTargetAuthor);
+		}
+		for (Entry<ReCiterAuthor, ReCiterAuthor> entry : authors) {
+			ReCiterAuthor author = entry.getValue();
+			ReCiterAuthor originalAuthor = entry.getKey();
+			AuthorNameMatch authorNameMatch = authorNameMatches.computeIfAbsent(author, sanitizedAuthor -> identityNameIndex.match(sanitizedAuthor.getAuthorName()));
+			if(authorNameMatch.isApplicable(matchLevel) && ((matchCount > 1 && author.isTargetAuthor()) || matchCount == 0)) {
+				if(authorNameMatch.isMatch(matchLevel)) {
+					author.setTargetAuthor(true);
+					originalAuthor.setTargetAuthor(true);
+					multipleMarkedTargetAuthor.add(entry);
+					count++;
+				}
+				else {
+					author.setTargetAuthor(false);
+					originalAuthor.setTargetAuthor(false);
+				}
+			}
+		}
+		if(matchCount > 1 && count == 0) {
+			return matchCount;
+		}
+		return count;
+	}
+	
 	//Step 7 : attempt email match if match then automatically its a target author
 	/**
 	 * Check for email match from affiliation statement with Identity email
@@ -200,66 +253,7 @@ public class TargetAuthorSelection {
 	 * @return
 	 */
 	public int checkExactLastMiddleFirstNameMatch(Set<Entry<ReCiterAuthor, ReCiterAuthor>> authors, List<AuthorName> sanitizedIdentityAuthors, int matchCount, Set<Entry<ReCiterAuthor, ReCiterAuthor>> multipleMarkedTargetAuthor) {
-		int count = 0;
-		if(matchCount > 1) {
-			authors = new HashSet<Entry<ReCiterAuthor, ReCiterAuthor>>(multipleMarkedTargetAuthor);
-		}
-		for (Entry<ReCiterAuthor, ReCiterAuthor> entry : authors) {
-			ReCiterAuthor author = entry.getValue();
-			ReCiterAuthor originalAuthor = entry.getKey();
-			if(author.getAuthorName().getFirstName() != null && author.getAuthorName().getLastName() != null && author.getAuthorName().getMiddleName() != null) {
-				if(matchCount > 1 && author.isTargetAuthor()) {
-					if(sanitizedIdentityAuthors.stream().anyMatch(sanitizedIdentityName -> sanitizedIdentityName.getFirstName() != null
-							&&
-							sanitizedIdentityName.getMiddleName() != null
-							&& 
-							sanitizedIdentityName.getLastName() != null
-							&& 
-							author.getAuthorName().getLastName().equalsIgnoreCase(sanitizedIdentityName.getLastName())
-							&& 
-							author.getAuthorName().getMiddleName().equalsIgnoreCase(sanitizedIdentityName.getMiddleName())
-							&& 
-							author.getAuthorName().getFirstName().equalsIgnoreCase(sanitizedIdentityName.getFirstName()))) {
-						author.setTargetAuthor(true);
-						originalAuthor.setTargetAuthor(true);
-						multipleMarkedTargetAuthor.add(entry);
-						count++;
-					}
-					else {
-						author.setTargetAuthor(false);
-						originalAuthor.setTargetAuthor(false);
-					}
-					
-					
-				}
-				else if(matchCount == 0) {
-					if(sanitizedIdentityAuthors.stream().anyMatch(sanitizedIdentityName -> sanitizedIdentityName.getFirstName() != null
-							&&
-							sanitizedIdentityName.getMiddleName() != null
-							&& 
-							sanitizedIdentityName.getLastName() != null
-							&& 
-							author.getAuthorName().getLastName().equalsIgnoreCase(sanitizedIdentityName.getLastName())
-							&& 
-							author.getAuthorName().getMiddleName().equalsIgnoreCase(sanitizedIdentityName.getMiddleName())
-							&& 
-							author.getAuthorName().getFirstName().equalsIgnoreCase(sanitizedIdentityName.getFirstName()))) {
-						author.setTargetAuthor(true);
-						originalAuthor.setTargetAuthor(true);
-						multipleMarkedTargetAuthor.add(entry);
-						count++;
-					}
-					else {
-						author.setTargetAuthor(false);
-						originalAuthor.setTargetAuthor(false);
-					}
-				}
-			}
-		}
-		if(matchCount > 1 && count == 0) {
-			return matchCount;
-		}
-		return count;
+		return checkNameMatch(authors, new IdentityNameIndex(sanitizedIdentityAuthors), new IdentityHashMap<ReCiterAuthor, AuthorNameMatch>(), MatchLevel.LAST_MIDDLE_FIRST, matchCount, multipleMarkedTargetAuthor);
 	}
 	
 	//Step 2 : Attempt strict last name, middle initial, and strict first name match
@@ -272,64 +266,7 @@ public class TargetAuthorSelection {
 	 * @return
 	 */
 	public int checkExactLastMiddleInitialFirstNameMatch(Set<Entry<ReCiterAuthor, ReCiterAuthor>> authors, List<AuthorName> sanitizedIdentityAuthors, int matchCount, Set<Entry<ReCiterAuthor, ReCiterAuthor>> multipleMarkedTargetAuthor) {
-		int count = 0;
-		if(matchCount > 1) {
-			authors = new HashSet<Entry<ReCiterAuthor, ReCiterAuthor>>(multipleMarkedTargetAuthor);
-		}
-		for (Entry<ReCiterAuthor, ReCiterAuthor> entry : authors) {
-			ReCiterAuthor author = entry.getValue();
-			ReCiterAuthor originalAuthor = entry.getKey();
-			if(author.getAuthorName().getFirstName() != null && author.getAuthorName().getLastName() != null && author.getAuthorName().getMiddleInitial() != null) {
-				if(matchCount > 1 && author.isTargetAuthor()) {
-					if(sanitizedIdentityAuthors.stream().anyMatch(sanitizedIdentityName -> sanitizedIdentityName.getFirstName() != null
-							&&
-							sanitizedIdentityName.getMiddleInitial() != null
-							&& 
-							sanitizedIdentityName.getLastName() != null
-							&& 
-							author.getAuthorName().getLastName().equalsIgnoreCase(sanitizedIdentityName.getLastName())
-							&& 
-							author.getAuthorName().getMiddleInitial().equalsIgnoreCase(sanitizedIdentityName.getMiddleInitial())
-							&& 
-							author.getAuthorName().getFirstName().equalsIgnoreCase(sanitizedIdentityName.getFirstName()))) {
-						author.setTargetAuthor(true);
-						originalAuthor.setTargetAuthor(true);
-						multipleMarkedTargetAuthor.add(entry);
-						count++;
-					}
-					else {
-						author.setTargetAuthor(false);
-						originalAuthor.setTargetAuthor(false);
-					}
-				}
-				else if(matchCount == 0) {
-					if(sanitizedIdentityAuthors.stream().anyMatch(sanitizedIdentityName -> sanitizedIdentityName.getFirstName() != null
-							&&
-							sanitizedIdentityName.getMiddleInitial() != null
-							&& 
-							sanitizedIdentityName.getLastName() != null
-							&& 
-							author.getAuthorName().getLastName().equalsIgnoreCase(sanitizedIdentityName.getLastName())
-							&& 
-							author.getAuthorName().getMiddleInitial().equalsIgnoreCase(sanitizedIdentityName.getMiddleInitial())
-							&& 
-							author.getAuthorName().getFirstName().equalsIgnoreCase(sanitizedIdentityName.getFirstName()))) {
-						author.setTargetAuthor(true);
-						originalAuthor.setTargetAuthor(true);
-						multipleMarkedTargetAuthor.add(entry);
-						count++;
-					}
-					else {
-						author.setTargetAuthor(false);
-						originalAuthor.setTargetAuthor(false);
-					}
-				}
-			}
-		}
-		if(matchCount > 1 && count == 0) {
-			return matchCount;
-		}
-		return count;
+		return checkNameMatch(authors, new IdentityNameIndex(sanitizedIdentityAuthors), new IdentityHashMap<ReCiterAuthor, AuthorNameMatch>(), MatchLevel.LAST_MIDDLE_INITIAL_FIRST, matchCount, multipleMarkedTargetAuthor);
 	}
 		
 	/**
@@ -342,56 +279,7 @@ public class TargetAuthorSelection {
 	 */
 	//Step 3 : Attempt strict last name and strict first name match
 	public int checkExactLastFirstNameMatch(Set<Entry<ReCiterAuthor, ReCiterAuthor>> authors, List<AuthorName> sanitizedIdentityAuthors, int matchCount, Set<Entry<ReCiterAuthor, ReCiterAuthor>> multipleMarkedTargetAuthor) {
-		int count = 0;
-		if(matchCount > 1) {
-			authors = new HashSet<Entry<ReCiterAuthor, ReCiterAuthor>>(multipleMarkedTargetAuthor);
-		}
-		for (Entry<ReCiterAuthor, ReCiterAuthor> entry : authors) {
-			ReCiterAuthor author = entry.getValue();
-			ReCiterAuthor originalAuthor = entry.getKey();
-			if(author.getAuthorName().getFirstName() != null && author.getAuthorName().getLastName() != null) {
-				if(matchCount > 1 && author.isTargetAuthor()) {
-					if(sanitizedIdentityAuthors.stream().anyMatch(sanitizedIdentityName -> sanitizedIdentityName.getFirstName() != null
-							&&
-							sanitizedIdentityName.getLastName() != null
-							&& 
-							author.getAuthorName().getLastName().equalsIgnoreCase(sanitizedIdentityName.getLastName())
-							&& 
-							author.getAuthorName().getFirstName().equalsIgnoreCase(sanitizedIdentityName.getFirstName()))) {
-						author.setTargetAuthor(true);
-						originalAuthor.setTargetAuthor(true);
-						multipleMarkedTargetAuthor.add(entry);
-						count++;
-					}
-					else {
-						author.setTargetAuthor(false);
-						originalAuthor.setTargetAuthor(false);
-					}
-				}
-				else if(matchCount == 0) {
-					if(sanitizedIdentityAuthors.stream().anyMatch(sanitizedIdentityName -> sanitizedIdentityName.getFirstName() != null
-							&& 
-							sanitizedIdentityName.getLastName() != null
-							&& 
-							author.getAuthorName().getLastName().equalsIgnoreCase(sanitizedIdentityName.getLastName())
-							&& 
-							author.getAuthorName().getFirstName().equalsIgnoreCase(sanitizedIdentityName.getFirstName()))) {
-						author.setTargetAuthor(true);
-						originalAuthor.setTargetAuthor(true);
-						multipleMarkedTargetAuthor.add(entry);
-						count++;
-					}
-					else {
-						author.setTargetAuthor(false);
-						originalAuthor.setTargetAuthor(false);
-					}
-				}
-			}
-		}
-		if(matchCount > 1 && count == 0) {
-			return matchCount;
-		}
-		return count;
+		return checkNameMatch(authors, new IdentityNameIndex(sanitizedIdentityAuthors), new IdentityHashMap<ReCiterAuthor, AuthorNameMatch>(), MatchLevel.LAST_FIRST, matchCount, multipleMarkedTargetAuthor);
 	}
 	
 	//Step 4:Attempt strict last name and partial first name match, in which article is substring of identity
@@ -404,58 +292,7 @@ public class TargetAuthorSelection {
 	 * @return
 	 */
 	public int checkExactLastFirstNamePartialSubstringIdentityMatch(Set<Entry<ReCiterAuthor, ReCiterAuthor>> authors, List<AuthorName> sanitizedIdentityAuthors, int matchCount, Set<Entry<ReCiterAuthor, ReCiterAuthor>> multipleMarkedTargetAuthor) {
-		int count = 0;
-		if(matchCount > 1) {
-			authors = new HashSet<Entry<ReCiterAuthor, ReCiterAuthor>>(multipleMarkedTargetAuthor);
-		}
-		for (Entry<ReCiterAuthor, ReCiterAuthor> entry : authors) {
-			ReCiterAuthor author = entry.getValue();
-			ReCiterAuthor originalAuthor = entry.getKey();
-			if(author.getAuthorName().getFirstName() != null && author.getAuthorName().getLastName() != null) {
-				if(matchCount > 1 && author.isTargetAuthor()) {
-					if(sanitizedIdentityAuthors.stream().anyMatch(sanitizedIdentityName -> sanitizedIdentityName.getFirstName() != null
-							&& 
-							sanitizedIdentityName.getLastName() != null
-							&& 
-							author.getAuthorName().getLastName().equalsIgnoreCase(sanitizedIdentityName.getLastName())
-							&& 
-							StringUtils.containsIgnoreCase(sanitizedIdentityName.getFirstName(), author.getAuthorName().getFirstName()))) {
-						author.setTargetAuthor(true);
-						originalAuthor.setTargetAuthor(true);
-						multipleMarkedTargetAuthor.add(entry);
-						count++;
-					}
-					else {
-						author.setTargetAuthor(false);
-						originalAuthor.setTargetAuthor(false);
-					}
-					
-					
-				}
-				else if(matchCount == 0) {
-					if(sanitizedIdentityAuthors.stream().anyMatch(sanitizedIdentityName -> sanitizedIdentityName.getFirstName() != null
-							&& 
-							sanitizedIdentityName.getLastName() != null
-							&& 
-							author.getAuthorName().getLastName().equalsIgnoreCase(sanitizedIdentityName.getLastName())
-							&& 
-							StringUtils.containsIgnoreCase(sanitizedIdentityName.getFirstName(), author.getAuthorName().getFirstName()))) {
-						author.setTargetAuthor(true);
-						originalAuthor.setTargetAuthor(true);
-						multipleMarkedTargetAuthor.add(entry);
-						count++;
-					}
-					else {
-						author.setTargetAuthor(false);
-						originalAuthor.setTargetAuthor(false);
-					}
-				}
-			}
-		}
-		if(matchCount > 1 && count == 0) {
-			return matchCount;
-		}
-		return count;
+		return checkNameMatch(authors, new IdentityNameIndex(sanitizedIdentityAuthors), new IdentityHashMap<ReCiterAuthor, AuthorNameMatch>(), MatchLevel.LAST_FIRST_PART_OF_IDENTITY_FIRST, matchCount, multipleMarkedTargetAuthor);
 	}
 	
 	//Step 5:Attempt strict last name and partial first name match, in which identity is substring of article.
@@ -468,56 +305,7 @@ public class TargetAuthorSelection {
 	 * @return
 	 */
 	public int checkExactLastFirstNamePartialIdentityPartialSubstringMatch(Set<Entry<ReCiterAuthor, ReCiterAuthor>> authors, List<AuthorName> sanitizedIdentityAuthors, int matchCount, Set<Entry<ReCiterAuthor, ReCiterAuthor>> multipleMarkedTargetAuthor) {
-		int count = 0;
-		if(matchCount > 1) {
-			authors = new HashSet<Entry<ReCiterAuthor, ReCiterAuthor>>(multipleMarkedTargetAuthor);
-		}
-		for (Entry<ReCiterAuthor, ReCiterAuthor> entry : authors) {
-			ReCiterAuthor author = entry.getValue();
-			ReCiterAuthor originalAuthor = entry.getKey();
-			if(author.getAuthorName().getFirstName() != null && author.getAuthorName().getLastName() != null) {
-				if(matchCount > 1 && author.isTargetAuthor()) {
-					if(sanitizedIdentityAuthors.stream().anyMatch(sanitizedIdentityName -> sanitizedIdentityName.getFirstName() != null
-							&& 
-							sanitizedIdentityName.getLastName() != null
-							&& 
-							author.getAuthorName().getLastName().equalsIgnoreCase(sanitizedIdentityName.getLastName())
-							&& 
-							StringUtils.containsIgnoreCase(author.getAuthorName().getFirstName(), sanitizedIdentityName.getFirstName()))) {
-						author.setTargetAuthor(true);
-						originalAuthor.setTargetAuthor(true);
-						multipleMarkedTargetAuthor.add(entry);
-						count++;
-					}
-					else {
-						author.setTargetAuthor(false);
-						originalAuthor.setTargetAuthor(false);
-					}	
-				}
-				else if(matchCount == 0) {
-					if(sanitizedIdentityAuthors.stream().anyMatch(sanitizedIdentityName -> sanitizedIdentityName.getFirstName() != null
-							&& 
-							sanitizedIdentityName.getLastName() != null
-							&& 
-							author.getAuthorName().getLastName().equalsIgnoreCase(sanitizedIdentityName.getLastName())
-							&& 
-							StringUtils.containsIgnoreCase(author.getAuthorName().getFirstName(), sanitizedIdentityName.getFirstName()))) {
-						author.setTargetAuthor(true);
-						originalAuthor.setTargetAuthor(true);
-						multipleMarkedTargetAuthor.add(entry);
-						count++;
-					}
-					else {
-						author.setTargetAuthor(false);
-						originalAuthor.setTargetAuthor(false);
-					}
-				}
-			}
-		}
-		if(matchCount > 1 && count == 0) {
-			return matchCount;
-		}
-		return count;
+		return checkNameMatch(authors, new IdentityNameIndex(sanitizedIdentityAuthors), new IdentityHashMap<ReCiterAuthor, AuthorNameMatch>(), MatchLevel.LAST_IDENTITY_FIRST_PART_OF_FIRST, matchCount, multipleMarkedTargetAuthor);
 	}
 	
 	/**
@@ -530,56 +318,7 @@ public class TargetAuthorSelection {
 	 */
 	//Step 6 : Attempt strict last name and first initial match
 	public int checkExactLastFirstInitialNameMatch(Set<Entry<ReCiterAuthor, ReCiterAuthor>> authors, List<AuthorName> sanitizedIdentityAuthors, int matchCount, Set<Entry<ReCiterAuthor, ReCiterAuthor>> multipleMarkedTargetAuthor) {
-		int count = 0;
-		if(matchCount > 1) {
-			authors = new HashSet<Entry<ReCiterAuthor, ReCiterAuthor>>(multipleMarkedTargetAuthor);
-		}
-		for (Entry<ReCiterAuthor, ReCiterAuthor> entry : authors) {
-			ReCiterAuthor author = entry.getValue();
-			ReCiterAuthor originalAuthor = entry.getKey();
-			if(author.getAuthorName().getFirstInitial() != null && author.getAuthorName().getLastName() != null) {
-				if(matchCount > 1 && author.isTargetAuthor()) {
-					if(sanitizedIdentityAuthors.stream().anyMatch(sanitizedIdentityName -> sanitizedIdentityName.getFirstInitial() != null
-							&&
-							sanitizedIdentityName.getLastName() != null
-							&& 
-							author.getAuthorName().getLastName().equalsIgnoreCase(sanitizedIdentityName.getLastName())
-							&& 
-							author.getAuthorName().getFirstInitial().equalsIgnoreCase(sanitizedIdentityName.getFirstInitial()))) {
-						author.setTargetAuthor(true);
-						originalAuthor.setTargetAuthor(true);
-						multipleMarkedTargetAuthor.add(entry);
-						count++;
-					}
-					else {
-						author.setTargetAuthor(false);
-						originalAuthor.setTargetAuthor(false);
-					}	
-				}
-				else if(matchCount == 0) {
-					if(sanitizedIdentityAuthors.stream().anyMatch(sanitizedIdentityName -> sanitizedIdentityName.getFirstInitial() != null
-							&&
-							sanitizedIdentityName.getLastName() != null
-							&& 
-							author.getAuthorName().getLastName().equalsIgnoreCase(sanitizedIdentityName.getLastName())
-							&& 
-							author.getAuthorName().getFirstInitial().equalsIgnoreCase(sanitizedIdentityName.getFirstInitial()))) {
-						author.setTargetAuthor(true);
-						originalAuthor.setTargetAuthor(true);
-						multipleMarkedTargetAuthor.add(entry);
-						count++;
-					}
-					else {
-						author.setTargetAuthor(false);
-						originalAuthor.setTargetAuthor(false);
-					}
-				}
-			}
-		}
-		if(matchCount > 1 && count == 0) {
-			return matchCount;
-		}
-		return count;
+		return checkNameMatch(authors, new IdentityNameIndex(sanitizedIdentityAuthors), new IdentityHashMap<ReCiterAuthor, AuthorNameMatch>(), MatchLevel.LAST_FIRST_INITIAL, matchCount, multipleMarkedTargetAuthor);
 	}
 	
 	/**
@@ -592,70 +331,7 @@ public class TargetAuthorSelection {
 	 */
 	//Step 8:Attempt firstInitial to middleInitial, and middleInitial to firstInitial match with strict lastname match
 	public int checkFirstInitialTomiddleInitialAndmiddleInitialToFirstInitialMatch(Set<Entry<ReCiterAuthor, ReCiterAuthor>> authors, List<AuthorName> sanitizedIdentityAuthors, int matchCount, Set<Entry<ReCiterAuthor, ReCiterAuthor>> multipleMarkedTargetAuthor) {
-		int count = 0;
-		if(matchCount > 1) {
-			authors = new HashSet<Entry<ReCiterAuthor, ReCiterAuthor>>(multipleMarkedTargetAuthor);
-		}
-		for (Entry<ReCiterAuthor, ReCiterAuthor> entry : authors) {
-			ReCiterAuthor author = entry.getValue();
-			ReCiterAuthor originalAuthor = entry.getKey();
-			if(author.getAuthorName().getFirstInitial() != null && author.getAuthorName().getLastName() != null && author.getAuthorName().getMiddleInitial() != null) {
-				if(matchCount > 1 && author.isTargetAuthor()) {
-					if(author.getAuthorName().getFirstInitial() != null && author.getAuthorName().getFirstInitial().length() > 0 
-							&& 
-							author.getAuthorName().getMiddleInitial() != null && author.getAuthorName().getMiddleInitial().length() > 0 
-							&& 
-							sanitizedIdentityAuthors.stream().anyMatch(sanitizedIdentityName -> sanitizedIdentityName.getFirstInitial() != null && sanitizedIdentityName.getFirstInitial().length() > 0
-							&&
-							sanitizedIdentityName.getMiddleInitial() != null && sanitizedIdentityName.getMiddleInitial().length() > 0
-							&& 
-							(StringUtils.equalsIgnoreCase(author.getAuthorName().getFirstInitial().trim(), sanitizedIdentityName.getMiddleInitial().trim())) //FirstInitial to MiddleInitial
-							&&
-							(StringUtils.equalsIgnoreCase(author.getAuthorName().getMiddleInitial().trim(), sanitizedIdentityName.getFirstInitial().trim()))//MiddleInitial to First Initial
-							&&
-							(StringUtils.equalsIgnoreCase(author.getAuthorName().getLastName().trim(), sanitizedIdentityName.getLastName().trim()))//Exact lastname match
-						    )) {
-						author.setTargetAuthor(true);
-						originalAuthor.setTargetAuthor(true);
-						multipleMarkedTargetAuthor.add(entry);
-						count++;
-					}
-					else {
-						author.setTargetAuthor(false);
-						originalAuthor.setTargetAuthor(false);
-					}
-				}
-				else if(matchCount == 0) {
-					if(author.getAuthorName().getFirstInitial() != null && author.getAuthorName().getFirstInitial().length() > 0 
-							&& 
-							author.getAuthorName().getMiddleInitial() != null && author.getAuthorName().getMiddleInitial().length() > 0 
-							&& 
-							sanitizedIdentityAuthors.stream().anyMatch(sanitizedIdentityName -> sanitizedIdentityName.getFirstInitial() != null && sanitizedIdentityName.getFirstInitial().length() > 0
-							&&
-							sanitizedIdentityName.getMiddleInitial() != null && sanitizedIdentityName.getMiddleInitial().length() > 0
-							&& 
-							(StringUtils.equalsIgnoreCase(author.getAuthorName().getFirstInitial().trim(), sanitizedIdentityName.getMiddleInitial().trim())) //FirstInitial to MiddleInitial
-							&&
-							(StringUtils.equalsIgnoreCase(author.getAuthorName().getMiddleInitial().trim(), sanitizedIdentityName.getFirstInitial().trim()))//MiddleInitial to First Initial
-							&&
-							(StringUtils.equalsIgnoreCase(author.getAuthorName().getLastName().trim(), sanitizedIdentityName.getLastName().trim()))//Exact lastname match
-						    )) {
-						author.setTargetAuthor(true);
-						originalAuthor.setTargetAuthor(true);
-						multipleMarkedTargetAuthor.add(entry);
-						count++;
-					}
-					else {
-						author.setTargetAuthor(false);
-						originalAuthor.setTargetAuthor(false);
-					}
-				}
-			}
-		}
-		if(matchCount > 1 && count == 0) {
-			return matchCount;
-		}
-		return count;
+		return checkNameMatch(authors, new IdentityNameIndex(sanitizedIdentityAuthors), new IdentityHashMap<ReCiterAuthor, AuthorNameMatch>(), MatchLevel.SWAPPED_INITIALS_LAST, matchCount, multipleMarkedTargetAuthor);
 	}
 	
 	//Step 9: Attempt partial last name and exact first initial match
@@ -668,56 +344,7 @@ public class TargetAuthorSelection {
 	 * @return
 	 */
 	public int checkPartialLastNameFirstInitialMatch(Set<Entry<ReCiterAuthor, ReCiterAuthor>> authors, List<AuthorName> sanitizedIdentityAuthors, int matchCount, Set<Entry<ReCiterAuthor, ReCiterAuthor>> multipleMarkedTargetAuthor) {
-        int count = 0;
-        if(matchCount > 1) {
-			authors = new HashSet<Entry<ReCiterAuthor, ReCiterAuthor>>(multipleMarkedTargetAuthor);
-		}
-		for (Entry<ReCiterAuthor, ReCiterAuthor> entry : authors) {
-			ReCiterAuthor author = entry.getValue();
-			ReCiterAuthor originalAuthor = entry.getKey();
-			if(author.getAuthorName().getFirstInitial() != null && author.getAuthorName().getLastName() != null) {
-				if(matchCount > 1 && author.isTargetAuthor()) {
-					if(sanitizedIdentityAuthors.stream().anyMatch(sanitizedIdentityName -> sanitizedIdentityName.getFirstInitial() != null
-							&& 
-							sanitizedIdentityName.getLastName() != null
-							&& 
-							author.getAuthorName().getFirstInitial().equalsIgnoreCase(sanitizedIdentityName.getFirstInitial())
-							&& 
-							StringUtils.containsIgnoreCase(author.getAuthorName().getLastName(), sanitizedIdentityName.getLastName()))) {
-						author.setTargetAuthor(true);
-						originalAuthor.setTargetAuthor(true);
-						multipleMarkedTargetAuthor.add(entry);
-						count++;
-					}
-					else {
-						author.setTargetAuthor(false);
-						originalAuthor.setTargetAuthor(false);
-					}
-				}
-				else if(matchCount == 0) {
-					if(sanitizedIdentityAuthors.stream().anyMatch(sanitizedIdentityName -> sanitizedIdentityName.getFirstInitial() != null
-							&& 
-							sanitizedIdentityName.getLastName() != null
-							&& 
-							author.getAuthorName().getFirstInitial().equalsIgnoreCase(sanitizedIdentityName.getFirstInitial())
-							&& 
-							StringUtils.containsIgnoreCase(author.getAuthorName().getLastName(), sanitizedIdentityName.getLastName()))) {
-						author.setTargetAuthor(true);
-						originalAuthor.setTargetAuthor(true);
-						multipleMarkedTargetAuthor.add(entry);
-						count++;
-					}
-					else {
-						author.setTargetAuthor(false);
-						originalAuthor.setTargetAuthor(false);
-					}
-				}
-			}
-		}
-		if(matchCount > 1 && count == 0) {
-			return matchCount;
-		}
-		return count;
+		return checkNameMatch(authors, new IdentityNameIndex(sanitizedIdentityAuthors), new IdentityHashMap<ReCiterAuthor, AuthorNameMatch>(), MatchLevel.PARTIAL_LAST_FIRST_INITIAL, matchCount, multipleMarkedTargetAuthor);
 	}
 	
 	
@@ -731,48 +358,7 @@ public class TargetAuthorSelection {
 	 * @return
 	 */
 	public int checkLastNameExactMatch(Set<Entry<ReCiterAuthor, ReCiterAuthor>> authors, List<AuthorName> sanitizedIdentityAuthors, int matchCount, Set<Entry<ReCiterAuthor, ReCiterAuthor>> multipleMarkedTargetAuthor) {
-		int count = 0;
-		if(matchCount > 1) {
-			authors = new HashSet<Entry<ReCiterAuthor, ReCiterAuthor>>(multipleMarkedTargetAuthor);
-		}
-		for (Entry<ReCiterAuthor, ReCiterAuthor> entry : authors) {
-			ReCiterAuthor author = entry.getValue();
-			ReCiterAuthor originalAuthor = entry.getKey();
-			if(author.getAuthorName().getLastName() != null) {
-				if(matchCount > 1 && author.isTargetAuthor()) {
-					if(sanitizedIdentityAuthors.stream().anyMatch(sanitizedIdentityName -> sanitizedIdentityName.getLastName() != null
-							&&
-							StringUtils.equalsIgnoreCase(author.getAuthorName().getLastName().trim(), sanitizedIdentityName.getLastName().trim()))) {
-						author.setTargetAuthor(true);
-						originalAuthor.setTargetAuthor(true);
-						multipleMarkedTargetAuthor.add(entry);
-						count++;
-					}
-					else {
-						author.setTargetAuthor(false);
-						originalAuthor.setTargetAuthor(false);
-					}		
-				}
-				else if(matchCount == 0) {
-					if(sanitizedIdentityAuthors.stream().anyMatch(sanitizedIdentityName -> sanitizedIdentityName.getLastName() != null
-							&&
-							StringUtils.equalsIgnoreCase(author.getAuthorName().getLastName().trim(), sanitizedIdentityName.getLastName().trim()))) {
-						author.setTargetAuthor(true);
-						originalAuthor.setTargetAuthor(true);
-						multipleMarkedTargetAuthor.add(entry);
-						count++;
-					}
-					else {
-						author.setTargetAuthor(false);
-						originalAuthor.setTargetAuthor(false);
-					}
-				}
-			}
-		}
-		if(matchCount > 1 && count == 0) {
-			return matchCount;
-		}
-		return count;
+		return checkNameMatch(authors, new IdentityNameIndex(sanitizedIdentityAuthors), new IdentityHashMap<ReCiterAuthor, AuthorNameMatch>(), MatchLevel.LAST, matchCount, multipleMarkedTargetAuthor);
 	}
 	
 	//Step 11: attempt strict firstname match
@@ -785,48 +371,7 @@ public class TargetAuthorSelection {
 	 * @return
 	 */
 	public int checkFirstNameExactMatch(Set<Entry<ReCiterAuthor, ReCiterAuthor>> authors, List<AuthorName> sanitizedIdentityAuthors, int matchCount, Set<Entry<ReCiterAuthor, ReCiterAuthor>> multipleMarkedTargetAuthor) {
-		int count = 0;
-		if(matchCount > 1) {
-			authors = new HashSet<Entry<ReCiterAuthor, ReCiterAuthor>>(multipleMarkedTargetAuthor);
-		}
-		for (Entry<ReCiterAuthor, ReCiterAuthor> entry : authors) {
-			ReCiterAuthor author = entry.getValue();
-			ReCiterAuthor originalAuthor = entry.getKey();
-			if(author.getAuthorName().getFirstName() != null) {
-				if(matchCount > 1 && author.isTargetAuthor()) {
-					if(sanitizedIdentityAuthors.stream().anyMatch(sanitizedIdentityName -> sanitizedIdentityName.getFirstName() != null
-							&&
-							StringUtils.equalsIgnoreCase(author.getAuthorName().getFirstName().trim(), sanitizedIdentityName.getFirstName().trim()))) {
-						author.setTargetAuthor(true);
-						originalAuthor.setTargetAuthor(true);
-						multipleMarkedTargetAuthor.add(entry);
-						count++;
-					}
-					else {
-						author.setTargetAuthor(false);
-						originalAuthor.setTargetAuthor(false);
-					}
-				}
-				else if(matchCount == 0) {
-					if(sanitizedIdentityAuthors.stream().anyMatch(sanitizedIdentityName -> sanitizedIdentityName.getFirstName() != null
-							&&
-							StringUtils.equalsIgnoreCase(author.getAuthorName().getFirstName().trim(), sanitizedIdentityName.getFirstName().trim()))) {
-						author.setTargetAuthor(true);
-						originalAuthor.setTargetAuthor(true);
-						multipleMarkedTargetAuthor.add(entry);
-						count++;
-					}
-					else {
-						author.setTargetAuthor(false);
-						originalAuthor.setTargetAuthor(false);
-					}
-				}
-			}
-		}
-		if(matchCount > 1 && count == 0) {
-			return matchCount;
-		}
-		return count;
+		return checkNameMatch(authors, new IdentityNameIndex(sanitizedIdentityAuthors), new IdentityHashMap<ReCiterAuthor, AuthorNameMatch>(), MatchLevel.FIRST, matchCount, multipleMarkedTargetAuthor);
 	}
 	
 	//Step 12: Attempt full last name match from article to partial last name from identity. (e.g., Somersan-Karakaya)
@@ -839,48 +384,7 @@ public class TargetAuthorSelection {
 	 * @return
 	 */
 	public int checkLastNameFullArticleToIdentityPartialMatch(Set<Entry<ReCiterAuthor, ReCiterAuthor>> authors, List<AuthorName> sanitizedIdentityAuthors, int matchCount, Set<Entry<ReCiterAuthor, ReCiterAuthor>> multipleMarkedTargetAuthor) {
-		int count = 0;
-		if(matchCount > 1) {
-			authors = new HashSet<Entry<ReCiterAuthor, ReCiterAuthor>>(multipleMarkedTargetAuthor);
-		}
-		for (Entry<ReCiterAuthor, ReCiterAuthor> entry : authors) {
-			ReCiterAuthor author = entry.getValue();
-			ReCiterAuthor originalAuthor = entry.getKey();
-			if(author.getAuthorName().getLastName() != null) {
-				if(matchCount > 1 && author.isTargetAuthor()) {
-					if(sanitizedIdentityAuthors.stream().anyMatch(sanitizedIdentityName -> sanitizedIdentityName.getLastName() != null
-							&&
-							StringUtils.containsIgnoreCase(sanitizedIdentityName.getLastName().trim(), author.getAuthorName().getLastName().trim()))) {
-						author.setTargetAuthor(true);
-						multipleMarkedTargetAuthor.add(entry);
-						originalAuthor.setTargetAuthor(true);
-						count++;
-					}
-					else {
-						author.setTargetAuthor(false);
-						originalAuthor.setTargetAuthor(false);
-					}
-				}
-				else if(matchCount == 0) {
-					if(sanitizedIdentityAuthors.stream().anyMatch(sanitizedIdentityName -> sanitizedIdentityName.getLastName() != null
-							&&
-							StringUtils.containsIgnoreCase(sanitizedIdentityName.getLastName().trim(), author.getAuthorName().getLastName().trim()))) {
-						author.setTargetAuthor(true);
-						originalAuthor.setTargetAuthor(true);
-						multipleMarkedTargetAuthor.add(entry);
-						count++;
-					}
-					else {
-						author.setTargetAuthor(false);
-						originalAuthor.setTargetAuthor(false);
-					}
-				}
-			}
-		}
-		if(matchCount > 1 && count == 0) {
-			return matchCount;
-		}
-		return count;
+		return checkNameMatch(authors, new IdentityNameIndex(sanitizedIdentityAuthors), new IdentityHashMap<ReCiterAuthor, AuthorNameMatch>(), MatchLevel.LAST_PART_OF_IDENTITY_LAST, matchCount, multipleMarkedTargetAuthor);
 	}
 	
 	
@@ -223,7 +223,7 @@ public class CommonAffiliationStrategy extends AbstractTargetAuthorStrategy {
 			reCiterArticle.setAffiliationEvidence(affiliationEvidence);
 			reCiterArticle.setAffiliationScore(this.totalAffiliationScore);
 			totalAffiliationScore = 0;
-			slf4jLogger.info("Pmid: " + reCiterArticle.getArticleId() + " " + affiliationEvidence.toString());
+			slf4jLogger.debug("Pmid: {} {}", reCiterArticle.getArticleId(), affiliationEvidence);
 			
 			if(this.nonTargetAuthorScopusAffiliationIds.size() > 0) {
 				this.nonTargetAuthorScopusAffiliationIds.clear();
@@ -18,27 +18,21 @@
  *******************************************************************************/
 package reciter.algorithm.evidence.targetauthor.articlesize.strategy;
 
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import reciter.ApplicationContextHolder;
 import reciter.algorithm.cluster.article.scorer.ReCiterArticleScorer;
 import reciter.algorithm.evidence.targetauthor.AbstractTargetAuthorStrategy;
-import reciter.database.dynamodb.model.ESearchPmid;
-import reciter.database.dynamodb.model.ESearchPmid.RetrievalRefreshFlag;
-import reciter.database.dynamodb.model.ESearchResult;
 import reciter.database.dynamodb.model.QueryType;
 import reciter.engine.Feature;
+import reciter.engine.RetrievalArticleCount;
 import reciter.engine.analysis.evidence.ArticleCountEvidence;
 import reciter.model.article.ReCiterArticle;
 import reciter.model.article.ReCiterArticleAuthors;
 import reciter.model.article.ReCiterAuthor;
 import reciter.model.identity.Identity;
-import reciter.service.ESearchResultService;
 
 /**
  * @author Sarbajit Dutta
@@ -51,6 +45,7 @@ public class ArticleSizeStrategy extends AbstractTargetAuthorStrategy {
 	private static final int FIRST_LEVEL = 200;
 	private static final int SECOND_LEVEL = 500;
 	private int numberOfArticles;
+	private RetrievalArticleCount retrievalArticleCount;
 	
 	/**
 	 * If a person has < 200 candidate publications, assume that the person wrote it in these circumstances:
@@ -60,8 +55,9 @@ public class ArticleSizeStrategy extends AbstractTargetAuthorStrategy {
 	 * If a person has < 500 candidate publications, assume that the person wrote it in these circumstances:
 	 * 3. Both full first name and matching middle initial (Richard D. Granstein, e.g., 6231484, or Carl F. Nathan, e.g., 3989315)
 	 */
-	public ArticleSizeStrategy(int numberOfArticles) {
+	public ArticleSizeStrategy(int numberOfArticles, RetrievalArticleCount retrievalArticleCount) {
 		this.numberOfArticles = numberOfArticles;
+		this.retrievalArticleCount = retrievalArticleCount == null ? RetrievalArticleCount.EMPTY : retrievalArticleCount;
 	}
 	
 	@Override
@@ -106,48 +102,32 @@ public class ArticleSizeStrategy extends AbstractTargetAuthorStrategy {
 		//Logic was updated to include lookupType in eSearchPmid so as to only count publications when
 		//ALL_PUBLICATIONS flag is being used and excluding GoldStandard Strategy retrieval type for actual candidate publication count
 		//https://github.com/wcmc-its/ReCiter/issues/455 
-		ESearchResultService eSearchResultService = ApplicationContextHolder.getContext().getBean(ESearchResultService.class);
-		ESearchResult eSearchResult = eSearchResultService.findByUid(identity.getUid());
-		reCiterArticles.forEach(reCiterArticle -> {
-		ArticleCountEvidence articleCountEvidence = new ArticleCountEvidence();
-		if(this.numberOfArticles > 0) {
-			int retrievalArticleCountByLookUpType = 0;
-			if(eSearchResult != null
-					&&
-					eSearchResult.getQueryType() != null 
-					&&
-					(eSearchResult.getQueryType() == QueryType.LENIENT_LOOKUP || eSearchResult.getQueryType() == QueryType.STRICT_COMPOUND_NAME_LOOKUP)) {
-				if(eSearchResult.getESearchPmids() != null
-						&&
-						!eSearchResult.getESearchPmids().isEmpty()) {
-							Set<Long> uniqueRetrievalArticle = new HashSet<>();
-							eSearchResult.getESearchPmids().stream()
-							.filter(eSearchPmid -> !eSearchPmid.getRetrievalStrategyName().equalsIgnoreCase("GoldStandardRetrievalStrategy") && eSearchPmid.getLookupType() == RetrievalRefreshFlag.ALL_PUBLICATIONS)
-							.map(ESearchPmid::getPmids)
-							.forEach(uniqueRetrievalArticle::addAll);
-							retrievalArticleCountByLookUpType = uniqueRetrievalArticle.size();
-							if(retrievalArticleCountByLookUpType > 0) {
-								articleCountEvidence.setCountArticlesRetrieved(retrievalArticleCountByLookUpType);
-								articleCountEvidence.setArticleCountScore(-(retrievalArticleCountByLookUpType - ReCiterArticleScorer.strategyParameters.getArticleCountThresholdScore())/ReCiterArticleScorer.strategyParameters.getArticleCountWeight());
-							} else {
-								articleCountEvidence.setCountArticlesRetrieved(this.numberOfArticles);
-								articleCountEvidence.setArticleCountScore(-(this.numberOfArticles - ReCiterArticleScorer.strategyParameters.getArticleCountThresholdScore())/ReCiterArticleScorer.strategyParameters.getArticleCountWeight());
-							}
-						}
-			} else if(eSearchResult != null
-					&&
-					eSearchResult.getQueryType() != null 
-					&&
-					eSearchResult.getQueryType() == QueryType.STRICT_EXCEEDS_THRESHOLD_LOOKUP){//Strict Lookup
-				articleCountEvidence.setCountArticlesRetrieved(ReCiterArticleScorer.strategyParameters.getSearchStrategyLeninentThreshold());
-				articleCountEvidence.setArticleCountScore(-(ReCiterArticleScorer.strategyParameters.getSearchStrategyLeninentThreshold() - ReCiterArticleScorer.strategyParameters.getArticleCountThresholdScore())/ReCiterArticleScorer.strategyParameters.getArticleCountWeight());
+		//The counts are precomputed once per identity in RetrievalArticleCount so no lookup happens while scoring.
+		if(this.numberOfArticles <= 0) {
+			return 0;
+		}
+		QueryType queryType = retrievalArticleCount.getQueryType();
+		Double countArticlesRetrieved = null;
+		if(queryType == QueryType.LENIENT_LOOKUP || queryType == QueryType.STRICT_COMPOUND_NAME_LOOKUP) {
+			if(retrievalArticleCount.isESearchPmidsPresent()) {
+				countArticlesRetrieved = (double) (retrievalArticleCount.getCountByLookupType() > 0 ? retrievalArticleCount.getCountByLookupType() : this.numberOfArticles);
+			}
+		} else if(queryType == QueryType.STRICT_EXCEEDS_THRESHOLD_LOOKUP) {//Strict Lookup
+			countArticlesRetrieved = ReCiterArticleScorer.strategyParameters.getSearchStrategyLeninentThreshold();
+		}
+		Double articleCountScore = null;
+		if(countArticlesRetrieved != null) {
+			articleCountScore = -(countArticlesRetrieved - ReCiterArticleScorer.strategyParameters.getArticleCountThresholdScore())/ReCiterArticleScorer.strategyParameters.getArticleCountWeight();
+		}
+		for(ReCiterArticle reCiterArticle: reCiterArticles) {
+			ArticleCountEvidence articleCountEvidence = new ArticleCountEvidence();
+			if(countArticlesRetrieved != null) {
+				articleCountEvidence.setCountArticlesRetrieved(countArticlesRetrieved);
+				articleCountEvidence.setArticleCountScore(articleCountScore);
 			}
-			
 			reCiterArticle.setArticleCountEvidence(articleCountEvidence);
-			slf4jLogger.info("Pmid: " + reCiterArticle.getArticleId() + " " + articleCountEvidence.toString());
-		
+			slf4jLogger.debug("Pmid: {} {}", reCiterArticle.getArticleId(), articleCountEvidence);
 		}
-		});
 		return 0;
 	}
 
@@ -97,7 +97,7 @@ public class YearDiscrepancyStrategy extends AbstractRemoveReCiterArticleStrateg
 					difference = year - identity.getDegreeYear().getBachelorYear();
 					reCiterArticle.setBachelorsYearDiscrepancy(difference);
 					if (difference < 1) {
-						log.info("Bachelors: Identity degree and reCiter article {} journal issue publication date difference < 1. Remove from cluster.", reCiterArticle.getArticleId());
+						log.debug("Bachelors: Identity degree and reCiter article {} journal issue publication date difference < 1. Remove from cluster.", reCiterArticle.getArticleId());
 						reCiterArticle.setClusterInfo(reCiterArticle.getClusterInfo() 
 								+ " [Bachelors Degree Difference=" + difference + "]");
 						reCiterArticle.setBachelorsYearDiscrepancyScore(1);
@@ -113,7 +113,7 @@ public class YearDiscrepancyStrategy extends AbstractRemoveReCiterArticleStrateg
 					reCiterArticle.setDoctoralYearDiscrepancy(difference);
 					if (doctoral < 1998) {
 						if (difference < -6) {
-							log.info("DOCTORAL 1998: Identity degree and reCiter article {} journal issue publication date difference < -6" +
+							log.debug("DOCTORAL 1998: Identity degree and reCiter article {} journal issue publication date difference < -6" +
 									". Remove from cluster.", reCiterArticle.getArticleId());
 							reCiterArticle.setClusterInfo(reCiterArticle.getClusterInfo() 
 									+ " [Doctoral Degree Difference (<1988) =" + difference + "]");
@@ -124,7 +124,7 @@ public class YearDiscrepancyStrategy extends AbstractRemoveReCiterArticleStrateg
 						}
 					} else {
 						if (difference < -13) {
-							log.info("DOCTORAL: Identity degree and reCiter article {} journal issue publication date difference < -13. " +
+							log.debug("DOCTORAL: Identity degree and reCiter article {} journal issue publication date difference < -13. " +
 									"Remove from cluster.", reCiterArticle.getArticleId());
 
 							reCiterArticle.setClusterInfo(reCiterArticle.getClusterInfo() 
@@ -261,7 +261,7 @@ public class YearDiscrepancyStrategy extends AbstractRemoveReCiterArticleStrateg
 						}
 					}
 					if(reCiterArticle.getEducationYearEvidence() != null) {
-						log.info("Pmid: " + reCiterArticle.getArticleId() + " " + reCiterArticle.getEducationYearEvidence().toString());
+						log.debug("Pmid: {} {}", reCiterArticle.getArticleId(), reCiterArticle.getEducationYearEvidence());
 					}
 				}
 			}
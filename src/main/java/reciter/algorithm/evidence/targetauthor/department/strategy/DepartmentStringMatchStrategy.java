@@ -95,9 +95,8 @@ public class DepartmentStringMatchStrategy extends AbstractTargetAuthorStrategy
 					reCiterArticle.setClusterInfo(reCiterArticle.getClusterInfo() + 
 							" [department and first name initial matches: " + extractedDept + 
 							", first name initial: " + identity.getPrimaryName().getFirstInitial() + "]");
-					slf4jLogger.info("Department and first name initial matches. "
-							+ "PMID=[" + pmid + "] - Extracted Deptment From Article=[" + extractedDept + 
-							"] Is Gold=[" + isGoldStandard + "]");
+					slf4jLogger.debug("Department and first name initial matches. PMID=[{}] - Extracted Deptment From Article=[{}] Is Gold=[{}]",
+							pmid, extractedDept, isGoldStandard);
 					score = 1;
 					reCiterArticle.setMatchingDepartment(extractedDept);
 					break;
@@ -288,7 +287,7 @@ public class DepartmentStringMatchStrategy extends AbstractTargetAuthorStrategy
 				}
 			}
 			if(orgUnitEvidences.size() > 0) {
-				slf4jLogger.info("Pmid: " + reCiterArticle.getArticleId() + " " + orgUnitEvidences.toString());
+				slf4jLogger.debug("Pmid: {} {}", reCiterArticle.getArticleId(), orgUnitEvidences);
 				//Remove duplicate evidence based on orgUnit matches
 				if(orgUnitEvidences.size() > 1) {
 					Set<Object> seen=new HashSet<>();
@@ -331,7 +330,7 @@ public class DepartmentStringMatchStrategy extends AbstractTargetAuthorStrategy
 		if (reCiterAuthor.getAffiliation() != null && reCiterAuthor.getAffiliation() != null) {
 			String affiliation = reCiterAuthor.getAffiliation();
 			extractedDept = extractDepartment(affiliation);
-			slf4jLogger.info("Extracted department=[" + extractedDept + "] for author=[" + identity.getUid() + "] in pmid=[" + pmid + "].");
+			slf4jLogger.debug("Extracted department=[{}] for author=[{}] in pmid=[{}].", extractedDept, identity.getUid(), pmid);
 			for (OrganizationalUnit department : identity.getOrganizationalUnits()) {
 				if (StringUtils.equalsIgnoreCase(extractedDept, department.getOrganizationalUnitLabel())) {
 					return true;
@@ -339,9 +338,9 @@ public class DepartmentStringMatchStrategy extends AbstractTargetAuthorStrategy
 					// check for substring match - only when the extracted department is not "medicine" because
 					// it is too common.
 					if (reCiterAuthor.getAuthorName().firstInitialMiddleInitialLastNameMatch(identity.getPrimaryName())) {
-						slf4jLogger.info("Extracted department=[" + extractedDept + "] contains identity's department=[" + department + "] "
-								+ "for author=[" + identity.getUid() + "] in pmid=[" + pmid + "]. And first initial, middle initial and last names match. "
-										+ "gold standard=[" + goldStandard + "]");
+						slf4jLogger.debug("Extracted department=[{}] contains identity's department=[{}] for author=[{}] in pmid=[{}]. "
+								+ "And first initial, middle initial and last names match. gold standard=[{}]",
+								extractedDept, department, identity.getUid(), pmid, goldStandard);
 						return true;
 					}
 				}
@@ -18,6 +18,7 @@
  *******************************************************************************/
 package reciter.algorithm.evidence.targetauthor.email.strategy;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -84,19 +85,26 @@ public class EmailStringMatchStrategy extends AbstractTargetAuthorStrategy {
 	@Override
 	public double executeStrategy(List<ReCiterArticle> reCiterArticles, Identity identity) {
 		double sumScore = 0;
+		List<String> identityEmails = identity.getEmails() != null ? identity.getEmails() : new ArrayList<>();
+		//uid based addresses are the same for every article and author
+		List<String> uidEmails = new ArrayList<>(emailSuffixes.size());
+		for (String suffix : emailSuffixes) {
+			uidEmails.add(identity.getUid() + suffix);
+		}
 		for (ReCiterArticle reCiterArticle : reCiterArticles) {
 			//sumScore += executeStrategy(reCiterArticle, identity);
 			for (ReCiterAuthor author : reCiterArticle.getArticleCoAuthors().getAuthors()) {
 				EmailEvidence emailEvidence = new EmailEvidence();
-				if (author.isTargetAuthor() && author.getAffiliation() != null) {
+				if (author.isTargetAuthor() && author.getAffiliation() != null && !identityEmails.isEmpty()) {
 					String affiliation = author.getAffiliation();
-					for (String email : identity.getEmails()) {
+					boolean uidEmailMatch = uidEmails.stream().anyMatch(affiliation::contains);
+					for (String email : identityEmails) {
 						if (affiliation.contains(email)) {
 							reCiterArticle.setClusterInfo(reCiterArticle.getClusterInfo() + " [email matches: " + email + "]");
 							reCiterArticle.getMatchingEmails().add(email);
 							emailEvidence.setEmailMatch(email);
 							emailEvidence.setEmailMatchScore(ReCiterArticleScorer.strategyParameters.getEmailMatchScore());
-						} else if(emailSuffixes.stream().anyMatch(suffix -> affiliation.contains(identity.getUid() + suffix))) {
+						} else if(uidEmailMatch) {
 							reCiterArticle.setClusterInfo(reCiterArticle.getClusterInfo() + " [email matches: " + affiliation + "]");
 							reCiterArticle.getMatchingEmails().add(email);
 							emailEvidence.setEmailMatch(email);
@@ -106,7 +114,7 @@ public class EmailStringMatchStrategy extends AbstractTargetAuthorStrategy {
 				}
 				if(emailEvidence.getEmailMatch() != null) {
 					reCiterArticle.setEmailEvidence(emailEvidence);
-					slf4jLogger.info("Pmid: " + reCiterArticle.getArticleId() + " " + emailEvidence.toString());
+					slf4jLogger.debug("Pmid: {} {}", reCiterArticle.getArticleId(), emailEvidence);
 					break;
 				}
 			}
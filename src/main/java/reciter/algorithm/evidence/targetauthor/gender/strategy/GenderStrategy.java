@@ -44,7 +44,7 @@ public class GenderStrategy extends AbstractTargetAuthorStrategy {
 					genderEvidence.setGenderScoreIdentityArticleDiscrepancy(BigDecimal.valueOf(genderScore).setScale(2, RoundingMode.HALF_DOWN).doubleValue());
 				}
 				reCiterArticle.setGenderEvidence(genderEvidence);
-				log.info("Pmid: " + reCiterArticle.getArticleId() + " " + genderEvidence.toString());
+				log.debug("Pmid: {} {}", reCiterArticle.getArticleId(), genderEvidence);
 			}
 		}
 		
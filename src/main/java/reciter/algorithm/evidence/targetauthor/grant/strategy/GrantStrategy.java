@@ -19,9 +19,13 @@
 package reciter.algorithm.evidence.targetauthor.grant.strategy;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.regex.Pattern;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -42,9 +46,13 @@ public class GrantStrategy extends AbstractTargetAuthorStrategy {
 
 	private static final Logger log = LoggerFactory.getLogger(GrantStrategy.class);
 
+	//Grant starting with alphabets followed by 0 e.g. DP001021 but not DP11201
+	private static final Pattern LEADING_ZERO_GRANT = Pattern.compile("^(?i)[A-Z]+0+.*$");
+	private static final Pattern LEADING_ZEROES = Pattern.compile("^[0]+");
+
 	@Override
 	public double executeStrategy(ReCiterArticle reCiterArticle, Identity identity) {
-		log.info("Executing grant strategy for article id {} and identity id {}",
+		log.debug("Executing grant strategy for article id {} and identity id {}",
 				reCiterArticle.getArticleId(),
 				identity.getUid());
 		double score = 0;
@@ -53,9 +61,8 @@ public class GrantStrategy extends AbstractTargetAuthorStrategy {
 		grantEvidence.setGrants(grants);
 		for (ReCiterArticleGrant grant : reCiterArticle.getGrantList()) {
 			for (String identityGrantId : identity.getGrants()) {
-				log.info("identity grant {}", identityGrantId);
 				if (grant.getGrantID() != null && grant.getGrantID().contains(identityGrantId)) {
-					log.info("[known grant ids match=" + identityGrantId + "]");
+					log.debug("[known grant ids match={}]", identityGrantId);
 					reCiterArticle.setClusterInfo(reCiterArticle.getClusterInfo() + " [known grant ids match=" + identityGrantId + "], ");
 					Grant analysisGrant = new Grant();
 					analysisGrant.setArticleGrant(grant.getGrantID());
@@ -76,35 +83,35 @@ public class GrantStrategy extends AbstractTargetAuthorStrategy {
 		if(identity != null) {
 			sanitizeIdentityGrants(identity, sanitizedIdentityGrants);
 		}
+		Map<String, List<String>> identityGrantsByKey = indexIdentityGrants(sanitizedIdentityGrants);
 		GrantEvidence grantEvidence = null;
 		
 		double score = 0;
 		for (ReCiterArticle reCiterArticle : reCiterArticles) {
 			//score += executeStrategy(reCiterArticle, identity);
 			List<Grant> grants = new ArrayList<>();
+			Set<String> matchedGrantKeys = new HashSet<>();
 			for (ReCiterArticleGrant grant : reCiterArticle.getGrantList()) {
-				for (String identityGrantId : sanitizedIdentityGrants) {
-					//log.info("identity grant {}", identityGrantId);
-					if (grant.getGrantID() != null && org.apache.commons.lang3.StringUtils.equalsIgnoreCase(grant.getSanitizedGrantID(), identityGrantId)) {
-						Grant analysisGrant = new Grant();
-						analysisGrant.setArticleGrant(grant.getGrantID());
-						analysisGrant.setInstitutionGrant(identityGrantId);
-						analysisGrant.setGrantMatchScore(ReCiterArticleScorer.strategyParameters.getGrantMatchScore());
-						score += 1;
-						reCiterArticle.getMatchingGrantList().add(grant);
-						if(!grants.stream().anyMatch(matchingGrant -> org.apache.commons.lang3.StringUtils.equalsIgnoreCase(identityGrantId, matchingGrant.getInstitutionGrant()))) {
-							grants.add(analysisGrant);
-						}
-						
-						
-						
+				if (grant.getGrantID() == null || grant.getSanitizedGrantID() == null) {
+					continue;
+				}
+				String grantKey = grantKey(grant.getSanitizedGrantID());
+				for (String identityGrantId : identityGrantsByKey.getOrDefault(grantKey, Collections.emptyList())) {
+					Grant analysisGrant = new Grant();
+					analysisGrant.setArticleGrant(grant.getGrantID());
+					analysisGrant.setInstitutionGrant(identityGrantId);
+					analysisGrant.setGrantMatchScore(ReCiterArticleScorer.strategyParameters.getGrantMatchScore());
+					score += 1;
+					reCiterArticle.getMatchingGrantList().add(grant);
+					if(matchedGrantKeys.add(grantKey)) {
+						grants.add(analysisGrant);
 					}
 				}
 			}
 			grantEvidence = new GrantEvidence();
 			grantEvidence.setGrants(grants);
 			if(grantEvidence != null && grantEvidence.getGrants().size() > 0) {
-				log.info("Pmid: " + reCiterArticle.getArticleId() + " " + grantEvidence.toString());
+				log.debug("Pmid: {} {}", reCiterArticle.getArticleId(), grantEvidence);
 				reCiterArticle.setGrantEvidence(grantEvidence);
 			}
 		}
@@ -117,14 +124,14 @@ public class GrantStrategy extends AbstractTargetAuthorStrategy {
 		
 	}
 	
-	private void sanitizeIdentityGrants(Identity identity, Set<String> sanitizedIdentityGrants) {
+	static void sanitizeIdentityGrants(Identity identity, Set<String> sanitizedIdentityGrants) {
 		if(identity.getGrants() != null && !identity.getGrants().isEmpty()) {
 			for (String identityGrantId : identity.getGrants()) {
 				//Remove leading zeroes
 				//Paul confirmed identity grants(NIH) always starts with alphabets with numbers so excluding the possibility of grants with numbers and leading zeroes e.g. 0012301 
-				if(identityGrantId.matches("^(?i)[A-Z]+0+.*$")) { //This is checking if grant starts with Alphabets with 0 e.g. DP001021 this will be true but not for DP11201
+				if(LEADING_ZERO_GRANT.matcher(identityGrantId).matches()) { //This is checking if grant starts with Alphabets with 0 e.g. DP001021 this will be true but not for DP11201
 					int zeroIndex = identityGrantId.indexOf("0");
-					String grantId = identityGrantId.substring(zeroIndex, identityGrantId.length()).replaceAll("^[0]+", "");
+					String grantId = LEADING_ZEROES.matcher(identityGrantId.substring(zeroIndex, identityGrantId.length())).replaceAll("");
 					//identityGrantId.replaceAll("^[A-Z0]+(?!$)/i/g", "");
 					sanitizedIdentityGrants.add(new StringBuilder(identityGrantId.substring(0, zeroIndex) + grantId).insert(2, "-").toString());
 				} else {
@@ -133,4 +140,27 @@ public class GrantStrategy extends AbstractTargetAuthorStrategy {
 			}
 		}
 	}
+
+	/**
+	 * Groups the sanitized identity grants by {@link #grantKey} so an article grant is matched with one lookup instead
+	 * of a case insensitive comparison against every identity grant. Grants differing only in case share a key.
+	 */
+	private static Map<String, List<String>> indexIdentityGrants(Set<String> sanitizedIdentityGrants) {
+		Map<String, List<String>> identityGrantsByKey = new LinkedHashMap<>();
+		for (String identityGrantId : sanitizedIdentityGrants) {
+			identityGrantsByKey.computeIfAbsent(grantKey(identityGrantId), key -> new ArrayList<>()).add(identityGrantId);
+		}
+		return identityGrantsByKey;
+	}
+
+	/**
+	 * Case folds a grant id so that two ids are equal exactly when String.equalsIgnoreCase would consider them equal.
+	 */
+	private static String grantKey(String grantId) {
+		char[] chars = grantId.toCharArray();
+		for(int i = 0; i < chars.length; i++) {
+			chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+		}
+		return new String(chars);
+	}
 }
@@ -122,7 +122,7 @@ public class JournalCategoryStrategy extends AbstractTargetAuthorStrategy {
 					}
 				}
 				if(journalCategoryEvidence != null) {
-					log.info("Pmid: " + reCiterArticle.getArticleId() + " " + journalCategoryEvidence.toString());
+					log.debug("Pmid: {} {}", reCiterArticle.getArticleId(), journalCategoryEvidence);
 				}
 				reCiterArticle.setJournalCategoryEvidence(journalCategoryEvidence);
 			}
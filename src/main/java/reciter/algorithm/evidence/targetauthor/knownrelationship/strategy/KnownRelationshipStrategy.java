@@ -21,8 +21,11 @@ package reciter.algorithm.evidence.targetauthor.knownrelationship.strategy;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import lombok.extern.slf4j.Slf4j;
@@ -34,6 +37,7 @@ import reciter.engine.analysis.evidence.RelationshipNegativeMatch;
 import reciter.engine.analysis.evidence.RelationshipPostiveMatch;
 import reciter.model.article.ReCiterArticle;
 import reciter.model.article.ReCiterAuthor;
+import reciter.model.identity.AuthorName;
 import reciter.model.identity.Identity;
 import reciter.model.identity.KnownRelationship;
 import reciter.model.identity.KnownRelationship.RelationshipType;
@@ -52,7 +56,7 @@ public class KnownRelationshipStrategy extends AbstractTargetAuthorStrategy {
 				if (!author.getAuthorName().firstInitialLastNameMatch(identity.getPrimaryName())) {
 					for (KnownRelationship authorName : relationships) {
 						if (authorName.getName().isFullNameMatch(author.getAuthorName())) {
-							log.info("[known relationship match: " +  authorName + "] ");
+							log.debug("[known relationship match: {}] ", authorName);
 							reCiterArticle.getKnownRelationships().add(author);
 							reCiterArticle.setClusterInfo(reCiterArticle.getClusterInfo() + "[known relationship match: " +  authorName + "] ");
 							score += 1;
@@ -74,10 +78,8 @@ public class KnownRelationshipStrategy extends AbstractTargetAuthorStrategy {
 	@Override
 	public double executeStrategy(List<ReCiterArticle> reCiterArticles, Identity identity) {
 		double sum = 0;
+		Map<String, List<KnownRelationship>> relationshipsByLastName = indexByLastName(identity.getKnownRelationships());
 		for (ReCiterArticle reCiterArticle : reCiterArticles) {
-			if(reCiterArticle.getArticleId() == 25119024) {
-				log.info("Here");
-			}
 			long relationShipMatchCount = 0;
 			long nonMatchCount = 0;
 			//sum += executeStrategy(reCiterArticle, identity);
@@ -94,7 +96,7 @@ public class KnownRelationshipStrategy extends AbstractTargetAuthorStrategy {
 					Set<String> relationshipTypes = new HashSet<String>();
 					// do not match target author's name
 					if (!author.isTargetAuthor()) {
-						for (KnownRelationship authorName : relationships) {
+						for (KnownRelationship authorName : relationshipsByLastName.getOrDefault(lastNameKey(author.getAuthorName()), Collections.emptyList())) {
 							if (authorName.getName().firstInitialLastNameMatch(author.getAuthorName())) {
 								RelationshipPostiveMatch relationshipEvidence = new RelationshipPostiveMatch();
 								//if(StringUtils.equalsIgnoreCase(authorName.getName().getFirstName(), author.getAuthorName().getFirstName())) {
@@ -205,11 +207,39 @@ public class KnownRelationshipStrategy extends AbstractTargetAuthorStrategy {
 			relaEvidence.setRelationshipNegativeMatch(relationshipNegativeMatch);
 			reCiterArticle.setRelationshipEvidence(relaEvidence);
 			
-			log.info("Pmid: " + reCiterArticle.getArticleId() + " " + relaEvidence.toString());
+			log.debug("Pmid: {} {}", reCiterArticle.getArticleId(), relaEvidence);
 		}
 		return sum;
 	}
 
+	/**
+	 * Groups the known relationships of an identity by last name, keeping their order, so each co-author is only
+	 * compared with the relationships sharing its last name.
+	 */
+	private static Map<String, List<KnownRelationship>> indexByLastName(List<KnownRelationship> relationships) {
+		Map<String, List<KnownRelationship>> relationshipsByLastName = new HashMap<>();
+		if (relationships != null) {
+			for (KnownRelationship relationship : relationships) {
+				relationshipsByLastName.computeIfAbsent(lastNameKey(relationship.getName()), key -> new ArrayList<>()).add(relationship);
+			}
+		}
+		return relationshipsByLastName;
+	}
+
+	/**
+	 * Case folded last name, equal for two names exactly when their last names are equal ignoring case.
+	 */
+	private static String lastNameKey(AuthorName name) {
+		if (name == null || name.getLastName() == null) {
+			return "";
+		}
+		char[] chars = name.getLastName().toCharArray();
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+		}
+		return new String(chars);
+	}
+
 	@Override
 	public void populateFeature(ReCiterArticle reCiterArticle, Identity identity, Feature feature) {
 		int score = 0;
@@ -20,7 +20,6 @@ import org.slf4j.LoggerFactory;
 
 import reciter.algorithm.cluster.article.scorer.ReCiterArticleScorer;
 import reciter.algorithm.evidence.targetauthor.AbstractTargetAuthorStrategy;
-import reciter.algorithm.util.ReCiterStringUtil;
 import reciter.engine.Feature;
 import reciter.engine.analysis.evidence.AuthorNameEvidence;
 import reciter.model.article.ReCiterArticle;
@@ -28,6 +27,7 @@ import reciter.model.article.ReCiterArticleAuthors;
 import reciter.model.article.ReCiterAuthor;
 import reciter.model.identity.AuthorName;
 import reciter.model.identity.Identity;
+import reciter.utils.StringDistance;
 
 /**
  * @author szd2013
@@ -57,9 +57,6 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 		List<AuthorNameEvidence> authorNameEvidences = new ArrayList<AuthorNameEvidence>(identity.getSanitizedNames().size());
 		
 		for(ReCiterArticle reCiterArticle: reCiterArticles) {
-			if(reCiterArticle.getArticleId() == 16614246) {
-				slf4jLogger.info("here");
-			}
 			ReCiterArticleAuthors authors = reCiterArticle.getArticleCoAuthors();
 			
 			Map<ReCiterAuthor, ReCiterAuthor> sanitizedTargetAuthor = authors.getSanitizedAuthorMap()
@@ -88,7 +85,7 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 							authorNameEvidence.getNameMatchLastType() != null 
 							&&
 							authorNameEvidence.getNameMatchModifier() != null) {
-						slf4jLogger.info("Combine following identity.middleName, identity.lastName into mergedName. Now attempt match against article.lastName.");
+						slf4jLogger.debug("Combine following identity.middleName, identity.lastName into mergedName. Now attempt match against article.lastName.");
 					}
 					else {
 						scoreLastName(identityAuthorName, identityAuthorNameOriginal, sanitizedTargetAuthor, authorNameEvidence);
@@ -140,7 +137,7 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 			
 			reCiterArticle.setAuthorNameEvidence(authorNameEvidence);
 			
-			slf4jLogger.info("Pmid: " + reCiterArticle.getArticleId() + " " + authorNameEvidence.toString());
+			slf4jLogger.debug("Pmid: {} {}", reCiterArticle.getArticleId(), authorNameEvidence);
 		}
 		return 1;
 	}
@@ -203,7 +200,7 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 				authorNameEvidence.setNameMatchLastScore(ReCiterArticleScorer.strategyParameters.getNameMatchLastTypeFullExactScore());
 				authorNameEvidence.setNameMatchModifier("identitySubstringOfArticle-lastName");
 				authorNameEvidence.setNameMatchModifierScore(ReCiterArticleScorer.strategyParameters.getNameMatchModifierIdentitySubstringOfArticleLastnameScore());
-			} else if(identityAuthor.getLastName().length() >= 4 && ReCiterStringUtil.levenshteinDistance(identityAuthor.getLastName(), articleAuthorName.getLastName()) <= 1) {
+			} else if(identityAuthor.getLastName().length() >= 4 && StringDistance.isWithinDistance(identityAuthor.getLastName(), articleAuthorName.getLastName(), 1)) {
 				//Attempt match where identity.lastName >= 4 characters and levenshteinDistance between identity.lastName and article.lastName is <=1.
 				//Example: Kaushal (identity.lastName) = Kaushai (article.lastName)
 				authorNameEvidence.setNameMatchLastType("full-fuzzy");
@@ -274,7 +271,7 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 					&&
 					identityAuthor.getFirstName().length() >= 4 
 					&& 
-					ReCiterStringUtil.levenshteinDistance(identityAuthor.getFirstName(), articleAuthorName.getFirstName()) == 1) {
+					StringDistance.levenshteinDistance(identityAuthor.getFirstName(), articleAuthorName.getFirstName(), 1) == 1) {
 				//Attempt match where identity.firstName is greater than 4 characters and Levenshtein distance between identity.firstName and article.firstName is 1.
 				//Example: Paula (identity.firstName) = Pauly (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("full-fuzzy");
@@ -586,7 +583,7 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 					&& 
 					articleAuthorName.getFirstName() != null  
 					&& 
-					ReCiterStringUtil.levenshteinDistance(identityAuthor.getFirstName() + identityAuthor.getMiddleName(), articleAuthorName.getFirstName()) <= 2) {
+					StringDistance.isWithinDistance(identityAuthor.getFirstName() + identityAuthor.getMiddleName(), articleAuthorName.getFirstName(), 2)) {
 				//Attempt match where levenshteinDistance between identity.firstName + identity.middleName and article.firstName is <=2.
 				//Example: Manney (identity.firstName) + Carrington (identity.middleName) = MannyCarrington (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("full-fuzzy");
@@ -599,7 +596,7 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 					&&
 					identityAuthor.getFirstName().length() >= 4 
 					&& 
-					ReCiterStringUtil.levenshteinDistance(identityAuthor.getFirstName(), articleAuthorName.getFirstName()) <= 1) {
+					StringDistance.isWithinDistance(identityAuthor.getFirstName(), articleAuthorName.getFirstName(), 1)) {
 				//Attempt match where identity.firstName >= 4 characters and levenshteinDistance between identity.firstName and article.firstName is <=1.
 				//Example: Nassar (identity.firstName) = Nasser (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("full-fuzzy");
@@ -0,0 +1,217 @@
+package reciter.algorithm.tfidf;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import reciter.model.article.ReCiterArticle;
+import reciter.model.article.ReCiterArticleKeywords.Keyword;
+import reciter.model.article.ReCiterArticleMeshHeading;
+
+/**
+ * TF-IDF vectors of the title, abstract, keywords and MeSH headings of a set of articles, e.g. the candidate articles
+ * of one identity. Terms are interned to integer ids and document frequencies and IDF weights are computed once for
+ * the corpus, so each article is a sorted {@link SparseVector} of unit length and the similarity of two articles is a
+ * merge of their non-zero terms.
+ * Words of the title, abstract and keywords share one term space, keywords and MeSH descriptors are additionally kept
+ * as whole phrases so that a shared multi word term counts more than its words.
+ */
+public class ArticleTfIdf {
+
+	private static final String KEYWORD_PREFIX = "k:";
+	private static final String MESH_PREFIX = "m:";
+	private static final int MIN_WORD_LENGTH = 3;
+
+	private static final Set<String> STOP_WORDS = new HashSet<>(Arrays.asList(
+			"the", "and", "for", "with", "from", "that", "this", "these", "those", "was", "were", "are", "has", "have",
+			"had", "not", "but", "its", "our", "their", "which", "who", "whom", "than", "then", "into", "onto", "between",
+			"among", "after", "before", "during", "both", "each", "all", "any", "also", "may", "can", "could", "would",
+			"should", "been", "being", "such", "more", "most", "other", "only", "over", "under", "via", "per", "using",
+			"used", "use", "based", "within", "without", "however", "there", "here", "when", "where", "while", "what"));
+
+	private final Map<String, Integer> termIds;
+	private final double[] idf;
+	private final Map<ReCiterArticle, SparseVector> vectors;
+
+	private ArticleTfIdf(Map<String, Integer> termIds, double[] idf, Map<ReCiterArticle, SparseVector> vectors) {
+		this.termIds = termIds;
+		this.idf = idf;
+		this.vectors = vectors;
+	}
+
+	public static ArticleTfIdf of(Collection<ReCiterArticle> reCiterArticles) {
+		Map<String, Integer> termIds = new HashMap<>();
+		List<ReCiterArticle> articles = new ArrayList<>(reCiterArticles.size());
+		List<int[]> articleTermIds = new ArrayList<>(reCiterArticles.size());
+		List<int[]> articleTermCounts = new ArrayList<>(reCiterArticles.size());
+		TermBuffer buffer = new TermBuffer();
+		for(ReCiterArticle reCiterArticle: reCiterArticles) {
+			buffer.clear();
+			addTerms(reCiterArticle, termIds, buffer);
+			articles.add(reCiterArticle);
+			buffer.toSortedCounts(articleTermIds, articleTermCounts);
+		}
+
+		int[] documentFrequency = new int[termIds.size()];
+		for(int[] ids: articleTermIds) {
+			for(int termId: ids) {
+				documentFrequency[termId]++;
+			}
+		}
+		//Smoothed IDF, a term in every article keeps a small positive weight
+		double[] idf = new double[termIds.size()];
+		for(int termId = 0; termId < idf.length; termId++) {
+			idf[termId] = Math.log((1.0 + articles.size()) / (1.0 + documentFrequency[termId])) + 1.0;
+		}
+
+		Map<ReCiterArticle, SparseVector> vectors = new IdentityHashMap<>(articles.size());
+		for(int i = 0; i < articles.size(); i++) {
+			int[] ids = articleTermIds.get(i);
+			int[] counts = articleTermCounts.get(i);
+			float[] weights = new float[ids.length];
+			for(int j = 0; j < ids.length; j++) {
+				weights[j] = (float) ((1.0 + Math.log(counts[j])) * idf[ids[j]]);
+			}
+			vectors.put(articles.get(i), new SparseVector(ids, weights).normalize());
+		}
+		return new ArticleTfIdf(termIds, idf, vectors);
+	}
+
+	/**
+	 * @return unit length TF-IDF vector of the article or an empty vector for an article outside the corpus
+	 */
+	public SparseVector getVector(ReCiterArticle reCiterArticle) {
+		return vectors.getOrDefault(reCiterArticle, SparseVector.EMPTY);
+	}
+
+	/**
+	 * @return cosine similarity of the two articles between 0 and 1
+	 */
+	public double similarity(ReCiterArticle reCiterArticle1, ReCiterArticle reCiterArticle2) {
+		return getVector(reCiterArticle1).dot(getVector(reCiterArticle2));
+	}
+
+	/**
+	 * @return term id of a word, keyword or MeSH term (prefixed with k: or m:) or -1 if no article contains it
+	 */
+	public int getTermId(String term) {
+		return termIds.getOrDefault(term, -1);
+	}
+
+	public double getIdf(int termId) {
+		return idf[termId];
+	}
+
+	public int getVocabularySize() {
+		return idf.length;
+	}
+
+	public int size() {
+		return vectors.size();
+	}
+
+	private static void addTerms(ReCiterArticle reCiterArticle, Map<String, Integer> termIds, TermBuffer buffer) {
+		addWords(reCiterArticle.getArticleTitle(), termIds, buffer);
+		addWords(reCiterArticle.getPublicationAbstract(), termIds, buffer);
+		if(reCiterArticle.getArticleKeywords() != null && reCiterArticle.getArticleKeywords().getKeywords() != null) {
+			for(Keyword keyword: reCiterArticle.getArticleKeywords().getKeywords()) {
+				if(keyword.getKeyword() != null && !keyword.getKeyword().trim().isEmpty()) {
+					addWords(keyword.getKeyword(), termIds, buffer);
+					buffer.add(intern(KEYWORD_PREFIX + keyword.getKeyword().trim().toLowerCase(), termIds));
+				}
+			}
+		}
+		if(reCiterArticle.getMeshHeadings() != null) {
+			for(ReCiterArticleMeshHeading meshHeading: reCiterArticle.getMeshHeadings()) {
+				if(meshHeading.getDescriptorName() != null && meshHeading.getDescriptorName().getDescriptorName() != null) {
+					buffer.add(intern(MESH_PREFIX + meshHeading.getDescriptorName().getDescriptorName().toLowerCase(), termIds));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Splits on anything but letters and digits, lower cases and drops short words, numbers and stop words
+	 */
+	private static void addWords(String text, Map<String, Integer> termIds, TermBuffer buffer) {
+		if(text == null) {
+			return;
+		}
+		StringBuilder word = new StringBuilder();
+		boolean hasLetter = false;
+		for(int i = 0; i <= text.length(); i++) {
+			char c = i < text.length() ? text.charAt(i) : ' ';
+			if(Character.isLetterOrDigit(c)) {
+				word.append(Character.toLowerCase(c));
+				hasLetter |= Character.isLetter(c);
+			} else if(word.length() > 0) {
+				if(hasLetter && word.length() >= MIN_WORD_LENGTH) {
+					String token = word.toString();
+					if(!STOP_WORDS.contains(token)) {
+						buffer.add(intern(token, termIds));
+					}
+				}
+				word.setLength(0);
+				hasLetter = false;
+			}
+		}
+	}
+
+	private static int intern(String term, Map<String, Integer> termIds) {
+		Integer termId = termIds.get(term);
+		if(termId == null) {
+			termId = termIds.size();
+			termIds.put(term, termId);
+		}
+		return termId;
+	}
+
+	/**
+	 * Growable list of the term ids of one article, reused across articles
+	 */
+	private static class TermBuffer {
+		private int[] termIds = new int[256];
+		private int size;
+
+		void clear() {
+			size = 0;
+		}
+
+		void add(int termId) {
+			if(size == termIds.length) {
+				termIds = Arrays.copyOf(termIds, size * 2);
+			}
+			termIds[size++] = termId;
+		}
+
+		/**
+		 * Sorts the buffer and appends the distinct term ids and how often each occurs
+		 */
+		void toSortedCounts(List<int[]> ids, List<int[]> counts) {
+			Arrays.sort(termIds, 0, size);
+			int distinct = 0;
+			for(int i = 0; i < size; i++) {
+				if(i == 0 || termIds[i] != termIds[i - 1]) {
+					distinct++;
+				}
+			}
+			int[] distinctIds = new int[distinct];
+			int[] distinctCounts = new int[distinct];
+			int index = -1;
+			for(int i = 0; i < size; i++) {
+				if(i == 0 || termIds[i] != termIds[i - 1]) {
+					distinctIds[++index] = termIds[i];
+				}
+				distinctCounts[index]++;
+			}
+			ids.add(distinctIds);
+			counts.add(distinctCounts);
+		}
+	}
+}
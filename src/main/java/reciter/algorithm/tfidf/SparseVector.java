@@ -0,0 +1,101 @@
+package reciter.algorithm.tfidf;
+
+import java.util.Arrays;
+
+/**
+ * Immutable sparse vector of term weights. Term ids are strictly increasing so two vectors are combined with a single
+ * merge pass over their non-zero entries, independent of the vocabulary size.
+ */
+public final class SparseVector {
+
+	public static final SparseVector EMPTY = new SparseVector(new int[0], new float[0]);
+
+	private final int[] termIds;
+	private final float[] weights;
+	private final double norm;
+
+	/**
+	 * @param termIds strictly increasing term ids, the array is not copied
+	 * @param weights weight of each term id, the array is not copied
+	 */
+	SparseVector(int[] termIds, float[] weights) {
+		if(termIds.length != weights.length) {
+			throw new IllegalArgumentException("termIds and weights have different lengths");
+		}
+		this.termIds = termIds;
+		this.weights = weights;
+		double sumSquare = 0;
+		for(float weight: weights) {
+			sumSquare += weight * weight;
+		}
+		this.norm = Math.sqrt(sumSquare);
+	}
+
+	public int size() {
+		return termIds.length;
+	}
+
+	public int getTermId(int index) {
+		return termIds[index];
+	}
+
+	public float getWeight(int index) {
+		return weights[index];
+	}
+
+	public double getNorm() {
+		return norm;
+	}
+
+	/**
+	 * @return weight of the term or 0 if the vector does not contain it
+	 */
+	public float get(int termId) {
+		int index = Arrays.binarySearch(termIds, termId);
+		return index < 0 ? 0 : weights[index];
+	}
+
+	public double dot(SparseVector other) {
+		int[] otherTermIds = other.termIds;
+		double dotProduct = 0;
+		int i = 0;
+		int j = 0;
+		while(i < termIds.length && j < otherTermIds.length) {
+			int termId = termIds[i];
+			int otherTermId = otherTermIds[j];
+			if(termId == otherTermId) {
+				dotProduct += weights[i++] * other.weights[j++];
+			} else if(termId < otherTermId) {
+				i++;
+			} else {
+				j++;
+			}
+		}
+		return dotProduct;
+	}
+
+	/**
+	 * @return cosine similarity between 0 and 1 for non negative weights, 0 when either vector is empty
+	 */
+	public double cosineSimilarity(SparseVector other) {
+		double normProduct = norm * other.norm;
+		if(normProduct == 0) {
+			return 0;
+		}
+		return dot(other) / normProduct;
+	}
+
+	/**
+	 * @return a copy scaled to unit length so that cosine similarity reduces to the dot product
+	 */
+	public SparseVector normalize() {
+		if(norm == 0 || Math.abs(norm - 1) < 1e-6) {
+			return this;
+		}
+		float[] normalized = new float[weights.length];
+		for(int i = 0; i < weights.length; i++) {
+			normalized[i] = (float) (weights[i] / norm);
+		}
+		return new SparseVector(termIds, normalized);
+	}
+}
@@ -22,7 +22,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-
+/**
+ * @deprecated builds dense vectors over the whole vocabulary, use {@link ArticleTfIdf}
+ */
+@Deprecated
 public class TfIdf {
 
 	private List<Document> documents;
@@ -52,7 +55,6 @@ public class TfIdf {
 	public double idf(Term term, List<Document> documents) {
 		int numberDocuments = documents.size();
 		long numberDocumentsTermAppearsIn = terms.get(term.getTerm()).getDocumentIds().size();
-		System.out.println("term=" + term.getTerm() + " num=" + numberDocuments);
 		if (numberDocumentsTermAppearsIn == 0) {
 			return 0;
 		} else {
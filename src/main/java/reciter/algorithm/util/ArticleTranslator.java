@@ -24,6 +24,7 @@ import org.springframework.stereotype.Component;
 
 import reciter.algorithm.cluster.similarity.clusteringstrategy.article.MeshMajorClusteringStrategy;
 import reciter.engine.EngineParameters;
+import reciter.engine.MeshTermCounts;
 import reciter.engine.StrategyParameters;
 import reciter.model.article.ReCiterArticle;
 import reciter.model.article.ReCiterArticleAuthors;
@@ -605,9 +606,9 @@ public class ArticleTranslator {
 		
 		//MeshMajor Feature
 		if(reCiterArticle.getMeshHeadings() != null && !reCiterArticle.getMeshHeadings().isEmpty()) {
+			MeshTermCounts meshTermCounts = EngineParameters.getMeshTermCounts();
 			for(ReCiterArticleMeshHeading meshHeading: reCiterArticle.getMeshHeadings()) {
-				if(MeshMajorClusteringStrategy.isMeshMajor(meshHeading) && EngineParameters.getMeshCountMap() != null && EngineParameters.getMeshCountMap().containsKey(meshHeading.getDescriptorName().getDescriptorName()) &&
-						EngineParameters.getMeshCountMap().get(meshHeading.getDescriptorName().getDescriptorName()) < 100000L) {
+				if(MeshMajorClusteringStrategy.isMeshMajor(meshHeading) && meshTermCounts != null && meshTermCounts.isBelowFeatureThreshold(meshHeading.getDescriptorName().getDescriptorName())) {
 					reCiterArticleFeatures.getMeshMajor().add(meshHeading.getDescriptorName().getDescriptorName());
 				}
 			}
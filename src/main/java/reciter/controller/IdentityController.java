@@ -38,6 +38,7 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import reciter.model.identity.Identity;
+import reciter.service.IdentityDerivedDataService;
 import reciter.service.IdentityService;
 
 import java.util.List;
@@ -49,6 +50,9 @@ public class IdentityController {
     @Autowired
     private IdentityService identityService;
 
+    @Autowired
+    private IdentityDerivedDataService identityDerivedDataService;
+
     @ApiOperation(value = "Add an identity to Identity table in DynamoDb", notes = "This api creates an identity in the Identity table in dynamoDb by collecting identity data from different system of records.")
     @ApiImplicitParams({
     	@ApiImplicitParam(name = "api-key", value = "api-key for this resource", paramType = "header", dataTypeClass = String.class)
@@ -65,6 +69,7 @@ public class IdentityController {
         StopWatch stopWatch = new StopWatch("Add an identity to Identity table in DynamoDb");
         stopWatch.start("Add an identity to Identity table in DynamoDb");
         identityService.save(identity);
+        identityDerivedDataService.invalidate(identity.getUid());
         stopWatch.stop();
         log.info(stopWatch.getId() + " took " + stopWatch.getTotalTimeSeconds() + "s");
         return ResponseEntity.ok().build();
@@ -87,6 +92,7 @@ public class IdentityController {
         stopWatch.start("Add list of identities to Identity table in DynamoDb");
         log.info("calling saveIdentities with number of identities=" + identities.size());
         identityService.save(identities);
+        identities.forEach(identity -> identityDerivedDataService.invalidate(identity.getUid()));
         stopWatch.stop();
         log.info(stopWatch.getId() + " took " + stopWatch.getTotalTimeSeconds() + "s");
     }
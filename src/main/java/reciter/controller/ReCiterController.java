@@ -29,6 +29,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
@@ -68,7 +69,9 @@ import reciter.database.dynamodb.model.GoldStandard;
 import reciter.engine.Engine;
 import reciter.engine.EngineOutput;
 import reciter.engine.EngineParameters;
+import reciter.engine.IdentityDerivedData;
 import reciter.engine.ReCiterEngine;
+import reciter.engine.RetrievalArticleCount;
 import reciter.engine.StrategyParameters;
 import reciter.engine.analysis.ReCiterArticleFeature;
 import reciter.engine.analysis.ReCiterArticleFeature.PublicationFeedback;
@@ -81,14 +84,19 @@ import reciter.model.pubmed.PubMedArticle;
 import reciter.model.scopus.ScopusArticle;
 import reciter.service.AnalysisService;
 import reciter.service.ESearchResultService;
+import reciter.service.IdentityDerivedDataService;
 import reciter.service.IdentityService;
+import reciter.service.PendingArticleIndexService;
 import reciter.service.PubMedService;
 import reciter.service.ScopusService;
 import reciter.service.dynamo.IDynamoDbGoldStandardService;
 import reciter.utils.AuthorNameSanitizationUtils;
 import reciter.utils.GenderProbability;
 import reciter.utils.InstitutionSanitizationUtil;
+import reciter.utils.ReCiterMetrics;
 import reciter.xml.retriever.engine.ReCiterRetrievalEngine;
+import reciter.xml.retriever.engine.RetrievalScheduler;
+import reciter.xml.retriever.engine.RetrievalScheduler.Priority;
 
 @Api(value = "ReCiterController", description = "Operations on ReCiter API.")
 @Slf4j
@@ -104,9 +112,15 @@ public class ReCiterController {
     @Autowired
     private ReCiterRetrievalEngine aliasReCiterRetrievalEngine;
 
+    @Autowired
+    private RetrievalScheduler retrievalScheduler;
+
     @Autowired
     private IdentityService identityService;
 
+    @Autowired
+    private IdentityDerivedDataService identityDerivedDataService;
+
     @Autowired
     private ScopusService scopusService;
 
@@ -119,6 +133,9 @@ public class ReCiterController {
     @Autowired
     private IDynamoDbGoldStandardService dynamoDbGoldStandardService;
 
+    @Autowired
+    private PendingArticleIndexService pendingArticleIndexService;
+
     @Value("${use.scopus.articles}")
     private boolean useScopusArticles;
     
@@ -217,6 +234,45 @@ public class ReCiterController {
         return ResponseEntity.ok(goldStandard);
     }
 
+    @ApiOperation(value = "Get the pending articles by passing an uid", notes = "This api returns the pmids of candidate articles for an uid that are neither accepted nor rejected and score at least totalStandardizedArticleScore, highest score first. It reads the pending article index which is updated on every feature generation and goldstandard save.")
+    @ApiImplicitParams({
+    	@ApiImplicitParam(name = "api-key", value = "api-key for this resource", paramType = "header", dataTypeClass = String.class)
+    })
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "The pending articles retrieval for supplied uid is successful"),
+            @ApiResponse(code = 401, message = "You are not authorized to view the resource"),
+            @ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden"),
+            @ApiResponse(code = 404, message = "The resource you were trying to reach is not found")
+    })
+    @RequestMapping(value = "/reciter/pending/articles/by/uid", method = RequestMethod.GET, produces = "application/json")
+    @ResponseBody
+    public ResponseEntity<List<Long>> retrievePendingArticlesByUid(@RequestParam(value = "uid") String uid, Double totalStandardizedArticleScore) {
+        double totalScore = totalStandardizedArticleScore == null ? totalArticleScoreStandardizedDefault : totalStandardizedArticleScore;
+        return ResponseEntity.ok(pendingArticleIndexService.findPendingPmids(uid.trim(), totalScore));
+    }
+
+    @ApiOperation(value = "Count the pending articles of all uids", notes = "This api returns the number of candidate articles per uid that are neither accepted nor rejected and score at least totalStandardizedArticleScore. Only the pending article index is read.")
+    @ApiImplicitParams({
+    	@ApiImplicitParam(name = "api-key", value = "api-key for this resource", paramType = "header", dataTypeClass = String.class)
+    })
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "The pending article counts were retrieved successfully"),
+            @ApiResponse(code = 401, message = "You are not authorized to view the resource"),
+            @ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden"),
+            @ApiResponse(code = 404, message = "The resource you were trying to reach is not found")
+    })
+    @RequestMapping(value = "/reciter/pending/articles/count", method = RequestMethod.GET, produces = "application/json")
+    @ResponseBody
+    public ResponseEntity<Map<String, Long>> countPendingArticles(Double totalStandardizedArticleScore) {
+        StopWatch stopWatch = new StopWatch("Count pending articles");
+        stopWatch.start("Count pending articles");
+        double totalScore = totalStandardizedArticleScore == null ? totalArticleScoreStandardizedDefault : totalStandardizedArticleScore;
+        Map<String, Long> pendingCounts = pendingArticleIndexService.countPending(totalScore);
+        stopWatch.stop();
+        log.info(stopWatch.getId() + " took " + stopWatch.getTotalTimeSeconds() + "s");
+        return ResponseEntity.ok(pendingCounts);
+    }
+
     @ApiOperation(value = "Retrieve Articles for all UID in Identity Table", response = ResponseEntity.class, notes = "This API retrieves candidate articles for all uid in Identity Table from pubmed and its complementing articles from scopus")
     @ApiImplicitParams({
     	@ApiImplicitParam(name = "api-key", value = "api-key for this resource", paramType = "header", dataTypeClass = String.class)
@@ -248,6 +304,22 @@ public class ReCiterController {
         return ResponseEntity.ok().build();
     }
 
+    @ApiOperation(value = "Progress of running retrievals", notes = "This api returns the progress of every retrieval batch that is queued or running, with the number of identities completed, failed, timed out and cancelled and an estimate of the remaining time.")
+    @ApiImplicitParams({
+    	@ApiImplicitParam(name = "api-key", value = "api-key for this resource", paramType = "header", dataTypeClass = String.class)
+    })
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully retrieved the retrieval progress"),
+            @ApiResponse(code = 401, message = "You are not authorized to view the resource"),
+            @ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden"),
+            @ApiResponse(code = 404, message = "The resource you were trying to reach is not found")
+    })
+    @RequestMapping(value = "/reciter/retrieve/progress", method = RequestMethod.GET, produces = "application/json")
+    @ResponseBody
+    public ResponseEntity<List<RetrievalScheduler.Progress>> retrievalProgress() {
+        return ResponseEntity.ok(retrievalScheduler.getProgress());
+    }
+
     @ApiOperation(value = "Retrieve Articles for an UID.", response = ResponseEntity.class, notes = "This API retrieves candidate articles for a given uid from pubmed and its complementing articles from scopus")
     @ApiImplicitParams({
     	@ApiImplicitParam(name = "api-key", value = "api-key for this resource", paramType = "header", dataTypeClass = String.class)
@@ -295,7 +367,11 @@ public class ReCiterController {
                     identities.add(identity);
 
                 try {
-                    aliasReCiterRetrievalEngine.retrieveArticlesByDateRange(identities, Date.valueOf(startDate), Date.valueOf(endDate), RetrievalRefreshFlag.ALL_PUBLICATIONS);
+                    if(!aliasReCiterRetrievalEngine.retrieveArticlesByDateRange(identities, Date.valueOf(startDate), Date.valueOf(endDate), RetrievalRefreshFlag.ALL_PUBLICATIONS, Priority.HIGH)) {
+                        stopWatch.stop();
+                        log.info(stopWatch.getId() + " took " + stopWatch.getTotalTimeSeconds() + "s");
+                        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("The uid supplied failed to retrieve articles");
+                    }
                 } catch (IOException e) {
                     log.info("Failed to retrieve articles.", e);
                     stopWatch.stop();
@@ -314,7 +390,11 @@ public class ReCiterController {
             	}
             	
             	try {
-                    aliasReCiterRetrievalEngine.retrieveArticlesByDateRange(identities, Date.valueOf(startDate), Date.valueOf(endDate), refreshFlag);
+                    if(!aliasReCiterRetrievalEngine.retrieveArticlesByDateRange(identities, Date.valueOf(startDate), Date.valueOf(endDate), refreshFlag, Priority.HIGH)) {
+                        stopWatch.stop();
+                        log.info(stopWatch.getId() + " took " + stopWatch.getTotalTimeSeconds() + "s");
+                        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("The uid supplied failed to retrieve articles");
+                    }
                 } catch (IOException e) {
                     log.info("Failed to retrieve articles.", e);
                     stopWatch.stop();
@@ -350,23 +430,13 @@ public class ReCiterController {
         StopWatch stopWatch = new StopWatch("Retrieve pending articles for a group of users");
         stopWatch.start("Retrieve pending articles for a group of users");
         
-        List<Identity> identities;
+        List<String> identitySubset;
         try {
-            identities = identityService.findAll();
-        } catch (Exception ne) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Issue with the request" + ne);
-        }
-        
-        final double totalScore;
-        
-        if(totalStandardizedArticleScore == null) {
-        	totalScore = totalArticleScoreStandardizedDefault;
-        } else {
-        	totalScore = totalStandardizedArticleScore;
-        }
-        
-        if(identities != null && identities.size() > 0) {
-        	List<String> identitySubset = identities.parallelStream().filter(identity -> 
+            if(personType == null && organizationalAffiliation == null && departmentalAffiliation == null) {
+            	//Without a filter only the uids are needed, which are read without the rest of the identities
+            	identitySubset = identityService.findAllUids();
+            } else {
+            	identitySubset = identityService.findAll().parallelStream().filter(identity -> 
         			((personType == null)?
         			true:
         			(identity.getPersonTypes() != null
@@ -392,6 +462,20 @@ public class ReCiterController {
         					.collect(Collectors.toList()), departmentalAffiliation))))
         			.map(Identity::getUid)
         			.collect(Collectors.toList());
+            }
+        } catch (Exception ne) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Issue with the request" + ne);
+        }
+        
+        final double totalScore;
+        
+        if(totalStandardizedArticleScore == null) {
+        	totalScore = totalArticleScoreStandardizedDefault;
+        } else {
+        	totalScore = totalStandardizedArticleScore;
+        }
+        
+        if(identitySubset != null && identitySubset.size() > 0) {
         	List<AnalysisOutput> analysis = analysisService.findByUids(identitySubset);
         	if (analysis != null && !analysis.isEmpty()) {
         		analysis.stream().forEach(anl -> {
@@ -446,6 +530,16 @@ public class ReCiterController {
     @RequestMapping(value = "/reciter/feature-generator/by/uid", method = RequestMethod.GET, produces = "application/json")
     @ResponseBody
     public ResponseEntity runFeatureGenerator(@RequestParam(value = "uid") String uid, Double totalStandardizedArticleScore, UseGoldStandard useGoldStandard, FilterFeedbackType filterByFeedback, boolean analysisRefreshFlag, RetrievalRefreshFlag retrievalRefreshFlag) {
+    	//Keep one reference data version for the whole run even if it is reloaded meanwhile
+    	EngineParameters.pinReferenceData();
+    	try {
+    		return generateFeatures(uid, totalStandardizedArticleScore, useGoldStandard, filterByFeedback, analysisRefreshFlag, retrievalRefreshFlag);
+    	} finally {
+    		EngineParameters.unpinReferenceData();
+    	}
+    }
+    
+    private ResponseEntity generateFeatures(String uid, Double totalStandardizedArticleScore, UseGoldStandard useGoldStandard, FilterFeedbackType filterByFeedback, boolean analysisRefreshFlag, RetrievalRefreshFlag retrievalRefreshFlag) {
     	StopWatch stopWatch = new StopWatch("Feature generation for UID");
         stopWatch.start("Feature generation for UID");
         
@@ -602,8 +696,11 @@ public class ReCiterController {
                                 "ESearchResult table. Try running the candidate article retrieval api first with " +
                                 "refreshFlag = true.", uid));
             }
-            TargetAuthorSelection t = new TargetAuthorSelection();
-            t.identifyTargetAuthor(parameters.getReciterArticles(), parameters.getIdentity());
+            final EngineParameters targetAuthorParameters = parameters;
+            ReCiterMetrics.recordStage("target-author", () -> {
+	            TargetAuthorSelection t = new TargetAuthorSelection();
+	            t.identifyTargetAuthor(targetAuthorParameters.getReciterArticles(), targetAuthorParameters.getIdentity());
+            });
             double filterScore = 0;
             if(parameters.getTotalStandardzizedArticleScore() >= strategyParameters.getMinimumStorageThreshold()) {
             	filterScore = strategyParameters.getMinimumStorageThreshold();
@@ -642,7 +739,7 @@ public class ReCiterController {
 	            }
 				analysisOutput.setUid(uid);
 				if(analysisOutput.getReCiterFeature() != null) {
-					analysisService.save(analysisOutput);
+					ReCiterMetrics.recordStage("persist", () -> analysisService.save(analysisOutput));
 				}
             }
         }
@@ -841,12 +938,12 @@ public class ReCiterController {
     }
 
 
-    private EngineParameters initializeEngineParameters(String uid, Double totalStandardizedArticleScore, RetrievalRefreshFlag retrievalRefreshFlag) {
-        // find identity
-        Identity identity = identityService.findByUid(uid);
+    /**
+     * Reads the ESearchResult for the uid and runs retrieval first if there is none yet or a refresh was requested.
+     */
+    private ESearchResult findESearchResults(String uid, RetrievalRefreshFlag retrievalRefreshFlag) {
         ESearchResult eSearchResults = null;
-	        // find search results for this identity
-	        //To Avoid 404 errors when multi threading
+        //To Avoid 404 errors when multi threading
         try {
         	eSearchResults = eSearchResultService.findByUid(uid);
             if (eSearchResults == null) {
@@ -856,11 +953,17 @@ public class ReCiterController {
             	retrieveArticlesByUid(uid, retrievalRefreshFlag);
             	eSearchResults = eSearchResultService.findByUid(uid);
             }
-            
-            
         } catch (EmptyResultDataAccessException e) {
             log.info("No such entity exists: ", e);
         }
+        return eSearchResults;
+    }
+
+    private EngineParameters initializeEngineParameters(String uid, Double totalStandardizedArticleScore, RetrievalRefreshFlag retrievalRefreshFlag) {
+        // find identity
+        Identity identity = identityService.findByUid(uid);
+        // find search results for this identity
+        ESearchResult eSearchResults = ReCiterMetrics.recordStage("esearch-fetch", () -> findESearchResults(uid, retrievalRefreshFlag));
         log.info("eSearchResults size {}", eSearchResults);
 		/*
 		 * //This is when Pubmed returns 0 results. if(eSearchResults == null) { return
@@ -886,11 +989,15 @@ public class ReCiterController {
             filteredString.add(String.valueOf(pmid));
         }
 
-        List<PubMedArticle> pubMedArticles = pubMedService.findByPmids(filtered);
+        //Both tables are read at the same time, Scopus articles only if they are used
+        CompletableFuture<List<ScopusArticle>> scopusArticlesLoad = useScopusArticles
+                ? ReCiterMetrics.recordStageAsync("scopus-load", () -> scopusService.findByPmidsAsync(filteredString))
+                : CompletableFuture.completedFuture(Collections.emptyList());
+        List<PubMedArticle> pubMedArticles = ReCiterMetrics.recordStage("pubmed-load", () -> pubMedService.findByPmidsAsync(filtered).join());
         if (pubMedArticles == null) {
             return null;
         }
-        List<ScopusArticle> scopusArticles = scopusService.findByPmids(filteredString);
+        List<ScopusArticle> scopusArticles = scopusArticlesLoad.join();
 
         // create temporary map to retrieve Scopus articles by PMID (at the stage below)
         Map<Long, ScopusArticle> map = new HashMap<>();
@@ -903,25 +1010,47 @@ public class ReCiterController {
 
         // combine PubMed and Scopus articles into a list of ReCiterArticle
         List<ReCiterArticle> reCiterArticles = new ArrayList<>();
-        for (PubMedArticle pubMedArticle : pubMedArticles) {
-            long pmid = pubMedArticle.getMedlinecitation().getMedlinecitationpmid().getPmid();
-            if (map.containsKey(pmid)) {
-                reCiterArticles.add(ArticleTranslator.translate(pubMedArticle, map.get(pmid), nameIgnoredCoAuthors, strategyParameters));
-            } else {
-                reCiterArticles.add(ArticleTranslator.translate(pubMedArticle, null, nameIgnoredCoAuthors, strategyParameters));
-            }
-        }
-        
-        //Sanitize Identity names
-        AuthorNameSanitizationUtils authorNameSanitizationUtils = new AuthorNameSanitizationUtils(strategyParameters);
-        identity.setSanitizedNames(authorNameSanitizationUtils.sanitizeIdentityAuthorNames(identity));
-        
-        //Sanitize Identity Organizational Units(Division and Department)
-        InstitutionSanitizationUtil institutionalSanitizationUtil = new InstitutionSanitizationUtil(strategyParameters);
-        institutionalSanitizationUtil.populateSanitizedIdentityInstitutions(identity);
+        ReCiterMetrics.recordStage("translate", () -> {
+	        for (PubMedArticle pubMedArticle : pubMedArticles) {
+	            long pmid = pubMedArticle.getMedlinecitation().getMedlinecitationpmid().getPmid();
+	            if (map.containsKey(pmid)) {
+	                reCiterArticles.add(ArticleTranslator.translate(pubMedArticle, map.get(pmid), nameIgnoredCoAuthors, strategyParameters));
+	            } else {
+	                reCiterArticles.add(ArticleTranslator.translate(pubMedArticle, null, nameIgnoredCoAuthors, strategyParameters));
+	            }
+	        }
+        });
         
-        //Find gender probability
-        GenderProbability.getGenderIdentityProbability(identity);
+        ReCiterMetrics.recordStage("sanitize", () -> {
+	        //Derived data is reused from earlier runs until the identity is saved again
+	        IdentityDerivedData derivedData = identityDerivedDataService.get(identity);
+	        
+	        //Sanitize Identity names
+	        if (derivedData.getSanitizedNames() == null) {
+	            AuthorNameSanitizationUtils authorNameSanitizationUtils = new AuthorNameSanitizationUtils(strategyParameters);
+	            derivedData.setSanitizedNames(Collections.unmodifiableMap(authorNameSanitizationUtils.sanitizeIdentityAuthorNames(identity)));
+	        }
+	        identity.setSanitizedNames(derivedData.getSanitizedNames());
+	        
+	        //Sanitize Identity Organizational Units(Division and Department)
+	        if (derivedData.getSanitizedIdentityInstitutions() == null || derivedData.getIdentityOrgUnitToSynonymMap() == null) {
+	            InstitutionSanitizationUtil institutionalSanitizationUtil = new InstitutionSanitizationUtil(strategyParameters);
+	            institutionalSanitizationUtil.populateSanitizedIdentityInstitutions(identity);
+	            derivedData.setIdentityOrgUnitToSynonymMap(Collections.unmodifiableMap(identity.getIdentityOrgUnitToSynonymMap()));
+	            derivedData.setSanitizedIdentityInstitutions(Collections.unmodifiableSet(identity.getSanitizedIdentityInstitutions()));
+	        }
+	        identity.setSanitizedIdentityInstitutions(derivedData.getSanitizedIdentityInstitutions());
+	        identity.setIdentityOrgUnitToSynonymMap(derivedData.getIdentityOrgUnitToSynonymMap());
+	        
+	        //Find gender probability
+	        if (!derivedData.isGenderComputed()) {
+	            derivedData.setGender(GenderProbability.computeGenderIdentityProbability(identity));
+	            derivedData.setGenderComputed(true);
+	        }
+	        if (derivedData.getGender() != null) {
+	            identity.setGender(derivedData.getGender());
+	        }
+        });
         
         // calculate precision and recall
         EngineParameters parameters = new EngineParameters();
@@ -929,6 +1058,7 @@ public class ReCiterController {
         parameters.setPubMedArticles(pubMedArticles);
         parameters.setScopusArticles(Collections.emptyList());
         parameters.setReciterArticles(reCiterArticles);
+        parameters.setRetrievalArticleCount(RetrievalArticleCount.fromESearchResult(eSearchResults));
 
         GoldStandard goldStandard = dynamoDbGoldStandardService.findByUid(uid);
         if (goldStandard == null) {
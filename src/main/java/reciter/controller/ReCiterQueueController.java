@@ -0,0 +1,98 @@
+package reciter.controller;
+
+import java.util.Collections;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import io.swagger.annotations.ApiImplicitParam;
+import io.swagger.annotations.ApiImplicitParams;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import lombok.extern.slf4j.Slf4j;
+import reciter.api.parameters.FilterFeedbackType;
+import reciter.api.parameters.RetrievalRefreshFlag;
+import reciter.api.parameters.UseGoldStandard;
+import reciter.queue.JobQueue;
+import reciter.queue.ReCiterJob;
+import reciter.service.IdentityService;
+
+/**
+ * Queue apis for retrieval and feature generation. They are only registered when a worker can pick up the jobs,
+ * i.e. the jobs go to SQS or this instance runs the worker itself, otherwise a queued job would never run.
+ */
+@Slf4j
+@Controller
+@ConditionalOnExpression("'${reciter.queue.type:memory}' == 'sqs' or '${reciter.worker.enabled:false}' == 'true'")
+public class ReCiterQueueController {
+
+    @Autowired
+    private JobQueue jobQueue;
+
+    @Autowired
+    private IdentityService identityService;
+
+    @ApiOperation(value = "Queue article retrieval for an UID.", response = ResponseEntity.class, notes = "This api queues the retrieval of candidate articles for a given uid and returns the job id right away. The job is run by an instance with reciter.worker.enabled=true. Sending the same jobId again while the job is pending does not queue it twice.")
+    @ApiImplicitParams({
+    	@ApiImplicitParam(name = "api-key", value = "api-key for this resource", paramType = "header", dataTypeClass = String.class)
+    })
+    @ApiResponses(value = {
+            @ApiResponse(code = 202, message = "Retrieval job queued"),
+            @ApiResponse(code = 401, message = "You are not authorized to view the resource"),
+            @ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden"),
+            @ApiResponse(code = 404, message = "The uid provided was not found in the Identity table")
+    })
+    @RequestMapping(value = "/reciter/queue/article-retrieval/by/uid", method = RequestMethod.POST, produces = "application/json")
+    @ResponseBody
+    public ResponseEntity queueArticleRetrieval(@RequestParam(value = "uid") String uid, RetrievalRefreshFlag refreshFlag, @RequestParam(required = false) String jobId) {
+        return queue(ReCiterJob.builder()
+                .jobId(jobId)
+                .type(ReCiterJob.Type.RETRIEVAL)
+                .uid(uid)
+                .retrievalRefreshFlag(refreshFlag)
+                .build());
+    }
+
+    @ApiOperation(value = "Queue feature generation for an UID.", response = ResponseEntity.class, notes = "This api queues feature generation for a given uid with the parameters of /reciter/feature-generator/by/uid and returns the job id right away. The job is run by an instance with reciter.worker.enabled=true and its result is stored in the Analysis table. Sending the same jobId again while the job is pending does not queue it twice.")
+    @ApiImplicitParams({
+    	@ApiImplicitParam(name = "api-key", value = "api-key for this resource", paramType = "header", dataTypeClass = String.class)
+    })
+    @ApiResponses(value = {
+            @ApiResponse(code = 202, message = "Feature generation job queued"),
+            @ApiResponse(code = 401, message = "You are not authorized to view the resource"),
+            @ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden"),
+            @ApiResponse(code = 404, message = "The uid provided was not found in the Identity table")
+    })
+    @RequestMapping(value = "/reciter/queue/feature-generator/by/uid", method = RequestMethod.POST, produces = "application/json")
+    @ResponseBody
+    public ResponseEntity queueFeatureGenerator(@RequestParam(value = "uid") String uid, Double totalStandardizedArticleScore, UseGoldStandard useGoldStandard, FilterFeedbackType filterByFeedback, boolean analysisRefreshFlag, RetrievalRefreshFlag retrievalRefreshFlag, @RequestParam(required = false) String jobId) {
+        return queue(ReCiterJob.builder()
+                .jobId(jobId)
+                .type(ReCiterJob.Type.FEATURE_GENERATION)
+                .uid(uid)
+                .totalStandardizedArticleScore(totalStandardizedArticleScore)
+                .useGoldStandard(useGoldStandard)
+                .filterByFeedback(filterByFeedback)
+                .analysisRefreshFlag(analysisRefreshFlag)
+                .retrievalRefreshFlag(retrievalRefreshFlag)
+                .build());
+    }
+
+    private ResponseEntity queue(ReCiterJob job) {
+        if (identityService.findByUid(job.getUid()) == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("The uid provided '" + job.getUid() + "' was not found in the Identity table");
+        }
+        job.setEnqueuedAt(System.currentTimeMillis());
+        String jobId = jobQueue.send(job);
+        log.info("Queued " + job.getType() + " job " + jobId + " for " + job.getUid());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(Collections.singletonMap("jobId", jobId));
+    }
+}
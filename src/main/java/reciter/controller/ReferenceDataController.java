@@ -0,0 +1,79 @@
+package reciter.controller;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiImplicitParam;
+import io.swagger.annotations.ApiImplicitParams;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import lombok.extern.slf4j.Slf4j;
+import reciter.engine.EngineParameters;
+import reciter.engine.EngineReferenceData;
+import reciter.service.ReferenceDataService;
+
+@Api(value = "ReferenceDataController", description = "Reload of the reference data used by the engine.")
+@Slf4j
+@Controller
+public class ReferenceDataController {
+
+	@Autowired
+	private ReferenceDataService referenceDataService;
+
+	@ApiOperation(value = "Version of the reference data in use", notes = "This api returns the version, load time and sizes of the reference data snapshot (ScienceMetrix, MeshTerm, Gender, InstitutionAfid) the engine currently uses.")
+	@ApiImplicitParams({
+		@ApiImplicitParam(name = "api-key", value = "api-key for this resource", paramType = "header", dataTypeClass = String.class)
+	})
+	@ApiResponses(value = {
+			@ApiResponse(code = 200, message = "Reference data version returned"),
+			@ApiResponse(code = 401, message = "You are not authorized to view the resource"),
+			@ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden")
+	})
+	@RequestMapping(value = "/reciter/reference-data", method = RequestMethod.GET, produces = "application/json")
+	@ResponseBody
+	public ResponseEntity<Map<String, Object>> getReferenceData() {
+		return ResponseEntity.ok(EngineParameters.getReferenceData().getSummary());
+	}
+
+	@ApiOperation(value = "Reload the reference data", notes = "This api loads a new snapshot of the reference data from DynamoDb in the background and swaps it in once it is complete. Engine runs in progress finish with the snapshot they started with. "
+			+ "With wait=true the call returns after the swap.")
+	@ApiImplicitParams({
+		@ApiImplicitParam(name = "api-key", value = "api-key for this resource", paramType = "header", dataTypeClass = String.class)
+	})
+	@ApiResponses(value = {
+			@ApiResponse(code = 200, message = "Reference data reloaded"),
+			@ApiResponse(code = 202, message = "Reference data reload started"),
+			@ApiResponse(code = 401, message = "You are not authorized to view the resource"),
+			@ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden"),
+			@ApiResponse(code = 500, message = "Reference data reload failed, the previous version is still in use")
+	})
+	@RequestMapping(value = "/reciter/reference-data/reload", method = RequestMethod.POST, produces = "application/json")
+	@ResponseBody
+	public ResponseEntity reloadReferenceData(@RequestParam(value = "wait", required = false, defaultValue = "false") boolean wait) {
+		CompletableFuture<EngineReferenceData> reload = referenceDataService.reloadAsync();
+		if(!wait) {
+			return ResponseEntity.status(HttpStatus.ACCEPTED).body(EngineParameters.getReferenceData().getSummary());
+		}
+		try {
+			return ResponseEntity.ok(reload.get().getSummary());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Interrupted while waiting for the reference data reload");
+		} catch (ExecutionException e) {
+			log.error("Reference data reload failed", e.getCause());
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Reference data reload failed: " + e.getCause().getMessage());
+		}
+	}
+}
@@ -0,0 +1,438 @@
+package reciter.database.dyanmodb.files;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StopWatch;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper.FailedBatch;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.ProvisionedThroughputExceededException;
+import com.amazonaws.services.dynamodbv2.model.RequestLimitExceededException;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams the records of a JSON array file into a DynamoDb table. Records are parsed one at a time and written in
+ * parallel BatchWriteItem chunks, so memory use does not depend on the file size. Unprocessed items and throttled
+ * requests are retried with a backoff shared by all writers that grows on throttling and shrinks again on success.
+ * Progress is checkpointed to a local file as the number of leading records that are written, so an interrupted
+ * import resumes where it stopped instead of starting over.
+ */
+@Slf4j
+@Component
+public class DynamoDbBatchImporter {
+
+	/**
+	 * Maximum number of items DynamoDb accepts in one BatchWriteItem request
+	 */
+	private static final int BATCH_WRITE_LIMIT = 25;
+
+	@Autowired
+	private AmazonDynamoDB amazonDynamoDB;
+
+	@Autowired
+	private DynamoDBMapperConfig dynamoDBMapperConfig;
+
+	@Value("${aws.dynamodb.settings.file.import.parallelism:4}")
+	private int parallelism;
+
+	@Value("${aws.dynamodb.settings.file.import.chunkSize:100}")
+	private int chunkSize;
+
+	@Value("${aws.dynamodb.settings.file.import.maxRetries:10}")
+	private int maxRetries;
+
+	@Value("${aws.dynamodb.settings.file.import.checkpointDir:${java.io.tmpdir}/reciter/import}")
+	private String checkpointDir;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private DynamoDBMapper dynamoDBMapper;
+
+	@PostConstruct
+	public void init() {
+		//Unprocessed items are handed back to the importer which retries them with its own backoff
+		DynamoDBMapperConfig noRetry = DynamoDBMapperConfig.builder()
+				.withBatchWriteRetryStrategy(new DynamoDBMapperConfig.BatchWriteRetryStrategy() {
+					@Override
+					public int getMaxRetryOnUnprocessedItems(Map<String, List<WriteRequest>> batchWriteItemInput) {
+						return 0;
+					}
+
+					@Override
+					public long getDelayBeforeRetryUnprocessedItems(Map<String, List<WriteRequest>> unprocessedItems, int retriesAttempted) {
+						return 0;
+					}
+				})
+				.build();
+		dynamoDBMapper = new DynamoDBMapper(amazonDynamoDB, dynamoDBMapperConfig.merge(noRetry));
+	}
+
+	public <T> ImportResult importFile(String resource, Class<T> recordType, LongSupplier tableItemCount) {
+		return importFile(resource, recordType, Function.identity(), tableItemCount);
+	}
+
+	/**
+	 * Imports a JSON array file from the classpath unless the table already holds as many items as the file.
+	 * @param resource classpath location of the file e.g. /files/MeshTerm.json
+	 * @param recordType type of the array elements
+	 * @param toItem maps a record to the DynamoDb model object to save
+	 * @param tableItemCount current number of items in the table
+	 * @return counts of the records read, written, skipped and failed
+	 */
+	public <T> ImportResult importFile(String resource, Class<T> recordType, Function<T, ?> toItem, LongSupplier tableItemCount) {
+		String fileName = resource.substring(resource.lastIndexOf('/') + 1);
+		String tableName = recordType.getSimpleName();
+		URL url = getClass().getResource(resource);
+		if(url == null) {
+			log.error("The file " + resource + " was not found on the classpath");
+			return new ImportResult(0, 0, 0, 0);
+		}
+		try {
+			String fingerprint = resource + "|" + contentLength(url);
+			Path checkpoint = Paths.get(checkpointDir, fileName + ".checkpoint");
+			long resumeFrom = readCheckpoint(checkpoint, fingerprint);
+			if(resumeFrom == 0) {
+				long recordCount = countRecords(url);
+				if(recordCount == 0) {
+					return new ImportResult(0, 0, 0, 0);
+				}
+				if(recordCount == tableItemCount.getAsLong()) {
+					log.info("The file " + fileName + " and the " + tableName + " table in DynamoDb is isomorphic and hence skipping import.");
+					return new ImportResult(recordCount, 0, recordCount, 0);
+				}
+				log.info("The file " + fileName + " and the " + tableName + " table in DynamoDb is not isomorphic and hence starting import.");
+			} else {
+				log.info("Resuming import of " + fileName + " into the " + tableName + " table after record " + resumeFrom);
+			}
+			return write(url, recordType, toItem, resumeFrom, new CheckpointTracker(resumeFrom, checkpoint, fingerprint), fileName);
+		} catch (IOException e) {
+			log.error("IOException", e);
+			return new ImportResult(0, 0, 0, 0);
+		}
+	}
+
+	private <T> ImportResult write(URL url, Class<T> recordType, Function<T, ?> toItem, long resumeFrom, CheckpointTracker checkpointTracker, String fileName) throws IOException {
+		StopWatch stopWatch = new StopWatch("Import " + fileName);
+		stopWatch.start("Import " + fileName);
+		AdaptiveThrottle throttle = new AdaptiveThrottle();
+		AtomicLong written = new AtomicLong();
+		AtomicLong failed = new AtomicLong();
+		ExecutorService executorService = Executors.newFixedThreadPool(parallelism);
+		//Bounds the parsed records held in memory while the writers catch up
+		Semaphore inFlightChunks = new Semaphore(parallelism * 2);
+		long records = resumeFrom;
+		try(InputStream inputStream = url.openStream(); JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+			if(parser.nextToken() != JsonToken.START_ARRAY) {
+				throw new IOException(fileName + " does not contain a JSON array");
+			}
+			long index = 0;
+			List<Object> chunk = new ArrayList<>(chunkSize);
+			long chunkStart = resumeFrom;
+			while(parser.nextToken() != JsonToken.END_ARRAY) {
+				if(index++ < resumeFrom) {
+					parser.skipChildren();
+					continue;
+				}
+				chunk.add(toItem.apply(objectMapper.readValue(parser, recordType)));
+				records++;
+				if(chunk.size() == chunkSize) {
+					submit(executorService, inFlightChunks, chunk, chunkStart, throttle, checkpointTracker, written, failed);
+					chunkStart += chunk.size();
+					chunk = new ArrayList<>(chunkSize);
+				}
+			}
+			if(!chunk.isEmpty()) {
+				submit(executorService, inFlightChunks, chunk, chunkStart, throttle, checkpointTracker, written, failed);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			log.warn("Import of " + fileName + " was interrupted after " + checkpointTracker.getWatermark() + " records, it will resume from there");
+		} finally {
+			executorService.shutdown();
+			try {
+				executorService.awaitTermination(1, TimeUnit.HOURS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		if(failed.get() == 0 && !Thread.currentThread().isInterrupted()) {
+			checkpointTracker.clear();
+		} else {
+			checkpointTracker.flush();
+		}
+		stopWatch.stop();
+		log.info(stopWatch.getId() + " took " + stopWatch.getTotalTimeSeconds() + "s: " + written.get() + " written, " + failed.get() + " failed, " + resumeFrom + " skipped from checkpoint");
+		return new ImportResult(records, written.get(), resumeFrom, failed.get());
+	}
+
+	private void submit(ExecutorService executorService, Semaphore inFlightChunks, List<Object> chunk, long chunkStart, AdaptiveThrottle throttle,
+			CheckpointTracker checkpointTracker, AtomicLong written, AtomicLong failed) throws InterruptedException {
+		inFlightChunks.acquire();
+		executorService.execute(() -> {
+			try {
+				if(writeChunk(chunk, throttle)) {
+					written.addAndGet(chunk.size());
+					checkpointTracker.completed(chunkStart, chunkStart + chunk.size());
+				} else {
+					failed.addAndGet(chunk.size());
+				}
+			} catch (RuntimeException e) {
+				log.error("Chunk starting at record " + chunkStart + " failed", e);
+				failed.addAndGet(chunk.size());
+			} finally {
+				inFlightChunks.release();
+			}
+		});
+	}
+
+	/**
+	 * @return true when every item of the chunk was written
+	 */
+	private boolean writeChunk(List<Object> chunk, AdaptiveThrottle throttle) {
+		boolean success = true;
+		for(int from = 0; from < chunk.size(); from += BATCH_WRITE_LIMIT) {
+			List<Object> batch = chunk.subList(from, Math.min(from + BATCH_WRITE_LIMIT, chunk.size()));
+			throttle.pause();
+			List<FailedBatch> failedBatches = dynamoDBMapper.batchWrite(batch, Collections.emptyList());
+			if(failedBatches.isEmpty()) {
+				throttle.onSuccess();
+				continue;
+			}
+			for(FailedBatch failedBatch: failedBatches) {
+				if(failedBatch.getException() != null && !isThrottling(failedBatch.getException())) {
+					log.error("BatchWriteItem failed", failedBatch.getException());
+					success = false;
+				} else {
+					throttle.onThrottled();
+					success &= retryUnprocessed(failedBatch.getUnprocessedItems(), throttle);
+				}
+			}
+		}
+		return success;
+	}
+
+	private boolean retryUnprocessed(Map<String, List<WriteRequest>> unprocessedItems, AdaptiveThrottle throttle) {
+		for(int attempt = 1; unprocessedItems != null && !unprocessedItems.isEmpty(); attempt++) {
+			if(attempt > maxRetries) {
+				log.error("Giving up on " + unprocessedItems.values().stream().mapToInt(List::size).sum() + " unprocessed items after " + maxRetries + " retries");
+				return false;
+			}
+			throttle.backoff(attempt);
+			try {
+				unprocessedItems = amazonDynamoDB.batchWriteItem(new BatchWriteItemRequest().withRequestItems(unprocessedItems)).getUnprocessedItems();
+				if(unprocessedItems == null || unprocessedItems.isEmpty()) {
+					throttle.onSuccess();
+				} else {
+					throttle.onThrottled();
+				}
+			} catch (AmazonServiceException e) {
+				if(!isThrottling(e)) {
+					log.error("BatchWriteItem failed", e);
+					return false;
+				}
+				throttle.onThrottled();
+			}
+		}
+		return true;
+	}
+
+	private static boolean isThrottling(Exception e) {
+		return e instanceof ProvisionedThroughputExceededException
+				|| e instanceof RequestLimitExceededException
+				|| (e instanceof AmazonServiceException && "ThrottlingException".equals(((AmazonServiceException) e).getErrorCode()));
+	}
+
+	private long countRecords(URL url) throws IOException {
+		long count = 0;
+		try(InputStream inputStream = url.openStream(); JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+			if(parser.nextToken() != JsonToken.START_ARRAY) {
+				return 0;
+			}
+			while(parser.nextToken() != JsonToken.END_ARRAY) {
+				parser.skipChildren();
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static long contentLength(URL url) throws IOException {
+		URLConnection connection = url.openConnection();
+		try(InputStream inputStream = connection.getInputStream()) {
+			return connection.getContentLengthLong();
+		}
+	}
+
+	/**
+	 * @return number of records already written by an earlier run of the same file or 0
+	 */
+	private static long readCheckpoint(Path checkpoint, String fingerprint) {
+		if(!Files.exists(checkpoint)) {
+			return 0;
+		}
+		try {
+			List<String> lines = Files.readAllLines(checkpoint, StandardCharsets.UTF_8);
+			if(lines.size() == 2 && lines.get(0).equals(fingerprint)) {
+				return Long.parseLong(lines.get(1));
+			}
+			log.info("Ignoring checkpoint " + checkpoint + " of another version of the file");
+		} catch (IOException | NumberFormatException e) {
+			log.warn("Ignoring unreadable checkpoint " + checkpoint, e);
+		}
+		return 0;
+	}
+
+	@Getter
+	@AllArgsConstructor
+	public static class ImportResult {
+		private final long records;
+		private final long written;
+		private final long skipped;
+		private final long failed;
+	}
+
+	/**
+	 * Tracks which chunks are written. Chunks complete out of order, the checkpoint is the end of the longest run of
+	 * written records from the start of the file so resuming never skips an unwritten record.
+	 */
+	static class CheckpointTracker {
+
+		private final Path checkpoint;
+		private final String fingerprint;
+		private final TreeMap<Long, Long> completedChunks = new TreeMap<>();
+		@Getter
+		private long watermark;
+		private long persistedWatermark;
+
+		CheckpointTracker(long watermark, Path checkpoint, String fingerprint) {
+			this.watermark = watermark;
+			this.persistedWatermark = watermark;
+			this.checkpoint = checkpoint;
+			this.fingerprint = fingerprint;
+		}
+
+		synchronized void completed(long start, long end) {
+			completedChunks.put(start, end);
+			Long next;
+			while((next = completedChunks.remove(watermark)) != null) {
+				watermark = next;
+			}
+			if(watermark - persistedWatermark >= 1000) {
+				flush();
+			}
+		}
+
+		synchronized void flush() {
+			if(checkpoint == null || watermark == persistedWatermark) {
+				return;
+			}
+			try {
+				Files.createDirectories(checkpoint.toAbsolutePath().getParent());
+				Path temp = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+				Files.write(temp, Arrays.asList(fingerprint, String.valueOf(watermark)), StandardCharsets.UTF_8);
+				Files.move(temp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				persistedWatermark = watermark;
+			} catch (IOException e) {
+				log.warn("Could not write import checkpoint " + checkpoint, e);
+			}
+		}
+
+		synchronized void clear() {
+			if(checkpoint == null) {
+				return;
+			}
+			try {
+				Files.deleteIfExists(checkpoint);
+			} catch (IOException e) {
+				log.warn("Could not delete import checkpoint " + checkpoint, e);
+			}
+		}
+	}
+
+	/**
+	 * Delay shared by the writers of one import. It doubles on every throttled request up to a maximum and decays
+	 * on every successful one, so the import settles just below the throughput the table grants.
+	 */
+	static class AdaptiveThrottle {
+
+		static final long INITIAL_DELAY_MILLIS = 50;
+		static final long MAX_DELAY_MILLIS = 5000;
+
+		private final AtomicLong delayMillis = new AtomicLong();
+
+		void onThrottled() {
+			delayMillis.updateAndGet(delay -> Math.min(MAX_DELAY_MILLIS, delay == 0 ? INITIAL_DELAY_MILLIS : delay * 2));
+		}
+
+		void onSuccess() {
+			delayMillis.updateAndGet(delay -> delay <= INITIAL_DELAY_MILLIS ? 0 : delay - delay / 4);
+		}
+
+		long getDelayMillis() {
+			return delayMillis.get();
+		}
+
+		/**
+		 * Waits the current delay with jitter before a request
+		 */
+		void pause() {
+			sleep(delayMillis.get());
+		}
+
+		/**
+		 * Waits before retrying unprocessed items, at least the exponential backoff of the attempt
+		 */
+		void backoff(int attempt) {
+			sleep(Math.max(delayMillis.get(), Math.min(MAX_DELAY_MILLIS, INITIAL_DELAY_MILLIS << Math.min(attempt, 16))));
+		}
+
+		private static void sleep(long delay) {
+			if(delay <= 0) {
+				return;
+			}
+			try {
+				Thread.sleep(delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+}
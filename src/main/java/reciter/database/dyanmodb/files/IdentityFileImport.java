@@ -1,15 +1,8 @@
 package reciter.database.dyanmodb.files;
 
-import java.io.IOException;
-import java.util.Arrays;
-import java.util.List;
-import java.util.stream.Collectors;
-
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
-import lombok.extern.slf4j.Slf4j;
 import reciter.database.dynamodb.model.Identity;
 import reciter.service.IdentityService;
 
@@ -19,36 +12,18 @@ import reciter.service.IdentityService;
  *
  */
 @Component
-@Slf4j
 public class IdentityFileImport {
 	
-	
 	@Autowired
 	private IdentityService identityService;
 	
+	@Autowired
+	private DynamoDbBatchImporter batchImporter;
+	
 	/**
 	 * This function imports identity data to identity table
 	 */
 	public void importIdentity() {
-		ObjectMapper mapper = new ObjectMapper();
-		List<Identity> identities = null;
-		try {
-			identities = Arrays.asList(mapper.readValue(getClass().getResourceAsStream("/files/Identity.json"), Identity[].class));
-		} catch (IOException e) {
-			log.error("IOException", e);
-		}
-		if(identities != null 
-				&&
-				identities.size() == identityService.getItemCount()) {
-			log.info("The file Identity.json and the Identity table in DynamoDb is isomorphic and hence skipping import.");
-		} else {
-			if(identities != null 
-					&&
-					!identities.isEmpty()) {
-				log.info("The file Identity.json and the Identity table in DynamoDb is not isomorphic and hence starting import.");
-				
-				identityService.save(identities.stream().map(identity->identity.getIdentity()).collect(Collectors.toList()));
-			}
-		}
+		batchImporter.importFile("/files/Identity.json", Identity.class, identity -> new Identity(identity.getIdentity().getUid(), identity.getIdentity()), identityService::getItemCount);
 	}
 }
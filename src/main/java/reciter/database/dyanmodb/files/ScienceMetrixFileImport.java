@@ -1,15 +1,8 @@
 package reciter.database.dyanmodb.files;
 
-import java.io.IOException;
-import java.util.Arrays;
-import java.util.List;
-
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-
-import lombok.extern.slf4j.Slf4j;
 import reciter.database.dynamodb.model.ScienceMetrix;
 import reciter.service.ScienceMetrixService;
 
@@ -19,31 +12,18 @@ import reciter.service.ScienceMetrixService;
  *
  */
 @Component
-@Slf4j
 public class ScienceMetrixFileImport {
 	
 	@Autowired
 	private ScienceMetrixService scienceMetrixService;
 	
+	@Autowired
+	private DynamoDbBatchImporter batchImporter;
+	
+	/**
+	 * This function imports science metrix data to ScienceMetrix table
+	 */
 	public void importScienceMetrix() {
-		ObjectMapper mapper = new ObjectMapper();
-		List<ScienceMetrix> scienceMetrixBeans = null;
-		try {
-			scienceMetrixBeans = Arrays.asList(mapper.readValue(getClass().getResourceAsStream("/files/ScienceMetrix.json"), ScienceMetrix[].class));
-		} catch (IOException e) {
-			log.error("IOException", e);
-		}
-		if(scienceMetrixBeans != null 
-				&&
-				scienceMetrixBeans.size() == scienceMetrixService.getItemCount()) {
-			log.info("The file ScienceMetrix.json and the ScienceMetrix table in DynamoDb is isomorphic and hence skipping import.");
-		} else {
-				if(scienceMetrixBeans != null
-						&&
-						scienceMetrixBeans.size() > 0) {
-					log.info("The file ScienceMetrix.json and the ScienceMetrix table in DynamoDb is not isomorphic and hence starting import.");
-					scienceMetrixService.save(scienceMetrixBeans);
-			}
-		}
+		batchImporter.importFile("/files/ScienceMetrix.json", ScienceMetrix.class, scienceMetrixService::getItemCount);
 	}
 }
@@ -0,0 +1,286 @@
+package reciter.database.dynamodb;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.model.AttributeDefinition;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemResult;
+import com.amazonaws.services.dynamodbv2.model.CreateTableRequest;
+import com.amazonaws.services.dynamodbv2.model.KeySchemaElement;
+import com.amazonaws.services.dynamodbv2.model.KeyType;
+import com.amazonaws.services.dynamodbv2.model.KeysAndAttributes;
+import com.amazonaws.services.dynamodbv2.model.ProvisionedThroughputExceededException;
+import com.amazonaws.services.dynamodbv2.model.RequestLimitExceededException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reads items of hash key only tables by key in BatchGetItem chunks of up to 100 keys. The chunks of all callers run
+ * in parallel on aws.dynamodb.settings.batchGet.parallelism threads, so two tables can be read at the same time by
+ * starting both loads before waiting for either. Unprocessed keys and throttled requests are retried with exponential
+ * backoff up to aws.dynamodb.settings.batchGet.maxRetries times. Only the keys left over by a response close to the
+ * 16MB limit are read again right away, since a throttled request also returns part of the items.
+ */
+@Slf4j
+@Component
+public class DynamoDbBatchReader {
+
+	/**
+	 * Maximum number of keys DynamoDb accepts in one BatchGetItem request
+	 */
+	private static final int BATCH_GET_LIMIT = 100;
+
+	private static final long INITIAL_DELAY_MILLIS = 50;
+	private static final long MAX_DELAY_MILLIS = 5000;
+
+	/**
+	 * Estimated size from which a partial response is taken to be cut by the 16MB response limit rather than throttled
+	 */
+	private static final long FULL_RESPONSE_BYTES = 12L * 1024 * 1024;
+
+	@Autowired
+	private AmazonDynamoDB amazonDynamoDB;
+
+	@Autowired
+	private DynamoDBMapperConfig dynamoDBMapperConfig;
+
+	@Value("${aws.dynamodb.settings.batchGet.parallelism:8}")
+	private int parallelism;
+
+	@Value("${aws.dynamodb.settings.batchGet.maxRetries:10}")
+	private int maxRetries;
+
+	private DynamoDBMapper dynamoDBMapper;
+
+	private ExecutorService executorService;
+
+	private final Map<Class<?>, TableKey> tableKeys = new ConcurrentHashMap<>();
+
+	private LongConsumer sleep = DynamoDbBatchReader::sleep;
+
+	@PostConstruct
+	public void init() {
+		dynamoDBMapper = new DynamoDBMapper(amazonDynamoDB, dynamoDBMapperConfig);
+		AtomicInteger threadCount = new AtomicInteger();
+		executorService = Executors.newFixedThreadPool(parallelism, runnable -> {
+			Thread thread = new Thread(runnable, "dynamodb-batch-get-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executorService.shutdownNow();
+	}
+
+	/**
+	 * Starts loading the items with the given hash keys. Keys without an item are left out of the result, which is in
+	 * no particular order.
+	 * @param clazz DynamoDb model class of the table
+	 * @param hashKeys values of the hash key, duplicates are read once
+	 * @param attributes top level attributes to read, all if none are given
+	 */
+	public <T> CompletableFuture<List<T>> load(Class<T> clazz, Collection<?> hashKeys, String... attributes) {
+		TableKey tableKey = tableKeys.computeIfAbsent(clazz, this::tableKey);
+		List<Map<String, AttributeValue>> keys = new ArrayList<>();
+		for(Object hashKey: new LinkedHashSet<>(hashKeys)) {
+			keys.add(Collections.singletonMap(tableKey.attributeName, tableKey.toAttributeValue(hashKey)));
+		}
+		List<CompletableFuture<List<T>>> chunks = new ArrayList<>();
+		for(int from = 0; from < keys.size(); from += BATCH_GET_LIMIT) {
+			KeysAndAttributes keysAndAttributes = withProjection(new KeysAndAttributes()
+					.withKeys(keys.subList(from, Math.min(from + BATCH_GET_LIMIT, keys.size()))), attributes);
+			chunks.add(CompletableFuture.supplyAsync(() -> readChunk(clazz, tableKey.tableName, keysAndAttributes), executorService));
+		}
+		return CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0])).thenApply(done -> {
+			List<T> items = new ArrayList<>(keys.size());
+			chunks.forEach(chunk -> items.addAll(chunk.join()));
+			return items;
+		});
+	}
+
+	private <T> List<T> readChunk(Class<T> clazz, String tableName, KeysAndAttributes keysAndAttributes) {
+		List<T> items = new ArrayList<>(keysAndAttributes.getKeys().size());
+		Map<String, KeysAndAttributes> requestItems = Collections.singletonMap(tableName, keysAndAttributes);
+		int attempt = 0;
+		while(true) {
+			try {
+				BatchGetItemResult result = amazonDynamoDB.batchGetItem(new BatchGetItemRequest().withRequestItems(requestItems));
+				List<Map<String, AttributeValue>> responses = result.getResponses().get(tableName);
+				requestItems = result.getUnprocessedKeys();
+				if(requestItems == null || requestItems.isEmpty()) {
+					addItems(clazz, responses, items);
+					return items;
+				}
+				if(responses != null && !responses.isEmpty()) {
+					addItems(clazz, responses, items);
+					if(estimateSize(responses) >= FULL_RESPONSE_BYTES) {
+						//Keys left over because of the 16MB response limit are read again right away
+						attempt = 0;
+						continue;
+					}
+				}
+			} catch (AmazonServiceException e) {
+				if(!isThrottling(e)) {
+					throw e;
+				}
+			}
+			if(++attempt > maxRetries) {
+				throw new IllegalStateException("Giving up on " + requestItems.get(tableName).getKeys().size() + " unprocessed keys of the "
+						+ tableName + " table after " + maxRetries + " retries");
+			}
+			backoff(attempt);
+		}
+	}
+
+	private <T> void addItems(Class<T> clazz, List<Map<String, AttributeValue>> responses, List<T> items) {
+		if(responses != null) {
+			responses.forEach(item -> items.add(dynamoDBMapper.marshallIntoObject(clazz, item)));
+		}
+	}
+
+	private static KeysAndAttributes withProjection(KeysAndAttributes keysAndAttributes, String... attributes) {
+		if(attributes.length == 0) {
+			return keysAndAttributes;
+		}
+		//Placeholders so attribute names that are reserved words can be projected
+		Map<String, String> attributeNames = new HashMap<>();
+		StringBuilder projectionExpression = new StringBuilder();
+		for(int i = 0; i < attributes.length; i++) {
+			attributeNames.put("#a" + i, attributes[i]);
+			projectionExpression.append(i == 0 ? "" : ", ").append("#a").append(i);
+		}
+		return keysAndAttributes.withProjectionExpression(projectionExpression.toString()).withExpressionAttributeNames(attributeNames);
+	}
+
+	private TableKey tableKey(Class<?> clazz) {
+		//Table name overrides of the mapper config are applied here as well
+		CreateTableRequest createTableRequest = dynamoDBMapper.generateCreateTableRequest(clazz);
+		String attributeName = createTableRequest.getKeySchema().stream()
+				.filter(keySchemaElement -> KeyType.HASH.toString().equals(keySchemaElement.getKeyType()))
+				.map(KeySchemaElement::getAttributeName)
+				.findFirst()
+				.orElseThrow(() -> new IllegalArgumentException(clazz.getName() + " has no hash key"));
+		String attributeType = createTableRequest.getAttributeDefinitions().stream()
+				.filter(attributeDefinition -> attributeName.equals(attributeDefinition.getAttributeName()))
+				.map(AttributeDefinition::getAttributeType)
+				.findFirst()
+				.orElse("S");
+		return new TableKey(createTableRequest.getTableName(), attributeName, attributeType);
+	}
+
+	private static boolean isThrottling(Exception e) {
+		return e instanceof ProvisionedThroughputExceededException
+				|| e instanceof RequestLimitExceededException
+				|| (e instanceof AmazonServiceException && "ThrottlingException".equals(((AmazonServiceException) e).getErrorCode()));
+	}
+
+	/**
+	 * Size of the items in bytes counting attribute names and one byte per character of strings and numbers
+	 */
+	private static long estimateSize(List<Map<String, AttributeValue>> items) {
+		long size = 0;
+		for(Map<String, AttributeValue> item: items) {
+			size += estimateSize(item);
+		}
+		return size;
+	}
+
+	private static long estimateSize(Map<String, AttributeValue> attributes) {
+		long size = 0;
+		for(Map.Entry<String, AttributeValue> attribute: attributes.entrySet()) {
+			size += attribute.getKey().length() + estimateSize(attribute.getValue());
+		}
+		return size;
+	}
+
+	private static long estimateSize(AttributeValue value) {
+		long size = 1;
+		if(value.getS() != null) {
+			size += value.getS().length();
+		}
+		if(value.getN() != null) {
+			size += value.getN().length();
+		}
+		if(value.getB() != null) {
+			size += value.getB().remaining();
+		}
+		if(value.getSS() != null) {
+			size += value.getSS().stream().mapToLong(String::length).sum();
+		}
+		if(value.getNS() != null) {
+			size += value.getNS().stream().mapToLong(String::length).sum();
+		}
+		if(value.getBS() != null) {
+			size += value.getBS().stream().mapToLong(ByteBuffer::remaining).sum();
+		}
+		if(value.getL() != null) {
+			size += value.getL().stream().mapToLong(DynamoDbBatchReader::estimateSize).sum();
+		}
+		if(value.getM() != null) {
+			size += estimateSize(value.getM());
+		}
+		return size;
+	}
+
+	/**
+	 * Waits the exponential backoff of the attempt with jitter
+	 */
+	private void backoff(int attempt) {
+		long delay = Math.min(MAX_DELAY_MILLIS, INITIAL_DELAY_MILLIS << Math.min(attempt, 16));
+		sleep.accept(delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1));
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting to retry unprocessed keys", e);
+		}
+	}
+
+	private static class TableKey {
+
+		private final String tableName;
+		private final String attributeName;
+		private final String attributeType;
+
+		private TableKey(String tableName, String attributeName, String attributeType) {
+			this.tableName = tableName;
+			this.attributeName = attributeName;
+			this.attributeType = attributeType;
+		}
+
+		private AttributeValue toAttributeValue(Object hashKey) {
+			return "N".equals(attributeType) ? new AttributeValue().withN(hashKey.toString()) : new AttributeValue().withS(hashKey.toString());
+		}
+	}
+}
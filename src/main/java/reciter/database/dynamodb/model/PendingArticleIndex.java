@@ -0,0 +1,38 @@
+package reciter.database.dynamodb.model;
+
+import java.util.Map;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBAttribute;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBHashKey;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTable;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBVersionAttribute;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Candidate articles of an uid from its latest AnalysisOutput with their standardized scores, and the subset that has
+ * neither been accepted nor rejected in the GoldStandard. Keys are pmids since DynamoDb map keys are strings.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@DynamoDBTable(tableName = "PendingArticleIndex")
+public class PendingArticleIndex {
+
+	@DynamoDBHashKey(attributeName = "uid")
+	private String uid;
+
+	@DynamoDBAttribute(attributeName = "candidateScores")
+	private Map<String, Double> candidateScores;
+
+	@DynamoDBAttribute(attributeName = "pendingScores")
+	private Map<String, Double> pendingScores;
+
+	@DynamoDBAttribute(attributeName = "updated")
+	private long updated;
+
+	@DynamoDBVersionAttribute(attributeName = "version")
+	private Long version;
+}
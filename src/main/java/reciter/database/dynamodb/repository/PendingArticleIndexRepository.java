@@ -0,0 +1,11 @@
+package reciter.database.dynamodb.repository;
+
+import org.socialsignin.spring.data.dynamodb.repository.EnableScan;
+import org.springframework.data.repository.CrudRepository;
+
+import reciter.database.dynamodb.model.PendingArticleIndex;
+
+@EnableScan
+public interface PendingArticleIndexRepository extends CrudRepository<PendingArticleIndex, String> {
+
+}
@@ -28,29 +28,21 @@ import reciter.model.scopus.ScopusArticle;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
 
 import lombok.Data;
-import lombok.Getter;
-import lombok.Setter;
 
+/**
+ * Inputs of one engine run. The reference data shared by all runs is served by the static accessors from the current
+ * {@link EngineReferenceData} snapshot, or from the snapshot pinned to the calling thread for the duration of a run.
+ */
 @Data
 public class EngineParameters {
 	
-	@Getter
-	@Setter
-    private static Map<String, Long> meshCountMap;
-	@Getter
-	@Setter
-    private static Map<String, List<String>> afiliationNameToAfidMap;
-	@Getter
-	@Setter
-    private static List<ScienceMetrix> scienceMetrixJournals;
-	@Getter
-	@Setter
-    private static List<ScienceMetrixDepartmentCategory> scienceMetrixDepartmentCategories;
-	@Getter
-	@Setter
-    private static List<Gender> genders;
+	private static final AtomicReference<EngineReferenceData> referenceData = new AtomicReference<>(EngineReferenceData.builder().build());
+	private static final ThreadLocal<EngineReferenceData> pinnedReferenceData = new ThreadLocal<>();
+	
     private Identity identity;
     private List<PubMedArticle> pubMedArticles;
     private List<ScopusArticle> scopusArticles;
@@ -58,10 +50,95 @@ public class EngineParameters {
     private List<Long> knownPmids;
     private List<Long> rejectedPmids;
     private double totalStandardzizedArticleScore;
-    @Getter
-	@Setter
-    private static Map<Double, Double> degreeYearDiscrepancyScoreMap;
-    @Getter
-	@Setter
-    private static String regexForStopWords;
+    private RetrievalArticleCount retrievalArticleCount;
+    
+    /**
+     * @return snapshot pinned to the current thread or else the current snapshot
+     */
+    public static EngineReferenceData getReferenceData() {
+    	EngineReferenceData pinned = pinnedReferenceData.get();
+    	return pinned != null ? pinned : referenceData.get();
+    }
+    
+    /**
+     * Atomically replaces the current snapshot. Runs that pinned the previous snapshot keep using it.
+     * @return the previous snapshot
+     */
+    public static EngineReferenceData swapReferenceData(EngineReferenceData newReferenceData) {
+    	return referenceData.getAndSet(newReferenceData);
+    }
+    
+    /**
+     * Pins the current snapshot to the calling thread so a run sees one consistent version even when a reload
+     * swaps the snapshot meanwhile. Must be paired with {@link #unpinReferenceData()}.
+     */
+    public static EngineReferenceData pinReferenceData() {
+    	EngineReferenceData current = referenceData.get();
+    	pinnedReferenceData.set(current);
+    	return current;
+    }
+    
+    public static void unpinReferenceData() {
+    	pinnedReferenceData.remove();
+    }
+    
+    private static void updateReferenceData(UnaryOperator<EngineReferenceData.EngineReferenceDataBuilder> update) {
+    	referenceData.updateAndGet(current -> update.apply(current.toBuilder()).build());
+    }
+    
+    public static MeshTermCounts getMeshTermCounts() {
+    	return getReferenceData().getMeshTermCounts();
+    }
+    
+    public static void setMeshTermCounts(MeshTermCounts meshTermCounts) {
+    	updateReferenceData(builder -> builder.meshTermCounts(meshTermCounts));
+    }
+    
+    public static Map<String, List<String>> getAfiliationNameToAfidMap() {
+    	return getReferenceData().getAfiliationNameToAfidMap();
+    }
+    
+    public static void setAfiliationNameToAfidMap(Map<String, List<String>> afiliationNameToAfidMap) {
+    	updateReferenceData(builder -> builder.afiliationNameToAfidMap(afiliationNameToAfidMap));
+    }
+    
+    public static List<ScienceMetrix> getScienceMetrixJournals() {
+    	return getReferenceData().getScienceMetrixJournals();
+    }
+    
+    public static void setScienceMetrixJournals(List<ScienceMetrix> scienceMetrixJournals) {
+    	updateReferenceData(builder -> builder.scienceMetrixJournals(scienceMetrixJournals));
+    }
+    
+    public static List<ScienceMetrixDepartmentCategory> getScienceMetrixDepartmentCategories() {
+    	return getReferenceData().getScienceMetrixDepartmentCategories();
+    }
+    
+    public static void setScienceMetrixDepartmentCategories(List<ScienceMetrixDepartmentCategory> scienceMetrixDepartmentCategories) {
+    	updateReferenceData(builder -> builder.scienceMetrixDepartmentCategories(scienceMetrixDepartmentCategories));
+    }
+    
+    public static List<Gender> getGenders() {
+    	return getReferenceData().getGenders();
+    }
+    
+    public static void setGenders(List<Gender> genders) {
+    	updateReferenceData(builder -> builder.genders(genders));
+    }
+    
+    public static Map<Double, Double> getDegreeYearDiscrepancyScoreMap() {
+    	return getReferenceData().getDegreeYearDiscrepancyScoreMap();
+    }
+    
+    public static void setDegreeYearDiscrepancyScoreMap(Map<Double, Double> degreeYearDiscrepancyScoreMap) {
+    	updateReferenceData(builder -> builder.degreeYearDiscrepancyScoreMap(degreeYearDiscrepancyScoreMap));
+    }
+    
+    public static String getRegexForStopWords() {
+    	return getReferenceData().getRegexForStopWords();
+    }
+    
+    public static void setRegexForStopWords(String regexForStopWords) {
+    	updateReferenceData(builder -> builder.regexForStopWords(regexForStopWords));
+    }
 }
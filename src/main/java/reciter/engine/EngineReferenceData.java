@@ -0,0 +1,48 @@
+package reciter.engine;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Builder;
+import lombok.Getter;
+import reciter.database.dynamodb.model.Gender;
+import reciter.database.dynamodb.model.ScienceMetrix;
+import reciter.database.dynamodb.model.ScienceMetrixDepartmentCategory;
+
+/**
+ * Immutable snapshot of the reference data the engine reads through the EngineParameters statics. A reload builds a
+ * complete new snapshot and swaps it in with a single reference update so an engine run never sees half of an old
+ * and half of a new version.
+ * @see EngineParameters#getReferenceData()
+ */
+@Getter
+@Builder(toBuilder = true)
+public class EngineReferenceData {
+
+	private final long version;
+	private final Instant loadedAt;
+	private final List<ScienceMetrix> scienceMetrixJournals;
+	private final List<ScienceMetrixDepartmentCategory> scienceMetrixDepartmentCategories;
+	private final MeshTermCounts meshTermCounts;
+	private final List<Gender> genders;
+	private final Map<String, List<String>> afiliationNameToAfidMap;
+	private final Map<Double, Double> degreeYearDiscrepancyScoreMap;
+	private final String regexForStopWords;
+
+	/**
+	 * Version and sizes of the snapshot for logging and the admin api
+	 */
+	public Map<String, Object> getSummary() {
+		Map<String, Object> summary = new LinkedHashMap<>();
+		summary.put("version", version);
+		summary.put("loadedAt", loadedAt == null ? null : loadedAt.toString());
+		summary.put("scienceMetrixJournals", scienceMetrixJournals == null ? 0 : scienceMetrixJournals.size());
+		summary.put("scienceMetrixDepartmentCategories", scienceMetrixDepartmentCategories == null ? 0 : scienceMetrixDepartmentCategories.size());
+		summary.put("meshTerms", meshTermCounts == null ? 0 : meshTermCounts.size());
+		summary.put("genders", genders == null ? 0 : genders.size());
+		summary.put("institutionAfids", afiliationNameToAfidMap == null ? 0 : afiliationNameToAfidMap.size());
+		return summary;
+	}
+}
@@ -0,0 +1,75 @@
+package reciter.engine;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import lombok.Getter;
+import lombok.Setter;
+import reciter.database.dynamodb.model.Gender;
+import reciter.model.identity.AuthorName;
+import reciter.model.identity.Identity;
+import reciter.model.identity.OrganizationalUnit;
+
+/**
+ * Artifacts derived from an identity that only change when the identity or the reference data changes: the sanitized
+ * names, the sanitized organizational units with their synonyms and the gender probability. Each artifact is computed
+ * the first time a stage needs it and read by later runs for the same identity. The fingerprint covers every identity
+ * field the artifacts are derived from and the reference data version, an entry whose fingerprint no longer matches
+ * the identity is discarded.
+ */
+@Getter
+@Setter
+public class IdentityDerivedData {
+
+	private static final char SEPARATOR = '\u0000';
+
+	private final String fingerprint;
+
+	private volatile Map<AuthorName, AuthorName> sanitizedNames;
+
+	private volatile Set<OrganizationalUnit> sanitizedIdentityInstitutions;
+
+	private volatile Map<String, List<String>> identityOrgUnitToSynonymMap;
+
+	/**
+	 * True once the gender probability was looked up, gender stays null when no name matched
+	 */
+	private volatile boolean genderComputed;
+
+	private volatile Gender gender;
+
+	public IdentityDerivedData(String fingerprint) {
+		this.fingerprint = fingerprint;
+	}
+
+	public static String fingerprint(Identity identity) {
+		StringBuilder fingerprint = new StringBuilder();
+		fingerprint.append(identity.getUid()).append(SEPARATOR)
+			.append(EngineParameters.getReferenceData().getVersion()).append(SEPARATOR);
+		appendName(fingerprint, identity.getPrimaryName());
+		if(identity.getAlternateNames() != null) {
+			for(AuthorName alternateName: identity.getAlternateNames()) {
+				appendName(fingerprint, alternateName);
+			}
+		}
+		fingerprint.append(SEPARATOR);
+		if(identity.getOrganizationalUnits() != null) {
+			for(OrganizationalUnit organizationalUnit: identity.getOrganizationalUnits()) {
+				fingerprint.append(organizationalUnit.getOrganizationalUnitLabel()).append(SEPARATOR)
+					.append(organizationalUnit.getOrganizationalUnitType()).append(SEPARATOR);
+			}
+		}
+		return fingerprint.toString();
+	}
+
+	private static void appendName(StringBuilder fingerprint, AuthorName authorName) {
+		if(authorName == null) {
+			fingerprint.append(SEPARATOR);
+			return;
+		}
+		fingerprint.append(authorName.getFirstName()).append(SEPARATOR)
+			.append(authorName.getMiddleName()).append(SEPARATOR)
+			.append(authorName.getLastName()).append(SEPARATOR);
+	}
+}
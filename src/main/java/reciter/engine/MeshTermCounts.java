@@ -0,0 +1,201 @@
+package reciter.engine;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import reciter.database.dynamodb.model.MeshTerm;
+
+/**
+ * Global article counts of MeSH descriptors from the MeshTerm table. Descriptor names are interned to int ids
+ * with the counts kept in a primitive array, so a lookup does not box and the whole table takes a fraction of
+ * the heap of a HashMap&lt;String, Long&gt;. Whether a descriptor is below the clustering and feature thresholds
+ * is precomputed once into bitsets.
+ */
+public final class MeshTermCounts {
+
+	/**
+	 * MeSH majors shared between clusters are only considered for clustering below this global count
+	 */
+	public static final long CLUSTERING_THRESHOLD = 4000L;
+
+	/**
+	 * MeSH majors are only used as article features below this global count
+	 */
+	public static final long FEATURE_THRESHOLD = 100000L;
+
+	private final String[] descriptorNames;
+	private final long[] counts;
+	/** Open addressing table of id + 1 per slot, 0 marks an empty slot */
+	private final int[] slots;
+	private final BitSet belowClusteringThreshold;
+	private final BitSet belowFeatureThreshold;
+
+	private MeshTermCounts(String[] descriptorNames, long[] counts, int size) {
+		this.descriptorNames = Arrays.copyOf(descriptorNames, size);
+		this.counts = Arrays.copyOf(counts, size);
+		this.slots = new int[tableSize(size)];
+		this.belowClusteringThreshold = new BitSet(size);
+		this.belowFeatureThreshold = new BitSet(size);
+		for(int id = 0; id < size; id++) {
+			slots[findSlot(this.descriptorNames[id])] = id + 1;
+			if(this.counts[id] < CLUSTERING_THRESHOLD) {
+				belowClusteringThreshold.set(id);
+			}
+			if(this.counts[id] < FEATURE_THRESHOLD) {
+				belowFeatureThreshold.set(id);
+			}
+		}
+	}
+
+	/**
+	 * Builds the store from the MeshTerm table. Terms without a count are left out and a descriptor listed more
+	 * than once keeps its last count.
+	 */
+	public static MeshTermCounts of(Collection<MeshTerm> meshTerms) {
+		Builder builder = new Builder(meshTerms.size());
+		for(MeshTerm meshTerm: meshTerms) {
+			builder.add(meshTerm.getMesh(), meshTerm.getCount());
+		}
+		return builder.build();
+	}
+
+	/**
+	 * @return interned id of the descriptor or -1 when it has no count
+	 */
+	public int getId(String descriptorName) {
+		if(descriptorName == null) {
+			return -1;
+		}
+		return slots[findSlot(descriptorName)] - 1;
+	}
+
+	public boolean contains(String descriptorName) {
+		return getId(descriptorName) >= 0;
+	}
+
+	/**
+	 * @return global count of the descriptor or null when it has none
+	 */
+	public Long getCount(String descriptorName) {
+		int id = getId(descriptorName);
+		return id < 0 ? null : counts[id];
+	}
+
+	public long getCount(int id) {
+		return counts[id];
+	}
+
+	public String getDescriptorName(int id) {
+		return descriptorNames[id];
+	}
+
+	/**
+	 * @return true when the descriptor has a count below {@link #CLUSTERING_THRESHOLD}
+	 */
+	public boolean isBelowClusteringThreshold(String descriptorName) {
+		return isBelowClusteringThreshold(getId(descriptorName));
+	}
+
+	public boolean isBelowClusteringThreshold(int id) {
+		return id >= 0 && belowClusteringThreshold.get(id);
+	}
+
+	/**
+	 * @return true when the descriptor has a count below {@link #FEATURE_THRESHOLD}
+	 */
+	public boolean isBelowFeatureThreshold(String descriptorName) {
+		return isBelowFeatureThreshold(getId(descriptorName));
+	}
+
+	public boolean isBelowFeatureThreshold(int id) {
+		return id >= 0 && belowFeatureThreshold.get(id);
+	}
+
+	public int size() {
+		return descriptorNames.length;
+	}
+
+	/**
+	 * Writes the descriptors and counts in id order so {@link #readFrom(DataInput)} rebuilds the same ids
+	 */
+	public void writeTo(DataOutput out) throws IOException {
+		out.writeInt(descriptorNames.length);
+		for(int id = 0; id < descriptorNames.length; id++) {
+			out.writeUTF(descriptorNames[id]);
+			out.writeLong(counts[id]);
+		}
+	}
+
+	public static MeshTermCounts readFrom(DataInput in) throws IOException {
+		int size = in.readInt();
+		Builder builder = new Builder(size);
+		for(int id = 0; id < size; id++) {
+			builder.add(in.readUTF(), in.readLong());
+		}
+		return builder.build();
+	}
+
+	private int findSlot(String descriptorName) {
+		int mask = slots.length - 1;
+		int hash = descriptorName.hashCode();
+		int slot = (hash ^ (hash >>> 16)) & mask;
+		while(slots[slot] != 0 && !descriptorNames[slots[slot] - 1].equals(descriptorName)) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	/**
+	 * Power of two with a load factor of at most one half
+	 */
+	private static int tableSize(int size) {
+		int tableSize = 2;
+		while(tableSize < size * 2) {
+			tableSize <<= 1;
+		}
+		return tableSize;
+	}
+
+	public static class Builder {
+
+		private String[] descriptorNames;
+		private long[] counts;
+		private int size;
+		private final Map<String, Integer> ids;
+
+		public Builder(int expectedSize) {
+			descriptorNames = new String[Math.max(expectedSize, 16)];
+			counts = new long[descriptorNames.length];
+			ids = new HashMap<>(descriptorNames.length * 2);
+		}
+
+		public Builder add(String descriptorName, Long count) {
+			if(descriptorName == null || count == null) {
+				return this;
+			}
+			Integer id = ids.get(descriptorName);
+			if(id != null) {
+				counts[id] = count;
+				return this;
+			}
+			if(size == descriptorNames.length) {
+				descriptorNames = Arrays.copyOf(descriptorNames, size * 2);
+				counts = Arrays.copyOf(counts, size * 2);
+			}
+			descriptorNames[size] = descriptorName;
+			counts[size] = count;
+			ids.put(descriptorName, size++);
+			return this;
+		}
+
+		public MeshTermCounts build() {
+			return new MeshTermCounts(descriptorNames, counts, size);
+		}
+	}
+}
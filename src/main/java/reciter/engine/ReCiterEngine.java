@@ -29,6 +29,7 @@ import reciter.engine.analysis.ReCiterFeature;
 import reciter.engine.erroranalysis.Analysis;
 import reciter.model.article.ReCiterArticle;
 import reciter.model.identity.Identity;
+import reciter.utils.ReCiterMetrics;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -40,12 +41,18 @@ public class ReCiterEngine implements Engine {
 
     public static double clutseringGrantsThreshold;
 
+    public static boolean contentSimilarityClustering;
+
+    public static double contentSimilarityThresholdScore;
+
     @Override
     public EngineOutput run(EngineParameters parameters, StrategyParameters strategyParameters, double filterScore, double keywordsMax) {
 
         Identity identity = parameters.getIdentity();
         clusterSimilarityThresholdScore = strategyParameters.getClusterSimilarityThresholdScore();
         clutseringGrantsThreshold = strategyParameters.getClusteringGrantsThreshold();
+        contentSimilarityClustering = strategyParameters.isContentSimilarityClustering();
+        contentSimilarityThresholdScore = strategyParameters.getContentSimilarityThresholdScore();
 
         List<ReCiterArticle> reCiterArticles = parameters.getReciterArticles();
 
@@ -53,12 +60,12 @@ public class ReCiterEngine implements Engine {
 
         // Perform Phase 1 clustering.
         Clusterer clusterer = new ReCiterClusterer(identity, reCiterArticles);
-        clusterer.cluster();
+        ReCiterMetrics.recordStage("cluster", clusterer::cluster);
 
-        ArticleScorer articleScorer = new ReCiterArticleScorer(clusterer.getClusters(), identity, strategyParameters);
-        articleScorer.runArticleScorer(clusterer.getClusters(), identity);
+        ArticleScorer articleScorer = new ReCiterArticleScorer(clusterer.getClusters(), identity, strategyParameters, parameters.getRetrievalArticleCount());
+        ReCiterMetrics.recordStage("score", () -> articleScorer.runArticleScorer(clusterer.getClusters(), identity));
 
-        log.info(clusterer.toString());
+        log.debug("Clusters after scoring: {}", clusterer);
 
         EngineOutput engineOutput = new EngineOutput();
         //engineOutput.setAnalysis(analysis);
@@ -75,9 +82,9 @@ public class ReCiterEngine implements Engine {
             mode = UseGoldStandard.FOR_TESTING_ONLY;
         }
 
-        ReCiterFeature reCiterFeature = reCiterFeatureGenerator.computeFeatures(
+        ReCiterFeature reCiterFeature = ReCiterMetrics.recordStage("feature-generation", () -> reCiterFeatureGenerator.computeFeatures(
                 mode, filterScore, keywordsMax,
-                clusterer, parameters.getKnownPmids(), parameters.getRejectedPmids());
+                clusterer, parameters.getKnownPmids(), parameters.getRejectedPmids()));
         engineOutput.setReCiterFeature(reCiterFeature);
         return engineOutput;
     }
@@ -130,19 +130,16 @@ public class ReCiterFeatureGenerator {
         
         Analysis analysis = Analysis.performAnalysis(finalArticles, filteredArticles, goldStandardPmids);
         
-        log.info("Analysis for uid=[" + identity.getUid() + "]");
-        log.info("Precision=" + analysis.getPrecision());
-        log.info("Recall=" + analysis.getRecall());
-
 	double accuracy = (analysis.getPrecision() + analysis.getRecall()) / 2.0;
 	    
-        log.info("Accuracy=" + accuracy);
-
-        log.info("True Positive List [" + analysis.getTruePositiveList().size() + "]: " + analysis.getTruePositiveList());
-        log.info("True Negative List: [" + analysis.getTrueNegativeList().size() + "]: " + analysis.getTrueNegativeList());
-        log.info("False Positive List: [" + analysis.getFalsePositiveList().size() + "]: " + analysis.getFalsePositiveList());
-        log.info("False Negative List: [" + analysis.getFalseNegativeList().size() + "]: " + analysis.getFalseNegativeList());
-        log.info("\n");
+        log.info("Analysis for uid=[{}] Precision={} Recall={} Accuracy={} TruePositive={} TrueNegative={} FalsePositive={} FalseNegative={}",
+        		identity.getUid(), analysis.getPrecision(), analysis.getRecall(), accuracy,
+        		analysis.getTruePositiveList().size(), analysis.getTrueNegativeList().size(),
+        		analysis.getFalsePositiveList().size(), analysis.getFalseNegativeList().size());
+        log.debug("True Positive List: {}", analysis.getTruePositiveList());
+        log.debug("True Negative List: {}", analysis.getTrueNegativeList());
+        log.debug("False Positive List: {}", analysis.getFalsePositiveList());
+        log.debug("False Negative List: {}", analysis.getFalseNegativeList());
         
         // overall accuracy
         reCiterFeature.setOverallAccuracy((analysis.getPrecision() + analysis.getRecall()) / 2);
@@ -213,7 +210,7 @@ public class ReCiterFeatureGenerator {
                 List<ReCiterArticleFeature.ArticleKeyword> articleKeywords = new ArrayList<>();
                 for (ReCiterArticleMeshHeading reCiterArticleMeshHeading : reCiterArticle.getMeshHeadings()) {
                     if(MeshMajorClusteringStrategy.isMeshMajor(reCiterArticleMeshHeading)) {
-                        ReCiterArticleFeature.ArticleKeyword articleKeyword = new ArticleKeyword(reCiterArticleMeshHeading.getDescriptorName().getDescriptorName(), KeywordType.MESH_MAJOR, EngineParameters.getMeshCountMap().get(reCiterArticleMeshHeading.getDescriptorName().getDescriptorName()));
+                        ReCiterArticleFeature.ArticleKeyword articleKeyword = new ArticleKeyword(reCiterArticleMeshHeading.getDescriptorName().getDescriptorName(), KeywordType.MESH_MAJOR, EngineParameters.getMeshTermCounts().getCount(reCiterArticleMeshHeading.getDescriptorName().getDescriptorName()));
                         articleKeywords.add(articleKeyword);
                     }
                 }
@@ -441,7 +438,7 @@ public class ReCiterFeatureGenerator {
             // Clustering Evidence
             //positiveEvidence.setClusteringEvidence(reCiterArticle.getClusteringEvidence());
 
-            log.info("reCiter {} hashcode {}", reCiterArticle.getArticleId(), reCiterArticle.hashCode());
+            log.debug("reCiter {} hashcode {}", reCiterArticle.getArticleId(), reCiterArticle.hashCode());
             reCiterArticleFeature.setEvidence(evidence);
 
             reCiterArticleFeatures.add(reCiterArticleFeature);
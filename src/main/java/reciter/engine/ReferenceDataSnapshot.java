@@ -0,0 +1,171 @@
+package reciter.engine;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.Getter;
+import reciter.database.dynamodb.model.Gender;
+import reciter.database.dynamodb.model.ScienceMetrix;
+import reciter.database.dynamodb.model.ScienceMetrixDepartmentCategory;
+
+/**
+ * Local binary copy of the reference data loaded from DynamoDB so a restarted instance does not have to scan the
+ * reference tables again. The file starts with a header (magic, format version, creation time, snapshot version,
+ * configuration fingerprint and a CRC32 of the payload) followed by the MeSH counts in their interned form and the
+ * journal, department category, gender and institution afid tables.
+ * Reference data derived from application properties is not part of the snapshot and is rebuilt on load.
+ */
+@Getter
+public class ReferenceDataSnapshot {
+
+	private static final int MAGIC = 0x52435244;
+
+	/**
+	 * Bump when the payload layout or one of the serialized model classes changes so older snapshots are ignored
+	 */
+	public static final int FORMAT_VERSION = 1;
+
+	private final EngineReferenceData referenceData;
+	private final Instant createdAt;
+	private final String fingerprint;
+
+	private ReferenceDataSnapshot(EngineReferenceData referenceData, Instant createdAt, String fingerprint) {
+		this.referenceData = referenceData;
+		this.createdAt = createdAt;
+		this.fingerprint = fingerprint;
+	}
+
+	/**
+	 * @param fingerprint configuration the reference data was loaded with e.g. which optional tables were loaded
+	 * @param maxAge
+	 * @return true when the snapshot was written with the same configuration within maxAge
+	 */
+	public boolean isFresh(String fingerprint, Duration maxAge, Instant now) {
+		return this.fingerprint.equals(fingerprint) && !createdAt.plus(maxAge).isBefore(now);
+	}
+
+	/**
+	 * Writes the snapshot next to the target and moves it in place so readers never see a partial file
+	 */
+	public static void write(Path path, EngineReferenceData referenceData, String fingerprint, ObjectMapper objectMapper) throws IOException {
+		ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream();
+		try(DataOutputStream payload = new DataOutputStream(payloadBytes)) {
+			payload.writeBoolean(referenceData.getMeshTermCounts() != null);
+			if(referenceData.getMeshTermCounts() != null) {
+				referenceData.getMeshTermCounts().writeTo(payload);
+			}
+			writeJson(payload, objectMapper, referenceData.getScienceMetrixJournals());
+			writeJson(payload, objectMapper, referenceData.getScienceMetrixDepartmentCategories());
+			writeJson(payload, objectMapper, referenceData.getGenders());
+			writeJson(payload, objectMapper, referenceData.getAfiliationNameToAfidMap());
+		}
+		byte[] payload = payloadBytes.toByteArray();
+		CRC32 checksum = new CRC32();
+		checksum.update(payload);
+
+		if(path.toAbsolutePath().getParent() != null) {
+			Files.createDirectories(path.toAbsolutePath().getParent());
+		}
+		Path temp = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+		try {
+			try(DataOutputStream out = new DataOutputStream(Files.newOutputStream(temp))) {
+				out.writeInt(MAGIC);
+				out.writeInt(FORMAT_VERSION);
+				out.writeLong(Instant.now().toEpochMilli());
+				out.writeLong(referenceData.getVersion());
+				out.writeUTF(fingerprint);
+				out.writeLong(checksum.getValue());
+				out.writeInt(payload.length);
+				out.write(payload);
+			}
+			Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	/**
+	 * @throws IOException when the file is missing, of another format version or its checksum does not match
+	 */
+	public static ReferenceDataSnapshot read(Path path, ObjectMapper objectMapper) throws IOException {
+		try(DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(path)))) {
+			if(in.readInt() != MAGIC) {
+				throw new IOException(path + " is not a reference data snapshot");
+			}
+			int formatVersion = in.readInt();
+			if(formatVersion != FORMAT_VERSION) {
+				throw new IOException("Reference data snapshot " + path + " has format version " + formatVersion + ", expected " + FORMAT_VERSION);
+			}
+			Instant createdAt = Instant.ofEpochMilli(in.readLong());
+			long version = in.readLong();
+			String fingerprint = in.readUTF();
+			long expectedChecksum = in.readLong();
+			byte[] payload = new byte[in.readInt()];
+			in.readFully(payload);
+			CRC32 checksum = new CRC32();
+			checksum.update(payload);
+			if(checksum.getValue() != expectedChecksum) {
+				throw new IOException("Reference data snapshot " + path + " is corrupt, checksum mismatch");
+			}
+
+			try(DataInputStream data = new DataInputStream(new ByteArrayInputStream(payload))) {
+				EngineReferenceData.EngineReferenceDataBuilder referenceData = EngineReferenceData.builder()
+						.version(version)
+						.loadedAt(Instant.now());
+				if(data.readBoolean()) {
+					referenceData.meshTermCounts(MeshTermCounts.readFrom(data));
+				}
+				referenceData.scienceMetrixJournals(readList(data, objectMapper, ScienceMetrix[].class));
+				referenceData.scienceMetrixDepartmentCategories(readList(data, objectMapper, ScienceMetrixDepartmentCategory[].class));
+				referenceData.genders(readList(data, objectMapper, Gender[].class));
+				byte[] afids = readBytes(data);
+				if(afids != null) {
+					Map<String, List<String>> afiliationNameToAfidMap = objectMapper.readValue(afids, new TypeReference<Map<String, List<String>>>() {});
+					referenceData.afiliationNameToAfidMap(Collections.unmodifiableMap(afiliationNameToAfidMap));
+				}
+				return new ReferenceDataSnapshot(referenceData.build(), createdAt, fingerprint);
+			}
+		}
+	}
+
+	private static void writeJson(DataOutputStream out, ObjectMapper objectMapper, Object value) throws IOException {
+		if(value == null) {
+			out.writeInt(-1);
+			return;
+		}
+		byte[] json = objectMapper.writeValueAsBytes(value);
+		out.writeInt(json.length);
+		out.write(json);
+	}
+
+	private static byte[] readBytes(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if(length < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return bytes;
+	}
+
+	private static <T> List<T> readList(DataInputStream in, ObjectMapper objectMapper, Class<T[]> type) throws IOException {
+		byte[] json = readBytes(in);
+		return json == null ? null : Collections.unmodifiableList(Arrays.asList(objectMapper.readValue(json, type)));
+	}
+}
@@ -0,0 +1,52 @@
+package reciter.engine;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import lombok.Getter;
+import reciter.database.dynamodb.model.ESearchPmid;
+import reciter.database.dynamodb.model.ESearchPmid.RetrievalRefreshFlag;
+import reciter.database.dynamodb.model.ESearchResult;
+import reciter.database.dynamodb.model.QueryType;
+
+/**
+ * Candidate article counts from ESearchResult that the article size strategy needs. This is computed once per
+ * identity when the engine parameters are initialized so scoring does not have to read ESearchResult again.
+ * Only publications retrieved with ALL_PUBLICATIONS lookup are counted and GoldStandard Strategy retrieval type is excluded.
+ * @see <a href= "https://github.com/wcmc-its/ReCiter/issues/455">Article count by lookup type</a>
+ */
+@Getter
+public class RetrievalArticleCount {
+
+	public static final RetrievalArticleCount EMPTY = new RetrievalArticleCount(null, false, 0);
+
+	private final QueryType queryType;
+	private final boolean eSearchPmidsPresent;
+	private final int countByLookupType;
+
+	public RetrievalArticleCount(QueryType queryType, boolean eSearchPmidsPresent, int countByLookupType) {
+		this.queryType = queryType;
+		this.eSearchPmidsPresent = eSearchPmidsPresent;
+		this.countByLookupType = countByLookupType;
+	}
+
+	public static RetrievalArticleCount fromESearchResult(ESearchResult eSearchResult) {
+		if(eSearchResult == null) {
+			return EMPTY;
+		}
+		Set<Long> uniqueRetrievalArticle = new HashSet<>();
+		if(eSearchResult.getESearchPmids() != null) {
+			for(ESearchPmid eSearchPmid: eSearchResult.getESearchPmids()) {
+				if(!eSearchPmid.getRetrievalStrategyName().equalsIgnoreCase("GoldStandardRetrievalStrategy")
+						&&
+						eSearchPmid.getLookupType() == RetrievalRefreshFlag.ALL_PUBLICATIONS
+						&&
+						eSearchPmid.getPmids() != null) {
+					uniqueRetrievalArticle.addAll(eSearchPmid.getPmids());
+				}
+			}
+		}
+		boolean eSearchPmidsPresent = eSearchResult.getESearchPmids() != null && !eSearchResult.getESearchPmids().isEmpty();
+		return new RetrievalArticleCount(eSearchResult.getQueryType(), eSearchPmidsPresent, uniqueRetrievalArticle.size());
+	}
+}
@@ -123,6 +123,13 @@ public class StrategyParameters {
     @Value("${clusteringGrants-threshold}")
     private double clusteringGrantsThreshold;
 
+    @Value("${cluster.content.similarity:false}")
+    private boolean isContentSimilarityClustering;
+
+    @Positive(message = "cluster.content.similarity.threshold.score needs to be a positive number.")
+    @Value("${cluster.content.similarity.threshold.score:0.6}")
+    private double contentSimilarityThresholdScore;
+
     @Value("${nameMatchFirstType.full-exact}")
     private double nameMatchFirstTypeFullExactScore;
 
@@ -22,6 +22,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestTemplate;
 import reciter.model.pubmed.PubMedArticle;
+import reciter.utils.RetrievalServiceEndpoints;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -30,8 +31,6 @@ import java.util.List;
 @Slf4j
 public class PubMedArticleRetriever {
 
-    private static final String PUBMED_SERVICE = System.getenv("PUBMED_SERVICE");
-
     /**
      * Initializes and starts threads that handles the retrieval process. Partition the number of articles
      * into manageable pieces and ask each thread to handle one partition.
@@ -40,7 +39,7 @@ public class PubMedArticleRetriever {
         if (numberOfPubmedArticles == 0) {
             return Collections.emptyList();
         }
-        String nodeUrl = PUBMED_SERVICE.endsWith("/pubmed")?PUBMED_SERVICE + "/query-complex/" :PUBMED_SERVICE + "/pubmed/query-complex/";
+        String nodeUrl = RetrievalServiceEndpoints.getPubMedUrl("/query-complex/");
         RestTemplate restTemplate = new RestTemplate();
         log.info("Sending web request: for query: " + pubMedQuery + ":" + nodeUrl);
         ResponseEntity<PubMedArticle[]> responseEntity = null;
@@ -7,7 +7,9 @@ import lombok.Getter;
 import lombok.Setter;
 import org.apache.commons.lang3.StringUtils;
 
-import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -16,7 +18,8 @@ import java.util.List;
 @Getter
 @Setter
 public class PubMedQuery {
-    private static SimpleDateFormat dt = new SimpleDateFormat("yyyy/MM/dd");
+    //Immutable so queries built by concurrent retrieval threads can share it
+    private static final DateTimeFormatter dt = DateTimeFormatter.ofPattern("yyyy/MM/dd").withZone(ZoneId.systemDefault());
 
     @JsonProperty("author")
     private String author;
@@ -42,7 +45,8 @@ public class PubMedQuery {
         }
         //Added both [DP] and [EDAT] for better capture of pubs : Date of publication - Date added to Entrez
         if (start != null && end != null) {
-            parts.add("((" + dt.format(start) + ":" + dt.format(end) + "[EDAT]" + ") OR (" + dt.format(start) + ":" + dt.format(end) + "[DP]))");
+            String dateRange = format(start) + ":" + format(end);
+            parts.add("((" + dateRange + "[EDAT]" + ") OR (" + dateRange + "[DP]))");
         }
         if (strategyQuery != null && !strategyQuery.isEmpty()) {
             parts.add(strategyQuery);
@@ -50,4 +54,11 @@ public class PubMedQuery {
 
         return StringUtils.join(parts, " AND ");
     }
+
+    /**
+     * Date.toInstant is not supported by java.sql.Date, which date range retrieval passes in, so the epoch millis are used.
+     */
+    private static String format(Date date) {
+        return dt.format(Instant.ofEpochMilli(date.getTime()));
+    }
 }
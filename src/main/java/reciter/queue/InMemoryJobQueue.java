@@ -0,0 +1,160 @@
+package reciter.queue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link JobQueue} kept in this process for local runs and tests. Jobs are delivered in the order they were sent and
+ * are lost on restart. Jobs are keyed by job id so sending a job that is still queued or in flight is a no-op.
+ */
+@Slf4j
+public class InMemoryJobQueue implements JobQueue {
+
+	private final int maxReceiveCount;
+
+	private final LongSupplier currentTimeMillis;
+
+	private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+	private final List<ReCiterJob> deadLetters = new ArrayList<>();
+
+	public InMemoryJobQueue(int maxReceiveCount) {
+		this(maxReceiveCount, System::currentTimeMillis);
+	}
+
+	InMemoryJobQueue(int maxReceiveCount, LongSupplier currentTimeMillis) {
+		this.maxReceiveCount = maxReceiveCount;
+		this.currentTimeMillis = currentTimeMillis;
+	}
+
+	private static class Entry {
+		private final ReCiterJob job;
+		private long visibleAt;
+		private String receiptHandle;
+		private int receiveCount;
+
+		private Entry(ReCiterJob job) {
+			this.job = job;
+		}
+	}
+
+	@Override
+	public synchronized String send(ReCiterJob job) {
+		if(job.getJobId() == null) {
+			job.setJobId(UUID.randomUUID().toString());
+		}
+		if(!entries.containsKey(job.getJobId())) {
+			entries.put(job.getJobId(), new Entry(job));
+			notifyAll();
+		}
+		return job.getJobId();
+	}
+
+	@Override
+	public synchronized List<ReceivedJob> receive(int maxJobs, Duration visibilityTimeout, Duration waitTime) {
+		long deadline = currentTimeMillis.getAsLong() + waitTime.toMillis();
+		List<ReceivedJob> receivedJobs = collectVisible(maxJobs, visibilityTimeout);
+		while(receivedJobs.isEmpty()) {
+			long remaining = deadline - currentTimeMillis.getAsLong();
+			if(remaining <= 0) {
+				break;
+			}
+			try {
+				//Woken up by send or changeVisibility, otherwise poll again for expired visibility timeouts
+				wait(Math.min(remaining, 1000L));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+			receivedJobs = collectVisible(maxJobs, visibilityTimeout);
+		}
+		return receivedJobs;
+	}
+
+	private List<ReceivedJob> collectVisible(int maxJobs, Duration visibilityTimeout) {
+		long now = currentTimeMillis.getAsLong();
+		List<ReceivedJob> receivedJobs = new ArrayList<>();
+		Iterator<Entry> iterator = entries.values().iterator();
+		while(iterator.hasNext() && receivedJobs.size() < maxJobs) {
+			Entry entry = iterator.next();
+			if(entry.visibleAt > now) {
+				continue;
+			}
+			if(entry.receiveCount >= maxReceiveCount) {
+				log.warn("Job " + entry.job.getJobId() + " was received " + entry.receiveCount + " times and is moved to the dead letter queue");
+				iterator.remove();
+				deadLetters.add(entry.job);
+				continue;
+			}
+			entry.receiveCount++;
+			entry.receiptHandle = UUID.randomUUID().toString();
+			entry.visibleAt = now + visibilityTimeout.toMillis();
+			receivedJobs.add(new ReceivedJob(entry.job, entry.receiptHandle, entry.receiveCount));
+		}
+		return receivedJobs;
+	}
+
+	@Override
+	public synchronized void delete(ReceivedJob receivedJob) {
+		Entry entry = current(receivedJob);
+		if(entry != null) {
+			entries.remove(receivedJob.getJob().getJobId());
+		}
+	}
+
+	@Override
+	public synchronized void changeVisibility(ReceivedJob receivedJob, Duration visibilityTimeout) {
+		Entry entry = current(receivedJob);
+		if(entry != null) {
+			entry.visibleAt = currentTimeMillis.getAsLong() + visibilityTimeout.toMillis();
+			notifyAll();
+		}
+	}
+
+	@Override
+	public synchronized void postpone(ReceivedJob receivedJob, Duration delay) {
+		Entry entry = current(receivedJob);
+		if(entry != null) {
+			entry.receiveCount--;
+			entry.visibleAt = currentTimeMillis.getAsLong() + delay.toMillis();
+			notifyAll();
+		}
+	}
+
+	@Override
+	public synchronized void deadLetter(ReceivedJob receivedJob, String reason) {
+		Entry entry = current(receivedJob);
+		if(entry != null) {
+			log.warn("Job " + receivedJob.getJob().getJobId() + " is moved to the dead letter queue: " + reason);
+			entries.remove(receivedJob.getJob().getJobId());
+			deadLetters.add(entry.job);
+		}
+	}
+
+	/**
+	 * @return the entry if the receipt handle belongs to its latest delivery
+	 */
+	private Entry current(ReceivedJob receivedJob) {
+		Entry entry = entries.get(receivedJob.getJob().getJobId());
+		if(entry == null || !receivedJob.getReceiptHandle().equals(entry.receiptHandle)) {
+			return null;
+		}
+		return entry;
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	public synchronized List<ReCiterJob> getDeadLetters() {
+		return new ArrayList<>(deadLetters);
+	}
+}
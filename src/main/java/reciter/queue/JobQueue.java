@@ -0,0 +1,44 @@
+package reciter.queue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Queue of {@link ReCiterJob} with at least once delivery. A received job is hidden from other consumers for the
+ * visibility timeout and is delivered again if it is not deleted before the timeout expires. A job delivered more than
+ * the maximum receive count is moved to the dead letter queue instead.
+ */
+public interface JobQueue {
+
+	/**
+	 * @return the job id, assigned if the job has none
+	 */
+	String send(ReCiterJob job);
+
+	/**
+	 * Waits up to waitTime for at least one visible job
+	 * @return up to maxJobs jobs, empty if none became visible
+	 */
+	List<ReceivedJob> receive(int maxJobs, Duration visibilityTimeout, Duration waitTime);
+
+	/**
+	 * Acknowledges a completed job. A stale receipt handle, i.e. the job was delivered again meanwhile, is ignored.
+	 */
+	void delete(ReceivedJob receivedJob);
+
+	/**
+	 * Keeps a running job hidden, or makes a failed job visible again after the given delay
+	 */
+	void changeVisibility(ReceivedJob receivedJob, Duration visibilityTimeout);
+
+	/**
+	 * Makes a job that could not run yet visible again after the delay. Unlike a failed delivery this does not count
+	 * against the maximum receive count.
+	 */
+	void postpone(ReceivedJob receivedJob, Duration delay);
+
+	/**
+	 * Moves a job that can never succeed to the dead letter queue
+	 */
+	void deadLetter(ReceivedJob receivedJob, String reason);
+}
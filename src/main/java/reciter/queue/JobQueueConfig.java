@@ -0,0 +1,60 @@
+package reciter.queue;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.amazonaws.auth.AWSCredentials;
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.services.sqs.AmazonSQSClientBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+import reciter.queue.sqs.SqsJobQueue;
+
+/**
+ * Job queue used by the queue api and the worker. reciter.queue.type=sqs uses the SQS queue at aws.sqs.queueUrl,
+ * anything else an in memory queue so api and worker have to run in the same instance.
+ */
+@Slf4j
+@Configuration
+public class JobQueueConfig {
+
+	private String amazonAWSAccessKey = System.getenv("AMAZON_AWS_ACCESS_KEY");
+
+	private String amazonAWSSecretKey = System.getenv("AMAZON_AWS_SECRET_KEY");
+
+	@Bean
+	@ConditionalOnProperty(name = "reciter.queue.type", havingValue = "sqs")
+	public JobQueue sqsJobQueue(@Value("${aws.sqs.region:us-east-1}") String awsSQSRegion,
+			@Value("${aws.sqs.queueUrl}") String queueUrl,
+			@Value("${aws.sqs.deadLetterQueueUrl:}") String deadLetterQueueUrl,
+			ObjectMapper objectMapper) {
+		log.info("Using SQS job queue " + queueUrl);
+		return new SqsJobQueue(AmazonSQSClientBuilder
+				.standard()
+				.withCredentials(new AWSStaticCredentialsProvider(new AWSCredentials() {
+
+					@Override
+					public String getAWSSecretKey() {
+						return amazonAWSSecretKey;
+					}
+
+					@Override
+					public String getAWSAccessKeyId() {
+						return amazonAWSAccessKey;
+					}
+				}))
+				.withRegion(awsSQSRegion)
+				.build(), queueUrl, deadLetterQueueUrl, objectMapper);
+	}
+
+	@Bean
+	@ConditionalOnMissingBean(JobQueue.class)
+	public JobQueue inMemoryJobQueue(@Value("${reciter.queue.maxReceiveCount:3}") int maxReceiveCount) {
+		log.info("Using in memory job queue");
+		return new InMemoryJobQueue(maxReceiveCount);
+	}
+}
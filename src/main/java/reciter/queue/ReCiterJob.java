@@ -0,0 +1,41 @@
+package reciter.queue;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import reciter.api.parameters.FilterFeedbackType;
+import reciter.api.parameters.RetrievalRefreshFlag;
+import reciter.api.parameters.UseGoldStandard;
+
+/**
+ * A retrieval or feature generation run for one uid with the same parameters as the corresponding api. The jobId is
+ * the idempotency key: sending a job whose id is still queued or in flight does nothing and a worker skips a job id it
+ * already completed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReCiterJob {
+
+	public enum Type {
+		RETRIEVAL,
+		FEATURE_GENERATION
+	}
+
+	private String jobId;
+	private Type type;
+	private String uid;
+	private RetrievalRefreshFlag retrievalRefreshFlag;
+	private Double totalStandardizedArticleScore;
+	private UseGoldStandard useGoldStandard;
+	private FilterFeedbackType filterByFeedback;
+	private boolean analysisRefreshFlag;
+	private long enqueuedAt;
+
+	/**
+	 * Number of times a worker postponed the job because another job of the same type and uid was running
+	 */
+	private int postponements;
+}
@@ -0,0 +1,193 @@
+package reciter.queue;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+import reciter.controller.ReCiterController;
+
+/**
+ * Runs retrieval and feature generation jobs from the {@link JobQueue} with the same code as the corresponding api.
+ * While a job runs its visibility timeout is extended every half timeout so long runs are not handed to another
+ * worker. A job is deleted when it succeeds, dead lettered when the api rejects it with a client error and otherwise
+ * made visible again after a delay growing with the number of deliveries until the queue dead letters it.
+ * <p>
+ * Delivery is at least once. Job ids completed by this worker are remembered so a redelivered job is only
+ * acknowledged, and a job for a uid this worker is already running is postponed instead of running twice at once.
+ * Postponements back off up to the visibility timeout and do not use up deliveries, so a job waiting behind a long
+ * run of the same uid is not dead lettered.
+ * Both are kept in memory of this process only, so another instance or a restarted one can run a redelivered job
+ * again. That is safe because a rerun stores the same retrieval and analysis results.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "reciter.worker.enabled", havingValue = "true")
+public class ReCiterJobWorker {
+
+	private static final Duration POLL_WAIT = Duration.ofSeconds(20);
+	private static final Duration RETRY_DELAY = Duration.ofSeconds(30);
+	private static final int COMPLETED_JOB_IDS = 10000;
+
+	@Autowired
+	private JobQueue jobQueue;
+
+	@Autowired
+	private ReCiterController reCiterController;
+
+	@Value("${reciter.worker.threads:2}")
+	private int threads;
+
+	@Value("${reciter.queue.visibilityTimeoutSeconds:900}")
+	private long visibilityTimeoutSeconds;
+
+	private final Set<String> completedJobIds = Collections.newSetFromMap(Collections.synchronizedMap(new LinkedHashMap<String, Boolean>() {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+			return size() > COMPLETED_JOB_IDS;
+		}
+	}));
+
+	private final Set<String> runningJobs = ConcurrentHashMap.newKeySet();
+
+	private volatile boolean running;
+
+	private ExecutorService workers;
+
+	private ScheduledExecutorService heartbeats;
+
+	@PostConstruct
+	public void start() {
+		running = true;
+		workers = Executors.newFixedThreadPool(threads);
+		heartbeats = Executors.newSingleThreadScheduledExecutor();
+		for(int i = 0; i < threads; i++) {
+			workers.submit(this::poll);
+		}
+		log.info("Started " + threads + " job workers with visibility timeout " + visibilityTimeoutSeconds + "s");
+	}
+
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		running = false;
+		workers.shutdownNow();
+		heartbeats.shutdownNow();
+		workers.awaitTermination(POLL_WAIT.getSeconds(), TimeUnit.SECONDS);
+	}
+
+	private void poll() {
+		Duration visibilityTimeout = Duration.ofSeconds(visibilityTimeoutSeconds);
+		while(running && !Thread.currentThread().isInterrupted()) {
+			try {
+				List<ReceivedJob> receivedJobs = jobQueue.receive(1, visibilityTimeout, POLL_WAIT);
+				for(ReceivedJob receivedJob: receivedJobs) {
+					process(receivedJob, visibilityTimeout);
+				}
+			} catch (RuntimeException e) {
+				log.error("Failed to receive jobs", e);
+				sleep(RETRY_DELAY);
+			}
+		}
+	}
+
+	void process(ReceivedJob receivedJob, Duration visibilityTimeout) {
+		ReCiterJob job = receivedJob.getJob();
+		if(completedJobIds.contains(job.getJobId())) {
+			log.info("Job " + job.getJobId() + " was already completed, acknowledging the redelivery");
+			jobQueue.delete(receivedJob);
+			return;
+		}
+		String runningKey = job.getType() + ":" + job.getUid();
+		if(!runningJobs.add(runningKey)) {
+			log.info("A " + job.getType() + " job for " + job.getUid() + " is already running, postponing job " + job.getJobId());
+			job.setPostponements(job.getPostponements() + 1);
+			jobQueue.postpone(receivedJob, postponeDelay(job, visibilityTimeout));
+			return;
+		}
+		long heartbeatMillis = visibilityTimeout.toMillis() / 2;
+		ScheduledFuture<?> heartbeat = heartbeats.scheduleAtFixedRate(() -> extendVisibility(receivedJob, visibilityTimeout),
+				heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+		try {
+			log.info("Running " + job.getType() + " job " + job.getJobId() + " for " + job.getUid() + " delivery " + receivedJob.getReceiveCount());
+			ResponseEntity<?> response = run(job);
+			heartbeat.cancel(false);
+			if(response.getStatusCode().is2xxSuccessful()) {
+				completedJobIds.add(job.getJobId());
+				jobQueue.delete(receivedJob);
+			} else if(response.getStatusCode().is4xxClientError()) {
+				jobQueue.deadLetter(receivedJob, response.getStatusCode() + " " + response.getBody());
+			} else {
+				log.warn("Job " + job.getJobId() + " failed with " + response.getStatusCode() + ", it will be retried");
+				jobQueue.changeVisibility(receivedJob, retryDelay(receivedJob, visibilityTimeout));
+			}
+		} catch (RuntimeException e) {
+			heartbeat.cancel(false);
+			log.error("Job " + job.getJobId() + " failed, it will be retried", e);
+			jobQueue.changeVisibility(receivedJob, retryDelay(receivedJob, visibilityTimeout));
+		} finally {
+			runningJobs.remove(runningKey);
+		}
+	}
+
+	/**
+	 * Heartbeat of a running job. An exception would cancel the schedule, so a failed extension is logged and tried
+	 * again on the next beat.
+	 */
+	private void extendVisibility(ReceivedJob receivedJob, Duration visibilityTimeout) {
+		try {
+			jobQueue.changeVisibility(receivedJob, visibilityTimeout);
+		} catch (RuntimeException e) {
+			log.warn("Failed to extend the visibility of running job " + receivedJob.getJob().getJobId(), e);
+		}
+	}
+
+	private ResponseEntity<?> run(ReCiterJob job) {
+		switch (job.getType()) {
+			case RETRIEVAL:
+				return reCiterController.retrieveArticlesByUid(job.getUid(), job.getRetrievalRefreshFlag());
+			case FEATURE_GENERATION:
+				return reCiterController.runFeatureGenerator(job.getUid(), job.getTotalStandardizedArticleScore(), job.getUseGoldStandard(),
+						job.getFilterByFeedback(), job.isAnalysisRefreshFlag(), job.getRetrievalRefreshFlag());
+			default:
+				throw new IllegalArgumentException("Unknown job type " + job.getType());
+		}
+	}
+
+	private static Duration retryDelay(ReceivedJob receivedJob, Duration visibilityTimeout) {
+		Duration delay = RETRY_DELAY.multipliedBy(receivedJob.getReceiveCount());
+		return delay.compareTo(visibilityTimeout) < 0 ? delay : visibilityTimeout;
+	}
+
+	static Duration postponeDelay(ReCiterJob job, Duration visibilityTimeout) {
+		Duration delay = RETRY_DELAY.multipliedBy(1L << Math.min(job.getPostponements() - 1, 10));
+		return delay.compareTo(visibilityTimeout) < 0 ? delay : visibilityTimeout;
+	}
+
+	private static void sleep(Duration duration) {
+		try {
+			Thread.sleep(duration.toMillis());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
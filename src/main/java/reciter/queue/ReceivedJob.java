@@ -0,0 +1,22 @@
+package reciter.queue;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A job handed out by {@link JobQueue#receive}. It stays invisible to other consumers until its visibility timeout
+ * expires, the receipt handle identifies this delivery when deleting, extending or dead lettering it.
+ */
+@Getter
+@AllArgsConstructor
+public class ReceivedJob {
+
+	private final ReCiterJob job;
+
+	private final String receiptHandle;
+
+	/**
+	 * Number of times the job was delivered including this one
+	 */
+	private final int receiveCount;
+}
@@ -0,0 +1,153 @@
+package reciter.queue.sqs;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import com.amazonaws.services.sqs.AmazonSQS;
+import com.amazonaws.services.sqs.model.ChangeMessageVisibilityRequest;
+import com.amazonaws.services.sqs.model.DeleteMessageRequest;
+import com.amazonaws.services.sqs.model.Message;
+import com.amazonaws.services.sqs.model.ReceiptHandleIsInvalidException;
+import com.amazonaws.services.sqs.model.ReceiveMessageRequest;
+import com.amazonaws.services.sqs.model.SendMessageRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+import reciter.queue.JobQueue;
+import reciter.queue.ReCiterJob;
+import reciter.queue.ReceivedJob;
+
+/**
+ * {@link JobQueue} backed by an SQS queue. Visibility timeouts are native to SQS and jobs failing repeatedly are moved
+ * by the redrive policy of the queue, which should point to the same dead letter queue as aws.sqs.deadLetterQueueUrl.
+ * On a FIFO queue the job id is also the message deduplication id and jobs of one uid share a message group.
+ */
+@Slf4j
+public class SqsJobQueue implements JobQueue {
+
+	private static final String RECEIVE_COUNT = "ApproximateReceiveCount";
+
+	//SQS limits
+	private static final int MAX_MESSAGES = 10;
+	private static final int MAX_WAIT_SECONDS = 20;
+	private static final int MAX_DELAY_SECONDS = 900;
+
+	private final AmazonSQS amazonSQS;
+
+	private final String queueUrl;
+
+	private final String deadLetterQueueUrl;
+
+	private final ObjectMapper objectMapper;
+
+	private final boolean fifo;
+
+	public SqsJobQueue(AmazonSQS amazonSQS, String queueUrl, String deadLetterQueueUrl, ObjectMapper objectMapper) {
+		this.amazonSQS = amazonSQS;
+		this.queueUrl = queueUrl;
+		this.deadLetterQueueUrl = deadLetterQueueUrl;
+		this.objectMapper = objectMapper;
+		this.fifo = queueUrl.endsWith(".fifo");
+	}
+
+	@Override
+	public String send(ReCiterJob job) {
+		if(job.getJobId() == null) {
+			job.setJobId(UUID.randomUUID().toString());
+		}
+		SendMessageRequest sendMessageRequest = new SendMessageRequest(queueUrl, toJson(job));
+		if(fifo) {
+			sendMessageRequest.withMessageGroupId(job.getUid()).withMessageDeduplicationId(job.getJobId());
+		}
+		amazonSQS.sendMessage(sendMessageRequest);
+		return job.getJobId();
+	}
+
+	@Override
+	public List<ReceivedJob> receive(int maxJobs, Duration visibilityTimeout, Duration waitTime) {
+		ReceiveMessageRequest receiveMessageRequest = new ReceiveMessageRequest(queueUrl)
+				.withMaxNumberOfMessages(Math.min(maxJobs, MAX_MESSAGES))
+				.withVisibilityTimeout((int) visibilityTimeout.getSeconds())
+				.withWaitTimeSeconds((int) Math.min(waitTime.getSeconds(), MAX_WAIT_SECONDS))
+				.withAttributeNames(RECEIVE_COUNT);
+		List<ReceivedJob> receivedJobs = new ArrayList<>();
+		for(Message message: amazonSQS.receiveMessage(receiveMessageRequest).getMessages()) {
+			ReCiterJob job;
+			try {
+				job = objectMapper.readValue(message.getBody(), ReCiterJob.class);
+			} catch (IOException e) {
+				log.error("Message " + message.getMessageId() + " is not a valid job and is moved to the dead letter queue", e);
+				moveToDeadLetterQueue(message.getBody(), message.getReceiptHandle());
+				continue;
+			}
+			int receiveCount = Integer.parseInt(message.getAttributes().getOrDefault(RECEIVE_COUNT, "1"));
+			receivedJobs.add(new ReceivedJob(job, message.getReceiptHandle(), receiveCount));
+		}
+		return receivedJobs;
+	}
+
+	@Override
+	public void delete(ReceivedJob receivedJob) {
+		try {
+			amazonSQS.deleteMessage(new DeleteMessageRequest(queueUrl, receivedJob.getReceiptHandle()));
+		} catch (ReceiptHandleIsInvalidException e) {
+			log.warn("Job " + receivedJob.getJob().getJobId() + " was delivered again before it was deleted");
+		}
+	}
+
+	@Override
+	public void changeVisibility(ReceivedJob receivedJob, Duration visibilityTimeout) {
+		try {
+			amazonSQS.changeMessageVisibility(new ChangeMessageVisibilityRequest(queueUrl, receivedJob.getReceiptHandle(), (int) visibilityTimeout.getSeconds()));
+		} catch (ReceiptHandleIsInvalidException e) {
+			log.warn("Job " + receivedJob.getJob().getJobId() + " was delivered again before its visibility was changed");
+		}
+	}
+
+	/**
+	 * Sends the job again as a new message with the delay and deletes this delivery, so the receive count of the new
+	 * message starts over. A FIFO queue has no per message delay and would drop the new message as a duplicate job id,
+	 * there the visibility is changed instead. Its message group already keeps jobs of one uid from running at once.
+	 */
+	@Override
+	public void postpone(ReceivedJob receivedJob, Duration delay) {
+		if(fifo) {
+			changeVisibility(receivedJob, delay);
+			return;
+		}
+		amazonSQS.sendMessage(new SendMessageRequest(queueUrl, toJson(receivedJob.getJob()))
+				.withDelaySeconds((int) Math.min(delay.getSeconds(), MAX_DELAY_SECONDS)));
+		delete(receivedJob);
+	}
+
+	@Override
+	public void deadLetter(ReceivedJob receivedJob, String reason) {
+		log.warn("Job " + receivedJob.getJob().getJobId() + " is moved to the dead letter queue: " + reason);
+		moveToDeadLetterQueue(toJson(receivedJob.getJob()), receivedJob.getReceiptHandle());
+	}
+
+	private void moveToDeadLetterQueue(String body, String receiptHandle) {
+		if(deadLetterQueueUrl == null || deadLetterQueueUrl.isEmpty()) {
+			log.error("No aws.sqs.deadLetterQueueUrl configured, dropping " + body);
+		} else {
+			SendMessageRequest sendMessageRequest = new SendMessageRequest(deadLetterQueueUrl, body);
+			if(deadLetterQueueUrl.endsWith(".fifo")) {
+				sendMessageRequest.withMessageGroupId("dead-letter").withMessageDeduplicationId(UUID.randomUUID().toString());
+			}
+			amazonSQS.sendMessage(sendMessageRequest);
+		}
+		amazonSQS.deleteMessage(new DeleteMessageRequest(queueUrl, receiptHandle));
+	}
+
+	private String toJson(ReCiterJob job) {
+		try {
+			return objectMapper.writeValueAsString(job);
+		} catch (JsonProcessingException e) {
+			throw new IllegalArgumentException("Job " + job.getJobId() + " cannot be serialized", e);
+		}
+	}
+}
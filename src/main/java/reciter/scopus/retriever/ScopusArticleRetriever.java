@@ -24,6 +24,7 @@ import org.springframework.http.*;
 import org.springframework.web.client.RestTemplate;
 import reciter.model.scopus.ScopusArticle;
 import reciter.model.scopus.ScopusQuery;
+import reciter.utils.RetrievalServiceEndpoints;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -42,8 +43,6 @@ public class ScopusArticleRetriever<T> {
      */
     public static final String DOI_MODIFIER = "doi";
 
-    private static final String SCOPUS_SERVICE = System.getenv("SCOPUS_SERVICE");
-
     /**
      * Modifier options: "pmid" or "doi".
      *
@@ -55,7 +54,7 @@ public class ScopusArticleRetriever<T> {
         if (queryParams.isEmpty()) {
             return Collections.emptyList();
         }
-        String nodeUrl = SCOPUS_SERVICE.endsWith("/scopus")?SCOPUS_SERVICE + "/query/": SCOPUS_SERVICE + "/scopus/query/";
+        String nodeUrl = RetrievalServiceEndpoints.getScopusUrl("/query/");
         RestTemplate restTemplate = new RestTemplate();
         log.info("Sending web request for query " + queryParams + " modifier:" + queryModifier + ":" + nodeUrl);
         List<Object> pmidList = new ArrayList<>();
@@ -70,6 +70,60 @@ public class APISecurityConfig {
 	    
     }
     
+	/**
+	 * Actuator endpoints other than health, e.g. /actuator/metrics, need the admin api key
+	 */
+	@Configuration
+	@Order(2)
+	public static class ActuatorSecurityConfig extends WebSecurityConfigurerAdapter {
+		
+		private final String principalRequestHeader = "api-key";
+		
+		private String principalRequestValue = System.getenv("ADMIN_API_KEY");
+		
+		@Value("${spring.security.enabled}")
+		private boolean securityEnabled;
+		
+		@Override
+		protected void configure(HttpSecurity httpSecurity) throws Exception {
+			APIKeyAuthFilter filter = new APIKeyAuthFilter(principalRequestHeader);
+			filter.setAuthenticationManager(new AuthenticationManager() {
+				
+				@Override
+				public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+					String principal = (String) authentication.getPrincipal();
+					if (!principalRequestValue.equals(principal))
+					{
+						throw new BadCredentialsException("The API key was not found or not the expected value.");
+					}
+					authentication.setAuthenticated(true);
+					return authentication;
+				}
+			});
+			//Matched even when security is disabled so this chain never takes requests of the other apis
+			httpSecurity.antMatcher("/actuator/**");
+			if(securityEnabled) {
+				httpSecurity.
+					csrf().disable().
+					sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS).
+					and().addFilter(filter).authorizeRequests().anyRequest().authenticated();
+			}
+		}
+		
+		@Override
+		public void configure(WebSecurity web) throws Exception {
+			if(!securityEnabled) {
+				web
+				.ignoring()
+				.antMatchers("/actuator/**");
+			}
+			//Health checks of the load balancer have no api key
+			web
+			.ignoring()
+			.antMatchers("/actuator/health", "/actuator/health/**");
+		}
+	}
+	
 	/**
 	 * @author szd2013
 	 * This will intercept and request for consumer api and authenticate its api key
@@ -28,6 +28,10 @@ public interface ESearchResultService {
 
 	ESearchResult findByUid(String uid);
 
+	List<ESearchResult> findByUids(List<String> uids);
+
+	void saveAll(List<ESearchResult> eSearchResults);
+
 	boolean pushESearchResult(ESearchResult eSearchResult);
 
 	void update(ESearchResult eSearchResult);
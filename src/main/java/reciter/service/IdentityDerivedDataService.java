@@ -0,0 +1,18 @@
+package reciter.service;
+
+import reciter.engine.IdentityDerivedData;
+import reciter.model.identity.Identity;
+
+public interface IdentityDerivedDataService {
+
+	/**
+	 * @return the derived data cached for the identity, a new empty entry if none is cached for the current identity
+	 * fields and reference data
+	 */
+	IdentityDerivedData get(Identity identity);
+
+	void invalidate(String uid);
+
+	void invalidateAll();
+
+}
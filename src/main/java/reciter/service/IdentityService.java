@@ -35,6 +35,11 @@ public interface IdentityService {
 
 	List<Identity> findAll();
 	
+	/**
+	 * @return uids of all identities, read with a projection when they are not cached
+	 */
+	List<String> findAllUids();
+	
 	void deleteAll();
 
 	void delete(String uid);
@@ -0,0 +1,35 @@
+package reciter.service;
+
+import java.util.List;
+import java.util.Map;
+
+import reciter.database.dynamodb.model.GoldStandard;
+import reciter.engine.analysis.ReCiterFeature;
+
+public interface PendingArticleIndexService {
+
+	/**
+	 * Replaces the candidates of the uid with the articles of a new analysis
+	 * @param reCiterFeature feature of the AnalysisOutput as it was before the save moved it to s3
+	 */
+	void update(String uid, ReCiterFeature reCiterFeature);
+
+	/**
+	 * Recomputes the pending articles of the uid against its stored feedback
+	 * @param goldStandard GoldStandard as stored after the save
+	 */
+	void update(GoldStandard goldStandard);
+
+	/**
+	 * @return pmids of pending articles scoring at least totalStandardizedArticleScore, highest score first
+	 */
+	List<Long> findPendingPmids(String uid, double totalStandardizedArticleScore);
+
+	/**
+	 * @return number of pending articles scoring at least totalStandardizedArticleScore by uid
+	 */
+	Map<String, Long> countPending(double totalStandardizedArticleScore);
+
+	void delete(String uid);
+
+}
@@ -20,6 +20,7 @@ package reciter.service;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import reciter.model.pubmed.PubMedArticle;
 
@@ -29,5 +30,10 @@ public interface PubMedService {
 	
 	List<PubMedArticle> findByPmids(List<Long> pmids);
 	
+	/**
+	 * Starts loading the articles in parallel batches so that other reads can run while waiting for them.
+	 */
+	CompletableFuture<List<PubMedArticle>> findByPmidsAsync(List<Long> pmids);
+	
 	PubMedArticle findByPmid(Long pmid);
 }
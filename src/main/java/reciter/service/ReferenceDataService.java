@@ -0,0 +1,24 @@
+package reciter.service;
+
+import java.util.concurrent.CompletableFuture;
+
+import reciter.engine.EngineReferenceData;
+
+public interface ReferenceDataService {
+	/**
+	 * Publishes the reference data at startup, from the local snapshot when it is fresh and else from DynamoDb
+	 */
+	EngineReferenceData initialize();
+	/**
+	 * Loads a new reference data snapshot without publishing it
+	 */
+	EngineReferenceData load();
+	/**
+	 * Loads a new snapshot and swaps it in as the one used by the engine
+	 */
+	EngineReferenceData reload();
+	/**
+	 * Reloads in the background. A reload requested while another one is running joins the running one.
+	 */
+	CompletableFuture<EngineReferenceData> reloadAsync();
+}
@@ -20,6 +20,7 @@ package reciter.service;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import reciter.model.scopus.ScopusArticle;
 
@@ -28,6 +29,11 @@ public interface ScopusService {
 	void save(Collection<ScopusArticle> pubMedArticles);
 	
 	List<ScopusArticle> findByPmids(List<String> pmids);
+	
+	/**
+	 * Starts loading the articles in parallel batches so that other reads can run while waiting for them.
+	 */
+	CompletableFuture<List<ScopusArticle>> findByPmidsAsync(List<String> pmids);
 
 	ScopusArticle findByPmid(String pmid);
 	
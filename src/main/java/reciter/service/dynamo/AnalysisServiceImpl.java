@@ -16,6 +16,7 @@ import reciter.database.dynamodb.model.AnalysisOutput;
 import reciter.database.dynamodb.repository.AnalysisOutputRepository;
 import reciter.engine.analysis.ReCiterFeature;
 import reciter.service.AnalysisService;
+import reciter.service.PendingArticleIndexService;
 import reciter.storage.s3.AmazonS3Config;
 
 @Slf4j
@@ -27,6 +28,9 @@ public class AnalysisServiceImpl implements AnalysisService{
 	
 	@Autowired(required=false)
 	private DynamoDbS3Operations ddbs3;
+
+	@Autowired
+	private PendingArticleIndexService pendingArticleIndexService;
 	
     @Value("${aws.s3.use}")
     private boolean isS3Use;
@@ -36,8 +40,11 @@ public class AnalysisServiceImpl implements AnalysisService{
 
 	@Override
 	public void save(AnalysisOutput analysis) {
+		//Kept since the feature is moved to s3 when the item is too large
+		ReCiterFeature reCiterFeature = analysis.getReCiterFeature();
 		try{
 			analysisOutputRepository.save(analysis);
+			pendingArticleIndexService.update(analysis.getUid(), reCiterFeature);
 		} catch(AmazonDynamoDBException addbe) {
 			if(isS3Use && !isDynamoDbLocal) {
 				log.info("Storing item in s3 since it item size exceeds more than 400kb");
@@ -45,6 +52,7 @@ public class AnalysisServiceImpl implements AnalysisService{
 				analysis.setReCiterFeature(null);
 				analysis.setUsingS3(true);
 				analysisOutputRepository.save(analysis);
+				pendingArticleIndexService.update(analysis.getUid(), reCiterFeature);
 			} else if(isDynamoDbLocal){
 				log.info("You are running dynamodb in local mode. Add AWS access key and secret key to environment variable to enable S3 storage.");
 			} else {
@@ -76,6 +84,7 @@ public class AnalysisServiceImpl implements AnalysisService{
 	@Override
 	public void delete(String uid) {
 		analysisOutputRepository.deleteById(uid);
+		pendingArticleIndexService.delete(uid);
 	}
 
 	@Override
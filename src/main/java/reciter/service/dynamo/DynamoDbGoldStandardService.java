@@ -1,160 +1,91 @@
 package reciter.service.dynamo;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import javax.annotation.PostConstruct;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperFieldModel;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBSaveExpression;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ComparisonOperator;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.ExpectedAttributeValue;
+
+import lombok.extern.slf4j.Slf4j;
 import reciter.api.parameters.GoldStandardUpdateFlag;
 import reciter.database.dynamodb.model.ESearchPmid;
 import reciter.database.dynamodb.model.ESearchResult;
 import reciter.database.dynamodb.model.GoldStandard;
 import reciter.database.dynamodb.repository.DynamoDbGoldStandardRepository;
 import reciter.service.ESearchResultService;
+import reciter.service.PendingArticleIndexService;
 
+/**
+ * GoldStandard feedback is merged with set semantics and written back with a conditional put
+ * that expects the item to still look exactly like the copy the merge was based on. If another
+ * curator saved the same uid in between, the write is rejected and the merge is re-applied on
+ * top of the fresh copy, so concurrent feedback never overwrites each other.
+ */
+@Slf4j
 @Service("DynamoDbGoldStandardService")
 public class DynamoDbGoldStandardService implements IDynamoDbGoldStandardService {
 
+	private static final int MAX_CONDITIONAL_SAVE_ATTEMPTS = 10;
+
     @Autowired
     private DynamoDbGoldStandardRepository dynamoDbGoldStandardRepository;
-    
+
     @Autowired
     private ESearchResultService eSearchResultService;
 
+    @Autowired
+    private PendingArticleIndexService pendingArticleIndexService;
+
+    @Autowired
+    private AmazonDynamoDB amazonDynamoDB;
+
+    @Autowired
+    private DynamoDBMapperConfig dynamoDBMapperConfig;
+
+    private DynamoDBMapper dynamoDBMapper;
+
+    private DynamoDBMapperTableModel<GoldStandard> goldStandardTableModel;
+
+    @PostConstruct
+    public void init() {
+    	dynamoDBMapper = new DynamoDBMapper(amazonDynamoDB, dynamoDBMapperConfig);
+    	goldStandardTableModel = dynamoDBMapper.getTableModel(GoldStandard.class);
+    }
+
     @Override
     public void save(GoldStandard goldStandard, GoldStandardUpdateFlag goldStandardUpdateFlag) {
     	if(goldStandardUpdateFlag == GoldStandardUpdateFlag.REFRESH) {
     		dynamoDbGoldStandardRepository.save(goldStandard);
     	} else {
-    		GoldStandard goldStandardDdb = findByUid(goldStandard.getUid());
-    		if(goldStandardDdb == null) {
-    			dynamoDbGoldStandardRepository.save(goldStandard);
-    		} else {
-    			List<Long> acceptedPmids = goldStandardDdb.getKnownPmids();
-    			List<Long> rejectedPmids = goldStandardDdb.getRejectedPmids();
-    			if(goldStandardUpdateFlag == GoldStandardUpdateFlag.DELETE) {
-    				//This portion deals with cases when deleting a pmid from GoldStandard it will delete it from eSearchResult as well if it exists
-    				ESearchResult eSearchResult = eSearchResultService.findByUid(goldStandard.getUid());
-    				if(eSearchResult != null && eSearchResult.getESearchPmids() != null && eSearchResult.getESearchPmids().size() > 0) {
-    					List<ESearchPmid> eSearchPmidGS = eSearchResult.getESearchPmids().stream().filter(eSearchPmid -> eSearchPmid.getRetrievalStrategyName().equalsIgnoreCase("GoldStandardRetrievalStrategy")).collect(Collectors.toList());
-    					if(eSearchPmidGS != null && !eSearchPmidGS.isEmpty()) {
-    						for(ESearchPmid eSearchPmid: eSearchPmidGS) {
-		    					if(goldStandard.getKnownPmids() != null && goldStandard.getKnownPmids().size() > 0) {
-		    						eSearchPmid.getPmids().removeAll(goldStandard.getKnownPmids());
-		    					}
-		    					if(goldStandard.getRejectedPmids() != null && goldStandard.getRejectedPmids().size() > 0) {
-		    						eSearchPmid.getPmids().removeAll(goldStandard.getRejectedPmids());
-		    					}
-    						}
-    					}
-    					
-    					eSearchResultService.save(eSearchResult);
-    				}
-    				
-    				if(acceptedPmids != null && acceptedPmids.size() > 0) {
-        				if(goldStandard.getKnownPmids() != null && goldStandard.getKnownPmids().size() > 0) {
-        					for(Long acceptedPmid: goldStandard.getKnownPmids()) {
-        						if(acceptedPmids.contains(acceptedPmid)) {
-    	    						acceptedPmids.remove(acceptedPmid);
-    	    					}
-        					}
-        				}
-        				
-        			}
-    				
-    				if(rejectedPmids != null && rejectedPmids.size() > 0) {
-        				if(goldStandard.getRejectedPmids() != null && goldStandard.getRejectedPmids().size() > 0) {
-        					for(Long rejectedPmid: goldStandard.getRejectedPmids()) {
-        						if(rejectedPmids.contains(rejectedPmid)) {
-        							rejectedPmids.remove(rejectedPmid);
-    	    					}
-        					}
-        				}
-        			}
-    				if(acceptedPmids == null) {
-    					goldStandard.setKnownPmids(new ArrayList<Long>());
-    				} else {
-    					goldStandard.setKnownPmids(acceptedPmids);
-    				}
-    				if(rejectedPmids == null) {
-    					goldStandard.setRejectedPmids(new ArrayList<Long>());
-    				} else {
-    					goldStandard.setRejectedPmids(rejectedPmids);
-    				}
-    			} else if(goldStandardUpdateFlag == GoldStandardUpdateFlag.UPDATE) {
-    			
-	     			if(acceptedPmids != null && acceptedPmids.size() > 0) {
-	    				if(goldStandard.getKnownPmids() != null && goldStandard.getKnownPmids().size() > 0) {
-		    				for(Long acceptedPmid: goldStandard.getKnownPmids()) {
-		    					if(!acceptedPmids.contains(acceptedPmid)) {
-		    						acceptedPmids.add(acceptedPmid);
-		    					}
-		    					if(rejectedPmids != null && rejectedPmids.size() > 0) {
-		    						if(rejectedPmids.contains(acceptedPmid)) {
-		    							rejectedPmids.remove(acceptedPmid);
-		    						}
-		    					}
-		    				}
-	    				}
-	    				goldStandard.setKnownPmids(acceptedPmids);
-	    			} else {
-	    				if(goldStandard.getKnownPmids() != null && goldStandard.getKnownPmids().size() > 0) {
-	    					for(Long acceptedPmid: goldStandard.getKnownPmids()) {
-	    						if(goldStandard.getRejectedPmids() != null) {
-		    						if(goldStandard.getRejectedPmids().contains(acceptedPmid)) {
-		    							goldStandard.getRejectedPmids().remove(acceptedPmid);
-		    						}
-	    						}
-	    					}
-	    				}
-	    			}
-	     			
-	    			if(rejectedPmids != null && rejectedPmids.size() > 0) {
-	    				if(goldStandard.getRejectedPmids() != null && goldStandard.getRejectedPmids().size() > 0) {
-		    				for(Long rejectedPmid: goldStandard.getRejectedPmids()) {
-		    					if(!rejectedPmids.contains(rejectedPmid)) {
-		    						rejectedPmids.add(rejectedPmid);
-		    					}
-		    					if(acceptedPmids != null && acceptedPmids.size() > 0) {
-		    						if(acceptedPmids.contains(rejectedPmid)) {
-		    							acceptedPmids.remove(rejectedPmid);
-		    						}
-		    					}
-		    				}
-	    				}
-	    				goldStandard.setRejectedPmids(rejectedPmids);
-	    			} else {
-	    				if(goldStandard.getRejectedPmids() != null && goldStandard.getRejectedPmids().size() > 0) {
-	    					for(Long rejectedPmid: goldStandard.getRejectedPmids()) {
-	    						if(goldStandard.getKnownPmids() != null) {
-		    						if(goldStandard.getKnownPmids().contains(rejectedPmid)) {
-		    							goldStandard.getKnownPmids().remove(rejectedPmid);
-		    						}
-	    						}
-	    					}
-	    				}
-	    			}
-    			}
-    			
-    			if(goldStandardDdb.getAuditLog() != null
-						&&
-						goldStandardDdb.getAuditLog().size() > 0) {
-					if(goldStandard.getAuditLog() != null
-							&&
-							goldStandard.getAuditLog().size() > 0) {
-						goldStandard.getAuditLog().addAll(goldStandardDdb.getAuditLog());
-					} else {
-						goldStandard.setAuditLog(goldStandardDdb.getAuditLog());
-					}
-				}
-    			dynamoDbGoldStandardRepository.save(goldStandard);
+    		if(goldStandardUpdateFlag == GoldStandardUpdateFlag.DELETE) {
+    			removeFromESearchResults(Collections.singletonList(goldStandard));
     		}
+    		mergeAndSave(goldStandard, findByUid(goldStandard.getUid()), goldStandardUpdateFlag);
     	}
-        
+    	pendingArticleIndexService.update(goldStandard);
     }
 
     @Override
@@ -164,58 +95,23 @@ public class DynamoDbGoldStandardService implements IDynamoDbGoldStandardService
 
 	@Override
 	public void save(List<GoldStandard> goldStandard, GoldStandardUpdateFlag goldStandardUpdateFlag) {
-		
+
 		if(goldStandardUpdateFlag == GoldStandardUpdateFlag.REFRESH) {
     		dynamoDbGoldStandardRepository.saveAll(goldStandard);
     	} else {
+    		if(goldStandardUpdateFlag == GoldStandardUpdateFlag.DELETE) {
+    			removeFromESearchResults(goldStandard);
+    		}
     		List<String> goldStandardUids = goldStandard.stream().map(GoldStandard::getUid).collect(Collectors.toList());
-    		
-    		List<GoldStandard> goldStandardDdbList = findByUids(goldStandardUids);
-    		if(goldStandardDdbList == null|| (goldStandardDdbList != null && goldStandardDdbList.size() == 0)) {
-    			dynamoDbGoldStandardRepository.saveAll(goldStandard);
-    		} else {
-    			for(GoldStandard goldStandardDdb: goldStandardDdbList) {
-    				List<Long> acceptedPmids = goldStandardDdb.getKnownPmids();
-    				GoldStandard goldStandardNew = goldStandard.stream().filter(gs -> gs.getUid().equalsIgnoreCase(goldStandardDdb.getUid())).findFirst().get();
-        			if(acceptedPmids != null && acceptedPmids.size() > 0) {
-        				if(goldStandardNew != null && goldStandardNew.getKnownPmids() != null && goldStandardNew.getKnownPmids().size() > 0) {
-	        				for(Long acceptedPmidNew: goldStandardNew.getKnownPmids()) {
-	        					if(!acceptedPmids.contains(acceptedPmidNew)) {
-	        						acceptedPmids.add(acceptedPmidNew);
-	        					}
-	        				}
-        				}
-        				goldStandardNew.setKnownPmids(acceptedPmids);
-        			}
-        			
-        			List<Long> rejectedPmids = goldStandardDdb.getRejectedPmids();
-        			if(rejectedPmids != null && rejectedPmids.size() > 0) {
-        				if(goldStandardNew != null && goldStandardNew.getRejectedPmids() != null && goldStandardNew.getRejectedPmids().size() > 0) {
-	        				for(Long rejectedPmidNew: goldStandardNew.getRejectedPmids()) {
-	        					if(!rejectedPmids.contains(rejectedPmidNew)) {
-	        						rejectedPmids.add(rejectedPmidNew);
-	        					}
-	        				}
-        				}
-        				goldStandardNew.setRejectedPmids(rejectedPmids);
-        			}
-        			
-        			if(goldStandardDdb.getAuditLog() != null
-    						&&
-    						goldStandardDdb.getAuditLog().size() > 0) {
-    					if(goldStandardNew.getAuditLog() != null
-    							&&
-    							goldStandardNew.getAuditLog().size() > 0) {
-    						goldStandardNew.getAuditLog().addAll(goldStandardDdb.getAuditLog());
-    					} else {
-    						goldStandardNew.setAuditLog(goldStandardDdb.getAuditLog());
-    					}
-    				}
-    			}
-    			dynamoDbGoldStandardRepository.saveAll(goldStandard);
+    		Map<String, GoldStandard> goldStandardDdbMap = findByUids(goldStandardUids)
+    				.stream()
+    				.collect(Collectors.toMap(GoldStandard::getUid, Function.identity(), (first, second) -> first));
+    		for(GoldStandard goldStandardNew: goldStandard) {
+    			mergeAndSave(goldStandardNew, goldStandardDdbMap.get(goldStandardNew.getUid()), goldStandardUpdateFlag);
     		}
     	}
-		
+		goldStandard.forEach(pendingArticleIndexService::update);
+
 	}
 
 
@@ -229,5 +125,144 @@ public class DynamoDbGoldStandardService implements IDynamoDbGoldStandardService
 		}
 		return goldStanards;
 	}
-		
-}
\ No newline at end of file
+
+	/**
+	 * Merges the feedback in goldStandard into goldStandardDdb and saves it conditionally. On a concurrent
+	 * modification the stored item is read again and the same feedback is re-applied to it.
+	 * The merged lists are set back on goldStandard so callers can return the stored state.
+	 * @param goldStandard feedback sent by the caller
+	 * @param goldStandardDdb currently stored item or null if there is none
+	 * @param goldStandardUpdateFlag UPDATE or DELETE
+	 */
+	private void mergeAndSave(GoldStandard goldStandard, GoldStandard goldStandardDdb, GoldStandardUpdateFlag goldStandardUpdateFlag) {
+		Set<Long> requestKnownPmids = toSet(goldStandard.getKnownPmids());
+		Set<Long> requestRejectedPmids = toSet(goldStandard.getRejectedPmids());
+		List<?> requestAuditLog = goldStandard.getAuditLog() == null ? null : new ArrayList<>(goldStandard.getAuditLog());
+
+		for(int attempt = 1; attempt <= MAX_CONDITIONAL_SAVE_ATTEMPTS; attempt++) {
+			Set<Long> acceptedPmids = toSet(goldStandardDdb == null ? null : goldStandardDdb.getKnownPmids());
+			Set<Long> rejectedPmids = toSet(goldStandardDdb == null ? null : goldStandardDdb.getRejectedPmids());
+
+			if(goldStandardUpdateFlag == GoldStandardUpdateFlag.DELETE) {
+				acceptedPmids.removeAll(requestKnownPmids);
+				rejectedPmids.removeAll(requestRejectedPmids);
+			} else {
+				//A pmid can only be in one of the lists. When it is sent as both, rejected wins.
+				acceptedPmids.addAll(requestKnownPmids);
+				acceptedPmids.removeAll(requestRejectedPmids);
+				rejectedPmids.removeAll(requestKnownPmids);
+				rejectedPmids.addAll(requestRejectedPmids);
+			}
+
+			goldStandard.setKnownPmids(new ArrayList<>(acceptedPmids));
+			goldStandard.setRejectedPmids(new ArrayList<>(rejectedPmids));
+			if(goldStandardDdb == null && goldStandardUpdateFlag == GoldStandardUpdateFlag.DELETE) {
+				//Nothing stored to delete from
+				return;
+			}
+			setAuditLog(goldStandard, requestAuditLog, goldStandardDdb);
+
+			try {
+				dynamoDBMapper.save(goldStandard, expectUnchanged(goldStandardDdb));
+				return;
+			} catch(ConditionalCheckFailedException e) {
+				log.info("GoldStandard for uid " + goldStandard.getUid() + " was modified concurrently. Re-applying feedback, attempt " + attempt);
+				goldStandardDdb = findByUid(goldStandard.getUid());
+			}
+		}
+		throw new ConcurrentGoldStandardModificationException("GoldStandard for uid " + goldStandard.getUid() + " could not be saved after "
+				+ MAX_CONDITIONAL_SAVE_ATTEMPTS + " attempts because of concurrent modifications");
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private static void setAuditLog(GoldStandard goldStandard, List requestAuditLog, GoldStandard goldStandardDdb) {
+		List auditLog = requestAuditLog == null ? new ArrayList() : new ArrayList(requestAuditLog);
+		if(goldStandardDdb != null && goldStandardDdb.getAuditLog() != null) {
+			auditLog.addAll(goldStandardDdb.getAuditLog());
+		}
+		if(requestAuditLog == null && (goldStandardDdb == null || goldStandardDdb.getAuditLog() == null)) {
+			goldStandard.setAuditLog(null);
+		} else {
+			goldStandard.setAuditLog(auditLog);
+		}
+	}
+
+	/**
+	 * Builds a save expression which only succeeds if every mapped attribute of the stored item still
+	 * has the value it had in goldStandardDdb. If goldStandardDdb is null the item must not exist yet.
+	 */
+	private DynamoDBSaveExpression expectUnchanged(GoldStandard goldStandardDdb) {
+		Map<String, ExpectedAttributeValue> expected = new HashMap<>();
+		if(goldStandardDdb == null) {
+			expected.put(goldStandardTableModel.hashKey().name(), new ExpectedAttributeValue(false));
+		} else {
+			Map<String, AttributeValue> storedAttributes = goldStandardTableModel.convert(goldStandardDdb);
+			for(DynamoDBMapperFieldModel<GoldStandard, Object> field: goldStandardTableModel.fields()) {
+				AttributeValue storedValue = storedAttributes.get(field.name());
+				if(storedValue == null) {
+					expected.put(field.name(), new ExpectedAttributeValue(false));
+				} else {
+					expected.put(field.name(), new ExpectedAttributeValue(storedValue).withComparisonOperator(ComparisonOperator.EQ));
+				}
+			}
+		}
+		return new DynamoDBSaveExpression().withExpected(expected);
+	}
+
+	/**
+	 * When deleting pmids from GoldStandard it will delete them from eSearchResult as well if they exist.
+	 * All ESearchResults are read and written in one batch and only the ones that changed are written.
+	 */
+	private void removeFromESearchResults(List<GoldStandard> goldStandards) {
+		Map<String, Set<Long>> removedPmidsByUid = new HashMap<>();
+		for(GoldStandard goldStandard: goldStandards) {
+			Set<Long> removedPmids = removedPmidsByUid.computeIfAbsent(goldStandard.getUid(), uid -> new HashSet<>());
+			removedPmids.addAll(toSet(goldStandard.getKnownPmids()));
+			removedPmids.addAll(toSet(goldStandard.getRejectedPmids()));
+		}
+		removedPmidsByUid.values().removeIf(Set::isEmpty);
+		if(removedPmidsByUid.isEmpty()) {
+			return;
+		}
+
+		List<ESearchResult> changedESearchResults = new ArrayList<>();
+		for(ESearchResult eSearchResult: eSearchResultService.findByUids(new ArrayList<>(removedPmidsByUid.keySet()))) {
+			if(eSearchResult == null || eSearchResult.getESearchPmids() == null) {
+				continue;
+			}
+			Set<Long> removedPmids = removedPmidsByUid.get(eSearchResult.getUid());
+			if(removedPmids == null) {
+				continue;
+			}
+			boolean changed = false;
+			for(ESearchPmid eSearchPmid: eSearchResult.getESearchPmids()) {
+				if(eSearchPmid.getRetrievalStrategyName().equalsIgnoreCase("GoldStandardRetrievalStrategy") && eSearchPmid.getPmids() != null) {
+					changed |= eSearchPmid.getPmids().removeAll(removedPmids);
+				}
+			}
+			if(changed) {
+				changedESearchResults.add(eSearchResult);
+			}
+		}
+		if(!changedESearchResults.isEmpty()) {
+			eSearchResultService.saveAll(changedESearchResults);
+		}
+	}
+
+	private static Set<Long> toSet(Collection<Long> pmids) {
+		return pmids == null ? new LinkedHashSet<>() : new LinkedHashSet<>(pmids);
+	}
+
+	/**
+	 * Thrown when a GoldStandard keeps getting modified by other writers while this one retries.
+	 */
+	public static class ConcurrentGoldStandardModificationException extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		public ConcurrentGoldStandardModificationException(String message) {
+			super(message);
+		}
+	}
+
+}
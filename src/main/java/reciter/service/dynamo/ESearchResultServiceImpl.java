@@ -1,5 +1,8 @@
 package reciter.service.dynamo;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,6 +29,18 @@ public class ESearchResultServiceImpl implements ESearchResultService {
         return eSearchResultRepository.findById(uid).orElseGet(() -> null);
     }
 
+    @Override
+    public List<ESearchResult> findByUids(List<String> uids) {
+        List<ESearchResult> eSearchResults = new ArrayList<>(uids.size());
+        eSearchResultRepository.findAllById(uids).forEach(eSearchResults::add);
+        return eSearchResults;
+    }
+
+    @Override
+    public void saveAll(List<ESearchResult> eSearchResults) {
+        eSearchResultRepository.saveAll(eSearchResults);
+    }
+
     @Override
     public boolean pushESearchResult(ESearchResult eSearchResult) {
         return false;
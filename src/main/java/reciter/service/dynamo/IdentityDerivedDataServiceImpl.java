@@ -0,0 +1,74 @@
+package reciter.service.dynamo;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+import reciter.engine.IdentityDerivedData;
+import reciter.model.identity.Identity;
+import reciter.service.IdentityDerivedDataService;
+
+/**
+ * Keeps the derived data of the most recently used identities in memory. Entries are dropped when the identity is
+ * saved and replaced when the identity fields or the reference data they were derived from changed.
+ */
+@Slf4j
+@Service
+public class IdentityDerivedDataServiceImpl implements IdentityDerivedDataService {
+
+	private final boolean enabled;
+
+	private final Map<String, IdentityDerivedData> cache;
+
+	public IdentityDerivedDataServiceImpl(@Value("${identity.derived.cache.enabled:true}") boolean enabled,
+			@Value("${identity.derived.cache.maxEntries:10000}") int maxEntries) {
+		this.enabled = enabled;
+		this.cache = new LinkedHashMap<String, IdentityDerivedData>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, IdentityDerivedData> eldest) {
+				return size() > maxEntries;
+			}
+		};
+	}
+
+	@Override
+	public IdentityDerivedData get(Identity identity) {
+		String fingerprint = IdentityDerivedData.fingerprint(identity);
+		if(!enabled || identity.getUid() == null) {
+			return new IdentityDerivedData(fingerprint);
+		}
+		synchronized (cache) {
+			IdentityDerivedData derivedData = cache.get(identity.getUid());
+			if(derivedData == null || !derivedData.getFingerprint().equals(fingerprint)) {
+				if(derivedData != null) {
+					log.info("Derived data for " + identity.getUid() + " is stale and will be recomputed");
+				}
+				derivedData = new IdentityDerivedData(fingerprint);
+				cache.put(identity.getUid(), derivedData);
+			}
+			return derivedData;
+		}
+	}
+
+	@Override
+	public void invalidate(String uid) {
+		if(uid == null) {
+			return;
+		}
+		synchronized (cache) {
+			cache.remove(uid);
+		}
+	}
+
+	@Override
+	public void invalidateAll() {
+		synchronized (cache) {
+			cache.clear();
+		}
+	}
+}
@@ -5,21 +5,29 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Service;
 
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import lombok.extern.slf4j.Slf4j;
-import reciter.database.dynamodb.DynamoDbS3Operations;
 import reciter.database.dynamodb.repository.IdentityRepository;
 import reciter.model.identity.Identity;
 import reciter.service.IdentityService;
-import reciter.storage.s3.AmazonS3Config;
 
-import java.time.Duration;
-import java.time.LocalDate;
-import java.time.ZoneId;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Date;
-import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
 
 @Slf4j
 @Primary
@@ -29,20 +37,39 @@ public class IdentityServiceImpl implements IdentityService {
     @Autowired
     private IdentityRepository identityRepository;
 
-    @Autowired(required=true)
-    private DynamoDbS3Operations ddbs3;
-    
-    @Value("${aws.s3.use}")
-    private boolean isS3Use;
-    
-    @Value("${aws.dynamoDb.local}")
-    private boolean isDynamoDbLocal;
+    @Autowired
+    private AmazonDynamoDB amazonDynamoDB;
+
+    @Autowired
+    private DynamoDBMapperConfig dynamoDBMapperConfig;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${aws.dynamodb.settings.identity.scan.segments:8}")
+    private int scanSegments;
+
+    @Value("${identity.cache.enabled:true}")
+    private boolean isIdentityCaching;
+
+    @Value("${identity.cache.maxAgeMinutes:60}")
+    private long cacheMaxAgeMinutes;
+
+    private DynamoDBMapper dynamoDBMapper;
 
-    @Value("${aws.s3.use.cached.identityAll}")
-    private boolean isIdentityAllS3Caching;
+    /**
+     * Serialized identities by uid so callers of findAll get their own copies. Loaded by the first findAll and then
+     * kept up to date by save and delete of this instance. Writes from other instances are picked up when the cache
+     * is older than identity.cache.maxAgeMinutes and the next findAll scans the table again.
+     */
+    private volatile Map<String, byte[]> identityCache;
 
-    @Value("${aws.s3.use.cached.identityAll.cacheTime}")
-    private long s3CachingDays;
+    private volatile long identityCacheLoadedAt;
+
+    @PostConstruct
+    public void init() {
+        dynamoDBMapper = new DynamoDBMapper(amazonDynamoDB, dynamoDBMapperConfig);
+    }
 
     @Override
     public void save(Collection<Identity> identities) {
@@ -54,6 +81,7 @@ public class IdentityServiceImpl implements IdentityService {
             identitiesDynamos.add(identityDynamo);
         }
         identityRepository.saveAll(identitiesDynamos);
+        identities.forEach(this::updateCache);
     }
 
     @Override
@@ -62,6 +90,7 @@ public class IdentityServiceImpl implements IdentityService {
                 identity.getUid(), identity
         );
         identityRepository.save(identityDynamo);
+        updateCache(identity);
     }
 
     @Override
@@ -82,64 +111,106 @@ public class IdentityServiceImpl implements IdentityService {
 
     @Override
     public List<Identity> findAll() {
-        List<Identity> identities = null;
-        if(isS3Use && !isDynamoDbLocal && isIdentityAllS3Caching) {
-            log.info("Getting all identity information from S3");
-            Date lastModifiedDate = ddbs3.getObjectSaveTimestamp(AmazonS3Config.BUCKET_NAME, Identity.class.getSimpleName() + "/" + "identityAll");
-            if(lastModifiedDate != null) {
-                long daysBetween = Duration.between(lastModifiedDate.toInstant().atZone(ZoneId.systemDefault()).toLocalDate().atStartOfDay(), LocalDate.now().atStartOfDay()).toDays();
-                if(daysBetween >= this.s3CachingDays) {
-                    log.info("Storing all identity information in S3 since cache time of " + this.s3CachingDays + " days has been invalidated");
-                    log.info("Scanning Identity table for all identities");
-                    Iterable<reciter.database.dynamodb.model.Identity> it = identityRepository.findAll();
-                    identities = new ArrayList<>();
-                    Iterator<reciter.database.dynamodb.model.Identity> iterator = it.iterator();
-                    while (iterator.hasNext()) {
-                        Identity identity = iterator.next().getIdentity();
-                        identities.add(identity);
-                    }
-                    ddbs3.saveLargeItem(AmazonS3Config.BUCKET_NAME, identities, Identity.class.getSimpleName() + "/" + "identityAll");
-                } else {
-                    identities = (List<Identity>) ddbs3.retrieveLargeItem(AmazonS3Config.BUCKET_NAME,
-                    Identity.class.getSimpleName() + "/" + "identityAll", Identity.class);
-                }
-            } 
-            if(identities == null || lastModifiedDate == null) {
-                log.info("Scanning Identity table for all identities");
-                Iterable<reciter.database.dynamodb.model.Identity> it = identityRepository.findAll();
-                identities = new ArrayList<>();
-                Iterator<reciter.database.dynamodb.model.Identity> iterator = it.iterator();
-                while (iterator.hasNext()) {
-                    Identity identity = iterator.next().getIdentity();
-                    identities.add(identity);
-                }
-                //Case when putting the object for first time
-                log.info("Storing all identity information for first time in S3");
-                ddbs3.saveLargeItem(AmazonS3Config.BUCKET_NAME, identities, Identity.class.getSimpleName() + "/" + "identityAll");
-            }
-        } else if (!isS3Use || !isIdentityAllS3Caching || isDynamoDbLocal) {
-            log.info("Using Dynamodb scanning of identities since s3 caching is disabled or using dynamodb local.\nTo enable caching set both aws.s3.use and aws.s3.use.cached.identityAll flag to true");
-            Iterable<reciter.database.dynamodb.model.Identity> it = identityRepository.findAll();
-            identities = new ArrayList<>();
-            Iterator<reciter.database.dynamodb.model.Identity> iterator = it.iterator();
-            while (iterator.hasNext()) {
-                Identity identity = iterator.next().getIdentity();
-                identities.add(identity);
-            }
+        if (!isIdentityCaching) {
+            return scan(null).stream()
+                    .map(reciter.database.dynamodb.model.Identity::getIdentity)
+                    .collect(Collectors.toList());
+        }
+        return loadCache().values().parallelStream()
+                .map(this::deserialize)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<String> findAllUids() {
+        if (isIdentityCaching && identityCache != null && !isCacheExpired()) {
+            return new ArrayList<>(identityCache.keySet());
         }
+        return scan("uid").stream()
+                .map(reciter.database.dynamodb.model.Identity::getUid)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Parallel scan of the Identity table with aws.dynamodb.settings.identity.scan.segments segments
+     * @param projectionExpression attributes to read, all if null
+     */
+    private List<reciter.database.dynamodb.model.Identity> scan(String projectionExpression) {
+        DynamoDBScanExpression scanExpression = new DynamoDBScanExpression();
+        if (projectionExpression != null) {
+            scanExpression.withProjectionExpression(projectionExpression);
+        }
+        long start = System.currentTimeMillis();
+        List<reciter.database.dynamodb.model.Identity> identities = new ArrayList<>(
+                dynamoDBMapper.parallelScan(reciter.database.dynamodb.model.Identity.class, scanExpression, scanSegments));
+        log.info("Scanned " + identities.size() + " identities with " + scanSegments + " segments in " + (System.currentTimeMillis() - start) + "ms");
         return identities;
     }
 
+    private Map<String, byte[]> loadCache() {
+        Map<String, byte[]> cache = identityCache;
+        if (cache != null && !isCacheExpired()) {
+            return cache;
+        }
+        synchronized (this) {
+            if (identityCache == null || isCacheExpired()) {
+                log.info("Loading identity cache from the Identity table");
+                Map<String, byte[]> loaded = new ConcurrentHashMap<>();
+                scan(null).parallelStream()
+                        .map(reciter.database.dynamodb.model.Identity::getIdentity)
+                        .forEach(identity -> loaded.put(identity.getUid(), serialize(identity)));
+                identityCacheLoadedAt = System.currentTimeMillis();
+                identityCache = loaded;
+            }
+            return identityCache;
+        }
+    }
+
+    private boolean isCacheExpired() {
+        return System.currentTimeMillis() - identityCacheLoadedAt > TimeUnit.MINUTES.toMillis(cacheMaxAgeMinutes);
+    }
+
+    private void updateCache(Identity identity) {
+        Map<String, byte[]> cache = identityCache;
+        if (cache != null) {
+            cache.put(identity.getUid(), serialize(identity));
+        }
+    }
+
+    private byte[] serialize(Identity identity) {
+        try {
+            return objectMapper.writeValueAsBytes(identity);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Identity deserialize(byte[] identity) {
+        try {
+            return objectMapper.readValue(identity, Identity.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @Override
     public void deleteAll() {
         identityRepository.deleteAll();
+        Map<String, byte[]> cache = identityCache;
+        if (cache != null) {
+            cache.clear();
+        }
     }
 
     @Override
     public void delete(String uid) {
         identityRepository.deleteById(uid);
+        Map<String, byte[]> cache = identityCache;
+        if (cache != null) {
+            cache.remove(uid);
+        }
     }
-    
+
     @Override
 	public long getItemCount() {
 		return identityRepository.count();
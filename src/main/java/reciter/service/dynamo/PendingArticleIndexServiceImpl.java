@@ -0,0 +1,155 @@
+package reciter.service.dynamo;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+
+import lombok.extern.slf4j.Slf4j;
+import reciter.database.dynamodb.model.GoldStandard;
+import reciter.database.dynamodb.model.PendingArticleIndex;
+import reciter.database.dynamodb.repository.PendingArticleIndexRepository;
+import reciter.engine.analysis.ReCiterArticleFeature;
+import reciter.engine.analysis.ReCiterArticleFeature.PublicationFeedback;
+import reciter.engine.analysis.ReCiterFeature;
+import reciter.service.PendingArticleIndexService;
+
+/**
+ * Keeps one small PendingArticleIndex item per uid so pending articles can be listed and counted without reading the
+ * AnalysisOutput, which may be stored in S3. Writes are versioned and re-applied on top of the stored item when
+ * another writer updated it in between.
+ */
+@Slf4j
+@Service
+public class PendingArticleIndexServiceImpl implements PendingArticleIndexService {
+
+	private static final int MAX_CONDITIONAL_SAVE_ATTEMPTS = 10;
+
+	@Autowired
+	private PendingArticleIndexRepository pendingArticleIndexRepository;
+
+	@Autowired
+	private AmazonDynamoDB amazonDynamoDB;
+
+	@Autowired
+	private DynamoDBMapperConfig dynamoDBMapperConfig;
+
+	private DynamoDBMapper dynamoDBMapper;
+
+	@PostConstruct
+	public void init() {
+		dynamoDBMapper = new DynamoDBMapper(amazonDynamoDB, dynamoDBMapperConfig);
+	}
+
+	@Override
+	public void update(String uid, ReCiterFeature reCiterFeature) {
+		if(reCiterFeature == null || reCiterFeature.getReCiterArticleFeatures() == null) {
+			return;
+		}
+		Map<String, Double> candidateScores = new HashMap<>();
+		Map<String, Double> pendingScores = new HashMap<>();
+		for(ReCiterArticleFeature reCiterArticleFeature: reCiterFeature.getReCiterArticleFeatures()) {
+			String pmid = String.valueOf(reCiterArticleFeature.getPmid());
+			candidateScores.put(pmid, reCiterArticleFeature.getTotalArticleScoreStandardized());
+			if(reCiterArticleFeature.getUserAssertion() == null || reCiterArticleFeature.getUserAssertion() == PublicationFeedback.NULL) {
+				pendingScores.put(pmid, reCiterArticleFeature.getTotalArticleScoreStandardized());
+			}
+		}
+		save(uid, stored -> new PendingArticleIndex(uid, candidateScores, pendingScores,
+				System.currentTimeMillis(), stored == null ? null : stored.getVersion()));
+	}
+
+	@Override
+	public void update(GoldStandard goldStandard) {
+		Set<String> feedbackPmids = new HashSet<>();
+		addPmids(feedbackPmids, goldStandard.getKnownPmids());
+		addPmids(feedbackPmids, goldStandard.getRejectedPmids());
+		save(goldStandard.getUid(), stored -> {
+			if(stored == null || stored.getCandidateScores() == null) {
+				//No analysis yet so there are no candidates to be pending
+				return null;
+			}
+			Map<String, Double> pendingScores = new HashMap<>(stored.getCandidateScores());
+			pendingScores.keySet().removeAll(feedbackPmids);
+			stored.setPendingScores(pendingScores);
+			stored.setUpdated(System.currentTimeMillis());
+			return stored;
+		});
+	}
+
+	/**
+	 * Reads the stored item, applies the update and saves it. A concurrent save fails the version check and the
+	 * update is applied again to the item it wrote.
+	 * @param update builds the new item from the stored one or null if there is nothing to save
+	 */
+	private void save(String uid, Function<PendingArticleIndex, PendingArticleIndex> update) {
+		for(int attempt = 1; attempt <= MAX_CONDITIONAL_SAVE_ATTEMPTS; attempt++) {
+			PendingArticleIndex pendingArticleIndex = update.apply(dynamoDBMapper.load(PendingArticleIndex.class, uid));
+			if(pendingArticleIndex == null) {
+				return;
+			}
+			try {
+				dynamoDBMapper.save(pendingArticleIndex);
+				return;
+			} catch(ConditionalCheckFailedException e) {
+				log.info("PendingArticleIndex for uid " + uid + " was modified concurrently. Re-applying update, attempt " + attempt);
+			}
+		}
+		//The index can be rebuilt by the next feature generation so a lost update is not an error for the caller
+		log.error("PendingArticleIndex for uid " + uid + " could not be saved after " + MAX_CONDITIONAL_SAVE_ATTEMPTS + " attempts");
+	}
+
+	private static void addPmids(Set<String> pmids, Collection<Long> feedbackPmids) {
+		if(feedbackPmids != null) {
+			feedbackPmids.forEach(pmid -> pmids.add(String.valueOf(pmid)));
+		}
+	}
+
+	@Override
+	public List<Long> findPendingPmids(String uid, double totalStandardizedArticleScore) {
+		PendingArticleIndex pendingArticleIndex = pendingArticleIndexRepository.findById(uid).orElseGet(() -> null);
+		if(pendingArticleIndex == null || pendingArticleIndex.getPendingScores() == null) {
+			return new ArrayList<>();
+		}
+		return pendingArticleIndex.getPendingScores().entrySet().stream()
+				.filter(entry -> entry.getValue() != null && entry.getValue() >= totalStandardizedArticleScore)
+				.sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+				.map(entry -> Long.valueOf(entry.getKey()))
+				.collect(Collectors.toList());
+	}
+
+	@Override
+	public Map<String, Long> countPending(double totalStandardizedArticleScore) {
+		DynamoDBScanExpression scanExpression = new DynamoDBScanExpression().withProjectionExpression("uid, pendingScores");
+		Map<String, Long> pendingCounts = new HashMap<>();
+		for(PendingArticleIndex pendingArticleIndex: dynamoDBMapper.scan(PendingArticleIndex.class, scanExpression)) {
+			long count = pendingArticleIndex.getPendingScores() == null ? 0 : pendingArticleIndex.getPendingScores().values().stream()
+					.filter(score -> score != null && score >= totalStandardizedArticleScore)
+					.count();
+			pendingCounts.put(pendingArticleIndex.getUid(), count);
+		}
+		return pendingCounts;
+	}
+
+	@Override
+	public void delete(String uid) {
+		pendingArticleIndexRepository.deleteById(uid);
+	}
+
+}
@@ -6,14 +6,16 @@ import org.springframework.stereotype.Service;
 import com.amazonaws.services.dynamodbv2.model.AmazonDynamoDBException;
 
 import lombok.extern.slf4j.Slf4j;
+import reciter.database.dynamodb.DynamoDbBatchReader;
 import reciter.database.dynamodb.repository.PubMedArticleRepository;
 import reciter.model.pubmed.PubMedArticle;
 import reciter.service.PubMedService;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service("pubMedService")
@@ -22,6 +24,9 @@ public class PubMedServiceImpl implements PubMedService {
     @Autowired
     private PubMedArticleRepository pubMedRepository;
 
+    @Autowired
+    private DynamoDbBatchReader dynamoDbBatchReader;
+
     @Override
     public void save(Collection<PubMedArticle> pubMedArticles) {
         List<reciter.database.dynamodb.model.PubMedArticle> pubmedArticlesDb = new ArrayList<>();
@@ -41,13 +46,15 @@ public class PubMedServiceImpl implements PubMedService {
 
     @Override
     public List<PubMedArticle> findByPmids(List<Long> pmids) {
-        List<PubMedArticle> pubMedArticles = null;
-        Iterator<reciter.database.dynamodb.model.PubMedArticle> iterator = pubMedRepository.findAllById(pmids).iterator();
-        pubMedArticles = new ArrayList<>(pmids.size());
-        while (iterator.hasNext()) {
-            pubMedArticles.add(iterator.next().getPubMedArticle());
-        }
-        return pubMedArticles;
+        return findByPmidsAsync(pmids).join();
+    }
+
+    @Override
+    public CompletableFuture<List<PubMedArticle>> findByPmidsAsync(List<Long> pmids) {
+        return dynamoDbBatchReader.load(reciter.database.dynamodb.model.PubMedArticle.class, pmids)
+                .thenApply(pubMedArticles -> pubMedArticles.stream()
+                        .map(reciter.database.dynamodb.model.PubMedArticle::getPubMedArticle)
+                        .collect(Collectors.toList()));
     }
 
     @Override
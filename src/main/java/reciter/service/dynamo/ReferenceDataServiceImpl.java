@@ -0,0 +1,231 @@
+package reciter.service.dynamo;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StopWatch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+import reciter.database.dynamodb.model.Gender;
+import reciter.database.dynamodb.model.InstitutionAfid;
+import reciter.database.dynamodb.model.ScienceMetrix;
+import reciter.database.dynamodb.model.ScienceMetrixDepartmentCategory;
+import reciter.engine.EngineParameters;
+import reciter.engine.EngineReferenceData;
+import reciter.engine.MeshTermCounts;
+import reciter.engine.ReferenceDataSnapshot;
+import reciter.service.GenderService;
+import reciter.service.ReferenceDataService;
+import reciter.service.ScienceMetrixDepartmentCategoryService;
+import reciter.service.ScienceMetrixService;
+import reciter.utils.AffiliationStrategyUtils;
+import reciter.utils.DegreeYearStrategyUtils;
+
+@Slf4j
+@Service("referenceDataService")
+public class ReferenceDataServiceImpl implements ReferenceDataService {
+
+	@Autowired
+	private DynamoDbMeshTermService dynamoDbMeshTermService;
+
+	@Autowired
+	private ScienceMetrixService scienceMetrixService;
+
+	@Autowired
+	private ScienceMetrixDepartmentCategoryService scienceMetrixDepartmentCategoryService;
+
+	@Autowired
+	private DynamoDbInstitutionAfidService dynamoDbInstitutionAfidService;
+
+	@Autowired
+	private GenderService genderService;
+
+	@Value("${use.scopus.articles}")
+	private boolean useScopusArticles;
+
+	@Value("${strategy.gender}")
+	private boolean useGenderStrategy;
+
+	@Value("${strategy.discrepancyDegreeYear.degreeYearDiscrepancyScore}")
+	private String degreeYearDiscrepancyScore;
+
+	@Value("${strategy.authorAffiliationScoringStrategy.institutionStopwords}")
+	private String instAfflInstitutionStopwords;
+
+	@Value("${aws.dynamodb.settings.file.import}")
+	private boolean isFileImport;
+
+	@Value("${reference.data.snapshot.enabled:false}")
+	private boolean useSnapshot;
+
+	@Value("${reference.data.snapshot.path:reference-data.snapshot}")
+	private String snapshotPath;
+
+	@Value("${reference.data.snapshot.maxAgeHours:24}")
+	private long snapshotMaxAgeHours;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final AtomicLong versions = new AtomicLong();
+
+	private final Object reloadLock = new Object();
+
+	private final ExecutorService reloadExecutor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "reference-data-reload");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private CompletableFuture<EngineReferenceData> runningReload;
+
+	@Override
+	public EngineReferenceData initialize() {
+		if(useSnapshot && !isFileImport) {
+			Path path = Paths.get(snapshotPath);
+			if(Files.exists(path)) {
+				try {
+					ReferenceDataSnapshot snapshot = ReferenceDataSnapshot.read(path, objectMapper);
+					if(snapshot.isFresh(getFingerprint(), Duration.ofHours(snapshotMaxAgeHours), Instant.now())) {
+						EngineReferenceData referenceData = withConfiguredParameters(snapshot.getReferenceData().toBuilder()).build();
+						versions.set(referenceData.getVersion());
+						EngineParameters.swapReferenceData(referenceData);
+						log.info("Loaded reference data from snapshot " + path + " created at " + snapshot.getCreatedAt() + ": " + referenceData.getSummary());
+						return referenceData;
+					}
+					log.info("Reference data snapshot " + path + " created at " + snapshot.getCreatedAt() + " is stale, loading from DynamoDb");
+				} catch (IOException e) {
+					log.warn("Could not read reference data snapshot " + path + ", loading from DynamoDb", e);
+				}
+			}
+		}
+		return reload();
+	}
+
+	@Override
+	public EngineReferenceData load() {
+		StopWatch stopWatch = new StopWatch("Load reference data");
+		EngineReferenceData.EngineReferenceDataBuilder referenceData = EngineReferenceData.builder();
+
+		stopWatch.start("ScienceMetrixJournals");
+		List<ScienceMetrix> scienceMetrixJournals = scienceMetrixService.findAll();
+		if(scienceMetrixJournals != null) {
+			referenceData.scienceMetrixJournals(Collections.unmodifiableList(scienceMetrixJournals));
+		}
+		stopWatch.stop();
+
+		stopWatch.start("ScienceMetrixDepartmentCategories");
+		List<ScienceMetrixDepartmentCategory> scienceMetrixDeptCategories = scienceMetrixDepartmentCategoryService.findAll();
+		if(scienceMetrixDeptCategories != null) {
+			referenceData.scienceMetrixDepartmentCategories(Collections.unmodifiableList(scienceMetrixDeptCategories));
+		}
+		stopWatch.stop();
+
+		stopWatch.start("MeshTermCounts");
+		referenceData.meshTermCounts(MeshTermCounts.of(dynamoDbMeshTermService.findAll()));
+		stopWatch.stop();
+
+		if(useGenderStrategy) {
+			stopWatch.start("GenderProbability");
+			List<Gender> genders = genderService.findAll();
+			if(genders != null && !genders.isEmpty()) {
+				referenceData.genders(Collections.unmodifiableList(genders));
+			}
+			stopWatch.stop();
+		}
+
+		if(useScopusArticles) {
+			stopWatch.start("ScopusInstitutionalAfids");
+			List<InstitutionAfid> instAfids = dynamoDbInstitutionAfidService.findAll();
+			if(instAfids != null && instAfids.size() > 0) {
+				Map<String, List<String>> institutionAfids = instAfids.stream().collect(Collectors.toMap(InstitutionAfid::getInstitution, InstitutionAfid::getAfids));
+				referenceData.afiliationNameToAfidMap(Collections.unmodifiableMap(institutionAfids));
+			}
+			stopWatch.stop();
+		}
+
+		EngineReferenceData loaded = withConfiguredParameters(referenceData)
+				.version(versions.incrementAndGet())
+				.loadedAt(Instant.now())
+				.build();
+		log.info(stopWatch.prettyPrint());
+		return loaded;
+	}
+
+	@Override
+	public EngineReferenceData reload() {
+		synchronized (reloadLock) {
+			EngineReferenceData referenceData = load();
+			EngineReferenceData previous = EngineParameters.swapReferenceData(referenceData);
+			log.info("Swapped reference data version " + previous.getVersion() + " for " + referenceData.getSummary());
+			if(useSnapshot) {
+				try {
+					ReferenceDataSnapshot.write(Paths.get(snapshotPath), referenceData, getFingerprint(), objectMapper);
+				} catch (IOException e) {
+					log.warn("Could not write reference data snapshot " + snapshotPath, e);
+				}
+			}
+			return referenceData;
+		}
+	}
+
+	/**
+	 * Reference data built from application properties rather than DynamoDb
+	 */
+	private EngineReferenceData.EngineReferenceDataBuilder withConfiguredParameters(EngineReferenceData.EngineReferenceDataBuilder referenceData) {
+		return referenceData
+				.degreeYearDiscrepancyScoreMap(Collections.unmodifiableMap(new DegreeYearStrategyUtils().getDegreeYearDiscrepancyScoreMap(degreeYearDiscrepancyScore)))
+				.regexForStopWords(new AffiliationStrategyUtils().constructRegexForStopWords(instAfflInstitutionStopwords));
+	}
+
+	/**
+	 * A snapshot is only reused when the same optional tables were loaded into it
+	 */
+	private String getFingerprint() {
+		return "gender=" + useGenderStrategy + ";scopus=" + useScopusArticles;
+	}
+
+	@Override
+	public synchronized CompletableFuture<EngineReferenceData> reloadAsync() {
+		if(runningReload == null || runningReload.isDone()) {
+			runningReload = CompletableFuture.supplyAsync(this::reload, reloadExecutor);
+			runningReload.exceptionally(e -> {
+				log.error("Reference data reload failed, keeping version " + EngineParameters.getReferenceData().getVersion(), e);
+				return null;
+			});
+		}
+		return runningReload;
+	}
+
+	/**
+	 * Periodic reload, disabled unless reference.data.reload.cron is set
+	 */
+	@Scheduled(cron = "${reference.data.reload.cron:-}")
+	public void scheduledReload() {
+		reloadAsync();
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		reloadExecutor.shutdownNow();
+	}
+}
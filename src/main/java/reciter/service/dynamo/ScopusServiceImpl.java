@@ -3,14 +3,16 @@ package reciter.service.dynamo;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import reciter.database.dynamodb.DynamoDbBatchReader;
 import reciter.database.dynamodb.repository.ScopusArticleRepository;
 import reciter.model.scopus.ScopusArticle;
 import reciter.service.ScopusService;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service("scopusService")
@@ -19,6 +21,9 @@ public class ScopusServiceImpl implements ScopusService {
     @Autowired
     private ScopusArticleRepository scopusRepository;
 
+    @Autowired
+    private DynamoDbBatchReader dynamoDbBatchReader;
+
     @Override
     public void save(Collection<ScopusArticle> scopusArticles) {
         List<reciter.database.dynamodb.model.ScopusArticle> dbScopusArticles = new ArrayList<>();
@@ -52,13 +57,15 @@ public class ScopusServiceImpl implements ScopusService {
 
     @Override
     public List<ScopusArticle> findByPmids(List<String> pmids) {
-        List<ScopusArticle> scopusArticles = null;
-        Iterator<reciter.database.dynamodb.model.ScopusArticle> iterator = scopusRepository.findAllById(pmids).iterator();
-        scopusArticles = new ArrayList<>(pmids.size());
-        while (iterator.hasNext()) {
-            scopusArticles.add(iterator.next().getScopusArticle());
-        }
-        return scopusArticles;
+        return findByPmidsAsync(pmids).join();
+    }
+
+    @Override
+    public CompletableFuture<List<ScopusArticle>> findByPmidsAsync(List<String> pmids) {
+        return dynamoDbBatchReader.load(reciter.database.dynamodb.model.ScopusArticle.class, pmids)
+                .thenApply(scopusArticles -> scopusArticles.stream()
+                        .map(reciter.database.dynamodb.model.ScopusArticle::getScopusArticle)
+                        .collect(Collectors.toList()));
     }
 
     @Override
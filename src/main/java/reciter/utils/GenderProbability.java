@@ -26,6 +26,17 @@ public class GenderProbability {
 	 * Finds the Gender Name and the probability from Gender table and assigns to identity
 	 */
 	public static void getGenderIdentityProbability(Identity identity) {
+		Gender gender = computeGenderIdentityProbability(identity);
+		if(gender != null) {
+			identity.setGender(gender);
+		}
+	}
+	
+	/**
+	 * @param identity
+	 * @return average probability of the Gender table names matching the identity names, null if none match
+	 */
+	public static Gender computeGenderIdentityProbability(Identity identity) {
 		List<Gender> genders = EngineParameters.getGenders();
 		List<Gender> matchingGenders = new ArrayList<Gender>();
 		Set<String> identityNames = new HashSet<String>();
@@ -105,9 +116,10 @@ public class GenderProbability {
 						.add(new Gender(matchGender.getUniqueId(), matchGender.getName(), matchGender.getGender(), ((matchGender.getGender() == GenderEnum.F)?(1 - matchGender.getProbability()):matchGender.getProbability())));
 					});
 					Double avgProbability = matchingGendersCopy.stream().mapToDouble(Gender::getProbability).average().getAsDouble();
-					identity.setGender(new Gender(null, null, null, avgProbability));
+					return new Gender(null, null, null, avgProbability);
 			}
 		}
+		return null;
 	}
 	
 	/**
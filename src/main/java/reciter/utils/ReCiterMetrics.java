@@ -0,0 +1,160 @@
+package reciter.utils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Micrometer timers and counters for the engine and the retrieval pipeline. The engine classes are not spring beans
+ * so this records to the global registry which spring boot actuator adds its own registry to and exposes under /actuator/metrics.
+ * Every timer is tagged with the stage or strategy name and an outcome of success or error.
+ * Each recorded unit also logs one summary line with its name, outcome and duration, at info level for engine stages
+ * and at debug level for the finer grained strategies and passes.
+ */
+@Slf4j
+public final class ReCiterMetrics {
+
+	/**
+	 * Timer for each stage of feature generation e.g. esearch-fetch, pubmed-load, translate, cluster, score, persist
+	 */
+	public static final String ENGINE_STAGE = "reciter.engine.stage";
+
+	/**
+	 * Timer for each evidence strategy in ReCiterArticleScorer
+	 */
+	public static final String ENGINE_STRATEGY = "reciter.engine.strategy";
+
+	/**
+	 * Timer for each clustering pass in ReCiterClusterer
+	 */
+	public static final String CLUSTERING_PASS = "reciter.engine.clustering.pass";
+
+	/**
+	 * Number of clusters left after each clustering pass
+	 */
+	public static final String CLUSTERING_PASS_CLUSTERS = "reciter.engine.clustering.pass.clusters";
+
+	/**
+	 * Timer for each retrieval strategy
+	 */
+	public static final String RETRIEVAL_STRATEGY = "reciter.retrieval.strategy";
+
+	/**
+	 * Number of articles returned by each retrieval strategy
+	 */
+	public static final String RETRIEVAL_STRATEGY_ARTICLES = "reciter.retrieval.strategy.articles";
+
+	public static final String TAG_STAGE = "stage";
+	public static final String TAG_STRATEGY = "strategy";
+	public static final String TAG_PASS = "pass";
+	public static final String TAG_OUTCOME = "outcome";
+
+	public static final String OUTCOME_SUCCESS = "success";
+	public static final String OUTCOME_ERROR = "error";
+
+	private ReCiterMetrics() {
+	}
+
+	/**
+	 * A unit of work whose duration is recorded. It can throw the same checked exception as the code it wraps.
+	 */
+	@FunctionalInterface
+	public interface TimedCall<T, E extends Exception> {
+		T call() throws E;
+	}
+
+	/**
+	 * Same as {@link TimedCall} for work that does not return anything.
+	 */
+	@FunctionalInterface
+	public interface TimedRun<E extends Exception> {
+		void run() throws E;
+	}
+
+	public static <T, E extends Exception> T recordStage(String stage, TimedCall<T, E> call) throws E {
+		return record(ENGINE_STAGE, TAG_STAGE, stage, call);
+	}
+
+	public static <E extends Exception> void recordStage(String stage, TimedRun<E> run) throws E {
+		record(ENGINE_STAGE, TAG_STAGE, stage, toCall(run));
+	}
+
+	/**
+	 * Records a stage that runs asynchronously from the moment it is started until the returned future completes,
+	 * independent of when the caller waits for it.
+	 */
+	public static <T> CompletableFuture<T> recordStageAsync(String stage, Supplier<CompletableFuture<T>> start) {
+		Timer.Sample sample = Timer.start(Metrics.globalRegistry);
+		CompletableFuture<T> future;
+		try {
+			future = start.get();
+		} catch (RuntimeException e) {
+			stop(sample, ENGINE_STAGE, TAG_STAGE, stage, OUTCOME_ERROR);
+			throw e;
+		}
+		return future.whenComplete((result, throwable) -> stop(sample, ENGINE_STAGE, TAG_STAGE, stage, throwable == null ? OUTCOME_SUCCESS : OUTCOME_ERROR));
+	}
+
+	public static <E extends Exception> void recordStrategy(String strategy, TimedRun<E> run) throws E {
+		record(ENGINE_STRATEGY, TAG_STRATEGY, strategy, toCall(run));
+	}
+
+	public static <T, E extends Exception> T recordClusteringPass(String pass, TimedCall<T, E> call) throws E {
+		return record(CLUSTERING_PASS, TAG_PASS, pass, call);
+	}
+
+	public static <T, E extends Exception> T recordRetrievalStrategy(String strategy, TimedCall<T, E> call) throws E {
+		return record(RETRIEVAL_STRATEGY, TAG_STRATEGY, strategy, call);
+	}
+
+	public static void recordClusterCount(String pass, int clusterCount) {
+		DistributionSummary.builder(CLUSTERING_PASS_CLUSTERS)
+			.tag(TAG_PASS, pass)
+			.register(Metrics.globalRegistry)
+			.record(clusterCount);
+	}
+
+	public static void recordRetrievedArticles(String strategy, int articleCount) {
+		Metrics.counter(RETRIEVAL_STRATEGY_ARTICLES, TAG_STRATEGY, strategy).increment(articleCount);
+	}
+
+	private static <T, E extends Exception> T record(String name, String tagKey, String tagValue, TimedCall<T, E> call) throws E {
+		Timer.Sample sample = Timer.start(Metrics.globalRegistry);
+		String outcome = OUTCOME_ERROR;
+		try {
+			T result = call.call();
+			outcome = OUTCOME_SUCCESS;
+			return result;
+		} finally {
+			stop(sample, name, tagKey, tagValue, outcome);
+		}
+	}
+
+	private static void stop(Timer.Sample sample, String name, String tagKey, String tagValue, String outcome) {
+		long durationNanos = sample.stop(Timer.builder(name)
+				.tag(tagKey, tagValue)
+				.tag(TAG_OUTCOME, outcome)
+				.publishPercentileHistogram()
+				.register(Metrics.globalRegistry));
+		logSummary(name, tagKey, tagValue, outcome, durationNanos);
+	}
+
+	private static void logSummary(String name, String tagKey, String tagValue, String outcome, long durationNanos) {
+		if(ENGINE_STAGE.equals(name)) {
+			log.info("{} {}={} {}={} durationMs={}", name, tagKey, tagValue, TAG_OUTCOME, outcome, durationNanos / 1_000_000);
+		} else if(log.isDebugEnabled()) {
+			log.debug("{} {}={} {}={} durationMs={}", name, tagKey, tagValue, TAG_OUTCOME, outcome, durationNanos / 1_000_000);
+		}
+	}
+
+	private static <E extends Exception> TimedCall<Void, E> toCall(TimedRun<E> run) {
+		return () -> {
+			run.run();
+			return null;
+		};
+	}
+}
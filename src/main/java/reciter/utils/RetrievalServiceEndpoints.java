@@ -0,0 +1,48 @@
+package reciter.utils;
+
+/**
+ * Base urls of the PubMed and Scopus retrieval services. They come from the PUBMED_SERVICE and SCOPUS_SERVICE
+ * environment variables and can be overridden with a system property of the same name, which lets integration
+ * and performance tests point retrieval at a local stand-in service.
+ */
+public final class RetrievalServiceEndpoints {
+
+	public static final String PUBMED_SERVICE = "PUBMED_SERVICE";
+
+	public static final String SCOPUS_SERVICE = "SCOPUS_SERVICE";
+
+	private RetrievalServiceEndpoints() {
+	}
+
+	public static String getPubMedService() {
+		return resolve(PUBMED_SERVICE);
+	}
+
+	public static String getScopusService() {
+		return resolve(SCOPUS_SERVICE);
+	}
+
+	/**
+	 * @param path path below the pubmed service e.g. /query-complex/
+	 */
+	public static String getPubMedUrl(String path) {
+		String pubmedService = getPubMedService();
+		return pubmedService.endsWith("/pubmed") ? pubmedService + path : pubmedService + "/pubmed" + path;
+	}
+
+	/**
+	 * @param path path below the scopus service e.g. /query/
+	 */
+	public static String getScopusUrl(String path) {
+		String scopusService = getScopusService();
+		return scopusService.endsWith("/scopus") ? scopusService + path : scopusService + "/scopus" + path;
+	}
+
+	private static String resolve(String name) {
+		String endpoint = System.getProperty(name);
+		if(endpoint == null || endpoint.isEmpty()) {
+			endpoint = System.getenv(name);
+		}
+		return endpoint;
+	}
+}
@@ -0,0 +1,102 @@
+package reciter.utils;
+
+import java.util.Arrays;
+
+/**
+ * Levenshtein distance for name matching. Callers only care whether two names are within a small distance, so the
+ * bounded variant gives up as soon as the distance is known to exceed the limit: strings whose lengths differ by more
+ * than the limit are rejected without any work, only a diagonal band of width 2 * maxDistance + 1 is computed
+ * (Ukkonen) and a row whose band is entirely above the limit ends the computation. The two rows of the matrix are
+ * per thread buffers reused across calls.
+ */
+public final class StringDistance {
+
+	private static final ThreadLocal<int[][]> ROWS = ThreadLocal.withInitial(() -> new int[][] {new int[32], new int[32]});
+
+	private StringDistance() {
+	}
+
+	/**
+	 * @return exact Levenshtein distance of the two strings
+	 */
+	public static int levenshteinDistance(CharSequence lhs, CharSequence rhs) {
+		return levenshteinDistance(lhs, rhs, Math.max(lhs.length(), rhs.length()));
+	}
+
+	/**
+	 * @param maxDistance largest distance of interest, must not be negative
+	 * @return the Levenshtein distance if it is at most maxDistance, otherwise maxDistance + 1
+	 */
+	public static int levenshteinDistance(CharSequence lhs, CharSequence rhs, int maxDistance) {
+		if(maxDistance < 0) {
+			throw new IllegalArgumentException("maxDistance must not be negative: " + maxDistance);
+		}
+		//Keep the shorter string as the row
+		CharSequence left = lhs.length() <= rhs.length() ? lhs : rhs;
+		CharSequence right = left == lhs ? rhs : lhs;
+		int n = left.length();
+		int m = right.length();
+		if(m - n > maxDistance) {
+			return maxDistance + 1;
+		}
+		if(n == 0) {
+			return m;
+		}
+		int threshold = Math.min(maxDistance, m);
+
+		int[][] rows = rows(n + 1);
+		int[] previous = rows[0];
+		int[] current = rows[1];
+		int boundary = Math.min(n, threshold) + 1;
+		for(int i = 0; i < boundary; i++) {
+			previous[i] = i;
+		}
+		Arrays.fill(previous, boundary, n + 1, Integer.MAX_VALUE);
+		Arrays.fill(current, 0, n + 1, Integer.MAX_VALUE);
+
+		for(int j = 1; j <= m; j++) {
+			char rightJ = right.charAt(j - 1);
+			current[0] = j;
+			int min = Math.max(1, j - threshold);
+			int max = Math.min(n, j + threshold);
+			if(min > 1) {
+				current[min - 1] = Integer.MAX_VALUE;
+			}
+			int lowerBound = min == 1 ? j : Integer.MAX_VALUE;
+			for(int i = min; i <= max; i++) {
+				if(left.charAt(i - 1) == rightJ) {
+					current[i] = previous[i - 1];
+				} else {
+					current[i] = 1 + Math.min(Math.min(current[i - 1], previous[i]), previous[i - 1]);
+				}
+				if(current[i] < lowerBound) {
+					lowerBound = current[i];
+				}
+			}
+			if(lowerBound > threshold) {
+				return maxDistance + 1;
+			}
+			int[] swap = previous;
+			previous = current;
+			current = swap;
+		}
+		return previous[n] <= threshold ? previous[n] : maxDistance + 1;
+	}
+
+	/**
+	 * @return true if the Levenshtein distance of the two strings is at most maxDistance
+	 */
+	public static boolean isWithinDistance(CharSequence lhs, CharSequence rhs, int maxDistance) {
+		return levenshteinDistance(lhs, rhs, maxDistance) <= maxDistance;
+	}
+
+	private static int[][] rows(int length) {
+		int[][] rows = ROWS.get();
+		if(rows[0].length < length) {
+			int capacity = Math.max(length, rows[0].length * 2);
+			rows[0] = new int[capacity];
+			rows[1] = new int[capacity];
+		}
+		return rows;
+	}
+}
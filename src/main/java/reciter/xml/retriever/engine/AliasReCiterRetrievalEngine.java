@@ -20,9 +20,6 @@ package reciter.xml.retriever.engine;
 
 import java.io.IOException;
 import java.util.*;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,6 +40,10 @@ import reciter.service.ESearchResultService;
 import reciter.service.dynamo.IDynamoDbGoldStandardService;
 import reciter.utils.AuthorNameUtils;
 import reciter.utils.ThreadDelay;
+import reciter.xml.retriever.engine.RetrievalScheduler.Batch;
+import reciter.xml.retriever.engine.RetrievalScheduler.Priority;
+import reciter.xml.retriever.engine.RetrievalScheduler.Progress;
+import reciter.xml.retriever.engine.RetrievalScheduler.RetrievalTask;
 import reciter.xml.retriever.pubmed.AbstractRetrievalStrategy.RetrievalResult;
 
 @Component("aliasReCiterRetrievalEngine")
@@ -61,60 +62,50 @@ public class AliasReCiterRetrievalEngine extends AbstractReCiterRetrievalEngine
 	
 	@Autowired
 	private ESearchResultService eSearchResultService;
+
+	@Autowired
+	private RetrievalScheduler retrievalScheduler;
 	
 	public enum IdentityNameType {
 		ORIGINAL,
 		DERIVED
 	}
 	
-	private class AsyncRetrievalEngine extends Thread {
-
-		private final Identity identity;
-		private final Date startDate;
-		private final Date endDate;
-		private final RetrievalRefreshFlag refreshFlag;
-		
-		public AsyncRetrievalEngine(Identity identity, Date startDate, Date endDate, RetrievalRefreshFlag refreshFlag) {
-			this.identity = identity;
-			this.startDate = startDate;
-			this.endDate = endDate;
-			this.refreshFlag = refreshFlag;
-		}
-		
-		@Override
-		public void run() {
-			try {
-				// If the eSearchResult collection doesn't contain any information regarding this person,
-				// then we'd want to perform a full retrieval because this will be first time that ReCiter
-				// retrieve PubMed and Scopus articles for this person.
-				if(this.refreshFlag == RetrievalRefreshFlag.ALL_PUBLICATIONS) {
-					slf4jLogger.info("Starting full retrieval for uid=[" + identity.getUid() + "].");
-					retrieveData(identity, this.refreshFlag);
-				} else if(this.refreshFlag == RetrievalRefreshFlag.ONLY_NEWLY_ADDED_PUBLICATIONS) {
-					slf4jLogger.info("Starting date range retrieval for uid=[" + identity.getUid() + "] startDate=["
-						+ startDate + "] endDate=[" + endDate + "].");
-					retrieveDataByDateRange(identity, startDate, endDate, this.refreshFlag);
-				}
-			} catch (IOException e) {
-				slf4jLogger.error("Unabled to retrieve. " + identity.getUid(), e);
-			}
+	private void retrieve(Identity identity, Date startDate, Date endDate, RetrievalRefreshFlag refreshFlag) throws IOException {
+		// If the eSearchResult collection doesn't contain any information regarding this person,
+		// then we'd want to perform a full retrieval because this will be first time that ReCiter
+		// retrieve PubMed and Scopus articles for this person.
+		if(refreshFlag == RetrievalRefreshFlag.ALL_PUBLICATIONS) {
+			slf4jLogger.info("Starting full retrieval for uid=[" + identity.getUid() + "].");
+			retrieveData(identity, refreshFlag);
+		} else if(refreshFlag == RetrievalRefreshFlag.ONLY_NEWLY_ADDED_PUBLICATIONS) {
+			slf4jLogger.info("Starting date range retrieval for uid=[" + identity.getUid() + "] startDate=["
+				+ startDate + "] endDate=[" + endDate + "].");
+			retrieveDataByDateRange(identity, startDate, endDate, refreshFlag);
 		}
 	}
 
 	@Override
-	public boolean retrieveArticlesByDateRange(List<Identity> identities, Date startDate, Date endDate, RetrievalRefreshFlag refreshFlag) throws IOException {
-		ExecutorService executorService = Executors.newWorkStealingPool(15);//Executors.newFixedThreadPool(10);
+	public boolean retrieveArticlesByDateRange(List<Identity> identities, Date startDate, Date endDate, RetrievalRefreshFlag refreshFlag, Priority priority) throws IOException {
+		Map<String, RetrievalTask> tasks = new LinkedHashMap<>();
 		for (Identity identity : identities) {
-			executorService.execute(new AsyncRetrievalEngine(identity, startDate, endDate, refreshFlag));
+			tasks.put(identity.getUid(), () -> retrieve(identity, startDate, endDate, refreshFlag));
 		}
-		executorService.shutdown();
+		Batch batch = retrievalScheduler.submit(refreshFlag + " " + startDate + " to " + endDate, priority, tasks);
+		boolean completed;
 		try {
-			executorService.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+			completed = batch.await();
 		} catch (InterruptedException e) {
 			slf4jLogger.error("Thread interrupted while waiting for retrieval to finish.");
+			Thread.currentThread().interrupt();
 			return false;
 		}
-		return true;
+		if(!completed) {
+			Progress progress = batch.getProgress();
+			slf4jLogger.warn((progress.getTotal() - progress.getCompleted()) + " of " + progress.getTotal() + " identities did not complete retrieval: "
+					+ progress.getFailed() + " failed, " + progress.getTimedOut() + " timed out, " + progress.getCancelled() + " cancelled");
+		}
+		return completed;
 	}
 	
 	private Set<Long> retrieveData(Identity identity, RetrievalRefreshFlag refreshFlag) throws IOException {
@@ -25,10 +25,19 @@ import java.util.List;
 
 import reciter.api.parameters.RetrievalRefreshFlag;
 import reciter.model.identity.Identity;
+import reciter.xml.retriever.engine.RetrievalScheduler.Priority;
 
 public interface ReCiterRetrievalEngine {
 
-	boolean retrieveArticlesByDateRange(List<Identity> identities, Date startDate, Date endDate, RetrievalRefreshFlag refreshFlag) throws IOException;
+	default boolean retrieveArticlesByDateRange(List<Identity> identities, Date startDate, Date endDate, RetrievalRefreshFlag refreshFlag) throws IOException {
+		return retrieveArticlesByDateRange(identities, startDate, endDate, refreshFlag, Priority.NORMAL);
+	}
+
+	/**
+	 * Retrieves the identities on the shared retrieval scheduler and waits until all of them finished or timed out.
+	 * @param priority lane of the identities in the scheduler
+	 */
+	boolean retrieveArticlesByDateRange(List<Identity> identities, Date startDate, Date endDate, RetrievalRefreshFlag refreshFlag, Priority priority) throws IOException;
 	
 	void retrieveByPmids(String uid, List<Long> pmids) throws IOException;
 }
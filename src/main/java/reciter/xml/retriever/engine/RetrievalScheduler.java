@@ -0,0 +1,305 @@
+package reciter.xml.retriever.engine;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs retrieval jobs of all callers on one pool of reciter.retrieval.concurrency threads, so the number of identities
+ * retrieved from the upstream services at once is bounded no matter how many bulk runs are going on. Waiting jobs are
+ * taken from the HIGH lane first and in submission order within a lane. A job running longer than
+ * reciter.retrieval.jobTimeoutMinutes is interrupted and counted as timed out so one stuck identity cannot hold up its
+ * batch.
+ */
+@Slf4j
+@Component
+public class RetrievalScheduler {
+
+	public enum Priority {
+		/** Interactive and newly onboarded identities */
+		HIGH,
+		/** Bulk runs */
+		NORMAL
+	}
+
+	@FunctionalInterface
+	public interface RetrievalTask {
+		void run() throws Exception;
+	}
+
+	private enum Outcome {
+		COMPLETED, FAILED, TIMED_OUT, CANCELLED
+	}
+
+	private static final int PENDING = 0;
+	private static final int RUNNING = 1;
+	private static final int DONE = 2;
+
+	@Value("${reciter.retrieval.concurrency:15}")
+	private int concurrency;
+
+	@Value("${reciter.retrieval.jobTimeoutMinutes:60}")
+	private long jobTimeoutMinutes;
+
+	private Duration jobTimeout;
+
+	private ThreadPoolExecutor executor;
+
+	private ScheduledExecutorService watchdog;
+
+	private final AtomicLong sequence = new AtomicLong();
+
+	private final AtomicLong batchIds = new AtomicLong();
+
+	private final Map<Long, Batch> batches = new ConcurrentHashMap<>();
+
+	public RetrievalScheduler() {
+	}
+
+	/**
+	 * Scheduler with a job timeout that can be shorter than a minute, for tests
+	 */
+	RetrievalScheduler(int concurrency, Duration jobTimeout) {
+		this.concurrency = concurrency;
+		this.jobTimeout = jobTimeout;
+	}
+
+	@PostConstruct
+	public void init() {
+		if(jobTimeout == null) {
+			jobTimeout = Duration.ofMinutes(jobTimeoutMinutes);
+		}
+		AtomicInteger threadCount = new AtomicInteger();
+		executor = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<Runnable>(), runnable -> {
+			Thread thread = new Thread(runnable, "retrieval-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "retrieval-watchdog");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		batches.values().forEach(Batch::cancel);
+		executor.shutdownNow();
+		watchdog.shutdownNow();
+	}
+
+	/**
+	 * Queues one job per entry of tasks.
+	 * @param name used in the progress log
+	 * @param tasks jobs by the uid they retrieve
+	 */
+	public Batch submit(String name, Priority priority, Map<String, RetrievalTask> tasks) {
+		Batch batch = new Batch(batchIds.incrementAndGet(), name, priority, tasks.size());
+		if(tasks.isEmpty()) {
+			return batch;
+		}
+		batches.put(batch.id, batch);
+		for(Map.Entry<String, RetrievalTask> task: tasks.entrySet()) {
+			Job job = new Job(batch, task.getKey(), task.getValue(), sequence.incrementAndGet());
+			batch.jobs.add(job);
+		}
+		log.info("Queued retrieval batch " + batch.id + " [" + name + "] with " + tasks.size() + " identities in lane " + priority
+				+ ", " + executor.getQueue().size() + " jobs were already waiting");
+		batch.jobs.forEach(executor::execute);
+		return batch;
+	}
+
+	public List<Progress> getProgress() {
+		List<Progress> progress = new ArrayList<>();
+		batches.values().forEach(batch -> progress.add(batch.getProgress()));
+		return progress;
+	}
+
+	public class Batch {
+
+		private final long id;
+		private final String name;
+		private final Priority priority;
+		private final int total;
+		private final long startedAt = System.currentTimeMillis();
+		private final List<Job> jobs = new ArrayList<>();
+		private final AtomicInteger[] outcomes = new AtomicInteger[Outcome.values().length];
+		private final CountDownLatch done;
+		private final int logEvery;
+
+		private Batch(long id, String name, Priority priority, int total) {
+			this.id = id;
+			this.name = name;
+			this.priority = priority;
+			this.total = total;
+			this.done = new CountDownLatch(total);
+			this.logEvery = Math.max(1, total / 20);
+			for(int i = 0; i < outcomes.length; i++) {
+				outcomes[i] = new AtomicInteger();
+			}
+		}
+
+		/**
+		 * Waits until every job completed, failed, timed out or was cancelled. The batch is cancelled if the waiting
+		 * thread is interrupted.
+		 * @return true if every job completed
+		 */
+		public boolean await() throws InterruptedException {
+			try {
+				done.await();
+			} catch (InterruptedException e) {
+				cancel();
+				throw e;
+			}
+			return outcomes[Outcome.COMPLETED.ordinal()].get() == total;
+		}
+
+		public void cancel() {
+			jobs.forEach(Job::cancel);
+		}
+
+		private void record(Outcome outcome) {
+			outcomes[outcome.ordinal()].incrementAndGet();
+			done.countDown();
+			long finished = total - done.getCount();
+			if(finished == total) {
+				batches.remove(id);
+			}
+			if(finished % logEvery == 0 || finished == total) {
+				Progress progress = getProgress();
+				log.info("Retrieval batch " + id + " [" + name + "]: " + finished + "/" + total + " identities done, "
+						+ progress.failed + " failed, " + progress.timedOut + " timed out, " + progress.cancelled + " cancelled, "
+						+ (finished == total ? "took " + progress.elapsedSeconds + "s" : "ETA " + progress.etaSeconds + "s"));
+			}
+		}
+
+		public Progress getProgress() {
+			long finished = total - done.getCount();
+			long elapsedSeconds = (System.currentTimeMillis() - startedAt) / 1000;
+			long etaSeconds = finished == 0 ? -1 : elapsedSeconds * (total - finished) / finished;
+			return new Progress(id, name, priority, total, outcomes[Outcome.COMPLETED.ordinal()].get(), outcomes[Outcome.FAILED.ordinal()].get(),
+					outcomes[Outcome.TIMED_OUT.ordinal()].get(), outcomes[Outcome.CANCELLED.ordinal()].get(), elapsedSeconds, etaSeconds);
+		}
+	}
+
+	/**
+	 * Snapshot of a batch. etaSeconds is extrapolated from the jobs finished so far and -1 until the first one finishes.
+	 */
+	@Getter
+	@AllArgsConstructor
+	public static class Progress {
+		private final long id;
+		private final String name;
+		private final Priority priority;
+		private final int total;
+		private final int completed;
+		private final int failed;
+		private final int timedOut;
+		private final int cancelled;
+		private final long elapsedSeconds;
+		private final long etaSeconds;
+	}
+
+	private class Job implements Runnable, Comparable<Job> {
+
+		private final Batch batch;
+		private final String uid;
+		private final RetrievalTask task;
+		private final long sequence;
+		private final AtomicInteger state = new AtomicInteger(PENDING);
+		private volatile Thread runner;
+
+		private Job(Batch batch, String uid, RetrievalTask task, long sequence) {
+			this.batch = batch;
+			this.uid = uid;
+			this.task = task;
+			this.sequence = sequence;
+		}
+
+		@Override
+		public void run() {
+			//An interrupt meant for the previous job of this thread may have arrived after it finished
+			Thread.interrupted();
+			//Published before the job is running so a cancel or timeout that sees it running has a thread to interrupt
+			runner = Thread.currentThread();
+			if(!state.compareAndSet(PENDING, RUNNING)) {
+				runner = null;
+				return;
+			}
+			ScheduledFuture<?> timeout = watchdog.schedule(() -> interrupt(Outcome.TIMED_OUT), jobTimeout.toMillis(), TimeUnit.MILLISECONDS);
+			try {
+				//Skipped if the job was cancelled right after it started
+				if(state.get() == RUNNING) {
+					task.run();
+					finish(Outcome.COMPLETED);
+				}
+			} catch (Exception e) {
+				if(finish(Outcome.FAILED)) {
+					log.error("Retrieval failed for uid=[" + uid + "]", e);
+				}
+			} finally {
+				timeout.cancel(false);
+				runner = null;
+				Thread.interrupted();
+			}
+		}
+
+		private void cancel() {
+			if(state.compareAndSet(PENDING, DONE)) {
+				batch.record(Outcome.CANCELLED);
+				executor.remove(this);
+			} else {
+				interrupt(Outcome.CANCELLED);
+			}
+		}
+
+		private void interrupt(Outcome outcome) {
+			Thread thread = runner;
+			if(state.get() == RUNNING && finish(outcome)) {
+				log.warn("Retrieval " + outcome + " for uid=[" + uid + "] in batch " + batch.id);
+				if(thread != null) {
+					thread.interrupt();
+				}
+			}
+		}
+
+		/**
+		 * @return true if this call recorded the outcome of the job
+		 */
+		private boolean finish(Outcome outcome) {
+			if(state.getAndSet(DONE) == DONE) {
+				return false;
+			}
+			batch.record(outcome);
+			return true;
+		}
+
+		@Override
+		public int compareTo(Job other) {
+			int lane = batch.priority.compareTo(other.batch.priority);
+			return lane != 0 ? lane : Long.compare(sequence, other.sequence);
+		}
+	}
+}
@@ -19,6 +19,10 @@
 package reciter.xml.retriever.pubmed;
 
 import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 
 import org.slf4j.Logger;
@@ -36,6 +40,8 @@ import reciter.model.scopus.ScopusArticle;
 import reciter.pubmed.retriever.PubMedArticleRetriever;
 import reciter.pubmed.retriever.PubMedQuery;
 import reciter.scopus.retriever.ScopusArticleRetriever;
+import reciter.utils.ReCiterMetrics;
+import reciter.utils.RetrievalServiceEndpoints;
 import reciter.xml.retriever.engine.AliasReCiterRetrievalEngine.IdentityNameType;
 import reciter.xml.retriever.pubmed.GoldStandardRetrievalStrategy;
 import reciter.xml.retriever.pubmed.PubMedQueryType.PubMedQueryBuilder;
@@ -75,13 +81,25 @@ public abstract class AbstractRetrievalStrategy implements RetrievalStrategy {
 	 * Retrieval threshold.
 	 */
 	@Value("${searchStrategy-leninent-threshold}")
-	protected final int DEFAULT_THRESHOLD = 2000;
+	protected int DEFAULT_THRESHOLD = 2000;
 	
 	/**
 	 * Strict Retrieval threshold.
 	 */
 	@Value("${searchStrategy-strict-threshold}")
-	protected final int STRICT_THRESHOLD = 1000;
+	protected int STRICT_THRESHOLD = 1000;
+
+	/**
+	 * Largest strict count that is still retrieved by splitting the date range into windows of at most
+	 * STRICT_THRESHOLD articles. Strict queries counting more than this are skipped.
+	 */
+	@Value("${searchStrategy-strict-split-max:10000}")
+	protected int strictSplitMax = 10000;
+
+	/**
+	 * Start of the date range split for queries without one.
+	 */
+	private static final LocalDate EARLIEST_PUBLICATION_DATE = LocalDate.of(1800, 1, 1);
 
 	/**
 	 * Scopus retrieval threshold.
@@ -128,7 +146,17 @@ public abstract class AbstractRetrievalStrategy implements RetrievalStrategy {
 		return retrievePubMedArticles(identity, pubMedQueries);
 	}*/
 
+	/**
+	 * Runs the queries and records how long this retrieval strategy took and how many articles it found.
+	 */
 	private RetrievalResult retrievePubMedArticles(Identity identity, Map<IdentityNameType, Set<AuthorName>> identityNames, List<PubMedQueryType> pubMedQueries, boolean useStrictQueryOnly) throws IOException {
+		RetrievalResult retrievalResult = ReCiterMetrics.recordRetrievalStrategy(getRetrievalStrategyName(),
+				() -> executePubMedQueries(identity, identityNames, pubMedQueries, useStrictQueryOnly));
+		ReCiterMetrics.recordRetrievedArticles(getRetrievalStrategyName(), retrievalResult.getPubMedArticles().size());
+		return retrievalResult;
+	}
+
+	private RetrievalResult executePubMedQueries(Identity identity, Map<IdentityNameType, Set<AuthorName>> identityNames, List<PubMedQueryType> pubMedQueries, boolean useStrictQueryOnly) throws IOException {
 
 		Map<Long, PubMedArticle> pubMedArticles = new HashMap<Long, PubMedArticle>();
 
@@ -149,57 +177,13 @@ public abstract class AbstractRetrievalStrategy implements RetrievalStrategy {
 				// If it's greater than the threshold, query using the strict query.
 				pubMedQueryType.getLenientQuery().setNumResult(handler);
 				if (handler > DEFAULT_THRESHOLD) {
-					PubMedQuery constructedStrictCountQuery = pubMedQueryType.getStrictCountQuery().getQuery();
-					slf4jLogger.info("Constructed strict count query {}", constructedStrictCountQuery);
-					slf4jLogger.info("Constructed strict query {}", pubMedQueryType.getStrictQuery().getQuery());
-	//				String strictQuery = URLEncoder.encode(constructedStrictQuery, "UTF-8");
-					int strictSearchHandler = getNumberOfResults(constructedStrictCountQuery);
-	
-					pubMedQueryType.getStrictQuery().setNumResult(strictSearchHandler);
-	
-					// only retrieve articles if number is less than threshold, otherwise the article download
-					// may take too long
-					if (strictSearchHandler <= STRICT_THRESHOLD) {
-						List<PubMedArticle> result = retrievePubMed(pubMedQueryType.getStrictQuery().getQuery(), strictSearchHandler);
-						for (PubMedArticle pubMedArticle : result) {
-							long pmid = pubMedArticle.getMedlinecitation().getMedlinecitationpmid().getPmid();
-							if (!pubMedArticles.containsKey(pmid)) {
-								pubMedArticles.put(pmid, pubMedArticle);
-							}
-						}
-						pubMedQueryType.getStrictQuery().setUsed(true);
-					}
+					retrieveStrictQuery(pubMedQueryType, pubMedArticles);
 				} else {
-					List<PubMedArticle> result = retrievePubMed(pubMedQueryType.getLenientQuery().getQuery(), handler);
-					for (PubMedArticle pubMedArticle : result) {
-						long pmid = pubMedArticle.getMedlinecitation().getMedlinecitationpmid().getPmid();
-						if (!pubMedArticles.containsKey(pmid)) {
-							pubMedArticles.put(pmid, pubMedArticle);
-						}
-					}
+					addPubMedArticles(retrievePubMed(pubMedQueryType.getLenientQuery().getQuery(), handler), pubMedArticles);
 					pubMedQueryType.getLenientQuery().setUsed(true);
 				}
 			} else {
-				PubMedQuery constructedStrictCountQuery = pubMedQueryType.getStrictCountQuery().getQuery();
-				slf4jLogger.info("Constructed strict count query {}", constructedStrictCountQuery);
-				slf4jLogger.info("Constructed strict query {}", pubMedQueryType.getStrictQuery().getQuery());
-//				String strictQuery = URLEncoder.encode(constructedStrictQuery, "UTF-8");
-				int strictSearchHandler = getNumberOfResults(constructedStrictCountQuery);
-
-				pubMedQueryType.getStrictQuery().setNumResult(strictSearchHandler);
-
-				// only retrieve articles if number is less than threshold, otherwise the article download
-				// may take too long
-				if (strictSearchHandler <= STRICT_THRESHOLD) {
-					List<PubMedArticle> result = retrievePubMed(pubMedQueryType.getStrictQuery().getQuery(), strictSearchHandler);
-					for (PubMedArticle pubMedArticle : result) {
-						long pmid = pubMedArticle.getMedlinecitation().getMedlinecitationpmid().getPmid();
-						if (!pubMedArticles.containsKey(pmid)) {
-							pubMedArticles.put(pmid, pubMedArticle);
-						}
-					}
-					pubMedQueryType.getStrictQuery().setUsed(true);
-				}
+				retrieveStrictQuery(pubMedQueryType, pubMedArticles);
 			}
 
 			pubMedQueryResults.add(pubMedQueryType.getLenientQuery());
@@ -211,6 +195,92 @@ public abstract class AbstractRetrievalStrategy implements RetrievalStrategy {
 		return new RetrievalResult(pubMedArticles, pubMedQueryResults);
 	}
 
+	/**
+	 * Retrieves the strict query. If it counts more than STRICT_THRESHOLD articles, but not more than strictSplitMax,
+	 * its date range is split so that no single request returns more than STRICT_THRESHOLD articles.
+	 */
+	private void retrieveStrictQuery(PubMedQueryType pubMedQueryType, Map<Long, PubMedArticle> pubMedArticles) throws IOException {
+		PubMedQuery constructedStrictCountQuery = pubMedQueryType.getStrictCountQuery().getQuery();
+		slf4jLogger.info("Constructed strict count query {}", constructedStrictCountQuery);
+		slf4jLogger.info("Constructed strict query {}", pubMedQueryType.getStrictQuery().getQuery());
+		int strictSearchHandler = getNumberOfResults(constructedStrictCountQuery);
+
+		pubMedQueryType.getStrictQuery().setNumResult(strictSearchHandler);
+
+		// only retrieve articles in one request if number is less than threshold, otherwise the article download
+		// may take too long
+		if (strictSearchHandler <= STRICT_THRESHOLD) {
+			addPubMedArticles(retrievePubMed(pubMedQueryType.getStrictQuery().getQuery(), strictSearchHandler), pubMedArticles);
+			pubMedQueryType.getStrictQuery().setUsed(true);
+		} else if (strictSearchHandler <= strictSplitMax) {
+			retrieveByDateWindows(pubMedQueryType.getStrictQuery().getQuery(), strictSearchHandler, STRICT_THRESHOLD, pubMedArticles);
+			pubMedQueryType.getStrictQuery().setUsed(true);
+		} else {
+			slf4jLogger.info("Strict query count " + strictSearchHandler + " exceeds searchStrategy-strict-split-max " + strictSplitMax
+					+ " for retrieval strategy [" + getRetrievalStrategyName() + "]");
+		}
+	}
+
+	/**
+	 * Bisects the date range of the query until the count of each window is at most threshold and retrieves the
+	 * windows in chronological order. A single day is retrieved whatever its count. Queries without a date range are
+	 * split from EARLIEST_PUBLICATION_DATE until today. An article can match two windows through its entrez and
+	 * publication dates, so articles are merged by pmid.
+	 * @param count count the caller already has for the query, used for the whole range instead of counting it again.
+	 * A count of the query without its date range is fine as well, at worst it splits a range that would have fit.
+	 */
+	protected void retrieveByDateWindows(PubMedQuery pubMedQuery, int count, int threshold, Map<Long, PubMedArticle> pubMedArticles) throws IOException {
+		LocalDate start = pubMedQuery.getStart() == null ? EARLIEST_PUBLICATION_DATE : toLocalDate(pubMedQuery.getStart());
+		LocalDate end = pubMedQuery.getEnd() == null ? LocalDate.now() : toLocalDate(pubMedQuery.getEnd());
+		Deque<PubMedQuery> windows = new ArrayDeque<PubMedQuery>();
+		PubMedQuery range = withDateRange(pubMedQuery, start, end);
+		windows.push(range);
+		int requests = 0;
+		while (!windows.isEmpty()) {
+			PubMedQuery window = windows.pop();
+			int windowCount = window == range ? count : getNumberOfResults(window);
+			if (windowCount == 0) {
+				continue;
+			}
+			LocalDate windowStart = toLocalDate(window.getStart());
+			LocalDate windowEnd = toLocalDate(window.getEnd());
+			if (windowCount <= threshold || !windowStart.isBefore(windowEnd)) {
+				addPubMedArticles(retrievePubMed(window, windowCount), pubMedArticles);
+				requests++;
+			} else {
+				LocalDate middle = windowStart.plusDays(ChronoUnit.DAYS.between(windowStart, windowEnd) / 2);
+				windows.push(withDateRange(window, middle.plusDays(1), windowEnd));
+				windows.push(withDateRange(window, windowStart, middle));
+			}
+		}
+		slf4jLogger.info("Retrieved " + start + " to " + end + " in " + requests + " date windows for retrieval strategy [" + getRetrievalStrategyName() + "]");
+	}
+
+	private static PubMedQuery withDateRange(PubMedQuery pubMedQuery, LocalDate start, LocalDate end) {
+		return PubMedQuery.builder()
+				.author(pubMedQuery.getAuthor())
+				.strategyQuery(pubMedQuery.getStrategyQuery())
+				.start(Date.from(start.atStartOfDay(ZoneId.systemDefault()).toInstant()))
+				.end(Date.from(end.atStartOfDay(ZoneId.systemDefault()).toInstant()))
+				.build();
+	}
+
+	/**
+	 * Date.toInstant is not supported by java.sql.Date, so the epoch millis are used.
+	 */
+	private static LocalDate toLocalDate(Date date) {
+		return Instant.ofEpochMilli(date.getTime()).atZone(ZoneId.systemDefault()).toLocalDate();
+	}
+
+	private static void addPubMedArticles(List<PubMedArticle> result, Map<Long, PubMedArticle> pubMedArticles) {
+		for (PubMedArticle pubMedArticle : result) {
+			long pmid = pubMedArticle.getMedlinecitation().getMedlinecitationpmid().getPmid();
+			if (!pubMedArticles.containsKey(pmid)) {
+				pubMedArticles.put(pmid, pubMedArticle);
+			}
+		}
+	}
+
 	/**
 	 * Randomly select a node.
 	 * @return
@@ -249,19 +319,19 @@ public abstract class AbstractRetrievalStrategy implements RetrievalStrategy {
 	@Override
 	public List<ScopusArticle> retrieveScopus(Collection<Long> pmids) {
 		ScopusArticleRetriever<Long> scopusArticleRetriever = new ScopusArticleRetriever<Long>();
-		return scopusArticleRetriever.retrieveScopus(ScopusArticleRetriever.PMID_MODIFIER, new ArrayList<Long>(pmids));
+		return ReCiterMetrics.recordRetrievalStrategy("ScopusPmidRetrieval",
+				() -> scopusArticleRetriever.retrieveScopus(ScopusArticleRetriever.PMID_MODIFIER, new ArrayList<Long>(pmids)));
 	}
 	
 	@Override
 	public List<ScopusArticle> retrieveScopusDoi(Collection<String> dois) {
 		ScopusArticleRetriever<String> scopusArticleRetriever = new ScopusArticleRetriever<String>();
-		return scopusArticleRetriever.retrieveScopus(ScopusArticleRetriever.DOI_MODIFIER, new ArrayList<String>(dois));
+		return ReCiterMetrics.recordRetrievalStrategy("ScopusDoiRetrieval",
+				() -> scopusArticleRetriever.retrieveScopus(ScopusArticleRetriever.DOI_MODIFIER, new ArrayList<String>(dois)));
 	}
 
-	private static final String PUBMED_SERVICE = System.getenv("PUBMED_SERVICE");
-
 	protected int getNumberOfResults(PubMedQuery pubMedQueryType) throws IOException {
-		String nodeUrl = PUBMED_SERVICE.endsWith("/pubmed")?PUBMED_SERVICE + "/query-number-pubmed-articles/":PUBMED_SERVICE + "/pubmed/query-number-pubmed-articles/";
+		String nodeUrl = RetrievalServiceEndpoints.getPubMedUrl("/query-number-pubmed-articles/");
 		RestTemplate restTemplate = new RestTemplate();
 		slf4jLogger.info("Sending web request: " + nodeUrl);
 		ResponseEntity<Integer> responseEntity = null;
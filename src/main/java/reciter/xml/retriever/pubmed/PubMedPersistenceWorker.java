@@ -18,16 +18,14 @@
  *******************************************************************************/
 package reciter.xml.retriever.pubmed;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
-import java.io.UnsupportedEncodingException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -60,7 +58,8 @@ public class PubMedPersistenceWorker implements Runnable {
 	
 	/**
 	 * Save the url (XML) content in the {@code directoryLocation} with directory
-	 * name {@code directoryName} and file name {@code fileName}.
+	 * name {@code directoryName} and file name {@code fileName}. The response bytes
+	 * are streamed to the file as they are, without decoding them line by line.
 	 * 
 	 * @param url URL
 	 * @param commonDirectory directory path.
@@ -68,28 +67,15 @@ public class PubMedPersistenceWorker implements Runnable {
 	 * @param xmlFileName file name.
 	 * @throws IOException 
 	 * @throws MalformedURLException 
-	 * @throws UnsupportedEncodingException 
 	 */
 	public void persist(String url, String commonDirectory, String uid, String xmlFileName) 
-			throws UnsupportedEncodingException, MalformedURLException, IOException {
+			throws MalformedURLException, IOException {
 
-		File dir = new File(commonDirectory + uid);
-		if (!dir.exists()) {
-			dir.mkdirs();
-		}
-
-		BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(new URL(url).openStream(), "UTF-8"));
-		String outputFileName = commonDirectory + uid + "/" + xmlFileName + ".xml";
-		BufferedWriter bufferedWriter = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(outputFileName), "UTF-8"));
+		Path dir = Paths.get(commonDirectory + uid);
+		Files.createDirectories(dir);
 
-		String inputLine;
-		while ((inputLine = bufferedReader.readLine()) != null) {
-			bufferedWriter.write(inputLine);
-			bufferedWriter.newLine();
+		try (InputStream inputStream = new URL(url).openStream()) {
+			Files.copy(inputStream, dir.resolve(xmlFileName + ".xml"), StandardCopyOption.REPLACE_EXISTING);
 		}
-
-		bufferedReader.close();
-		bufferedWriter.close();
-
 	}
 }
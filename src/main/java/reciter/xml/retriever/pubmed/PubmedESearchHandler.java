@@ -25,6 +25,7 @@ import org.xml.sax.SAXException;
 import org.xml.sax.helpers.DefaultHandler;
 
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
 import java.io.IOException;
 import java.io.InputStream;
@@ -39,6 +40,21 @@ public class PubmedESearchHandler extends DefaultHandler {
 
     private final static Logger slf4jLogger = LoggerFactory.getLogger(PubmedESearchHandler.class);
 
+    private static final SAXParserFactory SAX_PARSER_FACTORY = SAXParserFactory.newInstance();
+
+    /**
+     * SAXParser is not thread safe, so every retrieval thread keeps its own and resets it after each parse.
+     */
+    private static final ThreadLocal<SAXParser> SAX_PARSER = ThreadLocal.withInitial(() -> {
+        try {
+            synchronized (SAX_PARSER_FACTORY) {
+                return SAX_PARSER_FACTORY.newSAXParser();
+            }
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IllegalStateException("Unable to create SAX parser", e);
+        }
+    });
+
     private String webEnv;
     private int count;
     private boolean bWebEnv;
@@ -48,27 +64,33 @@ public class PubmedESearchHandler extends DefaultHandler {
     private StringBuilder chars = new StringBuilder();
 
     /**
-     * Sends a query to the NCBI web site to retrieve the webEnv.
+     * Sends a query to the NCBI web site to retrieve the webEnv. The response is parsed as it is read.
      *
      * @param eSearchUrl example query: http://www.ncbi.nlm.nih.gov/entrez/eutils/esearch.fcgi?db=pubmed&retmax=1&usehistory=y&term=Kukafka%20R[au].
      * @return WebEnvHandler that contains the WebEnv data.
-     * @throws ParserConfigurationException
-     * @throws SAXException
-     * @throws IOException
      */
     public static PubmedESearchHandler executeESearchQuery(String eSearchUrl) {
-        PubmedESearchHandler webEnvHandler = new PubmedESearchHandler();
-        InputStream inputStream = null;
-        try {
-            inputStream = new URL(eSearchUrl).openStream();
-        } catch (IOException e) {
-            slf4jLogger.error("Error in executeESearchQuery", e);
-        }
-        try {
-            SAXParserFactory.newInstance().newSAXParser().parse(inputStream, webEnvHandler);
+        try (InputStream inputStream = new URL(eSearchUrl).openStream()) {
+            return parse(inputStream);
         } catch (Exception e) {
             slf4jLogger.error("Error in executeESearchQuery. url=[" + eSearchUrl + "]", e);
         }
+        return new PubmedESearchHandler();
+    }
+
+    /**
+     * Parses an ESearch response with the parser of the calling thread.
+     *
+     * @param inputStream ESearch xml, not closed by this method.
+     */
+    public static PubmedESearchHandler parse(InputStream inputStream) throws SAXException, IOException {
+        PubmedESearchHandler webEnvHandler = new PubmedESearchHandler();
+        SAXParser saxParser = SAX_PARSER.get();
+        try {
+            saxParser.parse(inputStream, webEnvHandler);
+        } finally {
+            saxParser.reset();
+        }
         return webEnvHandler;
     }
 
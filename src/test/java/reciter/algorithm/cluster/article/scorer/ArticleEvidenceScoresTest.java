@@ -0,0 +1,157 @@
+package reciter.algorithm.cluster.article.scorer;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import reciter.algorithm.cluster.article.scorer.ArticleEvidenceScores.EvidenceType;
+import reciter.engine.analysis.evidence.AcceptedRejectedEvidence;
+import reciter.engine.analysis.evidence.ArticleCountEvidence;
+import reciter.engine.analysis.evidence.AuthorNameEvidence;
+import reciter.engine.analysis.evidence.EducationYearEvidence;
+import reciter.engine.analysis.evidence.EmailEvidence;
+import reciter.engine.analysis.evidence.GenderEvidence;
+import reciter.engine.analysis.evidence.JournalCategoryEvidence;
+import reciter.engine.analysis.evidence.PersonTypeEvidence;
+import reciter.engine.analysis.evidence.RelationshipEvidence;
+import reciter.model.article.ReCiterArticle;
+
+public class ArticleEvidenceScoresTest {
+
+	private static final int ARTICLES = 200;
+
+	/**
+	 * Totals summed from published vectors are bit for bit the inline sums average clustering used before
+	 */
+	@Test
+	public void testPublishedTotalsMatchInlineSums() {
+		List<ReCiterArticle> articles = articles(new Random(42));
+		ArticleEvidenceScores evidenceScores = new ArticleEvidenceScores();
+		evidenceScores.publish(articles, EvidenceType.values());
+
+		for (ReCiterArticle article : articles) {
+			assertEquals(inlineSumWithFeedback(article), evidenceScores.total(article, true), 0);
+			assertEquals(inlineSumWithoutFeedback(article), evidenceScores.total(article, false), 0);
+		}
+	}
+
+	/**
+	 * Types that were not published, e.g. of disabled strategies, are read from the article in the same order
+	 */
+	@Test
+	public void testUnpublishedTotalsMatchInlineSums() {
+		List<ReCiterArticle> articles = articles(new Random(7));
+		ArticleEvidenceScores evidenceScores = new ArticleEvidenceScores();
+		evidenceScores.publish(articles, EvidenceType.NAME, EvidenceType.JOURNAL_CATEGORY, EvidenceType.FEEDBACK_NULL);
+
+		for (ReCiterArticle article : articles) {
+			assertEquals(inlineSumWithFeedback(article), evidenceScores.total(article, true), 0);
+			assertEquals(inlineSumWithoutFeedback(article), evidenceScores.total(article, false), 0);
+		}
+	}
+
+	/**
+	 * A published score is kept even if the evidence of the article changes afterwards
+	 */
+	@Test
+	public void testPublishedScoreIsKept() {
+		ReCiterArticle article = mock(ReCiterArticle.class);
+		when(article.getAffiliationScore()).thenReturn(1.5);
+		ArticleEvidenceScores evidenceScores = new ArticleEvidenceScores();
+		List<ReCiterArticle> articles = new ArrayList<>();
+		articles.add(article);
+		evidenceScores.publish(articles, EvidenceType.AFFILIATION);
+
+		when(article.getAffiliationScore()).thenReturn(3.0);
+		assertEquals(1.5, evidenceScores.get(article, EvidenceType.AFFILIATION), 0);
+		assertEquals(0, evidenceScores.get(article, EvidenceType.EMAIL), 0);
+	}
+
+	private static List<ReCiterArticle> articles(Random random) {
+		List<ReCiterArticle> articles = new ArrayList<>(ARTICLES);
+		for (int i = 0; i < ARTICLES; i++) {
+			ReCiterArticle article = mock(ReCiterArticle.class);
+			AuthorNameEvidence authorNameEvidence = mock(AuthorNameEvidence.class);
+			when(authorNameEvidence.getNameScoreTotal()).thenReturn(score(random));
+			when(article.getAuthorNameEvidence()).thenReturn(authorNameEvidence);
+			EmailEvidence emailEvidence = mock(EmailEvidence.class);
+			when(emailEvidence.getEmailMatchScore()).thenReturn(score(random));
+			when(article.getEmailEvidence()).thenReturn(emailEvidence);
+			GenderEvidence genderEvidence = mock(GenderEvidence.class);
+			when(genderEvidence.getGenderScoreIdentityArticleDiscrepancy()).thenReturn(score(random));
+			when(article.getGenderEvidence()).thenReturn(genderEvidence);
+			when(article.getGrantEvidenceTotalScore()).thenReturn(score(random));
+			RelationshipEvidence relationshipEvidence = mock(RelationshipEvidence.class);
+			when(relationshipEvidence.getRelationshipEvidenceTotalScore()).thenReturn(score(random));
+			when(article.getRelationshipEvidence()).thenReturn(relationshipEvidence);
+			EducationYearEvidence educationYearEvidence = mock(EducationYearEvidence.class);
+			when(educationYearEvidence.getDiscrepancyDegreeYearBachelorScore()).thenReturn(score(random));
+			when(educationYearEvidence.getDiscrepancyDegreeYearDoctoralScore()).thenReturn(score(random));
+			when(article.getEducationYearEvidence()).thenReturn(educationYearEvidence);
+			when(article.getOrganizationalEvidencesTotalScore()).thenReturn(score(random));
+			when(article.getAffiliationScore()).thenReturn(score(random));
+			ArticleCountEvidence articleCountEvidence = mock(ArticleCountEvidence.class);
+			when(articleCountEvidence.getArticleCountScore()).thenReturn(score(random));
+			when(article.getArticleCountEvidence()).thenReturn(articleCountEvidence);
+			PersonTypeEvidence personTypeEvidence = mock(PersonTypeEvidence.class);
+			when(personTypeEvidence.getPersonTypeScore()).thenReturn(score(random));
+			when(article.getPersonTypeEvidence()).thenReturn(personTypeEvidence);
+			JournalCategoryEvidence journalCategoryEvidence = mock(JournalCategoryEvidence.class);
+			when(journalCategoryEvidence.getJournalSubfieldScore()).thenReturn(score(random));
+			when(article.getJournalCategoryEvidence()).thenReturn(journalCategoryEvidence);
+			AcceptedRejectedEvidence acceptedRejectedEvidence = mock(AcceptedRejectedEvidence.class);
+			when(acceptedRejectedEvidence.getFeedbackScoreAccepted()).thenReturn(score(random));
+			when(acceptedRejectedEvidence.getFeedbackScoreRejected()).thenReturn(score(random));
+			when(acceptedRejectedEvidence.getFeedbackScoreNull()).thenReturn(score(random));
+			when(article.getAcceptedRejectedEvidence()).thenReturn(acceptedRejectedEvidence);
+			articles.add(article);
+		}
+		return articles;
+	}
+
+	/**
+	 * Scores of mixed magnitudes so that a different summation order changes the rounding of the total
+	 */
+	private static double score(Random random) {
+		return (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(6) - 2);
+	}
+
+	private static double inlineSumWithFeedback(ReCiterArticle reCiterArticle) {
+		return ((reCiterArticle.getAuthorNameEvidence() != null)?(reCiterArticle.getAuthorNameEvidence().getNameScoreTotal()):0) +
+				((reCiterArticle.getEmailEvidence() != null)?reCiterArticle.getEmailEvidence().getEmailMatchScore():0) +
+				((reCiterArticle.getGenderEvidence() != null && reCiterArticle.getGenderEvidence().getGenderScoreIdentityArticleDiscrepancy() != null)?reCiterArticle.getGenderEvidence().getGenderScoreIdentityArticleDiscrepancy():0) +
+				reCiterArticle.getGrantEvidenceTotalScore() +
+				((reCiterArticle.getRelationshipEvidence() != null)?reCiterArticle.getRelationshipEvidence().getRelationshipEvidenceTotalScore():0) +
+				((reCiterArticle.getEducationYearEvidence() != null)?reCiterArticle.getEducationYearEvidence().getDiscrepancyDegreeYearBachelorScore():0) +
+				((reCiterArticle.getEducationYearEvidence() != null)?reCiterArticle.getEducationYearEvidence().getDiscrepancyDegreeYearDoctoralScore():0) +
+				reCiterArticle.getOrganizationalEvidencesTotalScore() +
+				reCiterArticle.getAffiliationScore() +
+				reCiterArticle.getArticleCountEvidence().getArticleCountScore() +
+				((reCiterArticle.getPersonTypeEvidence() != null)?reCiterArticle.getPersonTypeEvidence().getPersonTypeScore():0) +
+				((reCiterArticle.getJournalCategoryEvidence() != null)?reCiterArticle.getJournalCategoryEvidence().getJournalSubfieldScore():0) +
+				((reCiterArticle.getAcceptedRejectedEvidence().getFeedbackScoreAccepted() !=null)?reCiterArticle.getAcceptedRejectedEvidence().getFeedbackScoreAccepted():0) +
+				((reCiterArticle.getAcceptedRejectedEvidence().getFeedbackScoreRejected() !=null)?reCiterArticle.getAcceptedRejectedEvidence().getFeedbackScoreRejected():0) +
+				((reCiterArticle.getAcceptedRejectedEvidence().getFeedbackScoreNull() !=null)?reCiterArticle.getAcceptedRejectedEvidence().getFeedbackScoreNull():0);
+	}
+
+	private static double inlineSumWithoutFeedback(ReCiterArticle reCiterArticle) {
+		return ((reCiterArticle.getAuthorNameEvidence() != null)?(reCiterArticle.getAuthorNameEvidence().getNameScoreTotal()):0) +
+				((reCiterArticle.getEmailEvidence() != null)?reCiterArticle.getEmailEvidence().getEmailMatchScore():0) +
+				((reCiterArticle.getGenderEvidence() != null && reCiterArticle.getGenderEvidence().getGenderScoreIdentityArticleDiscrepancy() != null)?reCiterArticle.getGenderEvidence().getGenderScoreIdentityArticleDiscrepancy():0) +
+				reCiterArticle.getGrantEvidenceTotalScore() +
+				((reCiterArticle.getRelationshipEvidence() != null)?reCiterArticle.getRelationshipEvidence().getRelationshipEvidenceTotalScore():0) +
+				((reCiterArticle.getEducationYearEvidence() != null)?reCiterArticle.getEducationYearEvidence().getDiscrepancyDegreeYearBachelorScore():0) +
+				((reCiterArticle.getEducationYearEvidence() != null)?reCiterArticle.getEducationYearEvidence().getDiscrepancyDegreeYearDoctoralScore():0) +
+				reCiterArticle.getOrganizationalEvidencesTotalScore() +
+				reCiterArticle.getAffiliationScore() +
+				reCiterArticle.getArticleCountEvidence().getArticleCountScore() +
+				((reCiterArticle.getJournalCategoryEvidence() != null)?reCiterArticle.getJournalCategoryEvidence().getJournalSubfieldScore():0) +
+				((reCiterArticle.getPersonTypeEvidence() != null)?reCiterArticle.getPersonTypeEvidence().getPersonTypeScore():0);
+	}
+}
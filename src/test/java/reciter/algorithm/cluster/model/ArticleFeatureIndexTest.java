@@ -0,0 +1,31 @@
+package reciter.algorithm.cluster.model;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import reciter.algorithm.cluster.model.ArticleFeatureIndex.Features;
+
+public class ArticleFeatureIndexTest {
+
+	/**
+	 * Like List.retainAll on the first article's features, duplicates of the first article count once each
+	 */
+	@Test
+	public final void testCountContainedKeepsDuplicatesOfFirst() {
+		assertEquals(3, ArticleFeatureIndex.countContained(new int[] {1, 1, 4, 7}, new int[] {1, 4, 9}));
+		assertEquals(2, ArticleFeatureIndex.countContained(new int[] {1, 4, 9}, new int[] {1, 1, 4, 7}));
+		assertEquals(0, ArticleFeatureIndex.countContained(new int[] {}, new int[] {1}));
+	}
+
+	@Test
+	public final void testOverlapCount() {
+		Features features1 = new Features(0, new int[] {2, 5}, new int[] {1, 3, 8}, new int[] {60007997, 60025858}, 8);
+		Features features2 = new Features(0, new int[] {5}, new int[] {3, 8}, new int[] {60025858}, 5);
+		//journal + 1 MeSH major + 2 co-authors + shared affiliation
+		assertEquals(5, ArticleFeatureIndex.overlapCount(features1, features2));
+
+		Features noJournal = new Features(-1, new int[] {}, new int[] {}, new int[] {}, 0);
+		assertEquals(0, ArticleFeatureIndex.overlapCount(noJournal, new Features(-1, new int[] {}, new int[] {}, new int[] {}, 0)));
+	}
+}
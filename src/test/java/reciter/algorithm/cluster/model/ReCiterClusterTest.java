@@ -0,0 +1,86 @@
+package reciter.algorithm.cluster.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import reciter.engine.EngineParameters;
+import reciter.engine.MeshTermCounts;
+import reciter.model.article.ReCiterArticle;
+import reciter.model.article.ReCiterArticleMeshHeading;
+import reciter.model.article.ReCiterCitationYNEnum;
+import reciter.model.article.ReCiterMeshHeadingDescriptorName;
+
+public class ReCiterClusterTest {
+
+	private MeshTermCounts meshTermCounts;
+
+	@Before
+	public void setUp() {
+		meshTermCounts = new MeshTermCounts.Builder(2)
+				.add("Aspirin", 10L)
+				.add("Contracts", 20L)
+				.add("Humans", 9000000L)
+				.build();
+		EngineParameters.setMeshTermCounts(meshTermCounts);
+	}
+
+	@After
+	public void tearDown() {
+		EngineParameters.setMeshTermCounts(null);
+	}
+
+	@Test
+	public final void testMeshMajorIdsAreCachedUntilArticlesChange() {
+		ReCiterCluster cluster = cluster(article(1L, "Aspirin"));
+		assertSame(cluster.getMeshMajorIds(meshTermCounts), cluster.getMeshMajorIds(meshTermCounts));
+
+		ReCiterCluster other = cluster(article(2L, "Humans"));
+		//Humans is above the clustering threshold
+		assertEquals(0, cluster.compareTo(other, "meshMajor"));
+		assertEquals(0, other.getMeshMajorIds(meshTermCounts).cardinality());
+
+		other.addAll(Collections.singletonList(article(3L, "Aspirin")));
+		assertEquals(1, cluster.compareTo(other, "meshMajor"));
+		assertEquals(1, other.compareTo(cluster, "meshMajor"));
+
+		ReCiterCluster third = cluster(article(4L, "Contracts"));
+		assertEquals(0, cluster.compareTo(third, "meshMajor"));
+		cluster.add(article(5L, "Contracts"));
+		assertEquals(1, cluster.compareTo(third, "meshMajor"));
+	}
+
+	@Test
+	public final void testMeshMajorIdsAreRebuiltForOtherCounts() {
+		ReCiterCluster cluster = cluster(article(1L, "Aspirin"));
+		MeshTermCounts otherCounts = new MeshTermCounts.Builder(1).add("Aspirin", 9000000L).build();
+		assertEquals(1, cluster.getMeshMajorIds(meshTermCounts).cardinality());
+		assertNotSame(cluster.getMeshMajorIds(meshTermCounts), cluster.getMeshMajorIds(otherCounts));
+		assertEquals(0, cluster.getMeshMajorIds(otherCounts).cardinality());
+	}
+
+	private static ReCiterCluster cluster(ReCiterArticle reCiterArticle) {
+		ReCiterCluster reCiterCluster = new ReCiterCluster();
+		reCiterCluster.add(reCiterArticle);
+		return reCiterCluster;
+	}
+
+	private static ReCiterArticle article(long pmid, String meshMajor) {
+		ReCiterMeshHeadingDescriptorName descriptorName = new ReCiterMeshHeadingDescriptorName();
+		descriptorName.setDescriptorName(meshMajor);
+		descriptorName.setMajorTopicYN(ReCiterCitationYNEnum.Y.name());
+		ReCiterArticleMeshHeading meshHeading = new ReCiterArticleMeshHeading();
+		meshHeading.setDescriptorName(descriptorName);
+		meshHeading.setQualifierNameList(new ArrayList<>());
+		ReCiterArticle reCiterArticle = new ReCiterArticle(pmid);
+		reCiterArticle.setMeshHeadings(Collections.singletonList(meshHeading));
+		return reCiterArticle;
+	}
+}
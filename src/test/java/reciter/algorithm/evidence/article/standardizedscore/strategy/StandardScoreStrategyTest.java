@@ -0,0 +1,37 @@
+package reciter.algorithm.evidence.article.standardizedscore.strategy;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+public class StandardScoreStrategyTest {
+
+	private static final String MAPPING = "-999,1.78,2.01,2.25,2.54,2.85,3.24,3.55,4.3,5.4";
+
+	@Test
+	public void testStandardize() {
+		double[] lowerBounds = StandardScoreStrategy.parseMapping(MAPPING);
+		assertEquals(0, StandardScoreStrategy.standardize(lowerBounds, -1000));
+		assertEquals(1, StandardScoreStrategy.standardize(lowerBounds, -999));
+		assertEquals(1, StandardScoreStrategy.standardize(lowerBounds, 1.779));
+		assertEquals(2, StandardScoreStrategy.standardize(lowerBounds, 1.78));
+		assertEquals(9, StandardScoreStrategy.standardize(lowerBounds, 5.39));
+		assertEquals(10, StandardScoreStrategy.standardize(lowerBounds, 5.4));
+		assertEquals(10, StandardScoreStrategy.standardize(lowerBounds, 100));
+		assertEquals(0, StandardScoreStrategy.standardize(lowerBounds, Double.NaN));
+	}
+
+	@Test
+	public void testStandardizeAll() {
+		double[] lowerBounds = StandardScoreStrategy.parseMapping(MAPPING);
+		assertArrayEquals(new int[] {1, 3, 5, 10}, StandardScoreStrategy.standardize(lowerBounds, new double[] {0, 2.1, 2.6, 7}));
+	}
+
+	@Test
+	public void testMappingParsedOnce() {
+		assertSame(StandardScoreStrategy.parseMapping(MAPPING), StandardScoreStrategy.parseMapping(MAPPING));
+		assertArrayEquals(new double[] {1, 2, 3}, StandardScoreStrategy.parseMapping(" 1, 2,3 "), 0);
+	}
+}
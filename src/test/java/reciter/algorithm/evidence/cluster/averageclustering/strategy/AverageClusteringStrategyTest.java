@@ -0,0 +1,39 @@
+package reciter.algorithm.evidence.cluster.averageclustering.strategy;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class AverageClusteringStrategyTest {
+
+	@Test
+	public void testStripFirstName() {
+		String[] firstNames = {"John", "J", "Mary-Ann", "J. \"Jack\" (Johnny)", " \u00e9sa ", "Jo\thn", ""};
+		for (String firstName : firstNames) {
+			assertEquals(firstName.replaceAll("[A-Z-.\"() ]", "").trim(), AverageClusteringStrategy.stripFirstName(firstName));
+		}
+	}
+
+	/**
+	 * The average is bit for bit the stream sum over the articles it replaced
+	 */
+	@Test
+	public void testAverageClusterScore() {
+		Random random = new Random(42);
+		for (int size = 1; size <= 50; size++) {
+			List<Double> scores = new ArrayList<>();
+			double[] articleScores = new double[size];
+			for (int i = 0; i < size; i++) {
+				articleScores[i] = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(6) - 2);
+				scores.add(articleScores[i]);
+			}
+			assertEquals(scores.stream().mapToDouble(score -> score).sum()/scores.size(), AverageClusteringStrategy.getAverageClusterScore(articleScores), 0);
+		}
+		//A plain loop would lose the small scores here
+		assertEquals(0.5, AverageClusteringStrategy.getAverageClusterScore(new double[] {1e16, 1.0, 1.0, -1e16}), 0);
+	}
+}
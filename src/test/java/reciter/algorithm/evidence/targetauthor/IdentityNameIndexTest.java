@@ -0,0 +1,55 @@
+package reciter.algorithm.evidence.targetauthor;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import reciter.algorithm.evidence.targetauthor.IdentityNameIndex.AuthorNameMatch;
+import reciter.algorithm.evidence.targetauthor.IdentityNameIndex.MatchLevel;
+import reciter.model.identity.AuthorName;
+
+public class IdentityNameIndexTest {
+
+	private final IdentityNameIndex identityNameIndex = new IdentityNameIndex(Arrays.asList(
+			new AuthorName("Ayman", "A", "Elmenyar"),
+			new AuthorName("Paul", "J", "Somersan-Karakaya")));
+
+	/**
+	 * Exact levels compare names ignoring case like the original equalsIgnoreCase comparison
+	 */
+	@Test
+	public final void testExactMatchIgnoresCase() {
+		AuthorNameMatch authorNameMatch = identityNameIndex.match(new AuthorName("AYMAN", "a", "elMenyar"));
+		assertTrue(authorNameMatch.isMatch(MatchLevel.LAST_MIDDLE_FIRST));
+		assertTrue(authorNameMatch.isMatch(MatchLevel.LAST_MIDDLE_INITIAL_FIRST));
+		assertTrue(authorNameMatch.isMatch(MatchLevel.LAST_FIRST));
+		assertTrue(authorNameMatch.isMatch(MatchLevel.LAST_FIRST_INITIAL));
+		assertFalse(authorNameMatch.isMatch(MatchLevel.SWAPPED_INITIALS_LAST));
+	}
+
+	@Test
+	public final void testSubstringMatch() {
+		AuthorNameMatch authorNameMatch = identityNameIndex.match(new AuthorName("Aym", null, "Elmenyar"));
+		assertTrue(authorNameMatch.isMatch(MatchLevel.LAST_FIRST_PART_OF_IDENTITY_FIRST));
+		assertFalse(authorNameMatch.isMatch(MatchLevel.LAST_IDENTITY_FIRST_PART_OF_FIRST));
+		assertFalse(authorNameMatch.isApplicable(MatchLevel.LAST_MIDDLE_FIRST));
+
+		authorNameMatch = identityNameIndex.match(new AuthorName("P", null, "Karakaya"));
+		assertTrue(authorNameMatch.isMatch(MatchLevel.LAST_PART_OF_IDENTITY_LAST));
+		assertFalse(authorNameMatch.isMatch(MatchLevel.LAST));
+	}
+
+	/**
+	 * Article first initial matches identity middle initial and article middle initial matches identity first initial
+	 */
+	@Test
+	public final void testSwappedInitialsMatch() {
+		AuthorNameMatch authorNameMatch = identityNameIndex.match(new AuthorName("J", "P", "Somersan-Karakaya"));
+		assertTrue(authorNameMatch.isMatch(MatchLevel.SWAPPED_INITIALS_LAST));
+		assertFalse(authorNameMatch.isMatch(MatchLevel.LAST_FIRST_INITIAL));
+		assertTrue(authorNameMatch.isMatch(MatchLevel.LAST));
+	}
+}
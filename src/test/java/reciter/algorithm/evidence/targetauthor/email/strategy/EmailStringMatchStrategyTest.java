@@ -0,0 +1,127 @@
+package reciter.algorithm.evidence.targetauthor.email.strategy;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import reciter.algorithm.cluster.article.scorer.ReCiterArticleScorer;
+import reciter.engine.StrategyParameters;
+import reciter.engine.analysis.evidence.EmailEvidence;
+import reciter.model.article.ReCiterArticle;
+import reciter.model.article.ReCiterArticleAuthors;
+import reciter.model.article.ReCiterAuthor;
+import reciter.model.identity.AuthorName;
+import reciter.model.identity.Identity;
+
+public class EmailStringMatchStrategyTest {
+
+	private static final List<String> AFFILIATIONS = Arrays.asList(
+			"Weill Cornell Medicine, New York, NY, USA. jdoe@med.cornell.edu",
+			"Weill Cornell Medicine, New York, NY, USA.jdoe@med.cornell.edu",
+			"Department of Medicine, New York, NY. Electronic address: ajdoe@med.cornell.edu",
+			"Department of Medicine, New York, NY. john.doe+lab@gmail.com",
+			"Department of Medicine, New York, NY. JDOE@MED.CORNELL.EDU",
+			"Department of Medicine, New York, NY. jod2001@nyp.org",
+			"Department of Medicine, New York, NY. jod2001@weill.cornell.edu.",
+			"Department of Medicine, New York, NY.",
+			"");
+
+	private Identity identity;
+
+	@Before
+	public void setUp() {
+		StrategyParameters strategyParameters = new StrategyParameters();
+		strategyParameters.setDefaultSuffixes("@med.cornell.edu,@mail.med.cornell.edu,@weill.cornell.edu,@nyp.org");
+		strategyParameters.setEmailMatchScore(2.5);
+		ReCiterArticleScorer.strategyParameters = strategyParameters;
+
+		identity = new Identity();
+		identity.setUid("jod2001");
+		identity.setPrimaryName(new AuthorName("John", null, "Doe"));
+		identity.setEmails(Arrays.asList("jdoe@med.cornell.edu", "john.doe+lab@gmail.com"));
+	}
+
+	/**
+	 * Every affiliation gets the same evidence, matching emails and cluster info as the substring search before the
+	 * uid addresses were built once per run
+	 */
+	@Test
+	public void testSameEvidenceAsSubstringSearch() {
+		EmailStringMatchStrategy emailStringMatchStrategy = new EmailStringMatchStrategy();
+		for (String affiliation : AFFILIATIONS) {
+			ReCiterArticle expected = article(affiliation);
+			ReCiterArticle actual = article(affiliation);
+			substringSearch(Collections.singletonList(expected), identity, emailStringMatchStrategy.getEmailSuffixes());
+			emailStringMatchStrategy.executeStrategy(Collections.singletonList(actual), identity);
+
+			assertEquals(affiliation, emailMatch(expected.getEmailEvidence()), emailMatch(actual.getEmailEvidence()));
+			assertEquals(affiliation, expected.getMatchingEmails(), actual.getMatchingEmails());
+			assertEquals(affiliation, expected.getClusterInfo(), actual.getClusterInfo());
+		}
+	}
+
+	@Test
+	public void testSubstringMatches() {
+		EmailStringMatchStrategy emailStringMatchStrategy = new EmailStringMatchStrategy();
+		ReCiterArticle reCiterArticle = article("Weill Cornell Medicine, New York, NY, USA.jdoe@med.cornell.edu");
+		emailStringMatchStrategy.executeStrategy(Collections.singletonList(reCiterArticle), identity);
+		assertEquals("jdoe@med.cornell.edu", emailMatch(reCiterArticle.getEmailEvidence()));
+
+		reCiterArticle = article("Department of Medicine, New York, NY. john.doe+lab@gmail.com");
+		emailStringMatchStrategy.executeStrategy(Collections.singletonList(reCiterArticle), identity);
+		assertEquals("john.doe+lab@gmail.com", emailMatch(reCiterArticle.getEmailEvidence()));
+	}
+
+	private static String emailMatch(EmailEvidence emailEvidence) {
+		return emailEvidence == null ? null : emailEvidence.getEmailMatch();
+	}
+
+	private static ReCiterArticle article(String affiliation) {
+		ReCiterArticle reCiterArticle = new ReCiterArticle(1L);
+		ReCiterArticleAuthors reCiterArticleAuthors = new ReCiterArticleAuthors();
+		ReCiterAuthor coAuthor = new ReCiterAuthor(new AuthorName("Jane", null, "Roe"), "jroe@med.cornell.edu");
+		coAuthor.setTargetAuthor(false);
+		reCiterArticleAuthors.addAuthor(coAuthor);
+		ReCiterAuthor targetAuthor = new ReCiterAuthor(new AuthorName("John", null, "Doe"), affiliation);
+		targetAuthor.setTargetAuthor(true);
+		reCiterArticleAuthors.addAuthor(targetAuthor);
+		reCiterArticle.setArticleCoAuthors(reCiterArticleAuthors);
+		return reCiterArticle;
+	}
+
+	/**
+	 * Email matching as it was before the uid addresses were built once per run
+	 */
+	private static void substringSearch(List<ReCiterArticle> reCiterArticles, Identity identity, List<String> emailSuffixes) {
+		for (ReCiterArticle reCiterArticle : reCiterArticles) {
+			for (ReCiterAuthor author : reCiterArticle.getArticleCoAuthors().getAuthors()) {
+				EmailEvidence emailEvidence = new EmailEvidence();
+				if (author.isTargetAuthor() && author.getAffiliation() != null) {
+					String affiliation = author.getAffiliation();
+					for (String email : identity.getEmails()) {
+						if (affiliation.contains(email)) {
+							reCiterArticle.setClusterInfo(reCiterArticle.getClusterInfo() + " [email matches: " + email + "]");
+							reCiterArticle.getMatchingEmails().add(email);
+							emailEvidence.setEmailMatch(email);
+							emailEvidence.setEmailMatchScore(ReCiterArticleScorer.strategyParameters.getEmailMatchScore());
+						} else if(emailSuffixes.stream().anyMatch(suffix -> affiliation.contains(identity.getUid() + suffix))) {
+							reCiterArticle.setClusterInfo(reCiterArticle.getClusterInfo() + " [email matches: " + affiliation + "]");
+							reCiterArticle.getMatchingEmails().add(email);
+							emailEvidence.setEmailMatch(email);
+							emailEvidence.setEmailMatchScore(ReCiterArticleScorer.strategyParameters.getEmailMatchScore());
+						}
+					}
+				}
+				if(emailEvidence.getEmailMatch() != null) {
+					reCiterArticle.setEmailEvidence(emailEvidence);
+					break;
+				}
+			}
+		}
+	}
+}
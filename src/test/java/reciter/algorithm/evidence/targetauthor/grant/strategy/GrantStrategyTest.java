@@ -0,0 +1,127 @@
+package reciter.algorithm.evidence.targetauthor.grant.strategy;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import reciter.algorithm.cluster.article.scorer.ReCiterArticleScorer;
+import reciter.engine.StrategyParameters;
+import reciter.engine.analysis.evidence.Grant;
+import reciter.engine.analysis.evidence.GrantEvidence;
+import reciter.model.article.ReCiterArticle;
+import reciter.model.article.ReCiterArticleGrant;
+import reciter.model.identity.Identity;
+
+public class GrantStrategyTest {
+
+	/** Article grants as grant id and sanitized grant id */
+	private static final String[][] ARTICLE_GRANTS = {
+			{"CA 123456/CA/NCI NIH HHS/United States", "CA-123456"},
+			{"ca 123456/CA/NCI NIH HHS/United States", "ca-123456"},
+			{"DP1 021/OD/NIH HHS/United States", "DP-1021"},
+			{"K23 HL004567/HL/NHLBI NIH HHS/United States", "HL-4567"},
+			{"R01 GM999999/GM/NIGMS NIH HHS/United States", "GM-999999"},
+			{"Unsanitized", null},
+			{null, "CA-123456"}
+	};
+
+	private Identity identity;
+
+	@Before
+	public void setUp() {
+		StrategyParameters strategyParameters = new StrategyParameters();
+		strategyParameters.setGrantMatchScore(1.5);
+		ReCiterArticleScorer.strategyParameters = strategyParameters;
+
+		identity = new Identity();
+		identity.setUid("jod2001");
+		identity.setGrants(Arrays.asList("CA123456", "ca123456", "DP001021", "HL004567", "AI111111"));
+	}
+
+	/**
+	 * Each article grant gets the same score, matching grants and evidence as the comparison with every identity grant
+	 */
+	@Test
+	public void testSameEvidenceAsComparingEveryIdentityGrant() {
+		GrantStrategy grantStrategy = new GrantStrategy();
+		for (String[] articleGrant : ARTICLE_GRANTS) {
+			ReCiterArticle expected = article(articleGrant);
+			ReCiterArticle actual = article(articleGrant);
+			double expectedScore = compareEveryIdentityGrant(Collections.singletonList(expected), identity);
+			double actualScore = grantStrategy.executeStrategy(Collections.singletonList(actual), identity);
+
+			String message = Arrays.toString(articleGrant);
+			assertEquals(message, expectedScore, actualScore, 0);
+			assertEquals(message, expected.getMatchingGrantList().size(), actual.getMatchingGrantList().size());
+			assertEquals(message, institutionGrants(expected.getGrantEvidence()), institutionGrants(actual.getGrantEvidence()));
+		}
+	}
+
+	@Test
+	public void testMatchIgnoresCase() {
+		ReCiterArticle reCiterArticle = article(ARTICLE_GRANTS[1]);
+		//CA-123456 and ca-123456 both match, the evidence lists the grant once
+		assertEquals(2, new GrantStrategy().executeStrategy(Collections.singletonList(reCiterArticle), identity), 0);
+		assertEquals(1, reCiterArticle.getGrantEvidence().getGrants().size());
+	}
+
+	private static List<String> institutionGrants(GrantEvidence grantEvidence) {
+		List<String> institutionGrants = new ArrayList<>();
+		if (grantEvidence != null) {
+			for (Grant grant : grantEvidence.getGrants()) {
+				institutionGrants.add(grant.getArticleGrant() + "=" + grant.getInstitutionGrant());
+			}
+		}
+		return institutionGrants;
+	}
+
+	private static ReCiterArticle article(String[] articleGrant) {
+		ReCiterArticle reCiterArticle = new ReCiterArticle(1L);
+		ReCiterArticleGrant reCiterArticleGrant = new ReCiterArticleGrant();
+		reCiterArticleGrant.setGrantID(articleGrant[0]);
+		reCiterArticleGrant.setSanitizedGrantID(articleGrant[1]);
+		reCiterArticle.setGrantList(new ArrayList<>(Collections.singletonList(reCiterArticleGrant)));
+		return reCiterArticle;
+	}
+
+	/**
+	 * Grant matching as it was before the identity grants were indexed
+	 */
+	private static double compareEveryIdentityGrant(List<ReCiterArticle> reCiterArticles, Identity identity) {
+		Set<String> sanitizedIdentityGrants = new HashSet<String>();
+		GrantStrategy.sanitizeIdentityGrants(identity, sanitizedIdentityGrants);
+		double score = 0;
+		for (ReCiterArticle reCiterArticle : reCiterArticles) {
+			List<Grant> grants = new ArrayList<>();
+			for (ReCiterArticleGrant grant : reCiterArticle.getGrantList()) {
+				for (String identityGrantId : sanitizedIdentityGrants) {
+					if (grant.getGrantID() != null && org.apache.commons.lang3.StringUtils.equalsIgnoreCase(grant.getSanitizedGrantID(), identityGrantId)) {
+						Grant analysisGrant = new Grant();
+						analysisGrant.setArticleGrant(grant.getGrantID());
+						analysisGrant.setInstitutionGrant(identityGrantId);
+						analysisGrant.setGrantMatchScore(ReCiterArticleScorer.strategyParameters.getGrantMatchScore());
+						score += 1;
+						reCiterArticle.getMatchingGrantList().add(grant);
+						if(!grants.stream().anyMatch(matchingGrant -> org.apache.commons.lang3.StringUtils.equalsIgnoreCase(identityGrantId, matchingGrant.getInstitutionGrant()))) {
+							grants.add(analysisGrant);
+						}
+					}
+				}
+			}
+			GrantEvidence grantEvidence = new GrantEvidence();
+			grantEvidence.setGrants(grants);
+			if(grantEvidence.getGrants().size() > 0) {
+				reCiterArticle.setGrantEvidence(grantEvidence);
+			}
+		}
+		return score;
+	}
+}
@@ -0,0 +1,109 @@
+package reciter.algorithm.evidence.targetauthor.knownrelationship.strategy;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import reciter.algorithm.cluster.article.scorer.ReCiterArticleScorer;
+import reciter.engine.StrategyParameters;
+import reciter.engine.analysis.evidence.RelationshipPostiveMatch;
+import reciter.model.article.ReCiterArticle;
+import reciter.model.article.ReCiterArticleAuthors;
+import reciter.model.article.ReCiterAuthor;
+import reciter.model.identity.AuthorName;
+import reciter.model.identity.Identity;
+import reciter.model.identity.KnownRelationship;
+import reciter.model.identity.KnownRelationship.RelationshipType;
+
+public class KnownRelationshipStrategyTest {
+
+	private Identity identity;
+
+	@Before
+	public void setUp() {
+		StrategyParameters strategyParameters = new StrategyParameters();
+		strategyParameters.setRelationshipMatchingScore(1.0);
+		ReCiterArticleScorer.strategyParameters = strategyParameters;
+
+		identity = new Identity();
+		identity.setUid("jod2001");
+		identity.setPrimaryName(new AuthorName("John", null, "Doe"));
+		identity.setKnownRelationships(Arrays.asList(
+				relationship("Grace", "Migliorisi", RelationshipType.CO_INVESTIGATOR),
+				relationship("John", "Smith", RelationshipType.MENTOR),
+				relationship("Jane", "SMITH", RelationshipType.MANAGER),
+				relationship("Mary", "Yeotsas", RelationshipType.CO_INVESTIGATOR)));
+	}
+
+	/**
+	 * Co-authors are matched to the same relationships in the same order as when every relationship was compared with
+	 * every co-author
+	 */
+	@Test
+	public void testSameMatchesAsComparingEveryRelationship() {
+		ReCiterArticle reCiterArticle = article(
+				author("John", "Doe", true),
+				author("G", "Migliorisi", false),
+				author("Jack", "smith", false),
+				author("Mark", "Yeotsas", false),
+				author("Ann", "Jones", false),
+				author("J", "Doe", false));
+
+		List<String> expected = new ArrayList<>();
+		for (ReCiterAuthor author : reCiterArticle.getArticleCoAuthors().getAuthors()) {
+			if (!author.isTargetAuthor()) {
+				for (KnownRelationship knownRelationship : identity.getKnownRelationships()) {
+					if (knownRelationship.getName().firstInitialLastNameMatch(author.getAuthorName())) {
+						expected.add(author.getAuthorName().getLastName() + "=" + knownRelationship.getName().getFirstName());
+					}
+				}
+			}
+		}
+
+		double sum = new KnownRelationshipStrategy().executeStrategy(Collections.singletonList(reCiterArticle), identity);
+
+		List<String> actual = new ArrayList<>();
+		for (RelationshipPostiveMatch relationshipPostiveMatch : reCiterArticle.getRelationshipEvidence().getRelationshipPositiveMatch()) {
+			actual.add(relationshipPostiveMatch.getRelationshipNameArticle().getLastName() + "=" + relationshipPostiveMatch.getRelationshipNameIdentity().getFirstName());
+		}
+		assertEquals(expected, actual);
+		assertEquals(expected.size(), sum, 0);
+	}
+
+	@Test
+	public void testNoRelationships() {
+		identity.setKnownRelationships(null);
+		ReCiterArticle reCiterArticle = article(author("John", "Doe", true), author("Jack", "Smith", false));
+		assertEquals(0, new KnownRelationshipStrategy().executeStrategy(Collections.singletonList(reCiterArticle), identity), 0);
+		assertEquals(0, reCiterArticle.getRelationshipEvidence().getRelationshipPositiveMatch().size());
+	}
+
+	private static KnownRelationship relationship(String firstName, String lastName, RelationshipType type) {
+		KnownRelationship knownRelationship = new KnownRelationship();
+		knownRelationship.setName(new AuthorName(firstName, null, lastName));
+		knownRelationship.setType(type);
+		return knownRelationship;
+	}
+
+	private static ReCiterAuthor author(String firstName, String lastName, boolean targetAuthor) {
+		ReCiterAuthor reCiterAuthor = new ReCiterAuthor(new AuthorName(firstName, null, lastName), null);
+		reCiterAuthor.setTargetAuthor(targetAuthor);
+		return reCiterAuthor;
+	}
+
+	private static ReCiterArticle article(ReCiterAuthor... authors) {
+		ReCiterArticle reCiterArticle = new ReCiterArticle(1L);
+		ReCiterArticleAuthors reCiterArticleAuthors = new ReCiterArticleAuthors();
+		for (ReCiterAuthor reCiterAuthor : authors) {
+			reCiterArticleAuthors.addAuthor(reCiterAuthor);
+		}
+		reCiterArticle.setArticleCoAuthors(reCiterArticleAuthors);
+		return reCiterArticle;
+	}
+}
@@ -0,0 +1,121 @@
+package reciter.algorithm.tfidf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import reciter.model.article.ReCiterArticle;
+import reciter.model.article.ReCiterArticleKeywords;
+import reciter.model.article.ReCiterArticleMeshHeading;
+import reciter.model.article.ReCiterMeshHeadingDescriptorName;
+
+public class ArticleTfIdfTest {
+
+	private static final double DELTA = 1e-6;
+
+	@Test
+	public final void testTokenization() {
+		ReCiterArticle reCiterArticle = article(1, "The Effects of COVID-19 on Heart-Failure in 2020", null);
+		reCiterArticle.setPublicationAbstract("A cohort study.");
+		ArticleTfIdf articleTfIdf = ArticleTfIdf.of(Arrays.asList(reCiterArticle));
+
+		for(String word: new String[] {"effects", "covid", "heart", "failure", "cohort", "study"}) {
+			assertNotEquals(word, -1, articleTfIdf.getTermId(word));
+		}
+		//Stop words, words shorter than three characters, numbers and upper case forms are not terms
+		for(String word: new String[] {"the", "of", "on", "in", "a", "19", "2020", "COVID", "heart-failure"}) {
+			assertEquals(word, -1, articleTfIdf.getTermId(word));
+		}
+		assertEquals(6, articleTfIdf.getVocabularySize());
+	}
+
+	@Test
+	public final void testKeywordsAndMeshArePhrases() {
+		ReCiterArticle reCiterArticle = article(1, null, "Heart Failure");
+		ReCiterArticleKeywords articleKeywords = new ReCiterArticleKeywords();
+		articleKeywords.addKeyword("Cardiac Output");
+		reCiterArticle.setArticleKeywords(articleKeywords);
+		ArticleTfIdf articleTfIdf = ArticleTfIdf.of(Arrays.asList(reCiterArticle));
+
+		assertNotEquals(-1, articleTfIdf.getTermId("k:cardiac output"));
+		assertNotEquals(-1, articleTfIdf.getTermId("cardiac"));
+		assertNotEquals(-1, articleTfIdf.getTermId("output"));
+		//MeSH descriptors are only kept whole
+		assertNotEquals(-1, articleTfIdf.getTermId("m:heart failure"));
+		assertEquals(-1, articleTfIdf.getTermId("heart"));
+		assertEquals(4, articleTfIdf.getVocabularySize());
+	}
+
+	@Test
+	public final void testIdf() {
+		ArticleTfIdf articleTfIdf = ArticleTfIdf.of(Arrays.asList(
+				article(1, "common rare", null),
+				article(2, "common shared", null),
+				article(3, "common shared", null)));
+
+		//Smoothed idf is ln((1 + articles) / (1 + document frequency)) + 1
+		assertEquals(1, articleTfIdf.getIdf(articleTfIdf.getTermId("common")), DELTA);
+		assertEquals(Math.log(4.0 / 3.0) + 1, articleTfIdf.getIdf(articleTfIdf.getTermId("shared")), DELTA);
+		assertEquals(Math.log(2.0) + 1, articleTfIdf.getIdf(articleTfIdf.getTermId("rare")), DELTA);
+		assertEquals(3, articleTfIdf.size());
+	}
+
+	@Test
+	public final void testVector() {
+		ReCiterArticle reCiterArticle = article(1, "alpha beta alpha", null);
+		ReCiterArticle other = article(2, "gamma", null);
+		ArticleTfIdf articleTfIdf = ArticleTfIdf.of(Arrays.asList(reCiterArticle, other));
+
+		//Both terms have the same idf, alpha has a sublinear term frequency of 1 + ln(2)
+		double alpha = 1 + Math.log(2);
+		double norm = Math.sqrt(alpha * alpha + 1);
+		SparseVector vector = articleTfIdf.getVector(reCiterArticle);
+		assertEquals(2, vector.size());
+		assertEquals(1, vector.getNorm(), DELTA);
+		assertEquals(alpha / norm, vector.get(articleTfIdf.getTermId("alpha")), DELTA);
+		assertEquals(1 / norm, vector.get(articleTfIdf.getTermId("beta")), DELTA);
+		//Term ids are sorted so that dot products are a merge
+		assertTrue(vector.getTermId(0) < vector.getTermId(1));
+	}
+
+	@Test
+	public final void testSimilarity() {
+		ReCiterArticle reCiterArticle = article(1, "myocardial infarction outcomes", null);
+		ReCiterArticle same = article(2, "myocardial infarction outcomes", null);
+		ReCiterArticle overlapping = article(3, "myocardial infarction genetics", null);
+		ReCiterArticle unrelated = article(4, "protein folding", null);
+		ArticleTfIdf articleTfIdf = ArticleTfIdf.of(Arrays.asList(reCiterArticle, same, overlapping, unrelated));
+
+		assertEquals(1, articleTfIdf.similarity(reCiterArticle, same), DELTA);
+		assertEquals(0, articleTfIdf.similarity(reCiterArticle, unrelated), DELTA);
+		double similarity = articleTfIdf.similarity(reCiterArticle, overlapping);
+		assertTrue(similarity > 0 && similarity < 1);
+		assertEquals(similarity, articleTfIdf.similarity(overlapping, reCiterArticle), DELTA);
+		//Articles outside the corpus have no terms
+		ReCiterArticle outside = article(5, "myocardial infarction outcomes", null);
+		assertSame(SparseVector.EMPTY, articleTfIdf.getVector(outside));
+		assertEquals(0, articleTfIdf.similarity(reCiterArticle, outside), DELTA);
+	}
+
+	private static ReCiterArticle article(long pmid, String title, String meshTerm) {
+		ReCiterArticle reCiterArticle = new ReCiterArticle(pmid);
+		reCiterArticle.setArticleTitle(title);
+		List<ReCiterArticleMeshHeading> meshHeadings = new ArrayList<>();
+		if(meshTerm != null) {
+			ReCiterMeshHeadingDescriptorName descriptorName = new ReCiterMeshHeadingDescriptorName();
+			descriptorName.setDescriptorName(meshTerm);
+			ReCiterArticleMeshHeading meshHeading = new ReCiterArticleMeshHeading();
+			meshHeading.setDescriptorName(descriptorName);
+			meshHeadings.add(meshHeading);
+		}
+		reCiterArticle.setMeshHeadings(meshHeadings);
+		return reCiterArticle;
+	}
+}
@@ -0,0 +1,38 @@
+package reciter.algorithm.tfidf;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class SparseVectorTest {
+
+	private static final double DELTA = 1e-6;
+
+	@Test
+	public final void testDotOnlyMultipliesSharedTerms() {
+		SparseVector v1 = new SparseVector(new int[] {1, 4, 9}, new float[] {1f, 2f, 3f});
+		SparseVector v2 = new SparseVector(new int[] {0, 4, 9, 12}, new float[] {5f, 1f, 2f, 7f});
+		assertEquals(2 * 1 + 3 * 2, v1.dot(v2), DELTA);
+		assertEquals(v1.dot(v2), v2.dot(v1), DELTA);
+		assertEquals(0, v1.dot(SparseVector.EMPTY), DELTA);
+	}
+
+	@Test
+	public final void testCosineSimilarity() {
+		SparseVector v1 = new SparseVector(new int[] {1, 2}, new float[] {3f, 4f});
+		SparseVector v2 = new SparseVector(new int[] {1, 2}, new float[] {6f, 8f});
+		SparseVector v3 = new SparseVector(new int[] {3}, new float[] {1f});
+		assertEquals(1, v1.cosineSimilarity(v2), DELTA);
+		assertEquals(0, v1.cosineSimilarity(v3), DELTA);
+		assertEquals(0, v1.cosineSimilarity(SparseVector.EMPTY), DELTA);
+	}
+
+	@Test
+	public final void testNormalize() {
+		SparseVector normalized = new SparseVector(new int[] {1, 2}, new float[] {3f, 4f}).normalize();
+		assertEquals(1, normalized.getNorm(), DELTA);
+		assertEquals(0.6, normalized.get(1), DELTA);
+		assertEquals(0.8, normalized.get(2), DELTA);
+		assertEquals(0, normalized.get(3), DELTA);
+	}
+}
@@ -0,0 +1,63 @@
+package reciter.controller;
+
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import reciter.model.identity.Identity;
+import reciter.service.IdentityDerivedDataService;
+import reciter.service.IdentityService;
+
+public class IdentityControllerTest {
+
+	private IdentityService identityService;
+
+	private IdentityDerivedDataService identityDerivedDataService;
+
+	private IdentityController identityController;
+
+	@Before
+	public void setUp() {
+		identityService = mock(IdentityService.class);
+		identityDerivedDataService = mock(IdentityDerivedDataService.class);
+		identityController = new IdentityController();
+		ReflectionTestUtils.setField(identityController, "identityService", identityService);
+		ReflectionTestUtils.setField(identityController, "identityDerivedDataService", identityDerivedDataService);
+	}
+
+	@Test
+	public void testAddIdentityInvalidatesDerivedData() {
+		Identity identity = identity("paa2013");
+
+		identityController.addIdentity(identity);
+
+		InOrder inOrder = inOrder(identityService, identityDerivedDataService);
+		inOrder.verify(identityService).save(identity);
+		inOrder.verify(identityDerivedDataService).invalidate("paa2013");
+	}
+
+	@Test
+	public void testSaveIdentitiesInvalidatesDerivedData() {
+		List<Identity> identities = Arrays.asList(identity("uid1"), identity("uid2"));
+
+		identityController.saveIdentities(identities);
+
+		InOrder inOrder = inOrder(identityService, identityDerivedDataService);
+		inOrder.verify(identityService).save(identities);
+		inOrder.verify(identityDerivedDataService).invalidate("uid1");
+		inOrder.verify(identityDerivedDataService).invalidate("uid2");
+	}
+
+	private static Identity identity(String uid) {
+		Identity identity = new Identity();
+		identity.setUid(uid);
+		return identity;
+	}
+}
@@ -0,0 +1,64 @@
+package reciter.database.dyanmodb.files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import reciter.database.dyanmodb.files.DynamoDbBatchImporter.AdaptiveThrottle;
+import reciter.database.dyanmodb.files.DynamoDbBatchImporter.CheckpointTracker;
+
+public class DynamoDbBatchImporterTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	/**
+	 * Chunks finishing out of order only move the checkpoint over the records written from the start
+	 */
+	@Test
+	public final void testCheckpointSkipsOnlyContiguousChunks() throws IOException {
+		Path checkpoint = temporaryFolder.getRoot().toPath().resolve("MeshTerm.json.checkpoint");
+		CheckpointTracker tracker = new CheckpointTracker(0, checkpoint, "/files/MeshTerm.json|42");
+
+		tracker.completed(100, 200);
+		assertEquals(0, tracker.getWatermark());
+		tracker.completed(0, 100);
+		assertEquals(200, tracker.getWatermark());
+		tracker.completed(300, 400);
+		assertEquals(200, tracker.getWatermark());
+
+		tracker.flush();
+		assertEquals(Arrays.asList("/files/MeshTerm.json|42", "200"), Files.readAllLines(checkpoint, StandardCharsets.UTF_8));
+
+		tracker.clear();
+		assertFalse(Files.exists(checkpoint));
+	}
+
+	@Test
+	public final void testThrottleBacksOffAndRecovers() {
+		AdaptiveThrottle throttle = new AdaptiveThrottle();
+		assertEquals(0, throttle.getDelayMillis());
+
+		throttle.onThrottled();
+		throttle.onThrottled();
+		assertEquals(2 * AdaptiveThrottle.INITIAL_DELAY_MILLIS, throttle.getDelayMillis());
+		for(int i = 0; i < 20; i++) {
+			throttle.onThrottled();
+		}
+		assertEquals(AdaptiveThrottle.MAX_DELAY_MILLIS, throttle.getDelayMillis());
+
+		for(int i = 0; i < 50; i++) {
+			throttle.onSuccess();
+		}
+		assertEquals(0, throttle.getDelayMillis());
+	}
+}
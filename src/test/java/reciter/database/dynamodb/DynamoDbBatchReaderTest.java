@@ -0,0 +1,255 @@
+package reciter.database.dynamodb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBAttribute;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBHashKey;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTable;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemResult;
+import com.amazonaws.services.dynamodbv2.model.KeysAndAttributes;
+import com.amazonaws.services.dynamodbv2.model.ProvisionedThroughputExceededException;
+
+public class DynamoDbBatchReaderTest {
+
+	private static final String TABLE = "BatchReaderItem";
+
+	private static final int MAX_RETRIES = 3;
+
+	@DynamoDBTable(tableName = TABLE)
+	public static class Item {
+
+		private String id;
+
+		private String title;
+
+		@DynamoDBHashKey(attributeName = "id")
+		public String getId() {
+			return id;
+		}
+
+		public void setId(String id) {
+			this.id = id;
+		}
+
+		@DynamoDBAttribute(attributeName = "title")
+		public String getTitle() {
+			return title;
+		}
+
+		public void setTitle(String title) {
+			this.title = title;
+		}
+	}
+
+	private AmazonDynamoDB amazonDynamoDB;
+
+	private DynamoDbBatchReader dynamoDbBatchReader;
+
+	/** Title large enough that four items come close to the 16MB response limit */
+	private static final String LARGE_TITLE = String.join("", Collections.nCopies(3500, String.join("", Collections.nCopies(1000, "x"))));
+
+	/** Keys of every BatchGetItem request in the order they were sent */
+	private final List<List<String>> requests = Collections.synchronizedList(new ArrayList<>());
+
+	/** Backoff delays in milliseconds, recorded instead of sleeping */
+	private final List<Long> backoffs = Collections.synchronizedList(new ArrayList<>());
+
+	@Before
+	public void setUp() {
+		amazonDynamoDB = mock(AmazonDynamoDB.class);
+		dynamoDbBatchReader = new DynamoDbBatchReader();
+		ReflectionTestUtils.setField(dynamoDbBatchReader, "amazonDynamoDB", amazonDynamoDB);
+		ReflectionTestUtils.setField(dynamoDbBatchReader, "dynamoDBMapperConfig", DynamoDBMapperConfig.DEFAULT);
+		ReflectionTestUtils.setField(dynamoDbBatchReader, "parallelism", 2);
+		ReflectionTestUtils.setField(dynamoDbBatchReader, "maxRetries", MAX_RETRIES);
+		ReflectionTestUtils.setField(dynamoDbBatchReader, "sleep", (LongConsumer) backoffs::add);
+		dynamoDbBatchReader.init();
+	}
+
+	@After
+	public void tearDown() {
+		dynamoDbBatchReader.shutdown();
+	}
+
+	@Test
+	public final void testChunksOfAtMost100Keys() {
+		List<String> ids = ids(250);
+		//duplicates are read once
+		ids.addAll(ids(10));
+		answerWith(keys -> result(keys, Collections.emptyList()));
+
+		List<Item> items = dynamoDbBatchReader.load(Item.class, ids).join();
+
+		assertEquals(new HashSet<>(ids), items.stream().map(Item::getId).collect(Collectors.toSet()));
+		assertEquals(250, items.size());
+		List<Integer> sizes = requests.stream().map(List::size).sorted().collect(Collectors.toList());
+		assertEquals(Arrays.asList(50, 100, 100), sizes);
+	}
+
+	/**
+	 * Keys DynamoDb left unprocessed without returning anything, e.g. when throttled, and throttling exceptions are
+	 * retried after a backoff
+	 */
+	@Test
+	public final void testUnprocessedKeysAreRetried() {
+		List<String> ids = ids(10);
+		answerWith(
+				keys -> result(Collections.emptyList(), keys),
+				keys -> {
+					throw new ProvisionedThroughputExceededException("Throttled");
+				},
+				keys -> result(keys, Collections.emptyList()));
+
+		List<Item> items = dynamoDbBatchReader.load(Item.class, ids).join();
+
+		assertEquals(new HashSet<>(ids), items.stream().map(Item::getId).collect(Collectors.toSet()));
+		assertEquals(3, requests.size());
+		assertEquals(ids, requests.get(2));
+		assertEquals(2, backoffs.size());
+	}
+
+	/**
+	 * A response cut at 16MB returns part of the items and the rest as unprocessed keys, which are read right away
+	 */
+	@Test
+	public final void testPartialResponseIsContinued() {
+		List<String> ids = ids(10);
+		answerWith(
+				keys -> result(keys.subList(0, 4), keys.subList(4, keys.size()), LARGE_TITLE),
+				keys -> result(keys, Collections.emptyList()));
+
+		List<Item> items = dynamoDbBatchReader.load(Item.class, ids).join();
+
+		assertEquals(10, items.size());
+		assertEquals(new HashSet<>(ids), items.stream().map(Item::getId).collect(Collectors.toSet()));
+		assertEquals(2, requests.size());
+		assertEquals(ids.subList(4, 10), requests.get(1));
+		assertTrue(backoffs.isEmpty());
+	}
+
+	/**
+	 * A throttled request also returns part of the items, the rest is retried after a backoff
+	 */
+	@Test
+	public final void testPartiallyThrottledResponseBacksOff() {
+		List<String> ids = ids(10);
+		answerWith(
+				keys -> result(keys.subList(0, 4), keys.subList(4, keys.size())),
+				keys -> result(keys, Collections.emptyList()));
+
+		List<Item> items = dynamoDbBatchReader.load(Item.class, ids).join();
+
+		assertEquals(new HashSet<>(ids), items.stream().map(Item::getId).collect(Collectors.toSet()));
+		assertEquals(2, requests.size());
+		assertEquals(ids.subList(4, 10), requests.get(1));
+		assertEquals(1, backoffs.size());
+	}
+
+	/**
+	 * Sustained throttling that still returns an item per request gives up after maxRetries like any other
+	 */
+	@Test
+	public final void testGivesUpOnSustainedPartialThrottling() {
+		answerWith(keys -> result(keys.subList(0, 1), keys.subList(1, keys.size())));
+		try {
+			dynamoDbBatchReader.load(Item.class, ids(10)).join();
+			fail("Loading should give up on keys that stay unprocessed");
+		} catch (CompletionException e) {
+			assertTrue(e.getCause() instanceof IllegalStateException);
+		}
+		assertEquals(MAX_RETRIES + 1, requests.size());
+		assertEquals(MAX_RETRIES, backoffs.size());
+		//Delays grow with the attempt, half of each is jitter
+		assertTrue(backoffs.get(MAX_RETRIES - 1) >= backoffs.get(0));
+	}
+
+	@Test
+	public final void testGivesUpAfterMaxRetries() {
+		answerWith(keys -> result(Collections.emptyList(), keys));
+		try {
+			dynamoDbBatchReader.load(Item.class, ids(5)).join();
+			fail("Loading should give up on keys that stay unprocessed");
+		} catch (CompletionException e) {
+			assertTrue(e.getCause() instanceof IllegalStateException);
+		}
+		assertEquals(MAX_RETRIES + 1, requests.size());
+	}
+
+	private interface BatchGetAnswer {
+		BatchGetItemResult answer(List<String> keys);
+	}
+
+	/**
+	 * Answers the requests with the given answers in turn, the last one answers all further requests
+	 */
+	private void answerWith(BatchGetAnswer... answers) {
+		when(amazonDynamoDB.batchGetItem(any(BatchGetItemRequest.class))).thenAnswer(invocation -> {
+			BatchGetItemRequest request = invocation.getArgument(0);
+			List<String> keys = request.getRequestItems().get(TABLE).getKeys().stream()
+					.map(key -> key.get("id").getS())
+					.collect(Collectors.toList());
+			int call;
+			synchronized (requests) {
+				call = requests.size();
+				requests.add(keys);
+			}
+			return answers[Math.min(call, answers.length - 1)].answer(keys);
+		});
+	}
+
+	private static BatchGetItemResult result(List<String> found, List<String> unprocessed) {
+		return result(found, unprocessed, null);
+	}
+
+	private static BatchGetItemResult result(List<String> found, List<String> unprocessed, String title) {
+		List<Map<String, AttributeValue>> items = new ArrayList<>();
+		for (String id : found) {
+			Map<String, AttributeValue> item = new HashMap<>();
+			item.put("id", new AttributeValue().withS(id));
+			item.put("title", new AttributeValue().withS(title == null ? "Title of " + id : title));
+			items.add(item);
+		}
+		Map<String, KeysAndAttributes> unprocessedKeys = new HashMap<>();
+		if (!unprocessed.isEmpty()) {
+			unprocessedKeys.put(TABLE, new KeysAndAttributes().withKeys(unprocessed.stream()
+					.map(id -> Collections.singletonMap("id", new AttributeValue().withS(id)))
+					.collect(Collectors.toList())));
+		}
+		return new BatchGetItemResult()
+				.withResponses(Collections.singletonMap(TABLE, items))
+				.withUnprocessedKeys(unprocessedKeys);
+	}
+
+	private static List<String> ids(int count) {
+		List<String> ids = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			ids.add("id-" + i);
+		}
+		return ids;
+	}
+}
@@ -0,0 +1,62 @@
+package reciter.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Collections;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EngineReferenceDataTest {
+
+	private EngineReferenceData original;
+
+	@Before
+	public void setUp() {
+		original = EngineParameters.getReferenceData();
+	}
+
+	@After
+	public void tearDown() {
+		EngineParameters.unpinReferenceData();
+		EngineParameters.swapReferenceData(original);
+	}
+
+	@Test
+	public final void testSwap() {
+		EngineReferenceData reloaded = EngineReferenceData.builder().version(2).regexForStopWords("(of|the)").build();
+		EngineReferenceData previous = EngineParameters.swapReferenceData(reloaded);
+		assertSame(original, previous);
+		assertEquals("(of|the)", EngineParameters.getRegexForStopWords());
+		assertEquals(2, EngineParameters.getReferenceData().getVersion());
+	}
+
+	/**
+	 * A run that pinned a snapshot keeps reading it after a reload swapped in a new one
+	 */
+	@Test
+	public final void testPinnedSnapshotSurvivesSwap() {
+		EngineParameters.swapReferenceData(EngineReferenceData.builder().version(1).genders(Collections.emptyList()).build());
+		EngineReferenceData pinned = EngineParameters.pinReferenceData();
+
+		EngineParameters.swapReferenceData(EngineReferenceData.builder().version(2).build());
+		assertSame(pinned, EngineParameters.getReferenceData());
+		assertEquals(Collections.emptyList(), EngineParameters.getGenders());
+
+		EngineParameters.unpinReferenceData();
+		assertEquals(2, EngineParameters.getReferenceData().getVersion());
+	}
+
+	/**
+	 * The static setters update one field of the current snapshot and keep the others
+	 */
+	@Test
+	public final void testSetterKeepsOtherFields() {
+		EngineParameters.swapReferenceData(EngineReferenceData.builder().version(3).regexForStopWords("(of)").build());
+		EngineParameters.setGenders(Collections.emptyList());
+		assertEquals("(of)", EngineParameters.getRegexForStopWords());
+		assertEquals(3, EngineParameters.getReferenceData().getVersion());
+	}
+}
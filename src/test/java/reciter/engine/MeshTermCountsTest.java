@@ -0,0 +1,48 @@
+package reciter.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class MeshTermCountsTest {
+
+	@Test
+	public final void testThresholds() {
+		MeshTermCounts meshTermCounts = new MeshTermCounts.Builder(3)
+				.add("Aspirin", 3999L)
+				.add("Humans", 9000000L)
+				.add("Cold Temperature", 50000L)
+				.add("Contracts", null)
+				.build();
+		assertEquals(3, meshTermCounts.size());
+		assertTrue(meshTermCounts.isBelowClusteringThreshold("Aspirin"));
+		assertTrue(meshTermCounts.isBelowFeatureThreshold("Aspirin"));
+		assertFalse(meshTermCounts.isBelowClusteringThreshold("Cold Temperature"));
+		assertTrue(meshTermCounts.isBelowFeatureThreshold("Cold Temperature"));
+		assertFalse(meshTermCounts.isBelowFeatureThreshold("Humans"));
+		assertFalse(meshTermCounts.contains("Contracts"));
+		assertFalse(meshTermCounts.isBelowClusteringThreshold("Unknown"));
+		assertNull(meshTermCounts.getCount("Unknown"));
+	}
+
+	/**
+	 * Ids are stable across lookups and a repeated descriptor keeps the last count like the map it replaces
+	 */
+	@Test
+	public final void testInterning() {
+		MeshTermCounts.Builder builder = new MeshTermCounts.Builder(1);
+		for(int i = 0; i < 100; i++) {
+			builder.add("Term " + i, (long) i);
+		}
+		MeshTermCounts meshTermCounts = builder.add("Term 7", 5000L).build();
+		assertEquals(100, meshTermCounts.size());
+		int id = meshTermCounts.getId("Term 7");
+		assertEquals("Term 7", meshTermCounts.getDescriptorName(id));
+		assertEquals(5000L, meshTermCounts.getCount(id));
+		assertEquals(Long.valueOf(99L), meshTermCounts.getCount("Term 99"));
+		assertEquals(-1, meshTermCounts.getId(null));
+	}
+}
@@ -0,0 +1,74 @@
+package reciter.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class ReferenceDataSnapshotTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private EngineReferenceData referenceData() {
+		return EngineReferenceData.builder()
+				.version(7)
+				.meshTermCounts(new MeshTermCounts.Builder(2).add("Aspirin", 3999L).add("Humans", 9000000L).build())
+				.scienceMetrixJournals(Collections.emptyList())
+				.afiliationNameToAfidMap(Collections.singletonMap("Weill Cornell Medicine", Arrays.asList("60007997")))
+				.build();
+	}
+
+	@Test
+	public final void testRoundTrip() throws IOException {
+		Path path = temporaryFolder.getRoot().toPath().resolve("reference-data.snapshot");
+		ReferenceDataSnapshot.write(path, referenceData(), "gender=false;scopus=true", objectMapper);
+
+		ReferenceDataSnapshot snapshot = ReferenceDataSnapshot.read(path, objectMapper);
+		EngineReferenceData referenceData = snapshot.getReferenceData();
+		assertEquals(7, referenceData.getVersion());
+		assertEquals(2, referenceData.getMeshTermCounts().size());
+		assertTrue(referenceData.getMeshTermCounts().isBelowClusteringThreshold("Aspirin"));
+		assertEquals(Long.valueOf(9000000L), referenceData.getMeshTermCounts().getCount("Humans"));
+		assertTrue(referenceData.getScienceMetrixJournals().isEmpty());
+		assertNull(referenceData.getGenders());
+		assertEquals(Arrays.asList("60007997"), referenceData.getAfiliationNameToAfidMap().get("Weill Cornell Medicine"));
+	}
+
+	@Test
+	public final void testFreshness() throws IOException {
+		Path path = temporaryFolder.getRoot().toPath().resolve("reference-data.snapshot");
+		ReferenceDataSnapshot.write(path, referenceData(), "gender=false;scopus=true", objectMapper);
+		ReferenceDataSnapshot snapshot = ReferenceDataSnapshot.read(path, objectMapper);
+
+		assertTrue(snapshot.isFresh("gender=false;scopus=true", Duration.ofHours(24), Instant.now()));
+		assertFalse("older than max age", snapshot.isFresh("gender=false;scopus=true", Duration.ofHours(24), Instant.now().plus(Duration.ofHours(25))));
+		assertFalse("loaded with other tables", snapshot.isFresh("gender=true;scopus=true", Duration.ofHours(24), Instant.now()));
+	}
+
+	@Test(expected = IOException.class)
+	public final void testCorruptSnapshotIsRejected() throws IOException {
+		Path path = temporaryFolder.getRoot().toPath().resolve("reference-data.snapshot");
+		ReferenceDataSnapshot.write(path, referenceData(), "gender=false;scopus=true", objectMapper);
+		byte[] bytes = Files.readAllBytes(path);
+		bytes[bytes.length - 1] ^= 0x1;
+		Files.write(path, bytes);
+		ReferenceDataSnapshot.read(path, objectMapper);
+	}
+}
@@ -0,0 +1,99 @@
+package reciter.queue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class InMemoryJobQueueTest {
+
+	private static final Duration VISIBILITY_TIMEOUT = Duration.ofSeconds(60);
+
+	private final AtomicLong now = new AtomicLong(1000L);
+
+	private InMemoryJobQueue jobQueue;
+
+	@Before
+	public void setUp() {
+		jobQueue = new InMemoryJobQueue(2, now::get);
+	}
+
+	private static ReCiterJob job(String jobId) {
+		return ReCiterJob.builder().jobId(jobId).type(ReCiterJob.Type.FEATURE_GENERATION).uid("uid-" + jobId).build();
+	}
+
+	private List<ReceivedJob> receive() {
+		return jobQueue.receive(10, VISIBILITY_TIMEOUT, Duration.ZERO);
+	}
+
+	@Test
+	public final void testSendingPendingJobIdAgainIsIgnored() {
+		jobQueue.send(job("1"));
+		jobQueue.send(job("1"));
+		assertEquals(1, jobQueue.size());
+		assertEquals(1, receive().size());
+	}
+
+	@Test
+	public final void testReceivedJobIsHiddenUntilVisibilityTimeout() {
+		jobQueue.send(job("1"));
+		ReceivedJob first = receive().get(0);
+		assertTrue(receive().isEmpty());
+
+		now.addAndGet(VISIBILITY_TIMEOUT.toMillis());
+		ReceivedJob second = receive().get(0);
+		assertEquals(2, second.getReceiveCount());
+
+		//The first delivery's receipt handle is stale
+		jobQueue.delete(first);
+		assertEquals(1, jobQueue.size());
+		jobQueue.delete(second);
+		assertEquals(0, jobQueue.size());
+	}
+
+	@Test
+	public final void testJobIsDeadLetteredAfterMaxReceiveCount() {
+		jobQueue.send(job("1"));
+		receive();
+		now.addAndGet(VISIBILITY_TIMEOUT.toMillis());
+		receive();
+		now.addAndGet(VISIBILITY_TIMEOUT.toMillis());
+		assertTrue(receive().isEmpty());
+		assertEquals(0, jobQueue.size());
+		assertEquals("1", jobQueue.getDeadLetters().get(0).getJobId());
+	}
+
+	@Test
+	public final void testChangeVisibilityAndDeadLetter() {
+		jobQueue.send(job("1"));
+		jobQueue.send(job("2"));
+		List<ReceivedJob> receivedJobs = receive();
+		assertEquals(2, receivedJobs.size());
+
+		jobQueue.changeVisibility(receivedJobs.get(0), Duration.ZERO);
+		jobQueue.deadLetter(receivedJobs.get(1), "404");
+		List<ReceivedJob> again = receive();
+		assertEquals(1, again.size());
+		assertEquals("1", again.get(0).getJob().getJobId());
+		assertEquals("2", jobQueue.getDeadLetters().get(0).getJobId());
+	}
+
+	@Test
+	public final void testPostponeDoesNotCountAsDelivery() {
+		jobQueue.send(job("1"));
+		for(int i = 0; i < 5; i++) {
+			ReceivedJob receivedJob = receive().get(0);
+			assertEquals(1, receivedJob.getReceiveCount());
+			jobQueue.postpone(receivedJob, Duration.ofSeconds(30));
+			assertTrue(receive().isEmpty());
+			now.addAndGet(Duration.ofSeconds(30).toMillis());
+		}
+		assertEquals(1, receive().size());
+		assertTrue(jobQueue.getDeadLetters().isEmpty());
+	}
+}
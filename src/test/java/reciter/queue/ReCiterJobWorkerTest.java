@@ -0,0 +1,142 @@
+package reciter.queue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import reciter.controller.ReCiterController;
+
+public class ReCiterJobWorkerTest {
+
+	private static final Duration VISIBILITY_TIMEOUT = Duration.ofMillis(20);
+
+	private static final int MAX_RECEIVE_COUNT = 3;
+
+	private JobQueue jobQueue;
+
+	private ReCiterController reCiterController;
+
+	private ScheduledExecutorService heartbeats;
+
+	private ReCiterJobWorker reCiterJobWorker;
+
+	@Before
+	public void setUp() {
+		jobQueue = mock(JobQueue.class);
+		reCiterController = mock(ReCiterController.class);
+		heartbeats = Executors.newSingleThreadScheduledExecutor();
+		reCiterJobWorker = new ReCiterJobWorker();
+		ReflectionTestUtils.setField(reCiterJobWorker, "jobQueue", jobQueue);
+		ReflectionTestUtils.setField(reCiterJobWorker, "reCiterController", reCiterController);
+		ReflectionTestUtils.setField(reCiterJobWorker, "heartbeats", heartbeats);
+	}
+
+	@After
+	public void tearDown() {
+		heartbeats.shutdownNow();
+	}
+
+	/**
+	 * A failed visibility extension must not stop the heartbeat of the running job
+	 */
+	@Test
+	public final void testHeartbeatContinuesAfterFailedExtension() throws Exception {
+		ReceivedJob receivedJob = new ReceivedJob(ReCiterJob.builder().jobId("1").type(ReCiterJob.Type.RETRIEVAL).uid("uid").build(), "receipt", 1);
+		AtomicInteger extensions = new AtomicInteger();
+		CountDownLatch extended = new CountDownLatch(3);
+		doAnswer(invocation -> {
+			extended.countDown();
+			if(extensions.incrementAndGet() == 1) {
+				throw new IllegalStateException("Throttled");
+			}
+			return null;
+		}).when(jobQueue).changeVisibility(receivedJob, VISIBILITY_TIMEOUT);
+		when(reCiterController.retrieveArticlesByUid(eq("uid"), any())).thenAnswer(invocation -> {
+			assertTrue("Heartbeat stopped after the failed extension", extended.await(10, TimeUnit.SECONDS));
+			return ResponseEntity.ok().build();
+		});
+
+		reCiterJobWorker.process(receivedJob, VISIBILITY_TIMEOUT);
+
+		verify(jobQueue).delete(receivedJob);
+		verify(jobQueue, never()).deadLetter(any(), any());
+	}
+
+	/**
+	 * A job waiting behind a running job of the same uid is postponed more often than the queue allows deliveries and
+	 * still runs once the uid is free
+	 */
+	@Test
+	@SuppressWarnings("unchecked")
+	public final void testPostponedJobIsNotDeadLettered() {
+		AtomicLong now = new AtomicLong();
+		InMemoryJobQueue inMemoryJobQueue = new InMemoryJobQueue(MAX_RECEIVE_COUNT, now::get);
+		ReflectionTestUtils.setField(reCiterJobWorker, "jobQueue", inMemoryJobQueue);
+		when(reCiterController.retrieveArticlesByUid(eq("uid"), any())).thenAnswer(invocation -> ResponseEntity.ok().build());
+		Set<String> runningJobs = (Set<String>) ReflectionTestUtils.getField(reCiterJobWorker, "runningJobs");
+		runningJobs.add(ReCiterJob.Type.RETRIEVAL + ":uid");
+		inMemoryJobQueue.send(ReCiterJob.builder().jobId("2").type(ReCiterJob.Type.RETRIEVAL).uid("uid").build());
+
+		Duration visibilityTimeout = Duration.ofMinutes(15);
+		for(int i = 0; i < MAX_RECEIVE_COUNT * 2; i++) {
+			List<ReceivedJob> receivedJobs = inMemoryJobQueue.receive(1, visibilityTimeout, Duration.ZERO);
+			assertEquals(1, receivedJobs.size());
+			assertEquals(1, receivedJobs.get(0).getReceiveCount());
+			reCiterJobWorker.process(receivedJobs.get(0), visibilityTimeout);
+			assertEquals(i + 1, receivedJobs.get(0).getJob().getPostponements());
+			//Postponements never wait longer than the visibility timeout
+			now.addAndGet(visibilityTimeout.toMillis());
+		}
+		verify(reCiterController, never()).retrieveArticlesByUid(any(), any());
+
+		runningJobs.clear();
+		List<ReceivedJob> receivedJobs = inMemoryJobQueue.receive(1, visibilityTimeout, Duration.ZERO);
+		assertEquals(1, receivedJobs.size());
+		reCiterJobWorker.process(receivedJobs.get(0), visibilityTimeout);
+
+		verify(reCiterController).retrieveArticlesByUid(eq("uid"), any());
+		assertEquals(0, inMemoryJobQueue.size());
+		assertTrue(inMemoryJobQueue.getDeadLetters().isEmpty());
+	}
+
+	@Test
+	public final void testPostponeDelayBacksOffUpToVisibilityTimeout() {
+		Duration visibilityTimeout = Duration.ofMinutes(15);
+		ReCiterJob job = ReCiterJob.builder().jobId("1").build();
+		Duration previous = Duration.ZERO;
+		for(int postponements = 1; postponements <= 20; postponements++) {
+			job.setPostponements(postponements);
+			Duration delay = ReCiterJobWorker.postponeDelay(job, visibilityTimeout);
+			assertTrue(delay.compareTo(previous) >= 0);
+			assertTrue(delay.compareTo(visibilityTimeout) <= 0);
+			previous = delay;
+		}
+		job.setPostponements(1);
+		assertEquals(Duration.ofSeconds(30), ReCiterJobWorker.postponeDelay(job, visibilityTimeout));
+		job.setPostponements(2);
+		assertEquals(Duration.ofSeconds(60), ReCiterJobWorker.postponeDelay(job, visibilityTimeout));
+		assertEquals(visibilityTimeout, previous);
+	}
+}
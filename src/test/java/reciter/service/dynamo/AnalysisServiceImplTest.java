@@ -0,0 +1,102 @@
+package reciter.service.dynamo;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.amazonaws.services.dynamodbv2.model.AmazonDynamoDBException;
+
+import reciter.database.dynamodb.DynamoDbS3Operations;
+import reciter.database.dynamodb.model.AnalysisOutput;
+import reciter.database.dynamodb.repository.AnalysisOutputRepository;
+import reciter.engine.analysis.ReCiterFeature;
+import reciter.service.PendingArticleIndexService;
+
+public class AnalysisServiceImplTest {
+
+	private static final String UID = "paa2013";
+
+	private AnalysisOutputRepository analysisOutputRepository;
+
+	private DynamoDbS3Operations ddbs3;
+
+	private PendingArticleIndexService pendingArticleIndexService;
+
+	private AnalysisServiceImpl analysisService;
+
+	@Before
+	public void setUp() {
+		analysisOutputRepository = mock(AnalysisOutputRepository.class);
+		ddbs3 = mock(DynamoDbS3Operations.class);
+		pendingArticleIndexService = mock(PendingArticleIndexService.class);
+		analysisService = new AnalysisServiceImpl();
+		ReflectionTestUtils.setField(analysisService, "analysisOutputRepository", analysisOutputRepository);
+		ReflectionTestUtils.setField(analysisService, "ddbs3", ddbs3);
+		ReflectionTestUtils.setField(analysisService, "pendingArticleIndexService", pendingArticleIndexService);
+		ReflectionTestUtils.setField(analysisService, "isS3Use", true);
+		ReflectionTestUtils.setField(analysisService, "isDynamoDbLocal", false);
+	}
+
+	@Test
+	public void testIndexUpdatedAfterSave() {
+		AnalysisOutput analysis = analysis();
+		ReCiterFeature reCiterFeature = analysis.getReCiterFeature();
+
+		analysisService.save(analysis);
+
+		InOrder inOrder = inOrder(analysisOutputRepository, pendingArticleIndexService);
+		inOrder.verify(analysisOutputRepository).save(analysis);
+		inOrder.verify(pendingArticleIndexService).update(UID, reCiterFeature);
+	}
+
+	@Test
+	public void testIndexUpdatedAfterS3Save() {
+		AnalysisOutput analysis = analysis();
+		ReCiterFeature reCiterFeature = analysis.getReCiterFeature();
+		when(analysisOutputRepository.save(analysis))
+				.thenThrow(new AmazonDynamoDBException("Item size has exceeded the maximum allowed size"))
+				.thenReturn(analysis);
+
+		analysisService.save(analysis);
+
+		assertTrue(analysis.isUsingS3());
+		assertNull(analysis.getReCiterFeature());
+		InOrder inOrder = inOrder(ddbs3, analysisOutputRepository, pendingArticleIndexService);
+		inOrder.verify(ddbs3).saveLargeItem(any(), eq(reCiterFeature), anyString());
+		inOrder.verify(analysisOutputRepository).save(analysis);
+		//The index is built from the feature that was moved to s3
+		inOrder.verify(pendingArticleIndexService).update(UID, reCiterFeature);
+	}
+
+	@Test
+	public void testIndexNotUpdatedWhenSaveFails() {
+		AnalysisOutput analysis = analysis();
+		when(analysisOutputRepository.save(analysis)).thenThrow(new AmazonDynamoDBException("Item size has exceeded the maximum allowed size"));
+		ReflectionTestUtils.setField(analysisService, "isS3Use", false);
+
+		analysisService.save(analysis);
+
+		verify(pendingArticleIndexService, never()).update(any(String.class), any(ReCiterFeature.class));
+	}
+
+	private static AnalysisOutput analysis() {
+		ReCiterFeature reCiterFeature = new ReCiterFeature();
+		reCiterFeature.setPersonIdentifier(UID);
+		AnalysisOutput analysis = new AnalysisOutput();
+		analysis.setUid(UID);
+		analysis.setReCiterFeature(reCiterFeature);
+		return analysis;
+	}
+}
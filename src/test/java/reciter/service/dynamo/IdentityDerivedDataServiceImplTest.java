@@ -0,0 +1,135 @@
+package reciter.service.dynamo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import reciter.engine.EngineParameters;
+import reciter.engine.EngineReferenceData;
+import reciter.engine.IdentityDerivedData;
+import reciter.model.identity.AuthorName;
+import reciter.model.identity.Identity;
+import reciter.model.identity.OrganizationalUnit;
+
+public class IdentityDerivedDataServiceImplTest {
+
+	private EngineReferenceData original;
+
+	private IdentityDerivedDataServiceImpl identityDerivedDataService;
+
+	@Before
+	public void setUp() {
+		original = EngineParameters.swapReferenceData(EngineReferenceData.builder().version(1).build());
+		identityDerivedDataService = new IdentityDerivedDataServiceImpl(true, 2);
+	}
+
+	@After
+	public void tearDown() {
+		EngineParameters.swapReferenceData(original);
+	}
+
+	/**
+	 * An unchanged identity gets the cached entry with the artifacts computed by the previous run
+	 */
+	@Test
+	public void testUnchangedIdentityHitsCache() {
+		IdentityDerivedData derivedData = identityDerivedDataService.get(identity("paa2013", "Paul", "Albert"));
+		derivedData.setSanitizedNames(Collections.emptyMap());
+		derivedData.setGenderComputed(true);
+
+		IdentityDerivedData cached = identityDerivedDataService.get(identity("paa2013", "Paul", "Albert"));
+		assertSame(derivedData, cached);
+		assertEquals(Collections.emptyMap(), cached.getSanitizedNames());
+		assertEquals(true, cached.isGenderComputed());
+	}
+
+	@Test
+	public void testChangedIdentityRecomputes() {
+		IdentityDerivedData derivedData = identityDerivedDataService.get(identity("paa2013", "Paul", "Albert"));
+		derivedData.setSanitizedNames(Collections.emptyMap());
+
+		IdentityDerivedData renamed = identityDerivedDataService.get(identity("paa2013", "Paul", "Alberts"));
+		assertNotSame(derivedData, renamed);
+		assertNull(renamed.getSanitizedNames());
+		//The stale entry was replaced
+		assertSame(renamed, identityDerivedDataService.get(identity("paa2013", "Paul", "Alberts")));
+	}
+
+	@Test
+	public void testReferenceDataReloadRecomputes() {
+		IdentityDerivedData derivedData = identityDerivedDataService.get(identity("paa2013", "Paul", "Albert"));
+
+		EngineParameters.swapReferenceData(EngineReferenceData.builder().version(2).build());
+		assertNotSame(derivedData, identityDerivedDataService.get(identity("paa2013", "Paul", "Albert")));
+	}
+
+	@Test
+	public void testFingerprint() {
+		Identity identity = identity("paa2013", "Paul", "Albert");
+		String fingerprint = IdentityDerivedData.fingerprint(identity);
+		assertEquals(fingerprint, IdentityDerivedData.fingerprint(identity("paa2013", "Paul", "Albert")));
+
+		identity.setAlternateNames(Arrays.asList(new AuthorName("Paul", "J", "Albert")));
+		String withAlternateName = IdentityDerivedData.fingerprint(identity);
+		assertNotEquals(fingerprint, withAlternateName);
+
+		OrganizationalUnit organizationalUnit = mock(OrganizationalUnit.class);
+		when(organizationalUnit.getOrganizationalUnitLabel()).thenReturn("Healthcare Policy and Research");
+		identity.setOrganizationalUnits(Arrays.asList(organizationalUnit));
+		assertNotEquals(withAlternateName, IdentityDerivedData.fingerprint(identity));
+
+		assertNotEquals(fingerprint, IdentityDerivedData.fingerprint(identity("paa2014", "Paul", "Albert")));
+	}
+
+	@Test
+	public void testLeastRecentlyUsedEntryIsEvicted() {
+		IdentityDerivedData first = identityDerivedDataService.get(identity("uid1", "Paul", "Albert"));
+		IdentityDerivedData second = identityDerivedDataService.get(identity("uid2", "Paul", "Albert"));
+		//Reading uid1 makes uid2 the least recently used entry
+		assertSame(first, identityDerivedDataService.get(identity("uid1", "Paul", "Albert")));
+
+		identityDerivedDataService.get(identity("uid3", "Paul", "Albert"));
+
+		assertSame(first, identityDerivedDataService.get(identity("uid1", "Paul", "Albert")));
+		assertNotSame(second, identityDerivedDataService.get(identity("uid2", "Paul", "Albert")));
+	}
+
+	@Test
+	public void testInvalidate() {
+		IdentityDerivedData first = identityDerivedDataService.get(identity("uid1", "Paul", "Albert"));
+		IdentityDerivedData second = identityDerivedDataService.get(identity("uid2", "Paul", "Albert"));
+
+		identityDerivedDataService.invalidate("uid1");
+		identityDerivedDataService.invalidate(null);
+		assertNotSame(first, identityDerivedDataService.get(identity("uid1", "Paul", "Albert")));
+		assertSame(second, identityDerivedDataService.get(identity("uid2", "Paul", "Albert")));
+
+		identityDerivedDataService.invalidateAll();
+		assertNotSame(second, identityDerivedDataService.get(identity("uid2", "Paul", "Albert")));
+	}
+
+	@Test
+	public void testDisabledCacheAlwaysRecomputes() {
+		identityDerivedDataService = new IdentityDerivedDataServiceImpl(false, 2);
+		assertNotSame(identityDerivedDataService.get(identity("paa2013", "Paul", "Albert")),
+				identityDerivedDataService.get(identity("paa2013", "Paul", "Albert")));
+	}
+
+	private static Identity identity(String uid, String firstName, String lastName) {
+		Identity identity = new Identity();
+		identity.setUid(uid);
+		identity.setPrimaryName(new AuthorName(firstName, null, lastName));
+		return identity;
+	}
+}
@@ -0,0 +1,135 @@
+package reciter.service.dynamo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedParallelScanList;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reciter.database.dynamodb.repository.IdentityRepository;
+import reciter.model.identity.Identity;
+
+public class IdentityServiceImplTest {
+
+	private static final int SCAN_SEGMENTS = 4;
+
+	private DynamoDBMapper dynamoDBMapper;
+
+	private IdentityRepository identityRepository;
+
+	private IdentityServiceImpl identityService;
+
+	@Before
+	public void setUp() {
+		dynamoDBMapper = mock(DynamoDBMapper.class);
+		identityRepository = mock(IdentityRepository.class);
+		identityService = new IdentityServiceImpl();
+		ReflectionTestUtils.setField(identityService, "dynamoDBMapper", dynamoDBMapper);
+		ReflectionTestUtils.setField(identityService, "identityRepository", identityRepository);
+		ReflectionTestUtils.setField(identityService, "objectMapper", new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES));
+		ReflectionTestUtils.setField(identityService, "scanSegments", SCAN_SEGMENTS);
+		ReflectionTestUtils.setField(identityService, "isIdentityCaching", true);
+		ReflectionTestUtils.setField(identityService, "cacheMaxAgeMinutes", 60L);
+		scanReturns(identity("aaa2001", "aaa2001@med.cornell.edu"), identity("bbb2002", "bbb2002@med.cornell.edu"));
+	}
+
+	/**
+	 * The table is scanned in parallel segments once, later calls deserialize their own copies from the cache
+	 */
+	@Test
+	public final void testFindAllScansOnceAndReturnsCopies() {
+		List<Identity> identities = identityService.findAll();
+		assertEquals(new HashSet<>(Arrays.asList("aaa2001", "bbb2002")), uids(identities));
+
+		identities.forEach(identity -> identity.setEmails(Collections.singletonList("changed@example.org")));
+		for (Identity identity : identityService.findAll()) {
+			assertEquals(Collections.singletonList(identity.getUid() + "@med.cornell.edu"), identity.getEmails());
+		}
+		ArgumentCaptor<DynamoDBScanExpression> scanExpression = ArgumentCaptor.forClass(DynamoDBScanExpression.class);
+		verify(dynamoDBMapper, times(1)).parallelScan(eq(reciter.database.dynamodb.model.Identity.class), scanExpression.capture(), eq(SCAN_SEGMENTS));
+		assertNull(scanExpression.getValue().getProjectionExpression());
+	}
+
+	@Test
+	public final void testSaveAndDeleteUpdateTheCache() {
+		identityService.findAll();
+		identityService.save(identity("ccc2003", "ccc2003@med.cornell.edu"));
+		identityService.delete("aaa2001");
+
+		assertEquals(new HashSet<>(Arrays.asList("bbb2002", "ccc2003")), uids(identityService.findAll()));
+		assertEquals(new HashSet<>(Arrays.asList("bbb2002", "ccc2003")), new HashSet<>(identityService.findAllUids()));
+		verify(dynamoDBMapper, times(1)).parallelScan(eq(reciter.database.dynamodb.model.Identity.class), any(DynamoDBScanExpression.class), eq(SCAN_SEGMENTS));
+		verify(identityRepository).deleteById("aaa2001");
+	}
+
+	/**
+	 * Without a loaded cache only the uid attribute is scanned
+	 */
+	@Test
+	public final void testFindAllUidsScansOnlyUids() {
+		assertEquals(new HashSet<>(Arrays.asList("aaa2001", "bbb2002")), new HashSet<>(identityService.findAllUids()));
+		ArgumentCaptor<DynamoDBScanExpression> scanExpression = ArgumentCaptor.forClass(DynamoDBScanExpression.class);
+		verify(dynamoDBMapper).parallelScan(eq(reciter.database.dynamodb.model.Identity.class), scanExpression.capture(), eq(SCAN_SEGMENTS));
+		assertEquals("uid", scanExpression.getValue().getProjectionExpression());
+	}
+
+	@Test
+	public final void testExpiredCacheIsScannedAgain() {
+		identityService.findAll();
+		ReflectionTestUtils.setField(identityService, "identityCacheLoadedAt", 0L);
+		identityService.findAll();
+		verify(dynamoDBMapper, times(2)).parallelScan(eq(reciter.database.dynamodb.model.Identity.class), any(DynamoDBScanExpression.class), eq(SCAN_SEGMENTS));
+	}
+
+	@Test
+	public final void testWithoutCachingEveryCallScans() {
+		ReflectionTestUtils.setField(identityService, "isIdentityCaching", false);
+		identityService.findAll();
+		identityService.findAll();
+		identityService.findAllUids();
+		verify(dynamoDBMapper, times(3)).parallelScan(eq(reciter.database.dynamodb.model.Identity.class), any(DynamoDBScanExpression.class), eq(SCAN_SEGMENTS));
+	}
+
+	@SuppressWarnings("unchecked")
+	private void scanReturns(Identity... identities) {
+		Object[] items = Arrays.stream(identities)
+				.map(identity -> new reciter.database.dynamodb.model.Identity(identity.getUid(), identity))
+				.toArray();
+		PaginatedParallelScanList<reciter.database.dynamodb.model.Identity> scanList = mock(PaginatedParallelScanList.class);
+		when(scanList.toArray()).thenReturn(items);
+		when(scanList.size()).thenReturn(items.length);
+		when(dynamoDBMapper.parallelScan(eq(reciter.database.dynamodb.model.Identity.class), any(DynamoDBScanExpression.class), eq(SCAN_SEGMENTS)))
+				.thenReturn(scanList);
+	}
+
+	private static Identity identity(String uid, String email) {
+		Identity identity = new Identity();
+		identity.setUid(uid);
+		identity.setEmails(Collections.singletonList(email));
+		return identity;
+	}
+
+	private static HashSet<String> uids(List<Identity> identities) {
+		return identities.stream().map(Identity::getUid).collect(Collectors.toCollection(HashSet::new));
+	}
+}
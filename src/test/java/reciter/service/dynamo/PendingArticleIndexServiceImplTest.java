@@ -0,0 +1,165 @@
+package reciter.service.dynamo;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+
+import reciter.database.dynamodb.model.GoldStandard;
+import reciter.database.dynamodb.model.PendingArticleIndex;
+import reciter.engine.analysis.ReCiterArticleFeature;
+import reciter.engine.analysis.ReCiterArticleFeature.PublicationFeedback;
+import reciter.engine.analysis.ReCiterFeature;
+
+public class PendingArticleIndexServiceImplTest {
+
+	private static final String UID = "paa2013";
+
+	private DynamoDBMapper dynamoDBMapper;
+
+	private PendingArticleIndexServiceImpl pendingArticleIndexService;
+
+	@Before
+	public void setUp() {
+		dynamoDBMapper = mock(DynamoDBMapper.class);
+		pendingArticleIndexService = new PendingArticleIndexServiceImpl();
+		ReflectionTestUtils.setField(pendingArticleIndexService, "dynamoDBMapper", dynamoDBMapper);
+		doNothing().when(dynamoDBMapper).save(any(PendingArticleIndex.class));
+	}
+
+	@Test
+	public void testUpdateFromAnalysis() {
+		when(dynamoDBMapper.load(PendingArticleIndex.class, UID)).thenReturn(index(3L, scores("1", 1.0), scores("1", 1.0)));
+
+		pendingArticleIndexService.update(UID, feature(
+				articleFeature(1, 0.5, PublicationFeedback.ACCEPTED),
+				articleFeature(2, 0.7, PublicationFeedback.NULL),
+				articleFeature(3, 0.9, null)));
+
+		PendingArticleIndex pendingArticleIndex = captureSaved(1).get(0);
+		assertEquals(UID, pendingArticleIndex.getUid());
+		assertEquals(scores("1", 0.5, "2", 0.7, "3", 0.9), pendingArticleIndex.getCandidateScores());
+		assertEquals(scores("2", 0.7, "3", 0.9), pendingArticleIndex.getPendingScores());
+		//Version of the stored item so the save is conditional on it
+		assertEquals(Long.valueOf(3L), pendingArticleIndex.getVersion());
+	}
+
+	@Test
+	public void testUpdateWithoutFeatureDoesNothing() {
+		pendingArticleIndexService.update(UID, (ReCiterFeature) null);
+
+		verify(dynamoDBMapper, never()).load(PendingArticleIndex.class, UID);
+		verify(dynamoDBMapper, never()).save(any(PendingArticleIndex.class));
+	}
+
+	@Test
+	public void testConcurrentUpdateIsReappliedOnStoredItem() {
+		when(dynamoDBMapper.load(PendingArticleIndex.class, UID))
+				.thenReturn(index(1L, scores("1", 0.5, "2", 0.7), scores("1", 0.5, "2", 0.7)))
+				.thenReturn(index(2L, scores("1", 0.5, "2", 0.7, "3", 0.9), scores("1", 0.5, "2", 0.7, "3", 0.9)));
+		doThrow(new ConditionalCheckFailedException("version changed"))
+				.doNothing()
+				.when(dynamoDBMapper).save(any(PendingArticleIndex.class));
+
+		pendingArticleIndexService.update(goldStandard(Arrays.asList(1L), Arrays.asList(3L)));
+
+		List<PendingArticleIndex> attempts = captureSaved(2);
+		assertEquals(Long.valueOf(1L), attempts.get(0).getVersion());
+		//The second attempt is built from the item the other writer saved
+		assertEquals(Long.valueOf(2L), attempts.get(1).getVersion());
+		assertEquals(scores("2", 0.7), attempts.get(1).getPendingScores());
+		assertEquals(scores("1", 0.5, "2", 0.7, "3", 0.9), attempts.get(1).getCandidateScores());
+	}
+
+	@Test
+	public void testGoldStandardRemovesFeedbackFromPending() {
+		when(dynamoDBMapper.load(PendingArticleIndex.class, UID))
+				.thenReturn(index(5L, scores("1", 0.5, "2", 0.7, "3", 0.9), scores("3", 0.9)));
+
+		//Feedback on 3 was removed so it is pending again
+		pendingArticleIndexService.update(goldStandard(Arrays.asList(1L), Arrays.asList(2L, 4L)));
+
+		PendingArticleIndex pendingArticleIndex = captureSaved(1).get(0);
+		assertEquals(scores("3", 0.9), pendingArticleIndex.getPendingScores());
+		assertEquals(scores("1", 0.5, "2", 0.7, "3", 0.9), pendingArticleIndex.getCandidateScores());
+		assertEquals(Long.valueOf(5L), pendingArticleIndex.getVersion());
+	}
+
+	@Test
+	public void testGoldStandardWithoutAnalysisDoesNothing() {
+		when(dynamoDBMapper.load(PendingArticleIndex.class, UID)).thenReturn(null);
+
+		pendingArticleIndexService.update(goldStandard(Arrays.asList(1L), null));
+
+		verify(dynamoDBMapper, never()).save(any(PendingArticleIndex.class));
+	}
+
+	@Test
+	public void testGivesUpAfterMaxAttempts() {
+		when(dynamoDBMapper.load(PendingArticleIndex.class, UID)).thenAnswer(invocation -> index(1L, scores("1", 0.5), scores("1", 0.5)));
+		doThrow(new ConditionalCheckFailedException("version changed")).when(dynamoDBMapper).save(any(PendingArticleIndex.class));
+
+		pendingArticleIndexService.update(goldStandard(Arrays.asList(1L), null));
+
+		verify(dynamoDBMapper, times(10)).save(any(PendingArticleIndex.class));
+	}
+
+	private List<PendingArticleIndex> captureSaved(int count) {
+		ArgumentCaptor<PendingArticleIndex> captor = ArgumentCaptor.forClass(PendingArticleIndex.class);
+		verify(dynamoDBMapper, times(count)).save(captor.capture());
+		return captor.getAllValues();
+	}
+
+	private static PendingArticleIndex index(Long version, Map<String, Double> candidateScores, Map<String, Double> pendingScores) {
+		return new PendingArticleIndex(UID, candidateScores, pendingScores, 0L, version);
+	}
+
+	private static GoldStandard goldStandard(List<Long> knownPmids, List<Long> rejectedPmids) {
+		GoldStandard goldStandard = new GoldStandard();
+		goldStandard.setUid(UID);
+		goldStandard.setKnownPmids(knownPmids);
+		goldStandard.setRejectedPmids(rejectedPmids);
+		return goldStandard;
+	}
+
+	private static ReCiterFeature feature(ReCiterArticleFeature... reCiterArticleFeatures) {
+		ReCiterFeature reCiterFeature = new ReCiterFeature();
+		reCiterFeature.setPersonIdentifier(UID);
+		reCiterFeature.setReCiterArticleFeatures(Arrays.asList(reCiterArticleFeatures));
+		return reCiterFeature;
+	}
+
+	private static ReCiterArticleFeature articleFeature(long pmid, double score, PublicationFeedback userAssertion) {
+		ReCiterArticleFeature reCiterArticleFeature = new ReCiterArticleFeature();
+		reCiterArticleFeature.setPmid(pmid);
+		reCiterArticleFeature.setTotalArticleScoreStandardized(score);
+		reCiterArticleFeature.setUserAssertion(userAssertion);
+		return reCiterArticleFeature;
+	}
+
+	private static Map<String, Double> scores(Object... pmidsAndScores) {
+		Map<String, Double> scores = new HashMap<>();
+		for(int i = 0; i < pmidsAndScores.length; i += 2) {
+			scores.put((String) pmidsAndScores[i], (Double) pmidsAndScores[i + 1]);
+		}
+		return scores;
+	}
+}
@@ -0,0 +1,41 @@
+package reciter.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class StringDistanceTest {
+
+	@Test
+	public void testExactDistance() {
+		assertEquals(1, StringDistance.levenshteinDistance("Antony", "Anthony"));
+		assertEquals(2, StringDistance.levenshteinDistance("Jeffery", "Jeffrey"));
+		assertEquals(3, StringDistance.levenshteinDistance("kitten", "sitting"));
+		assertEquals(5, StringDistance.levenshteinDistance("", "Paula"));
+		assertEquals(0, StringDistance.levenshteinDistance("Kaushal", "Kaushal"));
+	}
+
+	@Test
+	public void testBoundedDistance() {
+		assertEquals(1, StringDistance.levenshteinDistance("Kaushal", "Kaushai", 1));
+		assertEquals(2, StringDistance.levenshteinDistance("kitten", "sitting", 1));
+		assertEquals(3, StringDistance.levenshteinDistance("Nassar", "Nasserina", 2));
+		assertEquals(0, StringDistance.levenshteinDistance("Nassar", "Nassar", 0));
+		assertEquals(1, StringDistance.levenshteinDistance("Nassar", "Nasser", 0));
+	}
+
+	@Test
+	public void testIsWithinDistance() {
+		assertTrue(StringDistance.isWithinDistance("Paula", "Pauly", 1));
+		assertTrue(StringDistance.isWithinDistance("MannyCarrington", "ManneyCarrington", 2));
+		assertFalse(StringDistance.isWithinDistance("Jeffery", "Jeffrey", 1));
+		assertFalse(StringDistance.isWithinDistance("Li", "Wang", 1));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNegativeMaxDistance() {
+		StringDistance.levenshteinDistance("a", "b", -1);
+	}
+}
@@ -0,0 +1,65 @@
+package reciter.xml.retriever.engine;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import reciter.api.parameters.RetrievalRefreshFlag;
+import reciter.model.identity.Identity;
+import reciter.xml.retriever.engine.RetrievalScheduler.Priority;
+
+public class AliasReCiterRetrievalEngineTest {
+
+	private RetrievalScheduler retrievalScheduler;
+
+	private AliasReCiterRetrievalEngine aliasReCiterRetrievalEngine;
+
+	@Before
+	public void setUp() {
+		retrievalScheduler = new RetrievalScheduler(2, Duration.ofMinutes(10));
+		retrievalScheduler.init();
+		aliasReCiterRetrievalEngine = new AliasReCiterRetrievalEngine();
+		ReflectionTestUtils.setField(aliasReCiterRetrievalEngine, "retrievalScheduler", retrievalScheduler);
+	}
+
+	@After
+	public void tearDown() {
+		retrievalScheduler.shutdown();
+	}
+
+	/**
+	 * Without a refresh flag there is nothing to retrieve, so every identity completes
+	 */
+	@Test
+	public final void testCompletedRetrievalReturnsTrue() throws Exception {
+		assertTrue(aliasReCiterRetrievalEngine.retrieveArticlesByDateRange(Arrays.asList(identity("uid1"), identity("uid2")),
+				Date.valueOf(LocalDate.now()), Date.valueOf(LocalDate.now()), null, Priority.HIGH));
+	}
+
+	/**
+	 * An identity whose retrieval fails is reported to the caller instead of a successful retrieval
+	 */
+	@Test
+	public final void testFailedRetrievalReturnsFalse() throws Exception {
+		//The identity has no primary name, so its full retrieval fails
+		List<Identity> identities = Arrays.asList(identity("uid1"));
+		assertFalse(aliasReCiterRetrievalEngine.retrieveArticlesByDateRange(identities,
+				Date.valueOf(LocalDate.now()), Date.valueOf(LocalDate.now()), RetrievalRefreshFlag.ALL_PUBLICATIONS, Priority.HIGH));
+	}
+
+	private static Identity identity(String uid) {
+		Identity identity = new Identity();
+		identity.setUid(uid);
+		return identity;
+	}
+}
@@ -0,0 +1,166 @@
+package reciter.xml.retriever.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import reciter.xml.retriever.engine.RetrievalScheduler.Batch;
+import reciter.xml.retriever.engine.RetrievalScheduler.Priority;
+import reciter.xml.retriever.engine.RetrievalScheduler.Progress;
+import reciter.xml.retriever.engine.RetrievalScheduler.RetrievalTask;
+
+public class RetrievalSchedulerTest {
+
+	private static final Duration NO_TIMEOUT = Duration.ofMinutes(10);
+
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	private RetrievalScheduler retrievalScheduler;
+
+	private RetrievalScheduler start(int concurrency, Duration jobTimeout) {
+		retrievalScheduler = new RetrievalScheduler(concurrency, jobTimeout);
+		retrievalScheduler.init();
+		return retrievalScheduler;
+	}
+
+	@After
+	public void tearDown() {
+		release.countDown();
+		if(retrievalScheduler != null) {
+			retrievalScheduler.shutdown();
+		}
+	}
+
+	/**
+	 * Occupies the only thread of the scheduler until release is counted down
+	 */
+	private Batch block(Priority priority) throws InterruptedException {
+		CountDownLatch started = new CountDownLatch(1);
+		Batch batch = retrievalScheduler.submit("blocker", priority, Collections.singletonMap("blocker", () -> {
+			started.countDown();
+			release.await();
+		}));
+		assertTrue(started.await(10, TimeUnit.SECONDS));
+		return batch;
+	}
+
+	@Test
+	public final void testHighLaneOvertakesQueuedNormalJobs() throws Exception {
+		start(1, NO_TIMEOUT);
+		block(Priority.NORMAL);
+
+		List<String> order = Collections.synchronizedList(new ArrayList<>());
+		Map<String, RetrievalTask> normal = new LinkedHashMap<>();
+		normal.put("n1", () -> order.add("n1"));
+		normal.put("n2", () -> order.add("n2"));
+		Batch normalBatch = retrievalScheduler.submit("bulk", Priority.NORMAL, normal);
+		Batch highBatch = retrievalScheduler.submit("interactive", Priority.HIGH, Collections.singletonMap("h1", () -> order.add("h1")));
+
+		release.countDown();
+		assertTrue(highBatch.await());
+		assertTrue(normalBatch.await());
+		assertEquals(Arrays.asList("h1", "n1", "n2"), order);
+	}
+
+	/**
+	 * A job running past the timeout is interrupted and counted as timed out, not as failed
+	 */
+	@Test
+	public final void testTimedOutJobsAreCountedSeparately() throws Exception {
+		start(3, Duration.ofMillis(100));
+		Map<String, RetrievalTask> tasks = new LinkedHashMap<>();
+		tasks.put("stuck", () -> Thread.sleep(TimeUnit.MINUTES.toMillis(10)));
+		tasks.put("ok", () -> {});
+		tasks.put("failing", () -> {
+			throw new IllegalStateException("Upstream error");
+		});
+		Batch batch = retrievalScheduler.submit("bulk", Priority.NORMAL, tasks);
+
+		assertFalse(batch.await());
+		Progress progress = batch.getProgress();
+		assertEquals(3, progress.getTotal());
+		assertEquals(1, progress.getCompleted());
+		assertEquals(1, progress.getFailed());
+		assertEquals(1, progress.getTimedOut());
+		assertEquals(0, progress.getCancelled());
+	}
+
+	/**
+	 * Interrupting the thread waiting for a batch cancels its pending jobs, they never run
+	 */
+	@Test
+	public final void testAwaitCancelsPendingJobsWhenInterrupted() throws Exception {
+		start(1, NO_TIMEOUT);
+		block(Priority.NORMAL);
+		AtomicInteger runs = new AtomicInteger();
+		Map<String, RetrievalTask> tasks = new LinkedHashMap<>();
+		tasks.put("a", runs::incrementAndGet);
+		tasks.put("b", runs::incrementAndGet);
+		Batch batch = retrievalScheduler.submit("bulk", Priority.NORMAL, tasks);
+
+		Thread.currentThread().interrupt();
+		try {
+			batch.await();
+			fail("await should throw when interrupted");
+		} catch (InterruptedException e) {
+			assertFalse(Thread.currentThread().isInterrupted());
+		}
+		assertEquals(2, batch.getProgress().getCancelled());
+
+		//The cancelled jobs are gone from the queue, a job submitted after them is the next to run
+		release.countDown();
+		assertTrue(retrievalScheduler.submit("next", Priority.NORMAL, Collections.singletonMap("c", () -> {})).await());
+		assertEquals(0, runs.get());
+		assertFalse(batch.await());
+	}
+
+	/**
+	 * Counts of a running batch, the ETA is known once the first job finished
+	 */
+	@Test
+	public final void testProgress() throws Exception {
+		start(1, NO_TIMEOUT);
+		CountDownLatch secondStarted = new CountDownLatch(1);
+		Map<String, RetrievalTask> tasks = new LinkedHashMap<>();
+		tasks.put("first", () -> {});
+		tasks.put("second", () -> {
+			secondStarted.countDown();
+			release.await();
+		});
+		Batch blocker = block(Priority.NORMAL);
+		Batch batch = retrievalScheduler.submit("bulk", Priority.NORMAL, tasks);
+
+		Progress progress = batch.getProgress();
+		assertEquals(2, progress.getTotal());
+		assertEquals(0, progress.getCompleted());
+		assertEquals(-1, progress.getEtaSeconds());
+		assertEquals(2, retrievalScheduler.getProgress().size());
+
+		//Cancelling interrupts the blocker only, the first job finishes before the second starts on the same thread
+		blocker.cancel();
+		assertTrue(secondStarted.await(10, TimeUnit.SECONDS));
+		progress = batch.getProgress();
+		assertEquals(1, progress.getCompleted());
+		assertTrue(progress.getEtaSeconds() >= 0);
+
+		release.countDown();
+		assertTrue(batch.await());
+		assertEquals(2, batch.getProgress().getCompleted());
+		assertTrue(retrievalScheduler.getProgress().isEmpty());
+	}
+}
@@ -0,0 +1,144 @@
+package reciter.xml.retriever.pubmed;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.GregorianCalendar;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import reciter.model.identity.AuthorName;
+import reciter.model.identity.Identity;
+import reciter.model.pubmed.PubMedArticle;
+import reciter.pubmed.retriever.PubMedQuery;
+import reciter.xml.retriever.engine.AliasReCiterRetrievalEngine.IdentityNameType;
+import reciter.xml.retriever.pubmed.AbstractRetrievalStrategy.RetrievalResult;
+import reciter.xml.retriever.stub.LocalRetrievalServiceStub;
+
+/**
+ * Runs a retrieval strategy end to end against the {@link LocalRetrievalServiceStub}
+ */
+public class AbstractRetrievalStrategyTest {
+
+	private LocalRetrievalServiceStub stub;
+
+	private Identity identity;
+
+	private Map<IdentityNameType, Set<AuthorName>> identityNames;
+
+	@Before
+	public void setUp() throws Exception {
+		stub = new LocalRetrievalServiceStub(LocalRetrievalServiceStub.Options.builder().build()).start().registerAsRetrievalService();
+		identity = new Identity();
+		identity.setUid("paa2013");
+		identityNames = new EnumMap<>(IdentityNameType.class);
+		identityNames.put(IdentityNameType.ORIGINAL, Collections.singleton(new AuthorName("Paul", null, "Albert")));
+		identityNames.put(IdentityNameType.DERIVED, Collections.singleton(new AuthorName("Paul", "A", "Albert")));
+	}
+
+	@After
+	public void tearDown() {
+		stub.close();
+	}
+
+	/**
+	 * A strict count above the threshold splits the date range into windows of at most threshold articles which are
+	 * retrieved in chronological order. The count of the strict query is used for the whole range, only the windows
+	 * are counted again.
+	 */
+	@Test
+	public final void testStrictQuerySplitByDateWindows() throws Exception {
+		RecordingRetrievalStrategy retrievalStrategy = new RecordingRetrievalStrategy(1);
+		RetrievalResult retrievalResult = retrievalStrategy.retrievePubMedArticles(identity, identityNames,
+				new GregorianCalendar(1990, 1, 1).getTime(), new GregorianCalendar(2020, 10, 30).getTime(), true);
+		assertEquals(new HashSet<>(Arrays.asList(20428276L, 26861401L, 12345678L)), retrievalResult.getPubMedArticles().keySet());
+		assertTrue(retrievalResult.getPubMedQueryResults().get(1).isUsed());
+
+		//the strict count query without date range and the windows
+		assertNull(retrievalStrategy.countedQueries.get(0).getStart());
+		for (PubMedQuery window : retrievalStrategy.countedQueries.subList(1, retrievalStrategy.countedQueries.size())) {
+			assertFalse(window.getStart().equals(new GregorianCalendar(1990, 1, 1).getTime()) && window.getEnd().equals(new GregorianCalendar(2020, 10, 30).getTime()));
+		}
+		assertEquals(3, retrievalStrategy.retrievedQueries.size());
+		for (int i = 1; i < retrievalStrategy.retrievedQueries.size(); i++) {
+			assertTrue(retrievalStrategy.retrievedQueries.get(i - 1).getEnd().before(retrievalStrategy.retrievedQueries.get(i).getStart()));
+		}
+	}
+
+	/**
+	 * Both halves of a range inside one publication year match the same article, which is kept once
+	 */
+	@Test
+	public final void testDateWindowsMergeArticlesByPmid() throws Exception {
+		RecordingRetrievalStrategy retrievalStrategy = new RecordingRetrievalStrategy(1);
+		RetrievalResult retrievalResult = retrievalStrategy.retrievePubMedArticles(identity, identityNames,
+				new GregorianCalendar(2016, 1, 1).getTime(), new GregorianCalendar(2016, 10, 30).getTime(), true);
+		assertEquals(2, retrievalStrategy.retrievedQueries.size());
+		assertEquals(2, retrievalStrategy.retrievedArticles);
+		assertEquals(Collections.singleton(26861401L), retrievalResult.getPubMedArticles().keySet());
+	}
+
+	@Test
+	public final void testLenientQuery() throws Exception {
+		RetrievalResult retrievalResult = new FullNameRetrievalStrategy().retrievePubMedArticles(identity, identityNames, false);
+		assertEquals(new HashSet<>(Arrays.asList(20428276L, 26861401L, 12345678L)), retrievalResult.getPubMedArticles().keySet());
+
+		PubMedQueryResult lenientQuery = retrievalResult.getPubMedQueryResults().get(0);
+		PubMedQueryResult strictQuery = retrievalResult.getPubMedQueryResults().get(1);
+		assertEquals(3, lenientQuery.getNumResult());
+		assertTrue(lenientQuery.isUsed());
+		assertFalse(strictQuery.isUsed());
+		//one count and one retrieval request
+		assertEquals(2, stub.getServedRequests().get());
+	}
+
+	@Test
+	public final void testStrictQueryOnlyWithDateRange() throws Exception {
+		RetrievalResult retrievalResult = new FullNameRetrievalStrategy().retrievePubMedArticles(identity, identityNames,
+				new GregorianCalendar(2009, 0, 1).getTime(), new GregorianCalendar(2020, 11, 31).getTime(), true);
+		assertEquals(new HashSet<>(Arrays.asList(20428276L, 26861401L)), retrievalResult.getPubMedArticles().keySet());
+
+		PubMedQueryResult strictQuery = retrievalResult.getPubMedQueryResults().get(1);
+		//The count query has no date range
+		assertEquals(3, strictQuery.getNumResult());
+		assertTrue(strictQuery.isUsed());
+	}
+
+	private static class RecordingRetrievalStrategy extends FullNameRetrievalStrategy {
+
+		private final List<PubMedQuery> countedQueries = new ArrayList<>();
+		private final List<PubMedQuery> retrievedQueries = new ArrayList<>();
+		private int retrievedArticles;
+
+		private RecordingRetrievalStrategy(int strictThreshold) {
+			STRICT_THRESHOLD = strictThreshold;
+		}
+
+		@Override
+		protected int getNumberOfResults(PubMedQuery pubMedQuery) throws IOException {
+			countedQueries.add(pubMedQuery);
+			return super.getNumberOfResults(pubMedQuery);
+		}
+
+		@Override
+		public List<PubMedArticle> retrievePubMed(PubMedQuery pubMedQuery, int numberOfPubmedArticles) {
+			retrievedQueries.add(pubMedQuery);
+			List<PubMedArticle> pubMedArticles = super.retrievePubMed(pubMedQuery, numberOfPubmedArticles);
+			retrievedArticles += pubMedArticles.size();
+			return pubMedArticles;
+		}
+	}
+}
@@ -0,0 +1,50 @@
+package reciter.xml.retriever.pubmed;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+public class PubmedESearchHandlerTest {
+
+	private static final String ESEARCH_RESULT = "<?xml version=\"1.0\" encoding=\"UTF-8\" ?>"
+			+ "<eSearchResult><Count>%d</Count><RetMax>1</RetMax><RetStart>0</RetStart>"
+			+ "<WebEnv>NCID_1_%d</WebEnv>"
+			+ "<TranslationStack><TermSet><Count>999</Count></TermSet></TranslationStack></eSearchResult>";
+
+	private static PubmedESearchHandler parse(int count) throws Exception {
+		return PubmedESearchHandler.parse(new ByteArrayInputStream(String.format(ESEARCH_RESULT, count, count).getBytes(StandardCharsets.UTF_8)));
+	}
+
+	@Test
+	public void testParse() throws Exception {
+		PubmedESearchHandler handler = parse(42);
+		assertEquals(42, handler.getCount());
+		assertEquals("NCID_1_42", handler.getWebEnv());
+	}
+
+	@Test
+	public void testParserReuse() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<PubmedESearchHandler>> handlers = new ArrayList<>();
+			for(int i = 0; i < 200; i++) {
+				final int count = i;
+				handlers.add(executor.submit(() -> parse(count)));
+			}
+			for(int i = 0; i < handlers.size(); i++) {
+				assertEquals(i, handlers.get(i).get().getCount());
+				assertEquals("NCID_1_" + i, handlers.get(i).get().getWebEnv());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,338 @@
+package reciter.xml.retriever.stub;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import reciter.utils.RetrievalServiceEndpoints;
+
+/**
+ * Embeddable stand-in for the ReCiter PubMed and Scopus retrieval services so retrieval can be integration and load tested
+ * without reaching the real upstreams. It serves
+ * <ul>
+ * <li>POST /pubmed/query-complex/ - fixture PubMed articles matching the PubMedQuery</li>
+ * <li>POST /pubmed/query-number-pubmed-articles/ - number of fixture PubMed articles matching the PubMedQuery</li>
+ * <li>POST /scopus/query/ - fixture Scopus articles matching the pmids or dois of the ScopusQuery</li>
+ * <li>GET /pubmed/ping and /scopus/ping</li>
+ * </ul>
+ * A PubMed article matches a query when the query consists of its pmid (GoldStandard retrieval) or when one of its author
+ * last names occurs in the author or strategy query and its publication year is inside the query date range.
+ * Latency, error rate and throttling are configured with {@link Options}. Throttled requests get a 429 and failed ones a 500,
+ * the same way the real services answer under load.
+ */
+@Slf4j
+public class LocalRetrievalServiceStub implements AutoCloseable {
+
+	@Getter
+	@Builder
+	public static class Options {
+		/**
+		 * Classpath resource or file with a json array of PubMedArticle
+		 */
+		@Builder.Default
+		private final String pubMedFixture = "/stub/pubmed-articles.json";
+		/**
+		 * Classpath resource or file with a json array of ScopusArticle
+		 */
+		@Builder.Default
+		private final String scopusFixture = "/stub/scopus-articles.json";
+		/**
+		 * Time every query request takes before it is answered
+		 */
+		@Builder.Default
+		private final Duration latency = Duration.ZERO;
+		/**
+		 * Random extra time between zero and this value added to the latency
+		 */
+		@Builder.Default
+		private final Duration latencyJitter = Duration.ZERO;
+		/**
+		 * Share of query requests between 0 and 1 that fail with a 500
+		 */
+		private final double errorRate;
+		/**
+		 * Requests that are processed at the same time before others are throttled. 0 is unlimited.
+		 */
+		private final int maxConcurrentRequests;
+		/**
+		 * Requests accepted per second before others are throttled. 0 is unlimited.
+		 */
+		private final int maxRequestsPerSecond;
+		/**
+		 * Seed for latency jitter and errors so load tests are repeatable
+		 */
+		@Builder.Default
+		private final long seed = 1L;
+		/**
+		 * Current time in milliseconds used for maxRequestsPerSecond, so tests can move between seconds themselves
+		 */
+		@Builder.Default
+		private final LongSupplier clock = System::currentTimeMillis;
+	}
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final Options options;
+	private final List<JsonNode> pubMedArticles;
+	private final List<JsonNode> scopusArticles;
+	private final Random random;
+	private final Semaphore concurrentRequests;
+	private final AtomicLong currentSecond = new AtomicLong();
+	private final AtomicInteger requestsInCurrentSecond = new AtomicInteger();
+
+	@Getter
+	private final AtomicInteger servedRequests = new AtomicInteger();
+	@Getter
+	private final AtomicInteger throttledRequests = new AtomicInteger();
+	@Getter
+	private final AtomicInteger failedRequests = new AtomicInteger();
+
+	private HttpServer server;
+	private ExecutorService executorService;
+
+	public LocalRetrievalServiceStub(Options options) throws IOException {
+		this.options = options;
+		this.pubMedArticles = readFixture(options.getPubMedFixture());
+		this.scopusArticles = readFixture(options.getScopusFixture());
+		this.random = new Random(options.getSeed());
+		this.concurrentRequests = options.getMaxConcurrentRequests() > 0 ? new Semaphore(options.getMaxConcurrentRequests()) : null;
+	}
+
+	/**
+	 * Starts the stub on a free port of the loopback interface.
+	 * @return this stub
+	 */
+	public LocalRetrievalServiceStub start() throws IOException {
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		server.createContext("/pubmed/ping", exchange -> respond(exchange, 200, "true"));
+		server.createContext("/scopus/ping", exchange -> respond(exchange, 200, "true"));
+		server.createContext("/pubmed/query-complex/", exchange -> handleQuery(exchange, body -> matchPubMedArticles(body)));
+		server.createContext("/pubmed/query-number-pubmed-articles/", exchange -> handleQuery(exchange, body -> matchPubMedArticles(body).size()));
+		server.createContext("/scopus/query/", exchange -> handleQuery(exchange, body -> matchScopusArticles(body)));
+		executorService = Executors.newCachedThreadPool();
+		server.setExecutor(executorService);
+		server.start();
+		log.info("Local retrieval service stub started at " + getBaseUrl() + " with " + pubMedArticles.size() + " PubMed and "
+				+ scopusArticles.size() + " Scopus fixture articles");
+		return this;
+	}
+
+	public String getBaseUrl() {
+		return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+	}
+
+	/**
+	 * Points PubMedArticleRetriever, ScopusArticleRetriever and the retrieval strategies at this stub until it is closed.
+	 */
+	public LocalRetrievalServiceStub registerAsRetrievalService() {
+		System.setProperty(RetrievalServiceEndpoints.PUBMED_SERVICE, getBaseUrl());
+		System.setProperty(RetrievalServiceEndpoints.SCOPUS_SERVICE, getBaseUrl());
+		return this;
+	}
+
+	@Override
+	public void close() {
+		System.clearProperty(RetrievalServiceEndpoints.PUBMED_SERVICE);
+		System.clearProperty(RetrievalServiceEndpoints.SCOPUS_SERVICE);
+		if(server != null) {
+			server.stop(0);
+			executorService.shutdownNow();
+		}
+	}
+
+	private void handleQuery(HttpExchange exchange, Function<JsonNode, Object> query) throws IOException {
+		try {
+			if(isThrottled()) {
+				throttledRequests.incrementAndGet();
+				respond(exchange, 429, "Too Many Requests");
+				return;
+			}
+			try {
+				simulateLatency();
+				if(options.getErrorRate() > 0 && nextDouble() < options.getErrorRate()) {
+					failedRequests.incrementAndGet();
+					respond(exchange, 500, "Simulated upstream error");
+					return;
+				}
+				JsonNode body;
+				try(InputStream inputStream = exchange.getRequestBody()) {
+					body = objectMapper.readTree(inputStream);
+				}
+				Object result = query.apply(body);
+				servedRequests.incrementAndGet();
+				exchange.getResponseHeaders().set("Content-Type", "application/json");
+				respond(exchange, 200, objectMapper.writeValueAsString(result));
+			} finally {
+				if(concurrentRequests != null) {
+					concurrentRequests.release();
+				}
+			}
+		} catch(IOException | RuntimeException e) {
+			log.error("Local retrieval service stub failed to answer " + exchange.getRequestURI(), e);
+			respond(exchange, 500, String.valueOf(e.getMessage()));
+		}
+	}
+
+	private boolean isThrottled() {
+		if(options.getMaxRequestsPerSecond() > 0) {
+			long second = options.getClock().getAsLong() / 1000;
+			if(currentSecond.getAndSet(second) != second) {
+				requestsInCurrentSecond.set(0);
+			}
+			if(requestsInCurrentSecond.incrementAndGet() > options.getMaxRequestsPerSecond()) {
+				return true;
+			}
+		}
+		return concurrentRequests != null && !concurrentRequests.tryAcquire();
+	}
+
+	private void simulateLatency() {
+		long latencyMillis = options.getLatency().toMillis();
+		long jitterMillis = options.getLatencyJitter().toMillis();
+		if(jitterMillis > 0) {
+			latencyMillis += (long) (nextDouble() * jitterMillis);
+		}
+		if(latencyMillis > 0) {
+			try {
+				Thread.sleep(latencyMillis);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private double nextDouble() {
+		synchronized(random) {
+			return random.nextDouble();
+		}
+	}
+
+	private List<JsonNode> matchPubMedArticles(JsonNode pubMedQuery) {
+		String author = pubMedQuery.path("author").asText("");
+		String strategyQuery = pubMedQuery.path("strategy-query").asText("");
+		int startYear = year(pubMedQuery.path("start").asText(null), Integer.MIN_VALUE);
+		int endYear = year(pubMedQuery.path("end").asText(null), Integer.MAX_VALUE);
+
+		Set<String> queryPmids = null;
+		if(author.isEmpty() && strategyQuery.matches("[0-9,\\s]+")) {
+			queryPmids = new HashSet<>();
+			for(String pmid: strategyQuery.split("[,\\s]+")) {
+				queryPmids.add(pmid);
+			}
+		}
+		String queryText = (author + " " + strategyQuery).toLowerCase(Locale.ROOT);
+
+		List<JsonNode> matches = new ArrayList<>();
+		for(JsonNode pubMedArticle: pubMedArticles) {
+			JsonNode medlineCitation = pubMedArticle.path("medlinecitation");
+			if(queryPmids != null) {
+				if(queryPmids.contains(medlineCitation.path("medlinecitationpmid").path("pmid").asText())) {
+					matches.add(pubMedArticle);
+				}
+				continue;
+			}
+			int year = year(medlineCitation.path("article").path("journal").path("journalissue").path("pubdate").path("year").asText(null), 0);
+			if(year < startYear || year > endYear) {
+				continue;
+			}
+			for(JsonNode articleAuthor: medlineCitation.path("article").path("authorlist")) {
+				String lastName = articleAuthor.path("lastname").asText("");
+				if(!lastName.isEmpty() && queryText.contains(lastName.toLowerCase(Locale.ROOT))) {
+					matches.add(pubMedArticle);
+					break;
+				}
+			}
+		}
+		return matches;
+	}
+
+	private List<JsonNode> matchScopusArticles(JsonNode scopusQuery) {
+		Set<String> values = new HashSet<>();
+		boolean byDoi = false;
+		for(JsonNode field: scopusQuery) {
+			if(field.isArray()) {
+				field.forEach(value -> values.add(value.asText().toLowerCase(Locale.ROOT)));
+			} else if(field.isTextual()) {
+				byDoi = "doi".equalsIgnoreCase(field.asText());
+			}
+		}
+		List<JsonNode> matches = new ArrayList<>();
+		for(JsonNode scopusArticle: scopusArticles) {
+			String key = byDoi ? scopusArticle.path("doi").asText("") : scopusArticle.path("pubmedId").asText("");
+			if(values.contains(key.toLowerCase(Locale.ROOT))) {
+				matches.add(scopusArticle);
+			}
+		}
+		return matches;
+	}
+
+	private static int year(String date, int defaultYear) {
+		if(date == null || date.length() < 4) {
+			return defaultYear;
+		}
+		try {
+			return Integer.parseInt(date.substring(0, 4));
+		} catch (NumberFormatException e) {
+			return defaultYear;
+		}
+	}
+
+	private List<JsonNode> readFixture(String fixture) throws IOException {
+		List<JsonNode> articles = new ArrayList<>();
+		if(fixture == null) {
+			return articles;
+		}
+		Path path = Paths.get(fixture);
+		JsonNode json;
+		if(Files.isRegularFile(path)) {
+			json = objectMapper.readTree(path.toFile());
+		} else {
+			try(InputStream inputStream = getClass().getResourceAsStream(fixture)) {
+				if(inputStream == null) {
+					throw new IOException("Fixture " + fixture + " is neither a file nor on the classpath");
+				}
+				json = objectMapper.readTree(inputStream);
+			}
+		}
+		if(json instanceof ArrayNode) {
+			json.forEach(articles::add);
+		}
+		return articles;
+	}
+
+	private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.sendResponseHeaders(status, bytes.length);
+		try(OutputStream outputStream = exchange.getResponseBody()) {
+			outputStream.write(bytes);
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package reciter.xml.retriever.stub;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.web.client.RestTemplate;
+
+import reciter.model.pubmed.PubMedArticle;
+import reciter.model.scopus.ScopusArticle;
+import reciter.pubmed.retriever.PubMedArticleRetriever;
+import reciter.pubmed.retriever.PubMedQuery;
+import reciter.scopus.retriever.ScopusArticleRetriever;
+import reciter.utils.RetrievalServiceEndpoints;
+
+public class LocalRetrievalServiceStubTest {
+
+	private LocalRetrievalServiceStub stub;
+
+	@After
+	public void tearDown() {
+		if(stub != null) {
+			stub.close();
+		}
+	}
+
+	private LocalRetrievalServiceStub startStub(LocalRetrievalServiceStub.Options options) throws Exception {
+		stub = new LocalRetrievalServiceStub(options).start().registerAsRetrievalService();
+		return stub;
+	}
+
+	/**
+	 * Query complex returns the fixture articles of the author inside the date range
+	 */
+	@Test
+	public final void testPubMedQueryComplex() throws Exception {
+		startStub(LocalRetrievalServiceStub.Options.builder().build());
+		PubMedQuery pubMedQuery = PubMedQuery.builder()
+				.author("Albert P[au]")
+				.start(new GregorianCalendar(2009, 0, 1).getTime())
+				.end(new GregorianCalendar(2020, 11, 31).getTime())
+				.build();
+		List<PubMedArticle> pubMedArticles = new PubMedArticleRetriever().retrievePubMed(pubMedQuery, 2);
+		Set<Long> pmids = pubMedArticles.stream().map(pubMedArticle -> pubMedArticle.getMedlinecitation().getMedlinecitationpmid().getPmid()).collect(Collectors.toSet());
+		assertEquals(2, pmids.size());
+		assertTrue(pmids.contains(20428276L));
+		assertTrue(pmids.contains(26861401L));
+	}
+
+	@Test
+	public final void testPubMedQueryNumberOfArticles() throws Exception {
+		startStub(LocalRetrievalServiceStub.Options.builder().build());
+		PubMedQuery pubMedQuery = PubMedQuery.builder().author("Albert[au]").build();
+		Integer count = new RestTemplate().postForObject(RetrievalServiceEndpoints.getPubMedUrl("/query-number-pubmed-articles/"), pubMedQuery, Integer.class);
+		assertEquals(Integer.valueOf(3), count);
+	}
+
+	@Test
+	public final void testScopusQueryByPmid() throws Exception {
+		startStub(LocalRetrievalServiceStub.Options.builder().build());
+		List<ScopusArticle> scopusArticles = new ScopusArticleRetriever<Long>().retrieveScopus(ScopusArticleRetriever.PMID_MODIFIER, Arrays.asList(20428276L, 12345678L));
+		assertEquals(1, scopusArticles.size());
+		assertEquals(Long.valueOf(20428276L), scopusArticles.get(0).getPubmedId());
+	}
+
+	/**
+	 * Requests over the per second limit are throttled until the clock moves to the next second
+	 */
+	@Test
+	public final void testThrottling() throws Exception {
+		AtomicLong now = new AtomicLong(1000L);
+		startStub(LocalRetrievalServiceStub.Options.builder()
+				.maxRequestsPerSecond(2)
+				.clock(now::get)
+				.build());
+		PubMedQuery pubMedQuery = PubMedQuery.builder().author("Albert[au]").build();
+		for(int i = 0; i < 4; i++) {
+			new PubMedArticleRetriever().retrievePubMed(pubMedQuery, 3);
+		}
+		assertEquals(2, stub.getServedRequests().get());
+		assertEquals(2, stub.getThrottledRequests().get());
+
+		now.addAndGet(1000L);
+		assertEquals(3, new PubMedArticleRetriever().retrievePubMed(pubMedQuery, 3).size());
+		assertEquals(3, stub.getServedRequests().get());
+		assertEquals(2, stub.getThrottledRequests().get());
+	}
+
+	@Test
+	public final void testSimulatedErrors() throws Exception {
+		startStub(LocalRetrievalServiceStub.Options.builder().errorRate(1.0).build());
+		List<PubMedArticle> pubMedArticles = new PubMedArticleRetriever().retrievePubMed(PubMedQuery.builder().author("Albert[au]").build(), 3);
+		assertTrue(pubMedArticles.isEmpty());
+		assertEquals(1, stub.getFailedRequests().get());
+	}
+}